@@ -0,0 +1,23 @@
+package org.dromara.content.api;
+
+import org.dromara.content.api.domain.dto.RemoteSearchQueryDto;
+import org.dromara.content.api.domain.vo.RemoteSearchResult;
+
+/**
+ * 搜索远程服务接口
+ * 提供动态、用户、服务者、话题的全文搜索
+ *
+ * @author XiangYuPai
+ */
+public interface RemoteSearchService {
+
+    /**
+     * 全文搜索
+     * 按相关度排序, 支持游标翻页; withCounts=true 时同时返回各文档类型的命中数(用于Tab统计)
+     *
+     * @param queryDto 查询条件
+     * @return 搜索结果
+     */
+    RemoteSearchResult search(RemoteSearchQueryDto queryDto);
+
+}
@@ -0,0 +1,94 @@
+package org.dromara.content.api.domain.dto;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 搜索查询DTO
+ *
+ * @author XiangYuPai
+ */
+@Data
+public class RemoteSearchQueryDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文档类型: 动态
+     */
+    public static final String TYPE_FEED = "feed";
+
+    /**
+     * 文档类型: 用户
+     */
+    public static final String TYPE_USER = "user";
+
+    /**
+     * 文档类型: 服务者(有上架技能的用户)
+     */
+    public static final String TYPE_PROVIDER = "provider";
+
+    /**
+     * 文档类型: 话题
+     */
+    public static final String TYPE_TOPIC = "topic";
+
+    /**
+     * 搜索关键词
+     */
+    private String keyword;
+
+    /**
+     * 文档类型: feed/user/provider/topic, 为空时搜索全部类型
+     */
+    private List<String> types;
+
+    /**
+     * 性别筛选(只作用于用户和服务者): male/female, 为空或all不限
+     */
+    private String gender;
+
+    /**
+     * 游标(上一页返回的nextCursor), 有值时忽略pageNum
+     */
+    private String cursor;
+
+    /**
+     * 页码（从1开始, 兼容不传游标的翻页）
+     */
+    private Integer pageNum;
+
+    /**
+     * 每页数量
+     */
+    private Integer pageSize;
+
+    /**
+     * 是否返回各类型命中数
+     */
+    private Boolean withCounts;
+
+    /**
+     * 当前用户ID（可为null, 用于返回用户的关注状态）
+     */
+    private Long currentUserId;
+
+    /**
+     * 默认值处理
+     */
+    public Integer getPageNum() {
+        return pageNum != null && pageNum > 0 ? pageNum : 1;
+    }
+
+    public Integer getPageSize() {
+        return pageSize != null && pageSize > 0 ? Math.min(pageSize, 50) : 10;
+    }
+
+    public Boolean getWithCounts() {
+        return withCounts != null && withCounts;
+    }
+}
@@ -0,0 +1,132 @@
+package org.dromara.content.api.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 搜索命中项
+ * 各文档类型共用, 只填充该类型有意义的字段
+ *
+ * @author XiangYuPai
+ */
+@Data
+public class RemoteSearchHitVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文档类型: feed/user/provider/topic
+     */
+    private String type;
+
+    /**
+     * 业务ID: 动态ID/用户ID/话题ID
+     */
+    private Long id;
+
+    /**
+     * 标题: 动态标题/用户昵称/话题名称
+     */
+    private String title;
+
+    /**
+     * 正文: 动态内容/个人简介/技能描述/话题描述
+     */
+    private String content;
+
+    /**
+     * 图片: 动态封面/用户头像/话题封面
+     */
+    private String image;
+
+    /**
+     * 动态媒体类型: image/video
+     */
+    private String mediaType;
+
+    /**
+     * 动态作者ID
+     */
+    private Long userId;
+
+    /**
+     * 动态作者昵称
+     */
+    private String nickname;
+
+    /**
+     * 动态作者头像
+     */
+    private String avatar;
+
+    /**
+     * 性别
+     */
+    private String gender;
+
+    /**
+     * 年龄
+     */
+    private Integer age;
+
+    /**
+     * 是否认证
+     */
+    private Boolean isVerified;
+
+    /**
+     * 是否在线
+     */
+    private Boolean isOnline;
+
+    /**
+     * 当前用户是否已关注(用户/服务者)
+     */
+    private Boolean isFollowed;
+
+    /**
+     * 标签: 动态话题/服务者技能
+     */
+    private List<String> tags;
+
+    /**
+     * 服务者最低价格
+     */
+    private BigDecimal price;
+
+    /**
+     * 价格单位
+     */
+    private String priceUnit;
+
+    /**
+     * 是否热门话题
+     */
+    private Boolean isHot;
+
+    /**
+     * 动态点赞数
+     */
+    private Integer likeCount;
+
+    /**
+     * 动态评论数
+     */
+    private Integer commentCount;
+
+    /**
+     * 话题帖子数
+     */
+    private Integer postCount;
+
+    /**
+     * 话题参与人数
+     */
+    private Integer participantCount;
+
+}
@@ -0,0 +1,46 @@
+package org.dromara.content.api.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索结果
+ *
+ * @author XiangYuPai
+ */
+@Data
+public class RemoteSearchResult implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 命中列表(按相关度降序)
+     */
+    private List<RemoteSearchHitVo> list;
+
+    /**
+     * 所查类型的命中总数
+     */
+    private Long total;
+
+    /**
+     * 是否有更多
+     */
+    private Boolean hasMore;
+
+    /**
+     * 下一页游标, 没有更多时为null
+     */
+    private String nextCursor;
+
+    /**
+     * 文档类型 -> 命中数(不受types限制), 仅 withCounts=true 时返回
+     */
+    private Map<String, Long> counts;
+
+}
@@ -165,6 +165,14 @@ public interface RemoteUserService {
      */
     Map<Long, String> selectUserNamesByIds(List<Long> userIds);
 
+    /**
+     * 根据用户 ID 列表查询用户账户映射关系
+     *
+     * @param userIds 用户 ID 列表
+     * @return Map，其中 key 为用户 ID，value 为对应的用户账户
+     */
+    Map<Long, String> selectUserAccountsByIds(List<Long> userIds);
+
     /**
      * 分页查询所有系统用户列表（用于xypai-user模块关联查询）
      *
@@ -385,6 +385,49 @@ public interface RemoteAppUserService {
      */
     java.util.List<Long> getFollowingIds(Long userId);
 
+    /**
+     * 获取粉丝数量
+     *
+     * <p>用途：供 xypai-content 发布动态时判断推送(写扩散)还是拉取(读扩散)</p>
+     *
+     * @param userId 用户ID
+     * @return 粉丝数量
+     */
+    long getFansCount(Long userId);
+
+    /**
+     * 按粉丝ID游标分批获取粉丝ID
+     *
+     * @param userId     用户ID
+     * @param lastFansId 上一批最后一个粉丝ID(首批传null)
+     * @param limit      每批数量
+     * @return 粉丝ID列表(按ID升序)
+     */
+    java.util.List<Long> getFansIds(Long userId, Long lastFansId, Integer limit);
+
+    // ==================== 搜索索引相关 ====================
+
+    /**
+     * 按用户ID游标分批获取用户搜索文档
+     *
+     * <p>用途：供 xypai-content 全量构建/对账搜索索引</p>
+     *
+     * @param lastUserId 上一批最后一个用户ID(首批传null)
+     * @param limit      每批数量
+     * @return 用户搜索文档列表(按用户ID升序)
+     */
+    java.util.List<org.dromara.appuser.api.domain.vo.RemoteUserSearchVo> listSearchUsers(Long lastUserId, Integer limit);
+
+    /**
+     * 批量获取用户搜索文档
+     *
+     * <p>用途：供 xypai-content 收到用户变更消息后增量更新搜索索引</p>
+     *
+     * @param userIds 用户ID列表
+     * @return 用户搜索文档列表(已删除或不存在的用户不返回)
+     */
+    java.util.List<org.dromara.appuser.api.domain.vo.RemoteUserSearchVo> getSearchUsers(java.util.List<Long> userIds);
+
     // ==================== 对方主页相关 ====================
 
     /**
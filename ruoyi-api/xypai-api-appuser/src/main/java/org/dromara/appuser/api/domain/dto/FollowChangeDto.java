@@ -0,0 +1,47 @@
+package org.dromara.appuser.api.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 关注关系变更消息
+ *
+ * <p>用途：xypai-user 在关注/取关后通过 Redis 发布，xypai-content 订阅后失效关注时间线</p>
+ *
+ * @author XiangYuPai
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowChangeDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 发布/订阅通道
+     */
+    public static final String TOPIC = "global:appuser:follow:change";
+
+    /**
+     * 关注者ID
+     */
+    private Long followerId;
+
+    /**
+     * 被关注者ID
+     */
+    private Long followingId;
+
+    /**
+     * true=关注, false=取消关注
+     */
+    private Boolean followed;
+
+}
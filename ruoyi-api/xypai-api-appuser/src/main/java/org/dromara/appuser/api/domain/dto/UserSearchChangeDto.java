@@ -0,0 +1,37 @@
+package org.dromara.appuser.api.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 用户搜索文档变更消息
+ *
+ * <p>用途：xypai-user 在用户资料或技能变更提交后通过 Redis 发布，xypai-content 订阅后重新加载该用户的搜索文档</p>
+ *
+ * @author XiangYuPai
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchChangeDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 发布/订阅通道
+     */
+    public static final String TOPIC = "global:appuser:search:change";
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+}
@@ -0,0 +1,104 @@
+package org.dromara.appuser.api.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 用户搜索文档VO
+ *
+ * <p>用途：xypai-content 搜索索引加载用户/服务者文档，只包含检索和结果展示用到的字段</p>
+ *
+ * @author XiangYuPai
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemoteUserSearchVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 昵称
+     */
+    private String nickname;
+
+    /**
+     * 头像URL
+     */
+    private String avatar;
+
+    /**
+     * 性别: male/female/other
+     */
+    private String gender;
+
+    /**
+     * 年龄
+     */
+    private Integer age;
+
+    /**
+     * 个人简介
+     */
+    private String bio;
+
+    /**
+     * 常住地
+     */
+    private String residence;
+
+    /**
+     * 是否认证(实名或大神认证)
+     */
+    private Boolean isVerified;
+
+    /**
+     * 是否在线
+     */
+    private Boolean isOnline;
+
+    /**
+     * 粉丝数
+     */
+    private Integer fansCount;
+
+    /**
+     * 上架技能名称(技能名/游戏名/服务类型, 已去重), 无上架技能时为空列表
+     */
+    private List<String> skillNames;
+
+    /**
+     * 上架技能描述(拼接)
+     */
+    private String skillDescription;
+
+    /**
+     * 上架技能最低价格
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * 最低价格技能的价格单位
+     */
+    private String priceUnit;
+
+    /**
+     * 上架技能累计订单数
+     */
+    private Integer orderCount;
+
+}
@@ -43,6 +43,18 @@ public class RemoteChatConversationVo implements Serializable {
      */
     private Long otherUserId;
 
+    /**
+     * Other user nickname
+     * 对方昵称
+     */
+    private String otherUserNickname;
+
+    /**
+     * Other user avatar
+     * 对方头像
+     */
+    private String otherUserAvatar;
+
     /**
      * Last message content
      * 最后一条消息内容
@@ -0,0 +1,67 @@
+package org.dromara.common.mybatis.core.page;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 游标分页数据对象
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+public class CursorPage<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 列表数据
+     */
+    private List<T> rows = new ArrayList<>();
+
+    /**
+     * 下一页游标(没有下一页时为空)
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+
+    /**
+     * 构建游标分页数据对象
+     *
+     * @param rows       列表数据
+     * @param nextCursor 下一页游标
+     * @param hasMore    是否还有下一页
+     */
+    public static <T> CursorPage<T> build(List<T> rows, String nextCursor, boolean hasMore) {
+        CursorPage<T> page = new CursorPage<>();
+        page.setRows(rows);
+        page.setNextCursor(hasMore ? nextCursor : null);
+        page.setHasMore(hasMore);
+        return page;
+    }
+
+    /**
+     * 构建空的游标分页数据对象
+     */
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>();
+    }
+
+    /**
+     * 替换列表数据(实体转换为VO后使用)，保留游标
+     */
+    public <R> CursorPage<R> convert(List<R> rows) {
+        return build(rows, nextCursor, hasMore);
+    }
+
+}
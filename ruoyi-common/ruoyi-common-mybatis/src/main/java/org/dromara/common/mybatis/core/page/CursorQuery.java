@@ -0,0 +1,180 @@
+package org.dromara.common.mybatis.core.page;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.common.core.exception.ServiceException;
+import org.dromara.common.core.utils.StringUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页查询实体类
+ * <p>
+ * 按 (排序列, 主键) 倒序做 keyset 分页: 下一页条件为 sort &lt; ? OR (sort = ? AND id &lt; ?)，
+ * 不使用 OFFSET，也不执行 COUNT，翻页深度不影响查询耗时。
+ * 游标对客户端不透明，内容为上一页最后一条记录的排序值(毫秒)和主键。
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+public class CursorQuery implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 游标(首页不传)
+     */
+    private String cursor;
+
+    /**
+     * 分页大小
+     */
+    private Integer pageSize;
+
+    /**
+     * 每页显示记录数 默认值
+     */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * 每页显示记录数 最大值
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public CursorQuery(String cursor, Integer pageSize) {
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * 实际分页大小
+     */
+    @JsonIgnore
+    public int getLimit() {
+        int size = ObjectUtil.defaultIfNull(pageSize, DEFAULT_PAGE_SIZE);
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 是否首页
+     */
+    @JsonIgnore
+    public boolean isFirstPage() {
+        return StringUtils.isBlank(cursor);
+    }
+
+    /**
+     * 追加游标条件、排序及 LIMIT(多取一条用于判断是否还有下一页)
+     *
+     * @param wrapper    查询条件
+     * @param sortColumn 排序列(时间戳/时间)
+     * @param sortType   排序列类型: Long/LocalDateTime/Date
+     * @param idColumn   主键列
+     */
+    public <T, V> LambdaQueryWrapper<T> apply(LambdaQueryWrapper<T> wrapper, SFunction<T, V> sortColumn,
+                                              Class<V> sortType, SFunction<T, Long> idColumn) {
+        long[] position = decode();
+        if (position != null) {
+            V sortValue = fromMillis(position[0], sortType);
+            long lastId = position[1];
+            wrapper.and(w -> w.lt(sortColumn, sortValue)
+                .or(o -> o.eq(sortColumn, sortValue).lt(idColumn, lastId)));
+        }
+        wrapper.orderByDesc(sortColumn).orderByDesc(idColumn);
+        wrapper.last("LIMIT " + (getLimit() + 1));
+        return wrapper;
+    }
+
+    /**
+     * 根据多取一条的查询结果构建游标分页数据对象
+     *
+     * @param rows      查询结果(最多 getLimit() + 1 条)
+     * @param sortValue 排序值
+     * @param idValue   主键
+     */
+    public <T> CursorPage<T> build(List<T> rows, Function<T, ?> sortValue, Function<T, Long> idValue) {
+        int limit = getLimit();
+        boolean hasMore = rows.size() > limit;
+        List<T> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (!pageRows.isEmpty()) {
+            T last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encode(toMillis(sortValue.apply(last)), idValue.apply(last));
+        }
+        return CursorPage.build(pageRows, nextCursor, hasMore);
+    }
+
+    /**
+     * 编码游标
+     */
+    public static String encode(long sortValue, Long id) {
+        return Base64.encodeUrlSafe(sortValue + ":" + id, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解码游标, 供需要在多个数据源之间续接分页的调用方使用
+     *
+     * @return [排序值, 主键], 首页返回 null
+     */
+    public long[] decode() {
+        if (isFirstPage()) {
+            return null;
+        }
+        try {
+            String[] parts = Base64.decodeStr(cursor, StandardCharsets.UTF_8).split(":");
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (Exception e) {
+            throw new ServiceException("分页游标无效");
+        }
+    }
+
+    private static long toMillis(Object value) {
+        // 排序值为空的记录排在最后, 之后不再有可翻页的数据
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof LocalDateTime time) {
+            return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        if (value instanceof Date date) {
+            return date.getTime();
+        }
+        throw new ServiceException("不支持的游标排序类型");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V fromMillis(long millis, Class<V> type) {
+        if (type == Long.class) {
+            return (V) Long.valueOf(millis);
+        }
+        if (type == LocalDateTime.class) {
+            return (V) LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        }
+        if (type == Date.class) {
+            return (V) new Date(millis);
+        }
+        throw new ServiceException("不支持的游标排序类型");
+    }
+
+}
@@ -27,10 +27,13 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * 数据权限过滤
+ * <p>
+ * SpEL 模板只解析一次; 超级管理员、租户管理员以及拥有全部数据权限角色的用户不构建过滤条件
  *
  * @author Lion Li
  * @version 3.5.0
@@ -43,19 +46,24 @@ public class PlusDataPermissionHandler {
      */
     private final ExpressionParser parser = new SpelExpressionParser();
     private final ParserContext parserContext = new TemplateParserContext();
+    /**
+     * SpEL 模板 -> 解析后的表达式(表达式对象线程安全, 可复用)
+     */
+    private final Map<String, org.springframework.expression.Expression> templateCache = new ConcurrentHashMap<>();
     /**
      * bean解析器 用于处理 spel 表达式中对 bean 的调用
      */
     private final BeanResolver beanResolver = new BeanFactoryResolver(SpringUtils.getBeanFactory());
 
     /**
-     * 获取数据过滤条件的 SQL 片段
+     * 获取当前用户的数据过滤条件
+     * <p>
+     * 过滤条件本身即为用户数据范围的签名: 数据范围相同的用户得到相同的条件
      *
-     * @param where             原始的查询条件表达式
-     * @param isSelect          是否为查询语句
-     * @return 数据过滤条件的 SQL 片段
+     * @param isSelect 是否为查询语句
+     * @return 数据过滤条件 SQL, 无需过滤时返回空字符串
      */
-    public Expression getSqlSegment(Expression where, boolean isSelect) {
+    public String getSqlFilter(boolean isSelect) {
         try {
             // 获取数据权限配置
             DataPermission dataPermission = getDataPermission();
@@ -67,14 +75,32 @@ public class PlusDataPermissionHandler {
             }
             // 如果是超级管理员或租户管理员，则不过滤数据
             if (LoginHelper.isSuperAdmin() || LoginHelper.isTenantAdmin()) {
-                return where;
+                return StringUtils.EMPTY;
             }
-            // 构造数据过滤条件的 SQL 片段
-            String dataFilterSql = buildDataFilter(dataPermission, isSelect);
-            if (StringUtils.isBlank(dataFilterSql)) {
-                return where;
+            // 任一角色拥有全部数据权限，则不过滤数据
+            if (hasAllDataScope(currentUser)) {
+                return StringUtils.EMPTY;
             }
-            Expression expression = CCJSqlParserUtil.parseExpression(dataFilterSql);
+            // 构造数据过滤条件的 SQL 片段
+            return buildDataFilter(dataPermission, isSelect);
+        } finally {
+            DataPermissionHelper.removePermission();
+        }
+    }
+
+    /**
+     * 将数据过滤条件追加到原始条件
+     *
+     * @param where     原始的查询条件表达式
+     * @param filterSql 数据过滤条件 SQL, 见 {@link #getSqlFilter(boolean)}
+     * @return 追加后的条件表达式
+     */
+    public Expression getSqlSegment(Expression where, String filterSql) {
+        if (StringUtils.isBlank(filterSql)) {
+            return where;
+        }
+        try {
+            Expression expression = CCJSqlParserUtil.parseExpression(filterSql);
             // 数据权限使用单独的括号 防止与其他条件冲突
             ParenthesedExpressionList<Expression> parenthesis = new ParenthesedExpressionList<>(expression);
             if (ObjectUtil.isNotNull(where)) {
@@ -84,11 +110,21 @@ public class PlusDataPermissionHandler {
             }
         } catch (JSQLParserException e) {
             throw new ServiceException("数据权限解析异常 => " + e.getMessage());
-        } finally {
-            DataPermissionHelper.removePermission();
         }
     }
 
+    private boolean hasAllDataScope(LoginUser user) {
+        if (CollUtil.isEmpty(user.getRoles())) {
+            return false;
+        }
+        for (RoleDTO role : user.getRoles()) {
+            if (DataScopeType.ALL.getCode().equals(role.getDataScope())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 构建数据过滤条件的 SQL 语句
      *
@@ -161,7 +197,8 @@ public class PlusDataPermissionHandler {
                 }
                 // 忽略数据权限 防止spel表达式内有其他sql查询导致死循环调用
                 String sql = DataPermissionHelper.ignore(() ->
-                    parser.parseExpression(type.getSqlTemplate(), parserContext).getValue(context, String.class)
+                    templateCache.computeIfAbsent(type.getSqlTemplate(), template -> parser.parseExpression(template, parserContext))
+                        .getValue(context, String.class)
                 );
                 // 解析sql模板并填充
                 conditions.add(joinStr + sql);
@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.extension.plugins.handler.MultiDataPermissionHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.BaseMultiTableInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.schema.Table;
@@ -20,6 +22,7 @@ import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.mybatis.handler.PlusDataPermissionHandler;
 
 import java.sql.Connection;
@@ -28,6 +31,9 @@ import java.util.List;
 
 /**
  * 数据权限拦截器
+ * <p>
+ * 先计算当前用户的数据过滤条件, 无需过滤时不解析 SQL; 需要过滤时按 (映射语句ID, 过滤条件, 原始SQL) 缓存改写结果,
+ * 数据范围相同的用户执行相同的语句只在首次用 JSqlParser 解析和改写
  *
  * @author Lion Li
  * @version 3.5.0
@@ -37,6 +43,13 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
 
     private final PlusDataPermissionHandler dataPermissionHandler = new PlusDataPermissionHandler();
 
+    /**
+     * 改写后的 SQL 缓存
+     */
+    private final Cache<String, String> sqlCache = Caffeine.newBuilder()
+        .maximumSize(4096)
+        .build();
+
     /**
      * 在执行查询之前，检查并处理数据权限相关逻辑
      *
@@ -58,9 +71,13 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
         if (dataPermissionHandler.invalid()) {
             return;
         }
-        // 解析 sql 分配对应方法
+        // 无需过滤时不解析 sql
+        String filterSql = dataPermissionHandler.getSqlFilter(true);
+        if (StringUtils.isBlank(filterSql)) {
+            return;
+        }
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
-        mpBs.sql(parserSingle(mpBs.sql(), ms.getId()));
+        mpBs.sql(rewrite(mpBs.sql(), ms.getId(), filterSql, true));
     }
 
     /**
@@ -86,18 +103,36 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
             if (dataPermissionHandler.invalid()) {
                 return;
             }
+            String filterSql = dataPermissionHandler.getSqlFilter(false);
+            if (StringUtils.isBlank(filterSql)) {
+                return;
+            }
             PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
-            mpBs.sql(parserMulti(mpBs.sql(), ms.getId()));
+            mpBs.sql(rewrite(mpBs.sql(), ms.getId(), filterSql, false));
         }
     }
 
+    /**
+     * 追加数据过滤条件, 结果按 (映射语句ID, 过滤条件, 原始SQL) 缓存
+     *
+     * @param sql               原始 SQL
+     * @param mappedStatementId 映射语句的 ID
+     * @param filterSql         数据过滤条件
+     * @param isSelect          是否为查询语句
+     * @return 改写后的 SQL
+     */
+    private String rewrite(String sql, String mappedStatementId, String filterSql, boolean isSelect) {
+        String key = mappedStatementId + '\n' + filterSql + '\n' + sql;
+        return sqlCache.get(key, k -> isSelect ? parserSingle(sql, filterSql) : parserMulti(sql, filterSql));
+    }
+
     /**
      * 处理 SELECT 查询语句中的 WHERE 条件
      *
      * @param select SELECT 查询对象
      * @param index  查询语句的索引
      * @param sql    查询语句
-     * @param obj    WHERE 条件参数
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processSelect(Select select, int index, String sql, Object obj) {
@@ -115,11 +150,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param update UPDATE 查询对象
      * @param index  查询语句的索引
      * @param sql    查询语句
-     * @param obj    WHERE 条件参数
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processUpdate(Update update, int index, String sql, Object obj) {
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(update.getWhere(), false);
+        Expression sqlSegment = dataPermissionHandler.getSqlSegment(update.getWhere(), (String) obj);
         if (null != sqlSegment) {
             update.setWhere(sqlSegment);
         }
@@ -131,11 +166,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param delete DELETE 查询对象
      * @param index  查询语句的索引
      * @param sql    查询语句
-     * @param obj    WHERE 条件参数
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processDelete(Delete delete, int index, String sql, Object obj) {
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(delete.getWhere(), false);
+        Expression sqlSegment = dataPermissionHandler.getSqlSegment(delete.getWhere(), (String) obj);
         if (null != sqlSegment) {
             delete.setWhere(sqlSegment);
         }
@@ -144,11 +179,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
     /**
      * 设置 SELECT 语句的 WHERE 条件
      *
-     * @param plainSelect       SELECT 查询对象
-     * @param mappedStatementId 映射语句的 ID
+     * @param plainSelect SELECT 查询对象
+     * @param filterSql   数据过滤条件
      */
-    protected void setWhere(PlainSelect plainSelect, String mappedStatementId) {
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(plainSelect.getWhere(), true);
+    protected void setWhere(PlainSelect plainSelect, String filterSql) {
+        Expression sqlSegment = dataPermissionHandler.getSqlSegment(plainSelect.getWhere(), filterSql);
         if (null != sqlSegment) {
             plainSelect.setWhere(sqlSegment);
         }
@@ -0,0 +1,50 @@
+package org.dromara.common.mybatis.core.page;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * 游标分页数据对象单元测试
+ *
+ * @author XiangYuPai
+ */
+@DisplayName("游标分页数据对象单元测试")
+public class CursorPageTest {
+
+    @DisplayName("构建: 没有下一页时不返回游标")
+    @Test
+    public void testBuild() {
+        CursorPage<Integer> more = CursorPage.build(List.of(1, 2), "next", true);
+        Assertions.assertEquals(List.of(1, 2), more.getRows());
+        Assertions.assertEquals("next", more.getNextCursor());
+        Assertions.assertTrue(more.isHasMore());
+
+        CursorPage<Integer> last = CursorPage.build(List.of(3), "next", false);
+        Assertions.assertNull(last.getNextCursor());
+        Assertions.assertFalse(last.isHasMore());
+    }
+
+    @DisplayName("空页: 空列表, 无游标, 无下一页")
+    @Test
+    public void testEmpty() {
+        CursorPage<String> page = CursorPage.empty();
+        Assertions.assertNotNull(page.getRows());
+        Assertions.assertTrue(page.getRows().isEmpty());
+        Assertions.assertNull(page.getNextCursor());
+        Assertions.assertFalse(page.isHasMore());
+    }
+
+    @DisplayName("转换: 替换列表数据, 保留游标和下一页标记")
+    @Test
+    public void testConvert() {
+        CursorPage<Integer> page = CursorPage.build(List.of(1, 2), "next", true);
+        CursorPage<String> converted = page.convert(List.of("a", "b"));
+        Assertions.assertEquals(List.of("a", "b"), converted.getRows());
+        Assertions.assertEquals("next", converted.getNextCursor());
+        Assertions.assertTrue(converted.isHasMore());
+    }
+
+}
@@ -0,0 +1,207 @@
+package org.dromara.common.mybatis.core.page;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.dromara.common.core.exception.ServiceException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 游标分页查询单元测试: 游标编解码、多取一条判断下一页、同一排序值按主键续接
+ *
+ * @author XiangYuPai
+ */
+@DisplayName("游标分页查询单元测试")
+public class CursorQueryTest {
+
+    @BeforeAll
+    public static void initTableInfo() {
+        // Lambda 条件按实体元数据解析列名, 不需要数据源
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Row.class);
+    }
+
+    @DisplayName("分页大小: 为空或非正数取默认值, 超过上限取上限")
+    @Test
+    public void testLimit() {
+        Assertions.assertEquals(CursorQuery.DEFAULT_PAGE_SIZE, new CursorQuery(null, null).getLimit());
+        Assertions.assertEquals(CursorQuery.DEFAULT_PAGE_SIZE, new CursorQuery(null, 0).getLimit());
+        Assertions.assertEquals(CursorQuery.DEFAULT_PAGE_SIZE, new CursorQuery(null, -5).getLimit());
+        Assertions.assertEquals(30, new CursorQuery(null, 30).getLimit());
+        Assertions.assertEquals(CursorQuery.MAX_PAGE_SIZE, new CursorQuery(null, 500).getLimit());
+    }
+
+    @DisplayName("游标编解码: 往返一致, 空白为首页, 无效游标抛出业务异常")
+    @Test
+    public void testEncodeDecode() {
+        String cursor = CursorQuery.encode(1_700_000_000_123L, 987_654_321_012_345L);
+        Assertions.assertArrayEquals(new long[]{1_700_000_000_123L, 987_654_321_012_345L},
+            new CursorQuery(cursor, 10).decode());
+        // URL 安全, 可直接放在查询参数中
+        Assertions.assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+
+        Assertions.assertTrue(new CursorQuery(null, 10).isFirstPage());
+        Assertions.assertTrue(new CursorQuery("  ", 10).isFirstPage());
+        Assertions.assertNull(new CursorQuery("", 10).decode());
+
+        Assertions.assertThrows(ServiceException.class, () -> new CursorQuery("not-a-cursor", 10).decode());
+        Assertions.assertThrows(ServiceException.class, () -> new CursorQuery(CursorQuery.encode(1L, null), 10).decode());
+    }
+
+    @DisplayName("多取一条: 结果超过分页大小才有下一页, 游标指向本页最后一条")
+    @Test
+    public void testBuildDetectsNextPage() {
+        CursorQuery query = new CursorQuery(null, 2);
+
+        CursorPage<Row> more = query.build(new ArrayList<>(List.of(row(9L, 300L), row(8L, 200L), row(7L, 100L))),
+            Row::getCreatedTimestamp, Row::getId);
+        Assertions.assertTrue(more.isHasMore());
+        Assertions.assertEquals(List.of(9L, 8L), more.getRows().stream().map(Row::getId).toList());
+        Assertions.assertArrayEquals(new long[]{200L, 8L}, new CursorQuery(more.getNextCursor(), 2).decode());
+
+        CursorPage<Row> exact = query.build(List.of(row(9L, 300L), row(8L, 200L)), Row::getCreatedTimestamp, Row::getId);
+        Assertions.assertFalse(exact.isHasMore());
+        Assertions.assertNull(exact.getNextCursor());
+        Assertions.assertEquals(2, exact.getRows().size());
+
+        CursorPage<Row> empty = query.build(List.<Row>of(), Row::getCreatedTimestamp, Row::getId);
+        Assertions.assertFalse(empty.isHasMore());
+        Assertions.assertNull(empty.getNextCursor());
+        Assertions.assertTrue(empty.getRows().isEmpty());
+    }
+
+    @DisplayName("排序值类型: LocalDateTime/Date 按毫秒编码, 空值编码为0, 其他类型不支持")
+    @Test
+    public void testSortValueTypes() {
+        LocalDateTime time = LocalDateTime.of(2025, 6, 1, 10, 20, 30, 456_000_000);
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        CursorQuery query = new CursorQuery(null, 1);
+
+        CursorPage<Row> byTime = query.build(List.of(row(2L, time), row(1L, time)), Row::getCreatedAt, Row::getId);
+        Assertions.assertArrayEquals(new long[]{millis, 2L}, new CursorQuery(byTime.getNextCursor(), 1).decode());
+
+        CursorPage<Row> byDate = query.build(List.of(row(2L, 0L), row(1L, 0L)), r -> new Date(millis), Row::getId);
+        Assertions.assertArrayEquals(new long[]{millis, 2L}, new CursorQuery(byDate.getNextCursor(), 1).decode());
+
+        CursorPage<Row> byNull = query.build(List.of(row(2L, 0L), row(1L, 0L)), r -> null, Row::getId);
+        Assertions.assertArrayEquals(new long[]{0L, 2L}, new CursorQuery(byNull.getNextCursor(), 1).decode());
+
+        Assertions.assertThrows(ServiceException.class,
+            () -> query.build(List.of(row(2L, 0L), row(1L, 0L)), r -> "300", Row::getId));
+    }
+
+    @DisplayName("查询条件: sort < ? OR (sort = ? AND id < ?), 倒序并多取一条")
+    @Test
+    public void testApplyKeysetCondition() {
+        CursorQuery query = new CursorQuery(CursorQuery.encode(300L, 42L), 10);
+        LambdaQueryWrapper<Row> wrapper = query.apply(new LambdaQueryWrapper<>(),
+            Row::getCreatedTimestamp, Long.class, Row::getId);
+
+        String sql = wrapper.getSqlSegment().replaceAll("#\\{[^}]+}", "?");
+        Assertions.assertTrue(sql.contains("created_timestamp < ? OR (created_timestamp = ? AND id < ?)"), sql);
+        Assertions.assertTrue(sql.matches(".*ORDER BY created_timestamp DESC,\\s*id DESC.*"), sql);
+        Assertions.assertTrue(sql.endsWith("LIMIT 11"), sql);
+        Assertions.assertEquals(List.of(300L, 300L, 42L), params(wrapper));
+    }
+
+    @DisplayName("查询条件: 首页只排序不加游标条件, 时间列按类型还原排序值")
+    @Test
+    public void testApplyFirstPageAndTimeColumn() {
+        LambdaQueryWrapper<Row> first = new CursorQuery(null, 5).apply(new LambdaQueryWrapper<>(),
+            Row::getCreatedTimestamp, Long.class, Row::getId);
+        Assertions.assertFalse(first.getSqlSegment().contains("<"));
+        Assertions.assertTrue(first.getSqlSegment().endsWith("LIMIT 6"));
+
+        LocalDateTime time = LocalDateTime.of(2025, 6, 1, 10, 20, 30, 456_000_000);
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        LambdaQueryWrapper<Row> byTime = new CursorQuery(CursorQuery.encode(millis, 7L), 5).apply(
+            new LambdaQueryWrapper<>(), Row::getCreatedAt, LocalDateTime.class, Row::getId);
+        Assertions.assertEquals(List.of(time, time, 7L), params(byTime));
+    }
+
+    @DisplayName("翻页: 同一排序值的记录跨页时按主键续接, 不重复不遗漏")
+    @Test
+    public void testTieBreakingAcrossPages() {
+        // 已按 (排序值, 主键) 倒序
+        List<Row> table = List.of(row(9L, 300L), row(7L, 300L), row(5L, 300L), row(8L, 200L),
+            row(6L, 200L), row(4L, 100L), row(3L, 100L), row(2L, 100L));
+
+        List<Long> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorQuery query = new CursorQuery(cursor, 2);
+            CursorPage<Row> page = query.build(fetch(table, query), Row::getCreatedTimestamp, Row::getId);
+            page.getRows().forEach(row -> read.add(row.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+            Assertions.assertEquals(page.isHasMore(), cursor != null);
+        } while (cursor != null);
+
+        Assertions.assertEquals(table.stream().map(Row::getId).toList(), read);
+        Assertions.assertEquals(4, pages);
+    }
+
+    /**
+     * 按 apply 生成的条件在内存中取一页: sort &lt; ? OR (sort = ? AND id &lt; ?), LIMIT limit + 1
+     */
+    private static List<Row> fetch(List<Row> table, CursorQuery query) {
+        long[] position = query.decode();
+        return table.stream()
+            .filter(row -> position == null || row.getCreatedTimestamp() < position[0]
+                || (row.getCreatedTimestamp() == position[0] && row.getId() < position[1]))
+            .limit(query.getLimit() + 1)
+            .toList();
+    }
+
+    /**
+     * 条件参数按生成顺序(MPGENVAL1, MPGENVAL2, ...)排列
+     */
+    private static List<Object> params(LambdaQueryWrapper<Row> wrapper) {
+        return wrapper.getParamNameValuePairs().entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(Map.Entry::getValue)
+            .toList();
+    }
+
+    private static Row row(Long id, Long createdTimestamp) {
+        return new Row(id, createdTimestamp, null);
+    }
+
+    private static Row row(Long id, LocalDateTime createdAt) {
+        return new Row(id, null, createdAt);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @TableName("cursor_row")
+    public static class Row {
+
+        @TableId
+        private Long id;
+
+        @TableField("created_timestamp")
+        private Long createdTimestamp;
+
+        @TableField("created_at")
+        private LocalDateTime createdAt;
+    }
+
+}
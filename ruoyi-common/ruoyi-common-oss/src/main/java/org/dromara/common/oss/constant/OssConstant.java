@@ -17,6 +17,11 @@ public interface OssConstant {
      */
     String DEFAULT_CONFIG_KEY = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:default_config";
 
+    /**
+     * 配置变更通知, 消息体为变更的配置KEY
+     */
+    String CONFIG_REFRESH_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:config_refresh";
+
     /**
      * 预览列表资源开关Key
      */
@@ -37,4 +42,24 @@ public interface OssConstant {
      */
     String IS_HTTPS = "Y";
 
+    /**
+     * 超过该大小的上传自动切换为分片上传(字节)
+     */
+    long MULTIPART_THRESHOLD = 16 * 1024 * 1024;
+
+    /**
+     * 分片大小(字节), S3 要求除最后一片外不小于 5MB
+     */
+    long MULTIPART_PART_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * 单次上传最多缓冲在内存中的数据量(字节), 限制每个上传占用的堆内存
+     */
+    long MULTIPART_BUFFER_SIZE = 32 * 1024 * 1024;
+
+    /**
+     * 每个客户端最多缓存的私有链接签名数
+     */
+    long SIGNED_URL_CACHE_SIZE = 100_000;
+
 }
@@ -2,6 +2,8 @@ package org.dromara.common.oss.core;
 
 import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.IdUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.constant.Constants;
 import org.dromara.common.core.utils.DateUtils;
@@ -19,7 +21,11 @@ import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListPartsResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.model.*;
@@ -33,7 +39,14 @@ import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -55,6 +68,14 @@ public class OssClient {
      */
     private final OssProperties properties;
 
+    /**
+     * 私有链接签名缓存, KEY为 有效期秒数:对象KEY; 随客户端一起在配置变更时丢弃
+     */
+    private final Cache<String, SignedUrl> signedUrlCache = Caffeine.newBuilder()
+        .maximumSize(OssConstant.SIGNED_URL_CACHE_SIZE)
+        .expireAfterWrite(Duration.ofHours(1))
+        .build();
+
     /**
      * Amazon S3 异步客户端
      */
@@ -88,6 +109,7 @@ public class OssClient {
             boolean isStyle = !StringUtils.containsAny(properties.getEndpoint(), OssConstant.CLOUD_SERVICE);
 
             // 创建AWS基于 Netty 的 S3 客户端
+            // 开启分片上传: 大文件按分片并行上传, 每个上传最多缓冲 MULTIPART_BUFFER_SIZE 字节, 不再整体读入内存
             this.client = S3AsyncClient.builder()
                 .credentialsProvider(credentialsProvider)
                 .endpointOverride(URI.create(getEndpoint()))
@@ -95,6 +117,12 @@ public class OssClient {
                 .forcePathStyle(isStyle)
                 .httpClient(NettyNioAsyncHttpClient.builder()
                     .connectionTimeout(Duration.ofSeconds(60)).build())
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                    .thresholdInBytes(OssConstant.MULTIPART_THRESHOLD)
+                    .minimumPartSizeInBytes(OssConstant.MULTIPART_PART_SIZE)
+                    .apiCallBufferSizeInBytes(OssConstant.MULTIPART_BUFFER_SIZE)
+                    .build())
                 .build();
 
             //AWS基于 CRT 的 S3 AsyncClient 实例用作 S3 传输管理器的底层客户端
@@ -166,15 +194,17 @@ public class OssClient {
      *
      * @param inputStream 要上传的输入流
      * @param key         在 Amazon S3 中的对象键
-     * @param length      输入流的长度
+     * @param length      输入流的长度(已知长度时直接流式上传, 超过分片阈值自动分片; 为空时先读入内存)
      * @param contentType 文件内容类型
      * @return UploadResult 包含上传后的文件信息
      * @throws OssException 如果上传失败，抛出自定义异常
      */
     public UploadResult upload(InputStream inputStream, String key, Long length, String contentType) {
-        // 如果输入流不是 ByteArrayInputStream，则将其读取为字节数组再创建 ByteArrayInputStream
-        if (!(inputStream instanceof ByteArrayInputStream)) {
-            inputStream = new ByteArrayInputStream(IoUtil.readBytes(inputStream));
+        // 长度未知时只能读取为字节数组得到长度
+        if (length == null) {
+            byte[] data = IoUtil.readBytes(inputStream);
+            inputStream = new ByteArrayInputStream(data);
+            length = (long) data.length;
         }
         try {
             // 创建异步请求体（length如果为空会报错）
@@ -210,6 +240,140 @@ public class OssClient {
         }
     }
 
+    /**
+     * 创建分片上传任务(客户端分片、可断点续传的上传)
+     *
+     * @param key         在 Amazon S3 中的对象键
+     * @param contentType 文件内容类型
+     * @return 分片上传任务ID
+     * @throws OssException 如果创建失败，抛出自定义异常
+     */
+    public String createMultipartUpload(String key, String contentType) {
+        try {
+            return client.createMultipartUpload(
+                    x -> x.bucket(properties.getBucketName())
+                        .key(key)
+                        .contentType(contentType)
+                        .build())
+                .join()
+                .uploadId();
+        } catch (Exception e) {
+            throw new OssException("创建分片上传失败，请检查配置信息:[" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * 上传一个分片, 输入流直接写入请求体
+     *
+     * @param key         在 Amazon S3 中的对象键
+     * @param uploadId    分片上传任务ID
+     * @param partNumber  分片序号(从1开始)
+     * @param inputStream 分片数据
+     * @param length      分片长度
+     * @param md5Digest   分片的 MD5(Base64, 可选), 由存储端校验
+     * @return 分片 ETag
+     * @throws OssException 如果上传失败，抛出自定义异常
+     */
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long length,
+                             String md5Digest) {
+        try {
+            BlockingInputStreamAsyncRequestBody body = BlockingInputStreamAsyncRequestBody.builder()
+                .contentLength(length)
+                .subscribeTimeout(Duration.ofSeconds(120))
+                .build();
+            CompletableFuture<UploadPartResponse> future = client.uploadPart(
+                x -> x.bucket(properties.getBucketName())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength(length)
+                    .contentMD5(StringUtils.isNotEmpty(md5Digest) ? md5Digest : null)
+                    .build(),
+                body);
+            body.writeInputStream(inputStream);
+            return future.join().eTag();
+        } catch (Exception e) {
+            throw new OssException("上传分片失败，请检查配置信息:[" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * 查询分片上传任务已上传的分片
+     *
+     * @param key      在 Amazon S3 中的对象键
+     * @param uploadId 分片上传任务ID
+     * @return 已上传的分片(按序号升序)
+     * @throws OssException 如果查询失败，抛出自定义异常
+     */
+    public List<CompletedPart> listParts(String key, String uploadId) {
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            Integer marker = null;
+            ListPartsResponse response;
+            do {
+                Integer partNumberMarker = marker;
+                response = client.listParts(
+                    x -> x.bucket(properties.getBucketName())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumberMarker(partNumberMarker)
+                        .build()).join();
+                response.parts().forEach(part -> parts.add(CompletedPart.builder()
+                    .partNumber(part.partNumber())
+                    .eTag(part.eTag())
+                    .build()));
+                marker = response.nextPartNumberMarker();
+            } while (Boolean.TRUE.equals(response.isTruncated()));
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            return parts;
+        } catch (Exception e) {
+            throw new OssException("查询分片失败，请检查配置信息:[" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * 合并已上传的分片, 完成分片上传任务
+     *
+     * @param key      在 Amazon S3 中的对象键
+     * @param uploadId 分片上传任务ID
+     * @param parts    要合并的分片(按序号升序)
+     * @return UploadResult 包含上传后的文件信息
+     * @throws OssException 如果合并失败，抛出自定义异常
+     */
+    public UploadResult completeMultipartUpload(String key, String uploadId, List<CompletedPart> parts) {
+        try {
+            String eTag = client.completeMultipartUpload(
+                    x -> x.bucket(properties.getBucketName())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(y -> y.parts(parts))
+                        .build())
+                .join()
+                .eTag();
+            return UploadResult.builder().url(getUrl() + StringUtils.SLASH + key).filename(key).eTag(eTag).build();
+        } catch (Exception e) {
+            throw new OssException("合并分片失败，请检查配置信息:[" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * 取消分片上传任务, 释放已上传的分片
+     *
+     * @param key      在 Amazon S3 中的对象键
+     * @param uploadId 分片上传任务ID
+     */
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            client.abortMultipartUpload(
+                x -> x.bucket(properties.getBucketName())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build()).join();
+        } catch (Exception e) {
+            throw new OssException("取消分片上传失败，请检查配置信息:[" + e.getMessage() + "]");
+        }
+    }
+
     /**
      * 下载文件从 Amazon S3 到临时目录
      *
@@ -323,7 +487,39 @@ public class OssClient {
      * @param expiredTime 链接授权到期时间
      */
     public String getPrivateUrl(String objectKey, Duration expiredTime) {
-        // 使用 AWS S3 预签名 URL 的生成器 获取对象的预签名 URL
+        String cacheKey = expiredTime.toSeconds() + ":" + objectKey;
+        long now = System.currentTimeMillis();
+        SignedUrl signed = signedUrlCache.getIfPresent(cacheKey);
+        if (signed != null && signed.reuseUntil() > now) {
+            return signed.url();
+        }
+        String url = presign(objectKey, expiredTime);
+        // 剩余有效期不足 1/4 时重新签名, 保证返回的链接仍有足够的可用时间
+        signedUrlCache.put(cacheKey, new SignedUrl(url, now + expiredTime.toMillis() * 3 / 4));
+        return url;
+    }
+
+    /**
+     * 批量获取私有URL链接, 已缓存且未临近过期的签名直接复用
+     *
+     * @param objectKeys  对象KEY集合
+     * @param expiredTime 链接授权到期时间
+     * @return 对象KEY -> 私有URL
+     */
+    public Map<String, String> signAll(Collection<String> objectKeys, Duration expiredTime) {
+        Map<String, String> result = new LinkedHashMap<>(objectKeys.size());
+        for (String objectKey : objectKeys) {
+            if (objectKey != null && !result.containsKey(objectKey)) {
+                result.put(objectKey, getPrivateUrl(objectKey, expiredTime));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 使用 AWS S3 预签名 URL 的生成器 获取对象的预签名 URL
+     */
+    private String presign(String objectKey, Duration expiredTime) {
         URL url = presigner.presignGetObject(
                 x -> x.signatureDuration(expiredTime)
                     .getObjectRequest(
@@ -522,4 +718,13 @@ public class OssClient {
         return AccessPolicyType.getByType(properties.getAccessPolicy());
     }
 
+    /**
+     * 已签名的私有链接
+     *
+     * @param url        签名后的链接
+     * @param reuseUntil 可复用的截止时间(毫秒)
+     */
+    private record SignedUrl(String url, long reuseUntil) {
+    }
+
 }
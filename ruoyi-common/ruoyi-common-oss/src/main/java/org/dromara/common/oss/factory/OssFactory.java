@@ -11,29 +11,40 @@ import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.redis.utils.RedisUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 文件上传Factory
+ * <p>
+ * 客户端注册表为不可变快照, 读路径无锁; 配置变更时通过 Redis 通知各节点失效对应条目,
+ * 下次访问时重新读取配置并构建客户端, 只有配置变化时才解析 JSON。
+ * 通知丢失时由 REVALIDATE_INTERVAL 定期校验兜底
  *
  * @author Lion Li
  */
 @Slf4j
 public class OssFactory {
 
-    private static final Map<String, OssClient> CLIENT_CACHE = new ConcurrentHashMap<>();
+    /**
+     * 快照条目最长使用时间(毫秒), 超时后由一个线程重新校验配置, 其余线程继续使用当前客户端
+     */
+    private static final long REVALIDATE_INTERVAL = 5 * 60 * 1000L;
+
     private static final ReentrantLock LOCK = new ReentrantLock();
 
+    private static volatile Registry registry = new Registry(Map.of(), null, 0L, 0L);
+    private static volatile boolean subscribed;
+
     /**
      * 获取默认实例
      */
     public static OssClient instance() {
-        // 获取redis 默认类型
-        String configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
-        if (StringUtils.isEmpty(configKey)) {
-            throw new OssException("文件存储服务类型无法找到!");
+        Registry current = registry;
+        String configKey = current.defaultConfigKey();
+        if (configKey == null || System.currentTimeMillis() - current.defaultLoadedAt() > REVALIDATE_INTERVAL) {
+            configKey = loadDefaultConfigKey();
         }
         return instance(configKey);
     }
@@ -41,33 +52,135 @@ public class OssFactory {
     /**
      * 根据类型获取实例
      */
-    public static synchronized OssClient instance(String configKey) {
+    public static OssClient instance(String configKey) {
+        Entry entry = registry.clients().get(configKey);
+        if (entry != null) {
+            if (System.currentTimeMillis() - entry.loadedAt() > REVALIDATE_INTERVAL && LOCK.tryLock()) {
+                try {
+                    return load(configKey).client();
+                } catch (OssException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // 校验失败时继续使用当前客户端
+                    log.warn("OSS配置校验失败 key => {}, error => {}", configKey, e.getMessage());
+                } finally {
+                    LOCK.unlock();
+                }
+            }
+            return entry.client();
+        }
+        LOCK.lock();
+        try {
+            entry = registry.clients().get(configKey);
+            return entry != null ? entry.client() : load(configKey).client();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * 通知所有节点配置已变更(新增/修改/删除配置, 切换默认配置)
+     *
+     * @param configKey 变更的配置键
+     */
+    public static void refresh(String configKey) {
+        RedisUtils.publish(OssConstant.CONFIG_REFRESH_TOPIC, configKey);
+    }
+
+    /**
+     * 读取配置并更新快照, 配置未变化时复用原客户端; 调用方需持有锁
+     */
+    private static Entry load(String configKey) {
+        subscribe();
         String json = CacheUtils.get(CacheNames.SYS_OSS_CONFIG, configKey);
         if (json == null) {
+            remove(configKey);
             throw new OssException("系统异常, '" + configKey + "'配置信息不存在!");
         }
-        OssProperties properties = JsonUtils.parseObject(json, OssProperties.class);
-        // 使用租户标识避免多个租户相同key实例覆盖
-        String key = configKey;
-        if (StringUtils.isNotBlank(properties.getTenantId())) {
-            key = properties.getTenantId() + ":" + configKey;
+        Registry current = registry;
+        Entry entry = current.clients().get(configKey);
+        OssClient client;
+        if (entry != null && entry.json().equals(json)) {
+            client = entry.client();
+        } else {
+            OssProperties properties = JsonUtils.parseObject(json, OssProperties.class);
+            if (entry != null && entry.client().checkPropertiesSame(properties)) {
+                client = entry.client();
+            } else {
+                // 旧客户端可能仍有进行中的传输, 不主动关闭
+                client = new OssClient(configKey, properties);
+                log.info("创建OSS实例 key => {}, version => {}", configKey, current.version() + 1);
+            }
         }
-        OssClient client = CLIENT_CACHE.get(key);
-        // 客户端不存在或配置不相同则重新构建
-        if (client == null || !client.checkPropertiesSame(properties)) {
-            LOCK.lock();
-            try {
-                client = CLIENT_CACHE.get(key);
-                if (client == null || !client.checkPropertiesSame(properties)) {
-                    CLIENT_CACHE.put(key, new OssClient(configKey, properties));
-                    log.info("创建OSS实例 key => {}", configKey);
-                    return CLIENT_CACHE.get(key);
-                }
-            } finally {
-                LOCK.unlock();
+        Entry fresh = new Entry(json, client, System.currentTimeMillis());
+        Map<String, Entry> clients = new HashMap<>(current.clients());
+        clients.put(configKey, fresh);
+        registry = new Registry(Map.copyOf(clients), current.defaultConfigKey(), current.defaultLoadedAt(), current.version() + 1);
+        return fresh;
+    }
+
+    private static String loadDefaultConfigKey() {
+        LOCK.lock();
+        try {
+            Registry current = registry;
+            if (current.defaultConfigKey() != null
+                && System.currentTimeMillis() - current.defaultLoadedAt() <= REVALIDATE_INTERVAL) {
+                return current.defaultConfigKey();
+            }
+            subscribe();
+            // 获取redis 默认类型
+            String configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
+            if (StringUtils.isEmpty(configKey)) {
+                throw new OssException("文件存储服务类型无法找到!");
+            }
+            registry = new Registry(current.clients(), configKey, System.currentTimeMillis(), current.version() + 1);
+            return configKey;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * 失效配置对应的客户端和默认配置键, 下次访问时重新加载
+     */
+    private static void remove(String configKey) {
+        LOCK.lock();
+        try {
+            Registry current = registry;
+            Map<String, Entry> clients = current.clients();
+            if (configKey != null && clients.containsKey(configKey)) {
+                clients = new HashMap<>(clients);
+                clients.remove(configKey);
+                clients = Map.copyOf(clients);
             }
+            registry = new Registry(clients, null, 0L, current.version() + 1);
+        } finally {
+            LOCK.unlock();
         }
-        return client;
+    }
+
+    private static void subscribe() {
+        if (subscribed) {
+            return;
+        }
+        RedisUtils.subscribe(OssConstant.CONFIG_REFRESH_TOPIC, String.class, configKey -> {
+            log.info("OSS配置变更 key => {}", configKey);
+            remove(configKey);
+        });
+        subscribed = true;
+    }
+
+    /**
+     * 客户端注册表快照
+     */
+    private record Registry(Map<String, Entry> clients, String defaultConfigKey, long defaultLoadedAt, long version) {
+    }
+
+    /**
+     * @param json     构建客户端时的配置原文, 用于判断配置是否变化
+     * @param loadedAt 最近一次校验时间
+     */
+    private record Entry(String json, OssClient client, long loadedAt) {
     }
 
 }
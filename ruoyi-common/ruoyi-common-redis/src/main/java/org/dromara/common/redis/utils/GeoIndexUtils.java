@@ -0,0 +1,400 @@
+package org.dromara.common.redis.utils;
+
+import cn.hutool.core.codec.Base64;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.redisson.api.GeoEntry;
+import org.redisson.api.GeoOrder;
+import org.redisson.api.GeoUnit;
+import org.redisson.api.RGeo;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.geo.GeoSearchArgs;
+import org.redisson.client.codec.StringCodec;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 地理位置索引工具类
+ * <p>
+ * 基于 Redis GEO 维护 id -> 经纬度 索引，按距离由近到远分页检索，替代数据库逐行计算 ST_Distance_Sphere。
+ * 游标记录上一页最后一条的 (距离, id)，翻页期间有新数据写入也不会重复或漏读；游标之前的数据在 Redis 端过滤，每页只传回固定窗口。
+ * <p>
+ * 全量重建: {@link #beginRebuild} 开启增量日志后再读库写入临时key, {@link #finishRebuild} 替换正式key并重放日志,
+ * 读库到替换之间的实时写入不会被旧快照覆盖。
+ *
+ * @author XiangYuPai
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class GeoIndexUtils {
+
+    private static final RedissonClient CLIENT = SpringUtils.getBean(RedissonClient.class);
+
+    /**
+     * 每纬度对应的米数(近似)
+     */
+    private static final double METERS_PER_DEGREE = 111_320D;
+
+    /**
+     * 增量日志标记字段: 日志存在即表示重建进行中
+     */
+    private static final String JOURNAL_MARKER = "~";
+
+    /**
+     * 增量日志兜底过期时间, 重建中断时自动清理
+     */
+    private static final long JOURNAL_TTL_MILLIS = 10 * 60 * 1000L;
+
+    /**
+     * 写入正式索引, 重建进行中时同时记入增量日志 (member -> "经度,纬度")
+     */
+    private static final String ADD_SCRIPT = """
+        redis.call('GEOADD', KEYS[1], ARGV[1], ARGV[2], ARGV[3])
+        if redis.call('EXISTS', KEYS[2]) == 1 then
+            redis.call('HSET', KEYS[2], ARGV[3], ARGV[1] .. ',' .. ARGV[2])
+        end
+        return 1
+        """;
+
+    /**
+     * 从正式索引移除, 重建进行中时同时记入增量日志 (member -> "-")
+     */
+    private static final String REMOVE_SCRIPT = """
+        redis.call('ZREM', KEYS[1], ARGV[1])
+        if redis.call('EXISTS', KEYS[2]) == 1 then
+            redis.call('HSET', KEYS[2], ARGV[1], '-')
+        end
+        return 1
+        """;
+
+    /**
+     * 清空临时key并开启增量日志
+     */
+    private static final String BEGIN_REBUILD_SCRIPT = """
+        redis.call('DEL', KEYS[1], KEYS[2])
+        redis.call('HSET', KEYS[2], ARGV[1], '')
+        redis.call('PEXPIRE', KEYS[2], ARGV[2])
+        return 1
+        """;
+
+    /**
+     * 临时key替换正式key(临时key不存在说明已无数据, 删除正式key), 再重放增量日志, 返回重放条数
+     */
+    private static final String FINISH_REBUILD_SCRIPT = """
+        if redis.call('EXISTS', KEYS[2]) == 1 then
+            redis.call('RENAME', KEYS[2], KEYS[1])
+        else
+            redis.call('DEL', KEYS[1])
+        end
+        local journal = redis.call('HGETALL', KEYS[3])
+        local replayed = 0
+        for i = 1, #journal, 2 do
+            local member = journal[i]
+            local value = journal[i + 1]
+            if member ~= ARGV[1] then
+                if value == '-' then
+                    redis.call('ZREM', KEYS[1], member)
+                else
+                    local sep = string.find(value, ',', 1, true)
+                    redis.call('GEOADD', KEYS[1], string.sub(value, 1, sep - 1), string.sub(value, sep + 1), member)
+                end
+                replayed = replayed + 1
+            end
+        end
+        redis.call('DEL', KEYS[3])
+        return replayed
+        """;
+
+    /**
+     * 返回 {命中数量, id1, 距离1, id2, 距离2, ...}, 只保留 (距离, id) 大于游标的数据;
+     * id 可能超过 Lua 数值精度, 按 长度 + 字典序 比较
+     */
+    private static final String SEARCH_AFTER_SCRIPT = """
+        local hits = redis.call('GEOSEARCH', KEYS[1], 'FROMLONLAT', ARGV[1], ARGV[2], 'BYRADIUS', ARGV[3], 'm', 'ASC', 'COUNT', ARGV[4], 'WITHDIST')
+        local lastDistance = tonumber(ARGV[5])
+        local lastId = ARGV[6]
+        local result = {tostring(#hits)}
+        for _, hit in ipairs(hits) do
+            local distance = tonumber(hit[2])
+            local id = hit[1]
+            if distance > lastDistance or (distance == lastDistance
+                and (#id > #lastId or (#id == #lastId and id > lastId))) then
+                result[#result + 1] = id
+                result[#result + 1] = hit[2]
+            end
+        end
+        return result
+        """;
+
+    /**
+     * 添加或更新位置
+     *
+     * @param key       索引key
+     * @param id        业务ID
+     * @param longitude 经度
+     * @param latitude  纬度
+     */
+    public static void add(String key, Long id, double longitude, double latitude) {
+        CLIENT.getScript(StringCodec.INSTANCE).eval(key, RScript.Mode.READ_WRITE, ADD_SCRIPT,
+            RScript.ReturnType.INTEGER, List.of(key, journalKey(key)),
+            String.valueOf(longitude), String.valueOf(latitude), String.valueOf(id));
+    }
+
+    /**
+     * 批量添加位置(不记增量日志, 用于写入重建临时key)
+     *
+     * @param key     索引key
+     * @param entries 位置列表
+     */
+    public static void addAll(String key, Collection<GeoEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        getGeo(key).add(entries.toArray(new GeoEntry[0]));
+    }
+
+    /**
+     * 移除位置
+     *
+     * @param key 索引key
+     * @param id  业务ID
+     */
+    public static void remove(String key, Long id) {
+        CLIENT.getScript(StringCodec.INSTANCE).eval(key, RScript.Mode.READ_WRITE, REMOVE_SCRIPT,
+            RScript.ReturnType.INTEGER, List.of(key, journalKey(key)), String.valueOf(id));
+    }
+
+    /**
+     * 开始重建: 清空临时key并开启增量日志, 须在读取数据源之前调用
+     *
+     * @param key 索引key
+     * @return 重建用临时key, 以正式key为 hash tag, 集群模式下与正式key落在同一槽位
+     */
+    public static String beginRebuild(String key) {
+        String rebuildKey = rebuildKey(key);
+        CLIENT.getScript(StringCodec.INSTANCE).eval(key, RScript.Mode.READ_WRITE, BEGIN_REBUILD_SCRIPT,
+            RScript.ReturnType.INTEGER, List.of(rebuildKey, journalKey(key)),
+            JOURNAL_MARKER, String.valueOf(JOURNAL_TTL_MILLIS));
+        return rebuildKey;
+    }
+
+    /**
+     * 完成重建: 临时key原子替换正式key, 并重放重建期间的实时写入
+     *
+     * @param key 索引key
+     * @return 重放的增量条数
+     */
+    public static long finishRebuild(String key) {
+        Long replayed = CLIENT.getScript(StringCodec.INSTANCE).eval(key, RScript.Mode.READ_WRITE, FINISH_REBUILD_SCRIPT,
+            RScript.ReturnType.INTEGER, List.of(key, rebuildKey(key), journalKey(key)), JOURNAL_MARKER);
+        return replayed != null ? replayed : 0L;
+    }
+
+    /**
+     * 重建用临时key
+     *
+     * @param key 索引key
+     */
+    public static String rebuildKey(String key) {
+        return "{" + key + "}:rebuild";
+    }
+
+    /**
+     * 索引是否存在
+     *
+     * @param key 索引key
+     */
+    public static boolean exists(String key) {
+        return getGeo(key).isExists();
+    }
+
+    /**
+     * 按页码检索附近的数据(由近到远)
+     *
+     * @param key          索引key
+     * @param longitude    中心经度
+     * @param latitude     中心纬度
+     * @param radiusMeters 半径(米)
+     * @param pageNum      页码
+     * @param pageSize     每页数量
+     * @return 当前页结果
+     */
+    public static GeoPage search(String key, double longitude, double latitude, double radiusMeters,
+                                 int pageNum, int pageSize) {
+        int offset = (Math.max(pageNum, 1) - 1) * pageSize;
+        return doSearch(key, longitude, latitude, radiusMeters, new GeoCursor(offset, null, null), pageSize);
+    }
+
+    /**
+     * 按游标检索附近的数据(由近到远)
+     *
+     * @param key          索引key
+     * @param longitude    中心经度
+     * @param latitude     中心纬度
+     * @param radiusMeters 半径(米)
+     * @param cursor       上一页返回的游标, 首页传null
+     * @param pageSize     每页数量
+     * @return 当前页结果
+     */
+    public static GeoPage search(String key, double longitude, double latitude, double radiusMeters,
+                                 String cursor, int pageSize) {
+        return doSearch(key, longitude, latitude, radiusMeters, GeoCursor.decode(cursor), pageSize);
+    }
+
+    /**
+     * 计算以中心点为圆心、指定半径的外接矩形, 用于数据库查询时的索引预过滤
+     *
+     * @param longitude    中心经度
+     * @param latitude     中心纬度
+     * @param radiusMeters 半径(米)
+     * @return [minLongitude, minLatitude, maxLongitude, maxLatitude]
+     */
+    public static double[] boundingBox(double longitude, double latitude, double radiusMeters) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(latitude));
+        double lonDelta = cos < 1e-6 ? 180D : Math.min(180D, radiusMeters / (METERS_PER_DEGREE * cos));
+        return new double[]{
+            longitude - lonDelta,
+            Math.max(-90D, latitude - latDelta),
+            longitude + lonDelta,
+            Math.min(90D, latitude + latDelta)
+        };
+    }
+
+    private static GeoPage doSearch(String key, double longitude, double latitude, double radiusMeters,
+                                    GeoCursor cursor, int pageSize) {
+        // 多取一页作为余量, 抵消翻页期间新写入的数据
+        int fetch = cursor.getOffset() + pageSize * 2;
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>();
+        int hitCount;
+        if (cursor.getLastId() != null) {
+            hitCount = searchAfter(key, longitude, latitude, radiusMeters, fetch, cursor, sorted);
+        } else {
+            Map<String, Double> hits = getGeo(key).searchWithDistance(GeoSearchArgs.from(longitude, latitude)
+                .radius(radiusMeters, GeoUnit.METERS)
+                .order(GeoOrder.ASC)
+                .count(fetch));
+            hits.forEach((member, distance) -> sorted.add(Map.entry(Long.valueOf(member), distance)));
+            hitCount = hits.size();
+        }
+
+        // 同距离时按id排序, 保证顺序稳定
+        sorted.sort(Comparator.<Map.Entry<Long, Double>>comparingDouble(Map.Entry::getValue)
+            .thenComparing(Map.Entry::getKey));
+
+        int start = cursor.getLastId() != null ? 0 : Math.min(cursor.getOffset(), sorted.size());
+        int end = Math.min(start + pageSize, sorted.size());
+
+        GeoPage page = new GeoPage();
+        LinkedHashMap<Long, Double> distances = new LinkedHashMap<>();
+        for (Map.Entry<Long, Double> entry : sorted.subList(start, end)) {
+            distances.put(entry.getKey(), entry.getValue());
+        }
+        page.setIds(new ArrayList<>(distances.keySet()));
+        page.setDistances(distances);
+        page.setHasMore(end < sorted.size() || hitCount >= fetch);
+        if (!distances.isEmpty()) {
+            Map.Entry<Long, Double> last = sorted.get(end - 1);
+            page.setNextCursor(new GeoCursor(cursor.getOffset() + distances.size(), last.getValue(), last.getKey()).encode());
+        }
+        return page;
+    }
+
+    /**
+     * 游标翻页: 在 Redis 端过滤掉游标之前的数据, 只传回游标之后的窗口(约两页)
+     * <p>
+     * GEOSEARCH 不支持从指定距离开始, Redis 端仍需扫描游标之前的数据, 翻页越深单次检索越重, 但网络传输和应用端排序不随页数增长
+     *
+     * @param window 游标之后的结果(未排序)
+     * @return GEOSEARCH 命中数量, 用于判断是否还有更多
+     */
+    private static int searchAfter(String key, double longitude, double latitude, double radiusMeters, int fetch,
+                                   GeoCursor cursor, List<Map.Entry<Long, Double>> window) {
+        List<Object> result = CLIENT.getScript(StringCodec.INSTANCE).eval(key, RScript.Mode.READ_ONLY,
+            SEARCH_AFTER_SCRIPT, RScript.ReturnType.MULTI, List.of(key),
+            String.valueOf(longitude), String.valueOf(latitude), String.valueOf(radiusMeters), String.valueOf(fetch),
+            String.valueOf(cursor.getLastDistance()), String.valueOf(cursor.getLastId()));
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            window.add(Map.entry(Long.valueOf(result.get(i).toString()), Double.valueOf(result.get(i + 1).toString())));
+        }
+        return Integer.parseInt(result.get(0).toString());
+    }
+
+    private static String journalKey(String key) {
+        return "{" + key + "}:journal";
+    }
+
+    private static RGeo<String> getGeo(String key) {
+        return CLIENT.getGeo(key, StringCodec.INSTANCE);
+    }
+
+    /**
+     * 附近检索分页结果
+     */
+    @Data
+    public static class GeoPage implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 当前页业务ID(由近到远)
+         */
+        private List<Long> ids = new ArrayList<>();
+
+        /**
+         * 业务ID -> 距离(米)
+         */
+        private Map<Long, Double> distances = new LinkedHashMap<>();
+
+        /**
+         * 下一页游标
+         */
+        private String nextCursor;
+
+        /**
+         * 是否还有更多
+         */
+        private boolean hasMore;
+
+    }
+
+    /**
+     * 游标: 已读数量 + 上一页最后一条的(距离, id)
+     */
+    @Data
+    private static class GeoCursor {
+
+        private final int offset;
+        private final Double lastDistance;
+        private final Long lastId;
+
+        String encode() {
+            return Base64.encodeUrlSafe(offset + ":" + lastDistance + ":" + lastId, StandardCharsets.UTF_8);
+        }
+
+        static GeoCursor decode(String cursor) {
+            if (StringUtils.isBlank(cursor)) {
+                return new GeoCursor(0, null, null);
+            }
+            try {
+                String[] parts = Base64.decodeStr(cursor, StandardCharsets.UTF_8).split(":");
+                return new GeoCursor(Integer.parseInt(parts[0]), Double.valueOf(parts[1]), Long.valueOf(parts[2]));
+            } catch (Exception e) {
+                return new GeoCursor(0, null, null);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.dromara.common.translation.core;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 批量翻译接口
+ * <p>
+ * 序列化集合时先收集其所在对象图中所有待翻译的键, 每种翻译一次调用批量翻译, 字段序列化时直接取结果
+ *
+ * @author XiangYuPai
+ */
+public interface BatchTranslationInterface<T> extends TranslationInterface<T> {
+
+    /**
+     * 批量翻译
+     *
+     * @param keys  需要被翻译的键(不为空, 已去重)
+     * @param other 其他参数
+     * @return 键(toString) -> 翻译结果(可为 null, 表示无结果), 缺失的键在序列化时回退为单个翻译
+     */
+    Map<String, T> translationBatch(Collection<Object> keys, String other);
+}
@@ -0,0 +1,400 @@
+package org.dromara.common.translation.core.handler;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.core.utils.reflect.ReflectUtils;
+import org.dromara.common.translation.annotation.Translation;
+import org.dromara.common.translation.core.BatchTranslationInterface;
+import org.dromara.common.translation.core.TranslationInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 批量翻译上下文
+ * <p>
+ * 最外层集合序列化前遍历其所在的对象图(集合所属对象、嵌套对象、嵌套集合), 按 翻译类型+参数 收集所有待翻译的键,
+ * 每组先查本地短期缓存, 未命中的一次批量翻译, 结果保存到当前作用域后再开始写出。
+ * 作用域: Web 请求内为请求属性(同一请求内多次序列化共享), 其他情况为当前线程, 最外层集合序列化结束后清理。
+ * 每个类型预先计算能否(按字段声明类型)到达批量翻译字段, 到达不了的对象不遍历, 整个对象图都到达不了时不预取
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+public class TranslationBatchContext {
+
+    /**
+     * 未预取标记, 区别于翻译结果为 null
+     */
+    public static final Object MISSING = new Object();
+
+    private static final Object NULL_VALUE = new Object();
+
+    private static final String REQUEST_ATTRIBUTE = TranslationBatchContext.class.getName();
+
+    private static final ThreadLocal<Scope> THREAD_SCOPE = new ThreadLocal<>();
+
+    /**
+     * 批量翻译结果的本地缓存, 缓存时间短, 只用于削减相邻请求的重复远程调用
+     */
+    private static final Cache<String, Object> LOCAL_CACHE = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofSeconds(30))
+        .maximumSize(10000)
+        .build();
+
+    /**
+     * 单次遍历的最大对象数, 超出部分在序列化时回退为单个翻译
+     */
+    private static final int MAX_VISITS = 20000;
+
+    /**
+     * 最大遍历深度(对象层级)
+     */
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * 类型 -> 字段元数据
+     */
+    private static final Map<Class<?>, ClassMeta> META_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 预取对象图中的批量翻译结果
+     *
+     * @param root 遍历起点(集合或集合所属对象)
+     * @return 是否为线程作用域的最外层(由调用方负责 {@link #clear()})
+     */
+    public static boolean prefetch(Object root) {
+        if (root == null || !mayReach(root)) {
+            return false;
+        }
+        Scope requestScope = requestScope(true);
+        boolean owner = requestScope == null && THREAD_SCOPE.get() == null;
+        Scope scope = requestScope != null ? requestScope : owner ? new Scope() : THREAD_SCOPE.get();
+
+        // type:other -> 待翻译的键
+        Map<String, Set<Object>> pending = new HashMap<>();
+        Map<String, BatchField> fields = new HashMap<>();
+        collect(root, 0, scope, pending, fields, new int[]{MAX_VISITS});
+        if (owner) {
+            THREAD_SCOPE.set(scope);
+        }
+        if (pending.isEmpty()) {
+            return owner;
+        }
+
+        pending.forEach((group, keys) -> {
+            Map<String, Object> cached = scope.results.computeIfAbsent(group, k -> new HashMap<>());
+            keys.removeIf(key -> cached.containsKey(key.toString()) || fromLocalCache(group, key, cached));
+            if (keys.isEmpty()) {
+                return;
+            }
+            BatchField field = fields.get(group);
+            try {
+                Map<String, ?> result = field.trans().translationBatch(keys, field.translation().other());
+                result.forEach((key, value) -> {
+                    cached.put(key, value);
+                    LOCAL_CACHE.put(group + ":" + key, value == null ? NULL_VALUE : value);
+                });
+            } catch (Exception e) {
+                // 预取失败时元素序列化回退为单个翻译
+                log.warn("批量翻译异常，type: {}, size: {}, error: {}", field.translation().type(), keys.size(), e.getMessage());
+            }
+        });
+        return owner;
+    }
+
+    /**
+     * 获取预取的翻译结果
+     *
+     * @return 未预取时返回 {@link #MISSING}
+     */
+    public static Object get(String type, String other, Object key) {
+        Scope scope = currentScope();
+        if (scope == null) {
+            return MISSING;
+        }
+        Map<String, Object> group = scope.results.get(group(type, other));
+        String name = key.toString();
+        return group != null && group.containsKey(name) ? group.get(name) : MISSING;
+    }
+
+    /**
+     * 保存单个翻译的结果, 同一作用域内相同的键不再重复翻译
+     */
+    public static void put(String type, String other, Object key, Object value) {
+        Scope scope = currentScope();
+        if (scope != null) {
+            scope.results.computeIfAbsent(group(type, other), k -> new HashMap<>()).put(key.toString(), value);
+        }
+    }
+
+    public static void clear() {
+        THREAD_SCOPE.remove();
+    }
+
+    private static boolean fromLocalCache(String group, Object key, Map<String, Object> cached) {
+        Object value = LOCAL_CACHE.getIfPresent(group + ":" + key);
+        if (value == null) {
+            return false;
+        }
+        cached.put(key.toString(), value == NULL_VALUE ? null : value);
+        return true;
+    }
+
+    private static Scope currentScope() {
+        Scope scope = requestScope(false);
+        return scope != null ? scope : THREAD_SCOPE.get();
+    }
+
+    private static Scope requestScope(boolean create) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Scope scope = (Scope) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (scope == null && create) {
+            scope = new Scope();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, scope, RequestAttributes.SCOPE_REQUEST);
+        }
+        return scope;
+    }
+
+    private static String group(String type, String other) {
+        return type + ":" + other;
+    }
+
+    /**
+     * 遍历对象图收集待翻译的键, 已遍历过的对象和集合(按引用)跳过
+     */
+    private static void collect(Object value, int depth, Scope scope, Map<String, Set<Object>> pending,
+                                Map<String, BatchField> fields, int[] budget) {
+        if (value == null || depth > MAX_DEPTH || budget[0] <= 0) {
+            return;
+        }
+        if (value instanceof Collection<?> collection) {
+            if (scope.walked.add(collection)) {
+                for (Object element : collection) {
+                    collect(element, depth, scope, pending, fields, budget);
+                }
+            }
+            return;
+        }
+        if (value instanceof Map<?, ?> map) {
+            if (scope.walked.add(map)) {
+                for (Object element : map.values()) {
+                    collect(element, depth, scope, pending, fields, budget);
+                }
+            }
+            return;
+        }
+        if (value instanceof Object[] array) {
+            for (Object element : array) {
+                collect(element, depth, scope, pending, fields, budget);
+            }
+            return;
+        }
+        if (isSimple(value.getClass())) {
+            return;
+        }
+        ClassMeta meta = meta(value.getClass());
+        if (!meta.reachable() || !scope.walked.add(value)) {
+            return;
+        }
+        budget[0]--;
+        for (BatchField field : meta.batchFields()) {
+            Object key = ReflectUtils.invokeGetter(value, field.property());
+            if (key != null) {
+                String group = group(field.translation().type(), field.translation().other());
+                pending.computeIfAbsent(group, k -> new LinkedHashSet<>()).add(key);
+                fields.putIfAbsent(group, field);
+            }
+        }
+        for (Method getter : meta.nested()) {
+            Object nested;
+            try {
+                nested = getter.invoke(value);
+            } catch (Exception e) {
+                continue;
+            }
+            collect(nested, depth + 1, scope, pending, fields, budget);
+        }
+    }
+
+    /**
+     * 解析类型上标注 {@link Translation} 且实现了批量翻译的字段, 以及可能包含翻译字段的嵌套属性(含父类)
+     */
+    private static ClassMeta meta(Class<?> clazz) {
+        return META_CACHE.computeIfAbsent(clazz, c -> {
+            List<BatchField> batchFields = new ArrayList<>();
+            List<Method> nested = new ArrayList<>();
+            for (Class<?> type = c; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                        || field.isAnnotationPresent(JsonIgnore.class)) {
+                        continue;
+                    }
+                    Translation translation = field.getAnnotation(Translation.class);
+                    if (translation != null) {
+                        TranslationInterface<?> trans = TranslationHandler.TRANSLATION_MAPPER.get(translation.type());
+                        if (trans instanceof BatchTranslationInterface<?> batch) {
+                            String property = StringUtils.isNotBlank(translation.mapper()) ? translation.mapper() : field.getName();
+                            batchFields.add(new BatchField(property, translation, batch));
+                        }
+                        continue;
+                    }
+                    if (!mayReach(field.getGenericType(), new HashSet<>())) {
+                        continue;
+                    }
+                    Method getter = getter(c, field.getName());
+                    if (getter != null) {
+                        nested.add(getter);
+                    }
+                }
+            }
+            return new ClassMeta(batchFields.isEmpty() ? List.of() : batchFields, nested.isEmpty() ? List.of() : nested,
+                !batchFields.isEmpty() || !nested.isEmpty());
+        });
+    }
+
+    /**
+     * 遍历起点能否到达批量翻译字段, 容器按第一个非空元素判断
+     */
+    private static boolean mayReach(Object root) {
+        Object sample = root;
+        if (root instanceof Collection<?> collection) {
+            sample = collection.stream().filter(Objects::nonNull).findFirst().orElse(null);
+        } else if (root instanceof Map<?, ?> map) {
+            sample = map.values().stream().filter(Objects::nonNull).findFirst().orElse(null);
+        } else if (root instanceof Object[] array) {
+            sample = Arrays.stream(array).filter(Objects::nonNull).findFirst().orElse(null);
+        }
+        if (sample == null || isSimple(sample.getClass())) {
+            return false;
+        }
+        if (sample instanceof Collection<?> || sample instanceof Map<?, ?> || sample instanceof Object[]) {
+            return true;
+        }
+        return meta(sample.getClass()).reachable();
+    }
+
+    /**
+     * 按声明类型判断能否到达批量翻译字段; 泛型变量、Object、接口等无法确定的类型视为可以到达, 遍历时按实际类型判断
+     *
+     * @param visiting 正在判断的类型, 用于处理循环引用
+     */
+    private static boolean mayReach(Type type, Set<Class<?>> visiting) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(raw) && arguments.length == 1) {
+                return mayReach(arguments[0], visiting);
+            }
+            if (Map.class.isAssignableFrom(raw) && arguments.length == 2) {
+                return mayReach(arguments[1], visiting);
+            }
+            return mayReach(raw, visiting);
+        }
+        if (type instanceof GenericArrayType array) {
+            return mayReach(array.getGenericComponentType(), visiting);
+        }
+        if (!(type instanceof Class<?> clazz)) {
+            return true;
+        }
+        if (clazz.isArray()) {
+            return !clazz.getComponentType().isPrimitive() && mayReach(clazz.getComponentType(), visiting);
+        }
+        if (isSimple(clazz)) {
+            return false;
+        }
+        if (clazz == Object.class || clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            return true;
+        }
+        ClassMeta cached = META_CACHE.get(clazz);
+        if (cached != null) {
+            return cached.reachable();
+        }
+        if (!visiting.add(clazz)) {
+            return false;
+        }
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                    || field.isAnnotationPresent(JsonIgnore.class)) {
+                    continue;
+                }
+                Translation translation = field.getAnnotation(Translation.class);
+                if (translation != null) {
+                    if (TranslationHandler.TRANSLATION_MAPPER.get(translation.type()) instanceof BatchTranslationInterface<?>) {
+                        return true;
+                    }
+                    continue;
+                }
+                if (mayReach(field.getGenericType(), visiting)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Method getter(Class<?> clazz, String name) {
+        try {
+            Method method = clazz.getMethod("get" + StringUtils.capitalize(name));
+            return method.getParameterCount() == 0 ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 不会包含翻译字段的类型: 基本类型及包装类、字符串、日期、枚举和 JDK 内的其他非容器类型
+     */
+    private static boolean isSimple(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || CharSequence.class.isAssignableFrom(type)
+            || Number.class.isAssignableFrom(type) || Boolean.class == type || Character.class == type
+            || Date.class.isAssignableFrom(type) || Temporal.class.isAssignableFrom(type)) {
+            return true;
+        }
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type.isArray() || type == Object.class) {
+            return false;
+        }
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jakarta.");
+    }
+
+    /**
+     * @param property 取值属性(映射字段或当前字段)
+     */
+    private record BatchField(String property, Translation translation, BatchTranslationInterface<?> trans) {
+    }
+
+    /**
+     * @param batchFields 批量翻译字段
+     * @param nested      可能到达批量翻译字段的嵌套属性的 getter
+     * @param reachable   能否到达批量翻译字段
+     */
+    private record ClassMeta(List<BatchField> batchFields, List<Method> nested, boolean reachable) {
+    }
+
+    /**
+     * 翻译作用域: 分组结果(type:other -> 键 -> 结果) 和已遍历的对象
+     */
+    private static final class Scope {
+        private final Map<String, Map<String, Object>> results = new HashMap<>();
+        private final Set<Object> walked = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+}
@@ -1,14 +1,16 @@
 package org.dromara.common.translation.core.handler;
 
 import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.type.CollectionType;
 
 import java.util.List;
 
 /**
- * Bean 序列化修改器 解决 Null 被单独处理问题
+ * Bean 序列化修改器 解决 Null 被单独处理问题, 集合序列化时批量翻译
  *
  * @author Lion Li
  */
@@ -26,4 +28,13 @@ public class TranslationBeanSerializerModifier extends BeanSerializerModifier {
         return beanProperties;
     }
 
+    /**
+     * 集合序列化前批量预取元素的翻译结果
+     */
+    @Override
+    public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType,
+                                                        BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        return new TranslationCollectionSerializer(serializer);
+    }
+
 }
@@ -0,0 +1,98 @@
+package org.dromara.common.translation.core.handler;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * 集合序列化器 序列化元素前批量预取对象图中的翻译结果
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+public class TranslationCollectionSerializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+    private final JsonSerializer<Object> delegate;
+
+    @SuppressWarnings("unchecked")
+    public TranslationCollectionSerializer(JsonSerializer<?> delegate) {
+        this.delegate = (JsonSerializer<Object>) delegate;
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        boolean owner = prefetch(value, gen);
+        try {
+            delegate.serialize(value, gen, serializers);
+        } finally {
+            if (owner) {
+                TranslationBatchContext.clear();
+            }
+        }
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        boolean owner = prefetch(value, gen);
+        try {
+            delegate.serializeWithType(value, gen, serializers, typeSer);
+        } finally {
+            if (owner) {
+                TranslationBatchContext.clear();
+            }
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+        if (delegate instanceof ContextualSerializer contextual) {
+            JsonSerializer<?> serializer = contextual.createContextual(prov, property);
+            return serializer == delegate ? this : new TranslationCollectionSerializer(serializer);
+        }
+        return this;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+        return delegate.isEmpty(provider, value);
+    }
+
+    @Override
+    public Class<Object> handledType() {
+        return delegate.handledType();
+    }
+
+    /**
+     * 从集合所属对象开始遍历, 同一对象下的多个集合只需一次批量翻译
+     */
+    private boolean prefetch(Object value, JsonGenerator gen) {
+        if (!(value instanceof Collection<?>)) {
+            return false;
+        }
+        Object owner = gen.currentValue();
+        try {
+            return TranslationBatchContext.prefetch(owner != null ? owner : value);
+        } catch (Exception e) {
+            // 预取失败不影响序列化, 元素回退为单个翻译
+            log.warn("批量翻译预取异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+}
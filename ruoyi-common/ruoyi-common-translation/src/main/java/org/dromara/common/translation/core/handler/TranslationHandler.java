@@ -47,7 +47,12 @@ public class TranslationHandler extends JsonSerializer<Object> implements Contex
                 return;
             }
             try {
-                Object result = trans.translation(value, translation.other());
+                // 优先使用批量预取或同一作用域内已翻译的结果
+                Object result = TranslationBatchContext.get(translation.type(), translation.other(), value);
+                if (result == TranslationBatchContext.MISSING) {
+                    result = trans.translation(value, translation.other());
+                    TranslationBatchContext.put(translation.type(), translation.other(), value, result);
+                }
                 gen.writeObject(result);
             } catch (Exception e) {
                 log.error("翻译处理异常，type: {}, value: {}", translation.type(), value, e);
@@ -1,12 +1,16 @@
 package org.dromara.common.translation.core.impl;
 
+import cn.hutool.core.convert.Convert;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
-import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.translation.core.BatchTranslationInterface;
 import org.dromara.system.api.RemoteDeptService;
 import lombok.AllArgsConstructor;
 import org.apache.dubbo.config.annotation.DubboReference;
 
+import java.util.*;
+
 /**
  * 部门翻译实现
  *
@@ -14,7 +18,7 @@ import org.apache.dubbo.config.annotation.DubboReference;
  */
 @AllArgsConstructor
 @TranslationType(type = TransConstant.DEPT_ID_TO_NAME)
-public class DeptNameTranslationImpl implements TranslationInterface<String> {
+public class DeptNameTranslationImpl implements BatchTranslationInterface<String> {
 
     @DubboReference
     private RemoteDeptService remoteDeptService;
@@ -23,4 +27,32 @@ public class DeptNameTranslationImpl implements TranslationInterface<String> {
     public String translation(Object key, String other) {
         return remoteDeptService.selectDeptNameByIds(key.toString());
     }
+
+    /**
+     * 一次远程调用查询所有部门ID的名称, 多个ID的键按顺序逗号拼接
+     */
+    @Override
+    public Map<String, String> translationBatch(Collection<Object> keys, String other) {
+        Set<Long> deptIds = new LinkedHashSet<>();
+        for (Object key : keys) {
+            deptIds.addAll(StringUtils.splitTo(key.toString(), Convert::toLong));
+        }
+        deptIds.remove(null);
+        if (deptIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> names = remoteDeptService.selectDeptNamesByIds(new ArrayList<>(deptIds));
+        Map<String, String> result = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            List<String> list = new ArrayList<>();
+            for (Long deptId : StringUtils.splitTo(key.toString(), Convert::toLong)) {
+                String name = names.get(deptId);
+                if (StringUtils.isNotBlank(name)) {
+                    list.add(name);
+                }
+            }
+            result.put(key.toString(), StringUtils.joinComma(list));
+        }
+        return result;
+    }
 }
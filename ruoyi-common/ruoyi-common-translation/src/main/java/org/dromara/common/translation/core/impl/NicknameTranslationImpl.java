@@ -1,12 +1,16 @@
 package org.dromara.common.translation.core.impl;
 
+import cn.hutool.core.convert.Convert;
 import lombok.AllArgsConstructor;
 import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
-import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.translation.core.BatchTranslationInterface;
 import org.dromara.system.api.RemoteUserService;
 
+import java.util.*;
+
 /**
  * 用户昵称翻译实现
  *
@@ -14,7 +18,7 @@ import org.dromara.system.api.RemoteUserService;
  */
 @AllArgsConstructor
 @TranslationType(type = TransConstant.USER_ID_TO_NICKNAME)
-public class NicknameTranslationImpl implements TranslationInterface<String> {
+public class NicknameTranslationImpl implements BatchTranslationInterface<String> {
 
     @DubboReference
     private RemoteUserService remoteUserService;
@@ -28,4 +32,37 @@ public class NicknameTranslationImpl implements TranslationInterface<String> {
         }
         return null;
     }
+
+    /**
+     * 一次远程调用查询所有用户ID的昵称, 多个ID的键按顺序逗号拼接
+     */
+    @Override
+    public Map<String, String> translationBatch(Collection<Object> keys, String other) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Object key : keys) {
+            if (key instanceof Long || key instanceof String) {
+                userIds.addAll(StringUtils.splitTo(key.toString(), Convert::toLong));
+            }
+        }
+        userIds.remove(null);
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> nicknames = remoteUserService.selectUserNamesByIds(new ArrayList<>(userIds));
+        Map<String, String> result = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            if (!(key instanceof Long || key instanceof String)) {
+                continue;
+            }
+            List<String> list = new ArrayList<>();
+            for (Long userId : StringUtils.splitTo(key.toString(), Convert::toLong)) {
+                String nickname = nicknames.get(userId);
+                if (StringUtils.isNotBlank(nickname)) {
+                    list.add(nickname);
+                }
+            }
+            result.put(key.toString(), StringUtils.joinComma(list));
+        }
+        return result;
+    }
 }
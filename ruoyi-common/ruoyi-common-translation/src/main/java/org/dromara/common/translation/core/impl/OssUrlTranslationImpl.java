@@ -1,12 +1,18 @@
 package org.dromara.common.translation.core.impl;
 
+import cn.hutool.core.convert.Convert;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
-import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.translation.core.BatchTranslationInterface;
 import org.dromara.resource.api.RemoteFileService;
+import org.dromara.resource.api.domain.RemoteFile;
 import lombok.AllArgsConstructor;
 import org.apache.dubbo.config.annotation.DubboReference;
 
+import java.util.*;
+
 /**
  * OSS翻译实现
  *
@@ -14,7 +20,7 @@ import org.apache.dubbo.config.annotation.DubboReference;
  */
 @AllArgsConstructor
 @TranslationType(type = TransConstant.OSS_ID_TO_URL)
-public class OssUrlTranslationImpl implements TranslationInterface<String> {
+public class OssUrlTranslationImpl implements BatchTranslationInterface<String> {
 
     @DubboReference(mock = "true")
     private RemoteFileService remoteFileService;
@@ -23,4 +29,33 @@ public class OssUrlTranslationImpl implements TranslationInterface<String> {
     public String translation(Object key, String other) {
         return remoteFileService.selectUrlByIds(key.toString());
     }
+
+    /**
+     * 一次远程调用查询所有 ossId 的 URL (私有桶在资源服务批量签名)
+     */
+    @Override
+    public Map<String, String> translationBatch(Collection<Object> keys, String other) {
+        Set<Long> ossIds = new LinkedHashSet<>();
+        for (Object key : keys) {
+            ossIds.addAll(StringUtils.splitTo(key.toString(), Convert::toLong));
+        }
+        ossIds.remove(null);
+        if (ossIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<RemoteFile> files = remoteFileService.selectByIds(StringUtils.joinComma(ossIds));
+        Map<Long, String> urls = StreamUtils.toMap(files, RemoteFile::getOssId, RemoteFile::getUrl);
+        Map<String, String> result = new HashMap<>(keys.size());
+        for (Object key : keys) {
+            List<String> list = new ArrayList<>();
+            for (Long ossId : StringUtils.splitTo(key.toString(), Convert::toLong)) {
+                String url = urls.get(ossId);
+                if (url != null) {
+                    list.add(url);
+                }
+            }
+            result.put(key.toString(), StringUtils.joinComma(list));
+        }
+        return result;
+    }
 }
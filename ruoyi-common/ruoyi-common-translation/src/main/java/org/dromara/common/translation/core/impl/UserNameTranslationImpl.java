@@ -2,11 +2,13 @@ package org.dromara.common.translation.core.impl;
 
 import org.dromara.common.translation.annotation.TranslationType;
 import org.dromara.common.translation.constant.TransConstant;
-import org.dromara.common.translation.core.TranslationInterface;
+import org.dromara.common.translation.core.BatchTranslationInterface;
 import org.dromara.system.api.RemoteUserService;
 import lombok.AllArgsConstructor;
 import org.apache.dubbo.config.annotation.DubboReference;
 
+import java.util.*;
+
 /**
  * 用户名翻译实现
  *
@@ -14,7 +16,7 @@ import org.apache.dubbo.config.annotation.DubboReference;
  */
 @AllArgsConstructor
 @TranslationType(type = TransConstant.USER_ID_TO_NAME)
-public class UserNameTranslationImpl implements TranslationInterface<String> {
+public class UserNameTranslationImpl implements BatchTranslationInterface<String> {
 
     @DubboReference
     private RemoteUserService remoteUserService;
@@ -23,4 +25,26 @@ public class UserNameTranslationImpl implements TranslationInterface<String> {
     public String translation(Object key, String other) {
         return remoteUserService.selectUserNameById((Long) key);
     }
+
+    /**
+     * 一次远程调用查询所有用户ID的账号, 不存在的用户翻译为 null
+     */
+    @Override
+    public Map<String, String> translationBatch(Collection<Object> keys, String other) {
+        List<Long> userIds = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            if (key instanceof Long userId) {
+                userIds.add(userId);
+            }
+        }
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> userNames = remoteUserService.selectUserAccountsByIds(userIds);
+        Map<String, String> result = new HashMap<>(userIds.size());
+        for (Long userId : userIds) {
+            result.put(userId.toString(), userNames.get(userId));
+        }
+        return result;
+    }
 }
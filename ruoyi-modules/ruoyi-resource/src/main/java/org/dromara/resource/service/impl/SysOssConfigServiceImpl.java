@@ -17,6 +17,7 @@ import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.common.oss.constant.OssConstant;
+import org.dromara.common.oss.factory.OssFactory;
 import org.dromara.common.redis.utils.CacheUtils;
 import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.resource.domain.SysOssConfig;
@@ -91,6 +92,7 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
             // 从数据库查询完整的数据做缓存
             config = baseMapper.selectById(config.getOssConfigId());
             CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), JsonUtils.toJsonString(config));
+            OssFactory.refresh(config.getConfigKey());
         }
         return flag;
     }
@@ -110,6 +112,7 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
             // 从数据库查询完整的数据做缓存
             config = baseMapper.selectById(config.getOssConfigId());
             CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), JsonUtils.toJsonString(config));
+            OssFactory.refresh(config.getConfigKey());
         }
         return flag;
     }
@@ -137,8 +140,10 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         }
         boolean flag = baseMapper.deleteByIds(ids) > 0;
         if (flag) {
-            list.forEach(sysOssConfig ->
-                CacheUtils.evict(CacheNames.SYS_OSS_CONFIG, sysOssConfig.getConfigKey()));
+            list.forEach(sysOssConfig -> {
+                CacheUtils.evict(CacheNames.SYS_OSS_CONFIG, sysOssConfig.getConfigKey());
+                OssFactory.refresh(sysOssConfig.getConfigKey());
+            });
         }
         return flag;
     }
@@ -169,6 +174,7 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         row += baseMapper.updateById(sysOssConfig);
         if (row > 0) {
             RedisUtils.setCacheObject(OssConstant.DEFAULT_CONFIG_KEY, sysOssConfig.getConfigKey());
+            OssFactory.refresh(sysOssConfig.getConfigKey());
         }
         return row;
     }
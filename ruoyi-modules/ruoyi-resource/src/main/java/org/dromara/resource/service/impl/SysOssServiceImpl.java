@@ -12,6 +12,7 @@ import org.dromara.common.core.constant.CacheNames;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.utils.MapstructUtils;
 import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.file.FileUtils;
 import org.dromara.common.json.utils.JsonUtils;
@@ -39,7 +40,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 文件上传 服务层实现
@@ -50,6 +50,11 @@ import java.util.stream.Collectors;
 @Service
 public class SysOssServiceImpl implements ISysOssService {
 
+    /**
+     * 私有桶临时URL时长
+     */
+    private static final Duration PRIVATE_URL_EXPIRE = Duration.ofSeconds(120);
+
     private final SysOssMapper baseMapper;
 
     /**
@@ -63,8 +68,7 @@ public class SysOssServiceImpl implements ISysOssService {
     public TableDataInfo<SysOssVo> queryPageList(SysOssBo bo, PageQuery pageQuery) {
         LambdaQueryWrapper<SysOss> lqw = buildQueryWrapper(bo);
         Page<SysOssVo> result = baseMapper.selectVoPage(pageQuery.build(), lqw);
-        List<SysOssVo> filterResult = result.getRecords().stream().map(this::matchingUrl).collect(Collectors.toList());
-        result.setRecords(filterResult);
+        result.setRecords(matchingUrls(result.getRecords()));
         return TableDataInfo.build(result);
     }
 
@@ -81,15 +85,10 @@ public class SysOssServiceImpl implements ISysOssService {
         for (Long id : ossIds) {
             SysOssVo vo = ossService.getById(id);
             if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    list.add(this.matchingUrl(vo));
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(vo);
-                }
+                list.add(vo);
             }
         }
-        return list;
+        return matchingUrls(list);
     }
 
     /**
@@ -100,20 +99,8 @@ public class SysOssServiceImpl implements ISysOssService {
      */
     @Override
     public String selectUrlByIds(String ossIds) {
-        List<String> list = new ArrayList<>();
-        SysOssServiceImpl ossService = SpringUtils.getAopProxy(this);
-        for (Long id : StringUtils.splitTo(ossIds, Convert::toLong)) {
-            SysOssVo vo = ossService.getById(id);
-            if (ObjectUtil.isNotNull(vo)) {
-                try {
-                    list.add(this.matchingUrl(vo).getUrl());
-                } catch (Exception ignored) {
-                    // 如果oss异常无法连接则将数据直接返回
-                    list.add(vo.getUrl());
-                }
-            }
-        }
-        return StringUtils.joinComma(list);
+        List<SysOssVo> list = listByIds(StringUtils.splitTo(ossIds, Convert::toLong));
+        return StringUtils.joinComma(StreamUtils.toList(list, SysOssVo::getUrl));
     }
 
     private LambdaQueryWrapper<SysOss> buildQueryWrapper(SysOssBo bo) {
@@ -263,9 +250,34 @@ public class SysOssServiceImpl implements ISysOssService {
         OssClient storage = OssFactory.instance(oss.getService());
         // 仅修改桶类型为 private 的URL，临时URL时长为120s
         if (AccessPolicyType.PRIVATE == storage.getAccessPolicy()) {
-            oss.setUrl(storage.getPrivateUrl(oss.getFileName(), Duration.ofSeconds(120)));
+            oss.setUrl(storage.getPrivateUrl(oss.getFileName(), PRIVATE_URL_EXPIRE));
         }
         return oss;
     }
 
+    /**
+     * 批量匹配Url, 按存储配置分组后一次签名
+     * <p>
+     * 如果oss异常无法连接则该组数据直接返回
+     *
+     * @param list OSS对象列表
+     * @return 匹配Url的OSS对象列表
+     */
+    private List<SysOssVo> matchingUrls(List<SysOssVo> list) {
+        Map<String, List<SysOssVo>> byService = StreamUtils.groupByKey(list, SysOssVo::getService);
+        byService.forEach((service, group) -> {
+            try {
+                OssClient storage = OssFactory.instance(service);
+                if (AccessPolicyType.PRIVATE != storage.getAccessPolicy()) {
+                    return;
+                }
+                Map<String, String> urls = storage.signAll(StreamUtils.toList(group, SysOssVo::getFileName), PRIVATE_URL_EXPIRE);
+                group.forEach(vo -> vo.setUrl(urls.getOrDefault(vo.getFileName(), vo.getUrl())));
+            } catch (Exception ignored) {
+                // 如果oss异常无法连接则将数据直接返回
+            }
+        });
+        return list;
+    }
+
 }
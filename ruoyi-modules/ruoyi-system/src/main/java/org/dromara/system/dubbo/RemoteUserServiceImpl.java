@@ -415,6 +415,25 @@ public class RemoteUserServiceImpl implements RemoteUserService {
         return StreamUtils.toMap(list, SysUser::getUserId, SysUser::getNickName);
     }
 
+    /**
+     * 根据用户 ID 列表查询用户账户映射关系
+     *
+     * @param userIds 用户 ID 列表
+     * @return Map，其中 key 为用户 ID，value 为对应的用户账户
+     */
+    @Override
+    public Map<Long, String> selectUserAccountsByIds(List<Long> userIds) {
+        if (CollUtil.isEmpty(userIds)) {
+            return Collections.emptyMap();
+        }
+        List<SysUser> list = userMapper.selectList(
+            new LambdaQueryWrapper<SysUser>()
+                .select(SysUser::getUserId, SysUser::getUserName)
+                .in(SysUser::getUserId, userIds)
+        );
+        return StreamUtils.toMap(list, SysUser::getUserId, SysUser::getUserName);
+    }
+
     /**
      * 分页查询所有系统用户列表（用于xypai-user模块关联查询）
      *
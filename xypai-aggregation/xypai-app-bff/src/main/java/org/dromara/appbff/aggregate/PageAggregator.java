@@ -0,0 +1,73 @@
+package org.dromara.appbff.aggregate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dromara.common.core.utils.SpringUtils;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 页面聚合器
+ *
+ * <p>页面内互不依赖的远程调用并发执行，整页共享一个耗时预算，超时或失败的依赖使用兜底值</p>
+ *
+ * <pre>
+ * try (PageFetch page = pageAggregator.begin("profile", Duration.ofMillis(800))) {
+ *     PageFetch.Fetch&lt;A&gt; a = page.fetch("a", () -&gt; remoteA.get(id), null);
+ *     PageFetch.Fetch&lt;B&gt; b = page.fetch("b", () -&gt; remoteB.get(id), null);
+ *     PageFetch.Fetch&lt;C&gt; c = page.then("c", a, value -&gt; remoteC.get(value), null);
+ *     return build(a.get(), b.get(), c.get());
+ * }
+ * </pre>
+ *
+ * @author XyPai Team
+ */
+@Slf4j
+@Component
+public class PageAggregator {
+
+    /**
+     * 平台线程池最大线程数, 满载时由调用线程直接执行(退化为串行)
+     */
+    private static final int MAX_THREADS = 256;
+
+    private final Executor executor;
+
+    public PageAggregator() {
+        if (SpringUtils.isVirtual()) {
+            this.executor = new VirtualThreadTaskExecutor("virtual-aggregate-");
+        } else {
+            this.executor = new ThreadPoolExecutor(
+                Runtime.getRuntime().availableProcessors() * 2, MAX_THREADS,
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new BasicThreadFactory.Builder().namingPattern("aggregate-pool-%d").daemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    /**
+     * 开始一次页面聚合
+     *
+     * @param page   页面名称(用于日志)
+     * @param budget 整页耗时预算
+     */
+    public PageFetch begin(String page, Duration budget) {
+        return new PageFetch(page, budget, executor);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+}
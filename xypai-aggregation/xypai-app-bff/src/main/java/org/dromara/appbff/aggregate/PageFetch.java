@@ -0,0 +1,163 @@
+package org.dromara.appbff.aggregate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 单次页面聚合
+ *
+ * <p>声明页面的取数依赖图: {@link #fetch} 提交独立依赖, {@link #then} 提交依赖上游结果的依赖。
+ * 每个依赖在页面截止时间到达时以兜底值完成, 调用失败同样使用兜底值; 结束时输出各依赖耗时</p>
+ *
+ * <p>非线程安全, 只在发起请求的线程中使用</p>
+ *
+ * @author XyPai Team
+ */
+@Slf4j
+public class PageFetch implements AutoCloseable {
+
+    private final String page;
+    private final Executor executor;
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final RequestAttributes requestAttributes;
+
+    /**
+     * 依赖名称 -> 耗时(毫秒), 仅记录已返回的依赖
+     */
+    private final Map<String, Long> timings = new ConcurrentHashMap<>();
+
+    /**
+     * 调用失败的依赖
+     */
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+    private final List<Fetch<?>> fetches = new ArrayList<>();
+
+    PageFetch(String page, Duration budget, Executor executor) {
+        this.page = page;
+        this.executor = executor;
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = startNanos + budget.toNanos();
+        this.requestAttributes = RequestContextHolder.getRequestAttributes();
+    }
+
+    /**
+     * 提交独立依赖
+     *
+     * @param dependency 依赖名称
+     * @param call       远程调用
+     * @param fallback   超时或失败时的兜底值
+     */
+    public <T> Fetch<T> fetch(String dependency, Supplier<T> call, T fallback) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> invoke(dependency, call), executor);
+        return register(dependency, future, fallback);
+    }
+
+    /**
+     * 提交依赖上游结果的依赖, 上游完成后立即执行(上游超时或失败时参数为上游兜底值), 共享同一截止时间
+     *
+     * @param dependency 依赖名称
+     * @param upstream   上游依赖
+     * @param call       以上游结果为参数的远程调用
+     * @param fallback   超时或失败时的兜底值
+     */
+    public <U, T> Fetch<T> then(String dependency, Fetch<U> upstream, Function<U, T> call, T fallback) {
+        CompletableFuture<T> future = upstream.future
+            .thenApplyAsync(value -> invoke(dependency, () -> call.apply(value)), executor);
+        return register(dependency, future, fallback);
+    }
+
+    /**
+     * 输出耗时, 有依赖超时或失败时输出告警
+     */
+    @Override
+    public void close() {
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        List<String> timeouts = new ArrayList<>();
+        for (Fetch<?> fetch : fetches) {
+            if (!timings.containsKey(fetch.dependency) && !failures.containsKey(fetch.dependency)) {
+                timeouts.add(fetch.dependency);
+            }
+        }
+        if (timeouts.isEmpty() && failures.isEmpty()) {
+            log.debug("页面聚合完成: page={}, cost={}ms, timings={}", page, totalMillis, timings);
+        } else {
+            log.warn("页面聚合部分降级: page={}, cost={}ms, timings={}, timeouts={}, failures={}",
+                page, totalMillis, timings, timeouts, failures);
+        }
+    }
+
+    private <T> Fetch<T> register(String dependency, CompletableFuture<T> future, T fallback) {
+        CompletableFuture<T> bounded = future
+            .exceptionally(e -> fallback)
+            .completeOnTimeout(fallback, remainingNanos(), TimeUnit.NANOSECONDS);
+        Fetch<T> fetch = new Fetch<>(dependency, bounded);
+        fetches.add(fetch);
+        return fetch;
+    }
+
+    /**
+     * 在工作线程中执行调用, 传递请求上下文并记录耗时
+     * (线程池满载时由请求线程直接执行, 结束后恢复原上下文)
+     */
+    private <T> T invoke(String dependency, Supplier<T> call) {
+        if (remainingNanos() == 0) {
+            // 已过截止时间(排队过久或上游超时), 不再发起调用, 结果取兜底值
+            throw new CancellationException(dependency);
+        }
+        long start = System.nanoTime();
+        RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            T result = call.get();
+            timings.put(dependency, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        } catch (RuntimeException e) {
+            failures.put(dependency, String.valueOf(e.getMessage()));
+            throw e;
+        } finally {
+            RequestContextHolder.setRequestAttributes(previous);
+        }
+    }
+
+    private long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * 依赖结果
+     */
+    public static final class Fetch<T> {
+
+        private final String dependency;
+        private final CompletableFuture<T> future;
+
+        private Fetch(String dependency, CompletableFuture<T> future) {
+            this.dependency = dependency;
+            this.future = future;
+        }
+
+        /**
+         * 等待结果, 最迟在页面截止时间返回(超时或失败时为兜底值)
+         */
+        public T get() {
+            return future.join();
+        }
+
+    }
+
+}
@@ -82,7 +82,7 @@ public class HomeSearchController {
      * <p>
      * 🎯 接口功能:
      * - 根据输入关键词实时返回建议
-     * - 包括用户、话题、关键词三种类型
+     * - 支持汉字、全拼、首字母输入（如 王者 / wangzhe / wz）
      * - 高亮匹配的关键词部分
      * <p>
      * 📱 调用时机: 用户输入关键词时（防抖300ms）
@@ -98,7 +98,7 @@ public class HomeSearchController {
         @Valid @ModelAttribute SearchSuggestQueryDTO queryDTO
     ) {
         try {
-            log.info("获取搜索建议, keyword: {}", queryDTO.getKeyword());
+            log.debug("获取搜索建议, keyword: {}", queryDTO.getKeyword());
 
             // 设置默认limit
             if (queryDTO.getLimit() == null) {
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.appbff.domain.dto.UnlockWechatDTO;
 import org.dromara.appbff.domain.vo.MomentsListVO;
+import org.dromara.appbff.domain.vo.OtherUserProfilePageVO;
 import org.dromara.appbff.domain.vo.OtherUserProfileVO;
 import org.dromara.appbff.domain.vo.ProfileInfoVO;
 import org.dromara.appbff.domain.vo.UnlockWechatResultVO;
@@ -73,6 +74,26 @@ public class OtherUserProfileController {
         return R.ok(result);
     }
 
+    @Operation(summary = "获取对方主页首屏数据", description = "主页头部、资料、技能首页、动态首页一次返回")
+    @GetMapping("/{userId}/page")
+    public R<OtherUserProfilePageVO> getProfilePage(
+        @Parameter(description = "目标用户ID") @PathVariable Long userId,
+        @Parameter(description = "当前纬度") @RequestParam(required = false) Double latitude,
+        @Parameter(description = "当前经度") @RequestParam(required = false) Double longitude,
+        @Parameter(description = "技能/动态首页数量") @RequestParam(required = false, defaultValue = "10") Integer pageSize,
+        HttpServletRequest request
+    ) {
+        Long currentUserId = getCurrentUserId(request);
+        OtherUserProfilePageVO result = otherUserProfileService.getProfilePage(
+            userId, currentUserId, latitude, longitude, pageSize
+        );
+
+        if (result == null) {
+            return R.fail("用户不存在");
+        }
+        return R.ok(result);
+    }
+
     @Operation(summary = "获取用户资料详情", description = "获取用户的详细资料信息")
     @GetMapping("/{userId}/info")
     public R<ProfileInfoVO> getProfileInfo(
@@ -9,7 +9,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.dromara.appbff.domain.dto.SearchQueryDTO;
 import org.dromara.appbff.domain.vo.*;
 import org.dromara.appbff.service.HomeSearchResultService;
+import org.dromara.appbff.service.HomeSearchService;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.core.utils.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -42,6 +44,7 @@ import org.springframework.web.bind.annotation.*;
 public class SearchResultController {
 
     private final HomeSearchResultService searchResultService;
+    private final HomeSearchService homeSearchService;
 
     /**
      * 执行搜索（综合）
@@ -80,6 +83,12 @@ public class SearchResultController {
             }
 
             SearchResultVO result = searchResultService.search(queryDTO);
+
+            // 首次搜索（非翻页）计入热度和搜索历史
+            if (queryDTO.getPageNum() == 1 && StringUtils.isBlank(queryDTO.getCursor())) {
+                Long userId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
+                homeSearchService.recordSearch(userId, queryDTO.getKeyword(), queryDTO.getType());
+            }
             return R.ok(result);
 
         } catch (Exception e) {
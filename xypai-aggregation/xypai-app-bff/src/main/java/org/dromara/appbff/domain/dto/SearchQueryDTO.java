@@ -36,6 +36,9 @@ public class SearchQueryDTO implements Serializable {
     @Min(value = 1, message = "每页数量最小为1")
     private Integer pageSize;
 
+    @Schema(description = "游标（上一页返回的nextCursor，有值时忽略页码）")
+    private String cursor;
+
     @Schema(description = "城市代码", example = "440100")
     private String cityCode;
 
@@ -0,0 +1,34 @@
+package org.dromara.appbff.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 对方主页首屏聚合VO
+ * 主页头部、资料、技能首页、动态首页一次返回
+ *
+ * @author XyPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "对方主页首屏数据")
+public class OtherUserProfilePageVO {
+
+    @Schema(description = "主页头部数据")
+    private OtherUserProfileVO profile;
+
+    @Schema(description = "资料详情(获取失败时为空)")
+    private ProfileInfoVO info;
+
+    @Schema(description = "技能列表首页")
+    private UserSkillsListVO skills;
+
+    @Schema(description = "动态列表首页")
+    private MomentsListVO moments;
+
+}
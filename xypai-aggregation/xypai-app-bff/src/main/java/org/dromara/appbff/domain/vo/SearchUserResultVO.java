@@ -32,6 +32,9 @@ public class SearchUserResultVO implements Serializable {
     @Schema(description = "是否有更多数据", example = "true")
     private Boolean hasMore;
 
+    @Schema(description = "下一页游标（传入下次请求的cursor，没有更多时为空）")
+    private String nextCursor;
+
     @Schema(description = "用户列表")
     private List<SearchUserItem> list;
 
@@ -28,7 +28,8 @@ public interface HomeSearchService {
     /**
      * 获取搜索建议
      * - 根据输入关键词实时返回建议
-     * - 包括用户、话题、关键词三种类型
+     * - 原文、全拼、首字母前缀匹配，按搜索热度排序
+     * - 只查本地索引，不访问远程服务
      * - 前端需防抖300ms后调用
      *
      * @param queryDTO 搜索建议查询参数
@@ -46,4 +47,16 @@ public interface HomeSearchService {
      * @return 删除结果
      */
     SearchDeleteVO deleteSearchHistory(Long userId, SearchHistoryDeleteDTO deleteDTO);
+
+    /**
+     * 记录一次搜索
+     * - 计入关键词热度（热门搜索、搜索建议排序）
+     * - 已登录时写入用户搜索历史
+     * - 异步写入，不影响搜索结果
+     *
+     * @param userId  当前用户ID，未登录为null
+     * @param keyword 搜索关键词
+     * @param type    搜索Tab: all/user/order/topic
+     */
+    void recordSearch(Long userId, String keyword, String type);
 }
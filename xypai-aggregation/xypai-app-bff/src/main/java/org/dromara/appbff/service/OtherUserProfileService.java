@@ -2,6 +2,7 @@ package org.dromara.appbff.service;
 
 import org.dromara.appbff.domain.dto.UnlockWechatDTO;
 import org.dromara.appbff.domain.vo.MomentsListVO;
+import org.dromara.appbff.domain.vo.OtherUserProfilePageVO;
 import org.dromara.appbff.domain.vo.OtherUserProfileVO;
 import org.dromara.appbff.domain.vo.ProfileInfoVO;
 import org.dromara.appbff.domain.vo.UnlockWechatResultVO;
@@ -26,6 +27,18 @@ public interface OtherUserProfileService {
      */
     OtherUserProfileVO getOtherUserProfile(Long targetUserId, Long currentUserId, Double latitude, Double longitude);
 
+    /**
+     * 获取对方主页首屏数据(头部、资料、技能首页、动态首页并发获取)
+     *
+     * @param targetUserId  目标用户ID
+     * @param currentUserId 当前用户ID
+     * @param latitude      当前用户纬度（可选）
+     * @param longitude     当前用户经度（可选）
+     * @param pageSize      技能/动态首页数量
+     * @return 首屏数据, 用户不存在时返回 null
+     */
+    OtherUserProfilePageVO getProfilePage(Long targetUserId, Long currentUserId, Double latitude, Double longitude, Integer pageSize);
+
     /**
      * 获取用户资料详情
      *
@@ -3,6 +3,8 @@ package org.dromara.appbff.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.appbff.aggregate.PageAggregator;
+import org.dromara.appbff.aggregate.PageFetch;
 import org.dromara.appbff.domain.dto.HomeFeedQueryDTO;
 import org.dromara.appbff.domain.vo.HomeFeedResultVO;
 import org.dromara.appbff.domain.vo.UserCardVO;
@@ -15,6 +17,7 @@ import org.dromara.content.api.domain.vo.FeedSimpleVo;
 import org.dromara.content.api.domain.vo.UserFeedsVo;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -46,6 +49,8 @@ public class HomeFeedServiceImpl implements HomeFeedService {
     @DubboReference
     private RemoteContentService remoteContentService;
 
+    private final PageAggregator pageAggregator;
+
     /**
      * 排序类型常量
      */
@@ -58,24 +63,36 @@ public class HomeFeedServiceImpl implements HomeFeedService {
      */
     private static final int FEED_LIMIT_PER_USER = 3;
 
+    /**
+     * 首页耗时预算, 用户动态未在预算内返回时卡片不带动态
+     */
+    private static final Duration HOME_FEED_BUDGET = Duration.ofMillis(800);
+
     @Override
     public HomeFeedResultVO getHomeFeedList(HomeFeedQueryDTO queryDTO) {
         log.info("获取首页用户推荐列表 - type={}, sortBy={}, pageNum={}, pageSize={}, cityCode={}, lat={}, lng={}",
             queryDTO.getType(), queryDTO.getSortBy(), queryDTO.getPageNum(), queryDTO.getPageSize(),
             queryDTO.getCityCode(), queryDTO.getLatitude(), queryDTO.getLongitude());
 
-        try {
+        try (PageFetch page = pageAggregator.begin("home-feed", HOME_FEED_BUDGET)) {
             // 1. RPC调用用户服务，获取有技能的用户列表
             // 传入经纬度用于计算距离
-            LimitedTimePageResult rpcResult = remoteAppUserService.queryLimitedTimeUsers(
-                "all",  // gender - 首页不筛选性别，展示全部
-                queryDTO.getCityCode(),
-                queryDTO.getDistrictCode(),
-                queryDTO.getLatitude(),   // 传入纬度用于距离计算
-                queryDTO.getLongitude(),  // 传入经度用于距离计算
-                queryDTO.getPageNum(),
-                queryDTO.getPageSize()
-            );
+            PageFetch.Fetch<LimitedTimePageResult> users = page.fetch("limitedTimeUsers",
+                () -> remoteAppUserService.queryLimitedTimeUsers(
+                    "all",  // gender - 首页不筛选性别，展示全部
+                    queryDTO.getCityCode(),
+                    queryDTO.getDistrictCode(),
+                    queryDTO.getLatitude(),   // 传入纬度用于距离计算
+                    queryDTO.getLongitude(),  // 传入经度用于距离计算
+                    queryDTO.getPageNum(),
+                    queryDTO.getPageSize()
+                ), null);
+
+            // 用户动态依赖用户列表，用户列表返回后在工作线程立即发起，与下面的结果转换并行
+            PageFetch.Fetch<Map<Long, UserFeedsVo>> feeds = page.then("userFeeds", users,
+                this::fetchUserFeeds, Collections.emptyMap());
+
+            LimitedTimePageResult rpcResult = users.get();
 
             if (rpcResult == null || rpcResult.getList() == null || rpcResult.getList().isEmpty()) {
                 log.warn("RPC调用返回空结果");
@@ -89,8 +106,8 @@ public class HomeFeedServiceImpl implements HomeFeedService {
                 .map(this::convertToUserCard)
                 .collect(Collectors.toList());
 
-            // 3. 批量获取用户动态 (RPC调用内容服务)
-            enrichUserFeeds(userList);
+            // 3. 填充用户动态 (RPC调用内容服务)
+            enrichUserFeeds(userList, feeds.get());
 
             // 4. 应用排序（根据 sortBy 参数）
             String sortBy = queryDTO.getSortBy();
@@ -110,26 +127,39 @@ public class HomeFeedServiceImpl implements HomeFeedService {
     }
 
     /**
-     * 批量获取用户动态并填充到用户卡片
+     * 批量获取用户动态
      *
-     * @param userList 用户列表
+     * @param rpcResult 用户列表
+     * @return 用户ID -> 动态
      */
-    private void enrichUserFeeds(List<UserCardVO> userList) {
-        if (userList == null || userList.isEmpty()) {
-            return;
+    private Map<Long, UserFeedsVo> fetchUserFeeds(LimitedTimePageResult rpcResult) {
+        if (rpcResult == null || rpcResult.getList() == null || rpcResult.getList().isEmpty()) {
+            return Collections.emptyMap();
         }
 
-        try {
-            // 提取用户ID列表
-            List<Long> userIds = userList.stream()
-                .map(UserCardVO::getUserId)
-                .collect(Collectors.toList());
+        // 提取用户ID列表
+        List<Long> userIds = rpcResult.getList().stream()
+            .map(LimitedTimeUserVo::getUserId)
+            .collect(Collectors.toList());
 
-            log.info("批量获取用户动态，用户数: {}", userIds.size());
+        log.info("批量获取用户动态，用户数: {}", userIds.size());
 
-            // RPC调用内容服务获取动态
-            Map<Long, UserFeedsVo> userFeedsMap = remoteContentService.batchGetUserFeeds(userIds, FEED_LIMIT_PER_USER);
+        // RPC调用内容服务获取动态
+        return remoteContentService.batchGetUserFeeds(userIds, FEED_LIMIT_PER_USER);
+    }
 
+    /**
+     * 填充用户动态到用户卡片
+     *
+     * @param userList     用户列表
+     * @param userFeedsMap 用户ID -> 动态(获取失败或超时时为空)
+     */
+    private void enrichUserFeeds(List<UserCardVO> userList, Map<Long, UserFeedsVo> userFeedsMap) {
+        if (userList == null || userList.isEmpty()) {
+            return;
+        }
+
+        try {
             if (userFeedsMap == null || userFeedsMap.isEmpty()) {
                 log.warn("未获取到用户动态数据");
                 return;
@@ -153,7 +183,7 @@ public class HomeFeedServiceImpl implements HomeFeedService {
             log.info("用户动态填充完成");
 
         } catch (Exception e) {
-            log.error("批量获取用户动态失败", e);
+            log.error("填充用户动态失败", e);
             // 失败时不影响主流程，仅设置空动态
             for (UserCardVO userCard : userList) {
                 userCard.setFeeds(Collections.emptyList());
@@ -8,35 +8,40 @@ import org.dromara.appbff.domain.vo.SearchDeleteVO;
 import org.dromara.appbff.domain.vo.SearchInitVO;
 import org.dromara.appbff.domain.vo.SearchSuggestVO;
 import org.dromara.appbff.service.HomeSearchService;
+import org.dromara.appbff.suggest.PinyinKeys;
+import org.dromara.appbff.suggest.SearchSuggestIndex;
+import org.dromara.appbff.suggest.SuggestTrie;
+import org.dromara.common.core.utils.StringUtils;
+import org.redisson.api.RBatch;
+import org.redisson.api.RListAsync;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 /**
- * 首页搜索服务实现（Mock 数据）
+ * 首页搜索服务实现
  * <p>
  * 🎯 核心功能:
  * 1. 返回搜索历史记录（最多10条）
- * 2. 返回热门搜索关键词
- * 3. 根据输入关键词提供搜索建议
+ * 2. 返回热门搜索关键词（真实搜索次数按时间衰减排序）
+ * 3. 输入联想：原文/全拼/首字母前缀匹配，按热度排序
  * 4. 支持删除搜索历史
  * <p>
- * ⚠️ 当前实现:
- * - 使用 Mock 数据模拟搜索功能
- * - 搜索历史使用内存存储（ConcurrentHashMap）
- * - 建议数据基于关键词匹配生成
- * <p>
- * 🔮 后续改进:
- * - 接入 xypai-content 服务获取真实的话题、动态数据
- * - 接入 xypai-user 服务获取真实的用户数据
- * - 使用 Redis 存储搜索历史
- * - 接入 Elasticsearch 实现全文搜索
+ * 搜索历史按用户存放在 Redis:
+ * - search:history:{userId}      LIST 关键词, 最新在前, 去重, 最多保留 {@link #HISTORY_CAPACITY} 条
+ * - search:history:meta:{userId} HASH 关键词 -> 类型|搜索时间
+ * 两个键共用 TTL, 写入在一次批量请求中完成
  *
  * @author XyPai Team
  * @date 2025-11-24
@@ -46,51 +51,51 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public class HomeSearchServiceImpl implements HomeSearchService {
 
+    private final RedissonClient redissonClient;
+    private final SearchSuggestIndex searchSuggestIndex;
+
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    // Mock：用户搜索历史（内存存储）
-    // Key: userId, Value: List<SearchHistoryItem>
-    private static final Map<Long, List<SearchInitVO.SearchHistoryItem>> USER_SEARCH_HISTORY = new ConcurrentHashMap<>();
-
-    // Mock：热门搜索关键词（全局数据）
-    private static final List<SearchInitVO.HotKeywordItem> HOT_KEYWORDS = List.of(
-        SearchInitVO.HotKeywordItem.builder().keyword("王者荣耀").rank(1).isHot(true).build(),
-        SearchInitVO.HotKeywordItem.builder().keyword("英雄联盟").rank(2).isHot(true).build(),
-        SearchInitVO.HotKeywordItem.builder().keyword("探店").rank(3).isHot(false).build(),
-        SearchInitVO.HotKeywordItem.builder().keyword("K歌陪唱").rank(4).isHot(false).build(),
-        SearchInitVO.HotKeywordItem.builder().keyword("台球陪练").rank(5).isHot(true).build(),
-        SearchInitVO.HotKeywordItem.builder().keyword("剧本杀").rank(6).isHot(false).build(),
-        SearchInitVO.HotKeywordItem.builder().keyword("桌游陪玩").rank(7).isHot(false).build(),
-        SearchInitVO.HotKeywordItem.builder().keyword("游戏陪玩").rank(8).isHot(true).build()
-    );
-
-    // Mock：搜索建议数据库
-    private static final Map<String, List<String>> SUGGESTION_DATABASE = new HashMap<>();
-
-    static {
-        SUGGESTION_DATABASE.put("王者", List.of("王者荣耀陪玩", "王者荣耀排位", "王者荣耀上分", "王者荣耀教练"));
-        SUGGESTION_DATABASE.put("英雄", List.of("英雄联盟陪玩", "英雄联盟上分", "英雄联盟教学"));
-        SUGGESTION_DATABASE.put("探店", List.of("探店达人", "探店陪玩", "探店拍照"));
-        SUGGESTION_DATABASE.put("K歌", List.of("K歌陪唱", "K歌高手", "K歌教学"));
-        SUGGESTION_DATABASE.put("台球", List.of("台球陪练", "台球教学", "台球高手"));
-        SUGGESTION_DATABASE.put("剧本", List.of("剧本杀陪玩", "剧本杀达人", "剧本杀推理"));
-        SUGGESTION_DATABASE.put("桌游", List.of("桌游陪玩", "桌游达人", "桌游教学"));
-        SUGGESTION_DATABASE.put("游戏", List.of("游戏陪玩", "游戏代练", "游戏教学"));
-    }
+    private static final String HISTORY_KEY_PREFIX = "search:history:";
+    private static final String HISTORY_META_KEY_PREFIX = "search:history:meta:";
+
+    /**
+     * 每个用户保留的历史条数
+     */
+    private static final int HISTORY_CAPACITY = 20;
+
+    /**
+     * 搜索页展示的历史条数
+     */
+    private static final int HISTORY_DISPLAY_SIZE = 10;
+
+    private static final Duration HISTORY_TTL = Duration.ofDays(90);
+
+    /**
+     * 热门搜索展示数量, 前 {@link #HOT_MARK_SIZE} 名标记为热门
+     */
+    private static final int HOT_KEYWORD_SIZE = 8;
+    private static final int HOT_MARK_SIZE = 3;
+
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
 
     @Override
     public SearchInitVO getSearchInit(Long userId) {
         log.info("获取搜索初始数据, userId: {}", userId);
 
-        // 获取用户的搜索历史（最多10条）
-        List<SearchInitVO.SearchHistoryItem> history = USER_SEARCH_HISTORY.getOrDefault(userId, new ArrayList<>());
-        if (history.size() > 10) {
-            history = history.subList(0, 10);
+        List<SuggestTrie.Term> hot = searchSuggestIndex.hot(HOT_KEYWORD_SIZE);
+        List<SearchInitVO.HotKeywordItem> hotKeywords = new ArrayList<>(hot.size());
+        for (int i = 0; i < hot.size(); i++) {
+            hotKeywords.add(SearchInitVO.HotKeywordItem.builder()
+                .keyword(hot.get(i).text())
+                .rank(i + 1)
+                .isHot(i < HOT_MARK_SIZE)
+                .build());
         }
 
         return SearchInitVO.builder()
-            .searchHistory(history)
-            .hotKeywords(HOT_KEYWORDS)
+            .searchHistory(userId != null ? loadHistory(userId) : new ArrayList<>())
+            .hotKeywords(hotKeywords)
             .placeholder("搜索更多")
             .build();
     }
@@ -98,68 +103,21 @@ public class HomeSearchServiceImpl implements HomeSearchService {
     @Override
     public SearchSuggestVO getSearchSuggestions(SearchSuggestQueryDTO queryDTO) {
         String keyword = queryDTO.getKeyword();
-        Integer limit = queryDTO.getLimit() != null ? queryDTO.getLimit() : 10;
-
-        log.info("获取搜索建议, keyword: {}, limit: {}", keyword, limit);
+        int limit = queryDTO.getLimit() != null && queryDTO.getLimit() > 0
+            ? queryDTO.getLimit() : DEFAULT_SUGGEST_LIMIT;
 
+        String prefix = PinyinKeys.normalize(keyword);
         List<SearchSuggestVO.SuggestionItem> suggestions = new ArrayList<>();
-
-        // 1. 匹配用户建议（使用 👤 图标）
-        if (keyword.matches(".*\\d+$")) {
-            suggestions.add(SearchSuggestVO.SuggestionItem.builder()
-                .text(keyword)
-                .type("user")
-                .highlight(keyword)
-                .icon("👤")
-                .extra("用户")
-                .build());
-        }
-
-        // 2. 匹配话题建议（使用 # 图标）
-        if (keyword.contains("王者") || keyword.contains("英雄") || keyword.contains("游戏")) {
-            suggestions.add(SearchSuggestVO.SuggestionItem.builder()
-                .text("#" + keyword + "话题")
-                .type("topic")
-                .highlight(keyword)
-                .icon("#")
-                .extra("23条动态")
-                .build());
-        }
-
-        // 3. 匹配关键词建议（使用 🔍 图标）
-        for (Map.Entry<String, List<String>> entry : SUGGESTION_DATABASE.entrySet()) {
-            if (keyword.contains(entry.getKey())) {
-                for (String suggestion : entry.getValue()) {
-                    if (suggestions.size() >= limit) {
-                        break;
-                    }
-                    suggestions.add(SearchSuggestVO.SuggestionItem.builder()
-                        .text(suggestion)
-                        .type("keyword")
-                        .highlight(entry.getKey())
-                        .icon("🔍")
-                        .extra(null)
-                        .build());
-                }
-            }
-        }
-
-        // 4. 如果没有匹配结果，返回默认建议
-        if (suggestions.isEmpty()) {
+        for (SuggestTrie.Term term : searchSuggestIndex.match(prefix, limit)) {
             suggestions.add(SearchSuggestVO.SuggestionItem.builder()
-                .text(keyword + "陪玩")
+                .text(term.text())
                 .type("keyword")
-                .highlight(keyword)
+                .highlight(term.keys().highlight(term.text(), prefix))
                 .icon("🔍")
                 .extra(null)
                 .build());
         }
 
-        // 限制建议数量
-        if (suggestions.size() > limit) {
-            suggestions = suggestions.subList(0, limit);
-        }
-
         return SearchSuggestVO.builder()
             .suggestions(suggestions)
             .build();
@@ -169,18 +127,9 @@ public class HomeSearchServiceImpl implements HomeSearchService {
     public SearchDeleteVO deleteSearchHistory(Long userId, SearchHistoryDeleteDTO deleteDTO) {
         log.info("删除搜索历史, userId: {}, deleteDTO: {}", userId, deleteDTO);
 
-        List<SearchInitVO.SearchHistoryItem> history = USER_SEARCH_HISTORY.get(userId);
-
-        if (history == null || history.isEmpty()) {
-            return SearchDeleteVO.builder()
-                .success(true)
-                .message("没有搜索历史可删除")
-                .build();
-        }
-
         // 清空所有历史
         if (Boolean.TRUE.equals(deleteDTO.getClearAll())) {
-            USER_SEARCH_HISTORY.remove(userId);
+            redissonClient.getKeys().delete(HISTORY_KEY_PREFIX + userId, HISTORY_META_KEY_PREFIX + userId);
             log.info("已清空用户 {} 的所有搜索历史", userId);
             return SearchDeleteVO.builder()
                 .success(true)
@@ -189,8 +138,11 @@ public class HomeSearchServiceImpl implements HomeSearchService {
         }
 
         // 删除单条历史
-        if (deleteDTO.getKeyword() != null && !deleteDTO.getKeyword().isEmpty()) {
-            history.removeIf(item -> item.getKeyword().equals(deleteDTO.getKeyword()));
+        if (StringUtils.isNotEmpty(deleteDTO.getKeyword())) {
+            RBatch batch = redissonClient.createBatch();
+            batch.<String>getList(HISTORY_KEY_PREFIX + userId, StringCodec.INSTANCE).removeAsync(deleteDTO.getKeyword(), 0);
+            batch.<String, String>getMap(HISTORY_META_KEY_PREFIX + userId, StringCodec.INSTANCE).fastRemoveAsync(deleteDTO.getKeyword());
+            batch.execute();
             log.info("已删除用户 {} 的搜索历史: {}", userId, deleteDTO.getKeyword());
             return SearchDeleteVO.builder()
                 .success(true)
@@ -204,19 +156,83 @@ public class HomeSearchServiceImpl implements HomeSearchService {
             .build();
     }
 
+    @Override
+    public void recordSearch(Long userId, String keyword, String type) {
+        String text = keyword == null ? "" : keyword.trim();
+        if (text.isEmpty()) {
+            return;
+        }
+        searchSuggestIndex.record(text);
+        if (userId == null) {
+            return;
+        }
+
+        // LREM + LPUSH + LTRIM 去重置顶并限长, 元数据同批写入
+        RBatch batch = redissonClient.createBatch();
+        RListAsync<String> history = batch.getList(HISTORY_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        history.removeAsync(text, 0);
+        batch.<String>getDeque(HISTORY_KEY_PREFIX + userId, StringCodec.INSTANCE).addFirstAsync(text);
+        history.trimAsync(0, HISTORY_CAPACITY - 1);
+        history.expireAsync(HISTORY_TTL);
+        RMapAsync<String, String> meta = batch.getMap(HISTORY_META_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        meta.fastPutAsync(text, historyType(type) + "|" + LocalDateTime.now().format(DATE_FORMAT));
+        meta.expireAsync(HISTORY_TTL);
+        batch.executeAsync().whenComplete((result, e) -> {
+            if (e != null) {
+                log.warn("搜索历史记录失败: userId={}, keyword={}, error={}", userId, text, e.getMessage());
+            }
+        });
+    }
+
     /**
-     * 辅助方法：添加搜索历史（测试用）
+     * 读取历史(一次批量请求), 顺带清理已被挤出列表的元数据
      */
-    public void addSearchHistory(Long userId, String keyword, String type) {
-        List<SearchInitVO.SearchHistoryItem> history = USER_SEARCH_HISTORY.computeIfAbsent(userId, k -> new ArrayList<>());
+    private List<SearchInitVO.SearchHistoryItem> loadHistory(Long userId) {
+        RBatch batch = redissonClient.createBatch();
+        batch.<String>getList(HISTORY_KEY_PREFIX + userId, StringCodec.INSTANCE).readAllAsync();
+        batch.<String, String>getMap(HISTORY_META_KEY_PREFIX + userId, StringCodec.INSTANCE).readAllMapAsync();
+        List<?> responses = batch.execute().getResponses();
+        @SuppressWarnings("unchecked")
+        List<String> keywords = (List<String>) responses.get(0);
+        @SuppressWarnings("unchecked")
+        Map<String, String> meta = (Map<String, String>) responses.get(1);
+
+        List<SearchInitVO.SearchHistoryItem> items = new ArrayList<>(Math.min(keywords.size(), HISTORY_DISPLAY_SIZE));
+        for (String keyword : keywords) {
+            if (items.size() >= HISTORY_DISPLAY_SIZE) {
+                break;
+            }
+            String value = meta.get(keyword);
+            int separator = value != null ? value.indexOf('|') : -1;
+            items.add(SearchInitVO.SearchHistoryItem.builder()
+                .keyword(keyword)
+                .type(separator > 0 ? value.substring(0, separator) : "keyword")
+                .searchTime(separator > 0 ? value.substring(separator + 1) : null)
+                .build());
+        }
 
-        SearchInitVO.SearchHistoryItem item = SearchInitVO.SearchHistoryItem.builder()
-            .keyword(keyword)
-            .searchTime(LocalDateTime.now().format(DATE_FORMAT))
-            .type(type)
-            .build();
+        if (meta.size() > keywords.size()) {
+            Set<String> stale = new HashSet<>(meta.keySet());
+            stale.removeAll(new HashSet<>(keywords));
+            removeMeta(userId, stale);
+        }
+        return items;
+    }
 
-        history.add(0, item); // 添加到开头
-        log.info("已添加搜索历史: userId={}, keyword={}", userId, keyword);
+    private void removeMeta(Long userId, Collection<String> keywords) {
+        if (!keywords.isEmpty()) {
+            redissonClient.<String, String>getMap(HISTORY_META_KEY_PREFIX + userId, StringCodec.INSTANCE)
+                .fastRemoveAsync(keywords.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * 搜索Tab -> 历史类型
+     */
+    private String historyType(String tab) {
+        if ("user".equals(tab) || "topic".equals(tab)) {
+            return tab;
+        }
+        return "keyword";
     }
 }
@@ -3,6 +3,8 @@ package org.dromara.appbff.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.appbff.aggregate.PageAggregator;
+import org.dromara.appbff.aggregate.PageFetch;
 import org.dromara.appbff.domain.dto.SubmitOrderDTO;
 import org.dromara.appbff.domain.vo.OrderConfirmPreviewVO;
 import org.dromara.appbff.domain.vo.OrderSubmitResultVO;
@@ -18,6 +20,7 @@ import org.dromara.payment.api.RemotePaymentService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -42,21 +45,36 @@ public class OrderConfirmServiceImpl implements OrderConfirmService {
     @DubboReference
     private RemoteOrderService remoteOrderService;
 
+    private final PageAggregator pageAggregator;
+
+    /**
+     * 订单确认页/余额查询耗时预算
+     */
+    private static final Duration PREVIEW_BUDGET = Duration.ofMillis(800);
+
     @Override
     public OrderConfirmPreviewVO getOrderConfirmPreview(Long serviceId, Integer quantity, Long userId) {
         log.info("获取订单确认预览: serviceId={}, quantity={}, userId={}", serviceId, quantity, userId);
 
-        try {
+        try (PageFetch page = pageAggregator.begin("order-confirm", PREVIEW_BUDGET)) {
+            // 服务详情、余额、支付密码状态互不依赖，并发获取
+            PageFetch.Fetch<SkillServiceDetailVo> detail = page.fetch("serviceDetail",
+                () -> remoteAppUserService.getSkillServiceDetail(serviceId, userId), null);
+            PageFetch.Fetch<BigDecimal> balance = page.fetch("balance",
+                () -> remotePaymentService.getBalance(userId), BigDecimal.ZERO);
+            PageFetch.Fetch<Boolean> password = page.fetch("hasPaymentPassword",
+                () -> remotePaymentService.hasPaymentPassword(userId), false);
+
             // 1. 获取服务详情
-            SkillServiceDetailVo serviceDetail = remoteAppUserService.getSkillServiceDetail(serviceId, userId);
+            SkillServiceDetailVo serviceDetail = detail.get();
             if (serviceDetail == null) {
                 log.warn("服务不存在: serviceId={}", serviceId);
                 return null;
             }
 
-            // 2. 获取用户余额和支付密码状态
-            BigDecimal userBalance = remotePaymentService.getBalance(userId);
-            boolean hasPaymentPassword = remotePaymentService.hasPaymentPassword(userId);
+            // 2. 获取用户余额和支付密码状态(超时或失败时与余额查询接口一致，按0和未设置处理)
+            BigDecimal userBalance = balance.get();
+            boolean hasPaymentPassword = Boolean.TRUE.equals(password.get());
 
             // 3. 计算价格预览
             int qty = quantity != null && quantity > 0 ? quantity : 1;
@@ -197,13 +215,15 @@ public class OrderConfirmServiceImpl implements OrderConfirmService {
     public UserBalanceVO getUserBalance(Long userId) {
         log.info("获取用户余额: userId={}", userId);
 
-        try {
-            BigDecimal balance = remotePaymentService.getBalance(userId);
-            boolean hasPassword = remotePaymentService.hasPaymentPassword(userId);
+        try (PageFetch page = pageAggregator.begin("user-balance", PREVIEW_BUDGET)) {
+            PageFetch.Fetch<BigDecimal> balance = page.fetch("balance",
+                () -> remotePaymentService.getBalance(userId), BigDecimal.ZERO);
+            PageFetch.Fetch<Boolean> hasPassword = page.fetch("hasPaymentPassword",
+                () -> remotePaymentService.hasPaymentPassword(userId), false);
 
             return UserBalanceVO.builder()
-                .availableBalance(balance)
-                .hasPaymentPassword(hasPassword)
+                .availableBalance(balance.get())
+                .hasPaymentPassword(Boolean.TRUE.equals(hasPassword.get()))
                 .build();
         } catch (Exception e) {
             log.error("获取用户余额失败: userId={}, error={}", userId, e.getMessage(), e);
@@ -3,8 +3,11 @@ package org.dromara.appbff.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.appbff.aggregate.PageAggregator;
+import org.dromara.appbff.aggregate.PageFetch;
 import org.dromara.appbff.domain.dto.UnlockWechatDTO;
 import org.dromara.appbff.domain.vo.MomentsListVO;
+import org.dromara.appbff.domain.vo.OtherUserProfilePageVO;
 import org.dromara.appbff.domain.vo.OtherUserProfileVO;
 import org.dromara.appbff.domain.vo.ProfileInfoVO;
 import org.dromara.appbff.domain.vo.UnlockWechatResultVO;
@@ -23,6 +26,7 @@ import org.dromara.content.api.domain.vo.RemoteMomentPageResult;
 import org.dromara.content.api.domain.vo.RemoteMomentVo;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +49,18 @@ public class OtherUserProfileServiceImpl implements OtherUserProfileService {
     @DubboReference
     private RemoteContentService remoteContentService;
 
+    private final PageAggregator pageAggregator;
+
+    /**
+     * 主页首屏耗时预算
+     */
+    private static final Duration PROFILE_PAGE_BUDGET = Duration.ofMillis(800);
+
+    /**
+     * 动态列表耗时预算
+     */
+    private static final Duration MOMENTS_BUDGET = Duration.ofMillis(600);
+
     @Override
     public OtherUserProfileVO getOtherUserProfile(Long targetUserId, Long currentUserId, Double latitude, Double longitude) {
         log.info("获取对方主页数据: targetUserId={}, currentUserId={}", targetUserId, currentUserId);
@@ -68,6 +84,49 @@ public class OtherUserProfileServiceImpl implements OtherUserProfileService {
         }
     }
 
+    @Override
+    public OtherUserProfilePageVO getProfilePage(Long targetUserId, Long currentUserId, Double latitude, Double longitude, Integer pageSize) {
+        log.info("获取对方主页首屏数据: targetUserId={}, currentUserId={}", targetUserId, currentUserId);
+
+        try (PageFetch page = pageAggregator.begin("profile", PROFILE_PAGE_BUDGET)) {
+            // 四个依赖互不依赖，并发获取，首屏耗时取决于最慢的一个而不是四者之和
+            PageFetch.Fetch<OtherUserProfileVo> profile = page.fetch("profile",
+                () -> remoteAppUserService.getOtherUserProfileData(targetUserId, currentUserId, latitude, longitude), null);
+            PageFetch.Fetch<UserDetailInfoVo> info = page.fetch("info",
+                () -> remoteAppUserService.getUserDetailInfo(targetUserId, currentUserId), null);
+            PageFetch.Fetch<UserSkillsPageResult> skills = page.fetch("skills",
+                () -> remoteAppUserService.getUserSkillsList(targetUserId, currentUserId, 1, pageSize), null);
+            PageFetch.Fetch<RemoteMomentPageResult> moments = page.fetch("moments",
+                () -> remoteContentService.getUserMomentList(targetUserId, currentUserId, 1, pageSize), null);
+
+            // 头部数据是首屏必需的，其余依赖超时或失败时降级为空
+            OtherUserProfileVo profileResult = profile.get();
+            if (profileResult == null) {
+                log.warn("用户不存在或主页数据获取失败: targetUserId={}", targetUserId);
+                return null;
+            }
+
+            UserDetailInfoVo infoResult = info.get();
+            UserSkillsPageResult skillsResult = skills.get();
+            // 动态作者即主页用户，直接使用头部数据，省去一次用户信息查询
+            RemoteAppUserVo author = RemoteAppUserVo.builder()
+                .userId(profileResult.getUserId())
+                .nickname(profileResult.getNickname())
+                .avatar(profileResult.getAvatar())
+                .build();
+
+            return OtherUserProfilePageVO.builder()
+                .profile(convertToOtherUserProfileVO(profileResult))
+                .info(infoResult != null ? convertToProfileInfoVO(infoResult) : null)
+                .skills(skillsResult != null ? convertToUserSkillsListVO(skillsResult) : createEmptySkillsList())
+                .moments(buildMomentsList(moments.get(), author))
+                .build();
+        } catch (Exception e) {
+            log.error("获取对方主页首屏数据失败: targetUserId={}, error={}", targetUserId, e.getMessage(), e);
+            return null;
+        }
+    }
+
     @Override
     public ProfileInfoVO getProfileInfo(Long targetUserId, Long currentUserId) {
         log.info("获取用户资料详情: targetUserId={}, currentUserId={}", targetUserId, currentUserId);
@@ -303,37 +362,15 @@ public class OtherUserProfileServiceImpl implements OtherUserProfileService {
         log.info("获取用户动态列表: targetUserId={}, currentUserId={}, pageNum={}, pageSize={}",
             targetUserId, currentUserId, pageNum, pageSize);
 
-        try {
-            // 调用RPC获取动态列表
-            RemoteMomentPageResult rpcResult = remoteContentService.getUserMomentList(
-                targetUserId, currentUserId, pageNum, pageSize
-            );
-
-            if (rpcResult == null || rpcResult.getList() == null || rpcResult.getList().isEmpty()) {
-                return createEmptyMomentsList();
-            }
-
-            // 获取作者信息（因为RPC返回的动态数据不包含作者详细信息）
+        try (PageFetch page = pageAggregator.begin("profile-moments", MOMENTS_BUDGET)) {
+            // 动态列表与作者信息（RPC返回的动态数据不包含作者详细信息）互不依赖，并发获取
             // 这里所有动态都是同一个用户的，所以只需要查一次用户信息
-            RemoteAppUserVo authorInfo = null;
-            try {
-                authorInfo = remoteAppUserService.getUserBasicInfo(targetUserId, currentUserId);
-            } catch (Exception e) {
-                log.warn("获取作者信息失败: targetUserId={}, error={}", targetUserId, e.getMessage());
-            }
-
-            // 转换为BFF层VO
-            RemoteAppUserVo finalAuthorInfo = authorInfo;
-            List<MomentsListVO.MomentItemVO> items = rpcResult.getList().stream()
-                .map(rpc -> convertToMomentItemVO(rpc, finalAuthorInfo))
-                .collect(Collectors.toList());
-
-            return MomentsListVO.builder()
-                .list(items)
-                .hasMore(rpcResult.getHasMore())
-                .total(rpcResult.getTotal())
-                .build();
+            PageFetch.Fetch<RemoteMomentPageResult> moments = page.fetch("moments",
+                () -> remoteContentService.getUserMomentList(targetUserId, currentUserId, pageNum, pageSize), null);
+            PageFetch.Fetch<RemoteAppUserVo> author = page.fetch("author",
+                () -> remoteAppUserService.getUserBasicInfo(targetUserId, currentUserId), null);
 
+            return buildMomentsList(moments.get(), author.get());
         } catch (Exception e) {
             log.error("获取用户动态列表失败: targetUserId={}, error={}", targetUserId, e.getMessage(), e);
             return createEmptyMomentsList();
@@ -366,6 +403,28 @@ public class OtherUserProfileServiceImpl implements OtherUserProfileService {
         }
     }
 
+    /**
+     * 构建动态列表VO
+     *
+     * @param rpcResult  动态列表(为空时返回空列表)
+     * @param authorInfo 作者信息(为空时使用动态自带的作者信息)
+     */
+    private MomentsListVO buildMomentsList(RemoteMomentPageResult rpcResult, RemoteAppUserVo authorInfo) {
+        if (rpcResult == null || rpcResult.getList() == null || rpcResult.getList().isEmpty()) {
+            return createEmptyMomentsList();
+        }
+
+        List<MomentsListVO.MomentItemVO> items = rpcResult.getList().stream()
+            .map(rpc -> convertToMomentItemVO(rpc, authorInfo))
+            .collect(Collectors.toList());
+
+        return MomentsListVO.builder()
+            .list(items)
+            .hasMore(rpcResult.getHasMore())
+            .total(rpcResult.getTotal())
+            .build();
+    }
+
     /**
      * 转换为动态项VO
      */
@@ -0,0 +1,127 @@
+package org.dromara.appbff.suggest;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.util.Locale;
+
+/**
+ * 建议词的匹配键
+ * <p>
+ * 每个建议词生成三个键: 原文(小写去空白)、全拼、首字母。汉字取第一个读音, 字母数字原样保留, 其他字符只出现在原文键中。
+ * ends[i] 为原文第 i 个字符在该键中的结束位置, 用于把键上的匹配长度换算回原文的高亮长度
+ *
+ * @author XyPai Team
+ */
+public record PinyinKeys(String text, String full, int[] fullEnds, String initials, int[] initialEnds) {
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    /**
+     * 归一化: 小写, 去掉所有空白
+     */
+    public static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    public static PinyinKeys of(String text) {
+        String normalized = normalize(text);
+        StringBuilder full = new StringBuilder(normalized.length() * 4);
+        StringBuilder initials = new StringBuilder(normalized.length());
+        int[] fullEnds = new int[normalized.length()];
+        int[] initialEnds = new int[normalized.length()];
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            String syllable = syllable(c);
+            if (syllable != null) {
+                full.append(syllable);
+                initials.append(syllable.charAt(0));
+            } else if (isAsciiLetterOrDigit(c)) {
+                full.append(c);
+                initials.append(c);
+            }
+            fullEnds[i] = full.length();
+            initialEnds[i] = initials.length();
+        }
+        return new PinyinKeys(normalized, full.toString(), fullEnds, initials.toString(), initialEnds);
+    }
+
+    /**
+     * 输入前缀在原文上对应的高亮长度(字符数), 不匹配时返回 0
+     */
+    public int highlightLength(String prefix) {
+        if (text.startsWith(prefix)) {
+            return prefix.length();
+        }
+        if (full.startsWith(prefix)) {
+            return coveredChars(fullEnds, prefix.length());
+        }
+        if (initials.startsWith(prefix)) {
+            return coveredChars(initialEnds, prefix.length());
+        }
+        return 0;
+    }
+
+    /**
+     * 输入前缀在原文上对应的高亮文本, original 为生成本键的原文(可含空白和大写)
+     */
+    public String highlight(String original, String prefix) {
+        int remaining = highlightLength(prefix);
+        int end = 0;
+        while (remaining > 0 && end < original.length()) {
+            if (!Character.isWhitespace(original.charAt(end))) {
+                remaining--;
+            }
+            end++;
+        }
+        return original.substring(0, end);
+    }
+
+    /**
+     * 键上前 length 个字符覆盖到的原文字符数(部分覆盖的音节算作覆盖)
+     */
+    private static int coveredChars(int[] ends, int length) {
+        int start = 0;
+        for (int i = 0; i < ends.length; i++) {
+            if (start >= length) {
+                return i;
+            }
+            start = ends[i];
+        }
+        return ends.length;
+    }
+
+    private static String syllable(char c) {
+        if (Character.UnicodeScript.of(c) != Character.UnicodeScript.HAN) {
+            return null;
+        }
+        try {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+            return readings == null || readings.length == 0 ? null : readings[0];
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            return null;
+        }
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+}
@@ -0,0 +1,174 @@
+package org.dromara.appbff.suggest;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索建议索引
+ * <p>
+ * 热度: 每次搜索给当天的计数 ZSET 加 1(search:keyword:count:{yyyyMMdd}), 按天分桶保留 {@link #WINDOW_DAYS} 天。
+ * 衰减后的热度 = Σ 当天次数 × 0.5^(距今天数 / 半衰期), 由 ZUNIONSTORE 带权重合并到 search:keyword:hot,
+ * 集群内每个周期只由抢到租约的一个节点合并一次, 各节点再读取前 {@link #MAX_TERMS} 个词构建本地前缀树。
+ * 输入联想只查本地前缀树, 不访问 Redis
+ *
+ * @author XyPai Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchSuggestIndex {
+
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    private static final String COUNT_KEY_PREFIX = "search:keyword:count:";
+    private static final String HOT_KEY = "search:keyword:hot";
+    private static final String MERGE_LOCK_KEY = "search:keyword:hot:lock";
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * 统计窗口(天)
+     */
+    private static final int WINDOW_DAYS = 14;
+
+    /**
+     * 热度半衰期(天)
+     */
+    private static final double HALF_LIFE_DAYS = 3;
+
+    /**
+     * 重建周期(秒)
+     */
+    private static final long REFRESH_PERIOD_SECONDS = 60;
+
+    /**
+     * 前缀树最多收录的关键词数
+     */
+    private static final int MAX_TERMS = 5000;
+
+    /**
+     * 收录的最低热度, 过滤偶发的错别字和无意义输入
+     */
+    private static final double MIN_SCORE = 2;
+
+    /**
+     * 单日计数最多保留的关键词数, 超出时淘汰次数最少的
+     */
+    private static final int MAX_DAILY_KEYWORDS = 50000;
+
+    /**
+     * 参与统计的关键词最大长度
+     */
+    public static final int MAX_KEYWORD_LENGTH = 30;
+
+    private volatile SuggestTrie trie = SuggestTrie.empty();
+
+    @PostConstruct
+    public void init() {
+        scheduledExecutorService.scheduleWithFixedDelay(this::refresh,
+            0, REFRESH_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 记录一次搜索(异步写入, 失败只记日志)
+     */
+    public void record(String keyword) {
+        String text = keyword == null ? "" : keyword.trim();
+        if (text.isEmpty() || text.length() > MAX_KEYWORD_LENGTH) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> counts = batch.getScoredSortedSet(
+            COUNT_KEY_PREFIX + LocalDate.now().format(DAY_FORMAT), StringCodec.INSTANCE);
+        counts.addScoreAsync(text, 1);
+        counts.expireAsync(Duration.ofDays(WINDOW_DAYS + 1));
+        batch.executeAsync().whenComplete((result, e) -> {
+            if (e != null) {
+                log.warn("搜索热度记录失败: keyword={}, error={}", text, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 前缀匹配(原文、全拼、首字母), 按热度降序
+     *
+     * @param prefix 已归一化的输入, 见 {@link PinyinKeys#normalize(String)}
+     */
+    public List<SuggestTrie.Term> match(String prefix, int limit) {
+        return trie.match(prefix, Math.min(limit, SuggestTrie.TOP_K));
+    }
+
+    /**
+     * 热门关键词
+     */
+    public List<SuggestTrie.Term> hot(int limit) {
+        return trie.top(Math.min(limit, SuggestTrie.TOP_K));
+    }
+
+    private void refresh() {
+        try {
+            mergeIfLeased();
+            RScoredSortedSet<String> hot = redissonClient.getScoredSortedSet(HOT_KEY, StringCodec.INSTANCE);
+            Collection<ScoredEntry<String>> entries = hot.entryRangeReversed(
+                MIN_SCORE, true, Double.POSITIVE_INFINITY, true, 0, MAX_TERMS);
+            List<SuggestTrie.Term> terms = new ArrayList<>(entries.size());
+            for (ScoredEntry<String> entry : entries) {
+                PinyinKeys keys = PinyinKeys.of(entry.getValue());
+                if (!keys.text().isEmpty()) {
+                    terms.add(new SuggestTrie.Term(entry.getValue(), keys, entry.getScore()));
+                }
+            }
+            trie = SuggestTrie.build(terms);
+        } catch (Exception e) {
+            // 保留上一份前缀树
+            log.warn("搜索建议索引重建失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 抢到本周期租约的节点合并热度并裁剪当天计数, 租约到期自动释放, 不主动解锁
+     */
+    private void mergeIfLeased() throws InterruptedException {
+        if (!redissonClient.getLock(MERGE_LOCK_KEY).tryLock(0, REFRESH_PERIOD_SECONDS, TimeUnit.SECONDS)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (int i = 0; i < WINDOW_DAYS; i++) {
+            LocalDate day = now.toLocalDate().minusDays(i);
+            // 按当天中点计算距今天数
+            double ageDays = Math.max(0, Duration.between(day.atStartOfDay(), now).toMinutes() / 1440.0 - 0.5);
+            weights.put(COUNT_KEY_PREFIX + day.format(DAY_FORMAT), Math.pow(0.5, ageDays / HALF_LIFE_DAYS));
+        }
+        redissonClient.<String>getScoredSortedSet(HOT_KEY, StringCodec.INSTANCE).union(weights);
+
+        RScoredSortedSet<String> today = redissonClient.getScoredSortedSet(
+            COUNT_KEY_PREFIX + now.toLocalDate().format(DAY_FORMAT), StringCodec.INSTANCE);
+        int size = today.size();
+        if (size > MAX_DAILY_KEYWORDS) {
+            today.removeRangeByRank(0, size - MAX_DAILY_KEYWORDS - 1);
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package org.dromara.appbff.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 搜索建议前缀树(压缩前缀树, 构建后只读)
+ * <p>
+ * 每个建议词的原文、全拼、首字母三个键都插入同一棵树。构建时按热度降序给建议词编号,
+ * 并为每个节点预先计算子树内编号最小(热度最高)的前 {@link #TOP_K} 个建议词,
+ * 查询只需沿前缀走到节点后直接返回该节点的结果, 耗时与建议词总数无关。
+ * 实例不可变, 由 {@link SearchSuggestIndex} 定时整体重建后替换
+ *
+ * @author XyPai Team
+ */
+public final class SuggestTrie {
+
+    /**
+     * 每个节点预存的建议数, 即单次查询可返回的最大数量
+     */
+    public static final int TOP_K = 20;
+
+    private static final int[] NO_TERMS = new int[0];
+
+    private final Term[] terms;
+    private final Node root;
+
+    private SuggestTrie(Term[] terms, Node root) {
+        this.terms = terms;
+        this.root = root;
+    }
+
+    /**
+     * 建议词
+     *
+     * @param text  原文
+     * @param keys  匹配键
+     * @param score 热度
+     */
+    public record Term(String text, PinyinKeys keys, double score) {
+    }
+
+    /**
+     * 构建前缀树
+     *
+     * @param source 建议词, 无需有序
+     */
+    public static SuggestTrie build(List<Term> source) {
+        Term[] terms = source.toArray(new Term[0]);
+        Arrays.sort(terms, (a, b) -> Double.compare(b.score(), a.score()));
+
+        Node root = new Node("");
+        for (int id = 0; id < terms.length; id++) {
+            PinyinKeys keys = terms[id].keys();
+            insert(root, keys.text(), id);
+            insert(root, keys.full(), id);
+            insert(root, keys.initials(), id);
+        }
+        root.seal();
+        return new SuggestTrie(terms, root);
+    }
+
+    public static SuggestTrie empty() {
+        return build(Collections.emptyList());
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * 热度最高的建议词
+     */
+    public List<Term> top(int limit) {
+        return collect(root.top, limit);
+    }
+
+    /**
+     * 前缀匹配, 按热度降序
+     *
+     * @param prefix 已归一化的输入
+     * @param limit  最大数量, 不超过 {@link #TOP_K}
+     */
+    public List<Term> match(String prefix, int limit) {
+        if (prefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            Node child = node.child(prefix.charAt(pos));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            String label = child.label;
+            int remaining = prefix.length() - pos;
+            if (remaining < label.length()) {
+                // 输入结束于边的中间
+                return label.startsWith(prefix.substring(pos)) ? collect(child.top, limit) : Collections.emptyList();
+            }
+            if (!prefix.startsWith(label, pos)) {
+                return Collections.emptyList();
+            }
+            pos += label.length();
+            node = child;
+        }
+        return collect(node.top, limit);
+    }
+
+    private List<Term> collect(int[] ids, int limit) {
+        int size = Math.min(ids.length, limit);
+        List<Term> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(terms[ids[i]]);
+        }
+        return result;
+    }
+
+    private static void insert(Node root, String key, int id) {
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        int pos = 0;
+        while (true) {
+            Node child = node.child(key.charAt(pos));
+            if (child == null) {
+                Node leaf = new Node(key.substring(pos));
+                leaf.addTerm(id);
+                node.addChild(leaf);
+                return;
+            }
+            String label = child.label;
+            int common = commonPrefix(label, key, pos);
+            if (common < label.length()) {
+                // 拆分边: node -> middle(label[0, common)) -> child(label[common, ))
+                Node middle = new Node(label.substring(0, common));
+                node.replaceChild(child, middle);
+                child.label = label.substring(common);
+                middle.addChild(child);
+                child = middle;
+            }
+            pos += common;
+            if (pos == key.length()) {
+                child.addTerm(id);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String label;
+        /**
+         * 子节点按边首字符升序
+         */
+        private char[] firstChars = new char[0];
+        private Node[] children = new Node[0];
+        /**
+         * 构建期: 以该节点结尾的建议词; 封装后: 子树内热度最高的 TOP_K 个
+         */
+        private int[] terms = NO_TERMS;
+        private int[] top = NO_TERMS;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(firstChars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            char c = child.label.charAt(0);
+            int index = -(Arrays.binarySearch(firstChars, c) + 1);
+            char[] chars = new char[firstChars.length + 1];
+            Node[] nodes = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, chars, 0, index);
+            System.arraycopy(children, 0, nodes, 0, index);
+            chars[index] = c;
+            nodes[index] = child;
+            System.arraycopy(firstChars, index, chars, index + 1, firstChars.length - index);
+            System.arraycopy(children, index, nodes, index + 1, children.length - index);
+            firstChars = chars;
+            children = nodes;
+        }
+
+        private void replaceChild(Node oldChild, Node newChild) {
+            children[Arrays.binarySearch(firstChars, oldChild.label.charAt(0))] = newChild;
+        }
+
+        private void addTerm(int id) {
+            // 同一建议词的多个键可能相同(如纯字母), 只记一次
+            if (terms.length > 0 && terms[terms.length - 1] == id) {
+                return;
+            }
+            terms = Arrays.copyOf(terms, terms.length + 1);
+            terms[terms.length - 1] = id;
+        }
+
+        /**
+         * 自底向上计算 top: 编号越小热度越高, 取子树内去重后最小的 TOP_K 个编号
+         */
+        private void seal() {
+            int total = terms.length;
+            for (Node child : children) {
+                child.seal();
+                total += child.top.length;
+            }
+            int[] merged = Arrays.copyOf(terms, total);
+            int offset = terms.length;
+            for (Node child : children) {
+                System.arraycopy(child.top, 0, merged, offset, child.top.length);
+                offset += child.top.length;
+            }
+            Arrays.sort(merged);
+            int size = 0;
+            for (int i = 0; i < merged.length && size < TOP_K; i++) {
+                if (size == 0 || merged[size - 1] != merged[i]) {
+                    merged[size++] = merged[i];
+                }
+            }
+            top = Arrays.copyOf(merged, size);
+            terms = NO_TERMS;
+        }
+    }
+
+}
@@ -54,8 +54,8 @@ import java.util.Map;
  *
  * 💡 测试说明:
  * - 本测试通过 Gateway (8080) 调用 xypai-app-bff 服务
- * - 搜索功能使用 Mock 数据
- * - 需要启动: Gateway(8080), xypai-auth(9211), xypai-app-bff(9400), Nacos, Redis
+ * - 搜索功能由 xypai-content 搜索服务提供
+ * - 需要启动: Gateway(8080), xypai-auth(9211), xypai-app-bff(9400), xypai-content(9403), xypai-user(9401), Nacos, Redis
  *
  * @author XyPai Team
  * @date 2025-11-24
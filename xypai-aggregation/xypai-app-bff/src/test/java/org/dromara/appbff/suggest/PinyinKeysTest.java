@@ -0,0 +1,86 @@
+package org.dromara.appbff.suggest;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 建议词匹配键单元测试: 归一化、全拼/首字母、多音字和高亮长度
+ *
+ * @author XyPai Team
+ */
+@DisplayName("建议词匹配键单元测试")
+public class PinyinKeysTest {
+
+    @DisplayName("归一化: 小写并去掉所有空白")
+    @Test
+    public void testNormalize() {
+        Assertions.assertEquals("王者荣耀glory", PinyinKeys.normalize(" 王者 荣耀\tGLORY\n"));
+        Assertions.assertEquals("", PinyinKeys.normalize("   "));
+    }
+
+    @DisplayName("汉字转全拼和首字母, 字母数字原样保留, 其他字符只在原文键中")
+    @Test
+    public void testKeys() {
+        PinyinKeys keys = PinyinKeys.of("王者 荣耀 5v5!");
+        Assertions.assertEquals("王者荣耀5v5!", keys.text());
+        Assertions.assertEquals("wangzherongyao5v5", keys.full());
+        Assertions.assertEquals("wzry5v5", keys.initials());
+        Assertions.assertArrayEquals(new int[]{4, 7, 11, 14, 15, 16, 17, 17}, keys.fullEnds());
+        Assertions.assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 7}, keys.initialEnds());
+    }
+
+    @DisplayName("多音字: 每个汉字只取第一个读音, 首字母与汉字一一对应")
+    @Test
+    public void testPolyphonicInitials() throws Exception {
+        HanyuPinyinOutputFormat format = new HanyuPinyinOutputFormat();
+        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        format.setVCharType(HanyuPinyinVCharType.WITH_V);
+
+        String[][] cases = {{"重庆", "重"}, {"长沙", "长"}, {"银行", "行"}};
+        for (String[] item : cases) {
+            String text = item[0];
+            char polyphonic = item[1].charAt(0);
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(polyphonic, format);
+            Assertions.assertTrue(readings.length > 1, polyphonic + " 应为多音字");
+
+            PinyinKeys keys = PinyinKeys.of(text);
+            int index = text.indexOf(polyphonic);
+            Assertions.assertEquals(text.length(), keys.initials().length());
+            Assertions.assertEquals(readings[0].charAt(0), keys.initials().charAt(index));
+            Assertions.assertEquals(index + 1, keys.initialEnds()[index]);
+            Assertions.assertEquals(readings[0],
+                keys.full().substring(index == 0 ? 0 : keys.fullEnds()[index - 1], keys.fullEnds()[index]));
+        }
+    }
+
+    @DisplayName("高亮长度: 原文、全拼、首字母前缀换算回原文字符数")
+    @Test
+    public void testHighlightLength() {
+        PinyinKeys keys = PinyinKeys.of("王者荣耀");
+        Assertions.assertEquals(2, keys.highlightLength("王者"));
+        Assertions.assertEquals(2, keys.highlightLength("wangzhe"));
+        // 部分覆盖的音节算作覆盖
+        Assertions.assertEquals(2, keys.highlightLength("wangz"));
+        Assertions.assertEquals(3, keys.highlightLength("wzr"));
+        Assertions.assertEquals(4, keys.highlightLength("wzry"));
+        Assertions.assertEquals(0, keys.highlightLength("lol"));
+    }
+
+    @DisplayName("高亮文本: 保留原文中的空白和大小写")
+    @Test
+    public void testHighlight() {
+        String original = "王者 荣耀 Glory";
+        PinyinKeys keys = PinyinKeys.of(original);
+        Assertions.assertEquals("王者 荣", keys.highlight(original, "wzr"));
+        Assertions.assertEquals("王者 荣耀 G", keys.highlight(original, "王者荣耀g"));
+        Assertions.assertEquals("", keys.highlight(original, "x"));
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.dromara.appbff.suggest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.redisson.api.RLock;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.ScoredEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索建议索引单元测试: 定时重建本地前缀树、热度合并租约和关键词过滤
+ *
+ * @author XyPai Team
+ */
+@DisplayName("搜索建议索引单元测试")
+public class SearchSuggestIndexTest {
+
+    private static final String HOT_KEY = "search:keyword:hot";
+    private static final String COUNT_KEY_PREFIX = "search:keyword:count:";
+
+    private RedissonClient redissonClient;
+    private RLock lock;
+    private RScoredSortedSet<String> hot;
+    private RScoredSortedSet<String> today;
+    private SearchSuggestIndex index;
+    private Runnable refresh;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws InterruptedException {
+        redissonClient = Mockito.mock(RedissonClient.class);
+        ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+        lock = Mockito.mock(RLock.class);
+        hot = Mockito.mock(RScoredSortedSet.class);
+        today = Mockito.mock(RScoredSortedSet.class);
+        Mockito.when(redissonClient.getLock(Mockito.anyString())).thenReturn(lock);
+        Mockito.when(lock.tryLock(Mockito.anyLong(), Mockito.anyLong(), Mockito.any(TimeUnit.class))).thenReturn(false);
+        Mockito.when(redissonClient.<String>getScoredSortedSet(Mockito.eq(HOT_KEY), Mockito.any(Codec.class)))
+            .thenReturn(hot);
+        Mockito.when(redissonClient.<String>getScoredSortedSet(Mockito.startsWith(COUNT_KEY_PREFIX), Mockito.any(Codec.class)))
+            .thenReturn(today);
+
+        index = new SearchSuggestIndex(redissonClient, executor);
+        index.init();
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(executor).scheduleWithFixedDelay(task.capture(),
+            Mockito.eq(0L), Mockito.anyLong(), Mockito.eq(TimeUnit.SECONDS));
+        refresh = task.getValue();
+    }
+
+    @DisplayName("重建前没有建议, 重建后按原文、全拼、首字母匹配")
+    @Test
+    public void testRefreshBuildsTrie() {
+        Assertions.assertTrue(index.match("wz", 10).isEmpty());
+        Assertions.assertTrue(index.hot(10).isEmpty());
+
+        hotEntries(List.of(entry("王者荣耀", 30), entry("和平精英", 20), entry("王者", 10)));
+        refresh.run();
+
+        Assertions.assertEquals(List.of("王者荣耀", "王者"), texts(index.match("wz", 10)));
+        Assertions.assertEquals(List.of("王者荣耀", "王者"), texts(index.match("wangzhe", 10)));
+        Assertions.assertEquals(List.of("和平精英"), texts(index.match("和平", 10)));
+        Assertions.assertEquals(List.of("王者荣耀", "和平精英", "王者"), texts(index.hot(10)));
+    }
+
+    @DisplayName("归一化后为空的关键词不收录")
+    @Test
+    public void testRefreshSkipsBlankTerms() {
+        hotEntries(List.of(entry("   ", 100), entry("lol", 5)));
+        refresh.run();
+
+        Assertions.assertEquals(List.of("lol"), texts(index.hot(10)));
+    }
+
+    @DisplayName("单次返回数量不超过 TOP_K")
+    @Test
+    public void testLimitCappedAtTopK() {
+        List<ScoredEntry<String>> entries = new ArrayList<>();
+        for (int i = 0; i < SuggestTrie.TOP_K + 5; i++) {
+            entries.add(entry("game" + i, i + 1));
+        }
+        hotEntries(entries);
+        refresh.run();
+
+        Assertions.assertEquals(SuggestTrie.TOP_K, index.hot(100).size());
+        Assertions.assertEquals(SuggestTrie.TOP_K, index.match("game", 100).size());
+        Assertions.assertEquals(3, index.match("game", 3).size());
+    }
+
+    @DisplayName("重建失败时保留上一份前缀树")
+    @Test
+    public void testRefreshFailureKeepsPreviousTrie() {
+        hotEntries(List.of(entry("王者荣耀", 30)));
+        refresh.run();
+
+        Mockito.when(hot.entryRangeReversed(Mockito.anyDouble(), Mockito.anyBoolean(), Mockito.anyDouble(),
+            Mockito.anyBoolean(), Mockito.anyInt(), Mockito.anyInt())).thenThrow(new IllegalStateException("redis down"));
+        refresh.run();
+
+        Assertions.assertEquals(List.of("王者荣耀"), texts(index.match("wz", 10)));
+    }
+
+    @DisplayName("未抢到租约的节点只读取热度, 不合并")
+    @Test
+    public void testMergeSkippedWithoutLease() {
+        hotEntries(List.of());
+        refresh.run();
+
+        Mockito.verify(hot, Mockito.never()).union(Mockito.<Map<String, Double>>any());
+        Mockito.verify(today, Mockito.never()).removeRangeByRank(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @DisplayName("抢到租约的节点按天衰减合并热度, 越早的桶权重越小")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMergeWeightsDecay() throws InterruptedException {
+        Mockito.when(lock.tryLock(Mockito.anyLong(), Mockito.anyLong(), Mockito.any(TimeUnit.class))).thenReturn(true);
+        Mockito.when(today.size()).thenReturn(10);
+        hotEntries(List.of());
+        refresh.run();
+
+        ArgumentCaptor<Map<String, Double>> weights = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(hot).union(weights.capture());
+        List<Double> values = new ArrayList<>(weights.getValue().values());
+        Assertions.assertEquals(14, values.size());
+        Assertions.assertTrue(weights.getValue().keySet().stream().allMatch(key -> key.startsWith(COUNT_KEY_PREFIX)));
+        Assertions.assertTrue(values.get(0) <= 1D && values.get(0) > 0.8D);
+        for (int i = 1; i < values.size(); i++) {
+            Assertions.assertTrue(values.get(i) < values.get(i - 1));
+        }
+        // 当天计数未超过上限, 不裁剪
+        Mockito.verify(today, Mockito.never()).removeRangeByRank(Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @DisplayName("空白和超长关键词不记录热度")
+    @Test
+    public void testRecordSkipsInvalidKeywords() {
+        index.record(null);
+        index.record("   ");
+        index.record("x".repeat(SearchSuggestIndex.MAX_KEYWORD_LENGTH + 1));
+
+        Mockito.verify(redissonClient, Mockito.never()).createBatch();
+    }
+
+    private void hotEntries(List<ScoredEntry<String>> entries) {
+        Mockito.when(hot.entryRangeReversed(Mockito.anyDouble(), Mockito.anyBoolean(), Mockito.anyDouble(),
+            Mockito.anyBoolean(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(entries);
+    }
+
+    private static ScoredEntry<String> entry(String text, double score) {
+        return new ScoredEntry<>(score, text);
+    }
+
+    private static List<String> texts(List<SuggestTrie.Term> terms) {
+        return terms.stream().map(SuggestTrie.Term::text).toList();
+    }
+
+}
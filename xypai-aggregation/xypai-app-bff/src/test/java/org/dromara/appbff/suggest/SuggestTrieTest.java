@@ -0,0 +1,111 @@
+package org.dromara.appbff.suggest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 搜索建议前缀树单元测试: 边拆分、前缀匹配和每个节点的 top-K
+ *
+ * @author XyPai Team
+ */
+@DisplayName("搜索建议前缀树单元测试")
+public class SuggestTrieTest {
+
+    @DisplayName("空树: 任意前缀和空前缀都没有结果")
+    @Test
+    public void testEmpty() {
+        SuggestTrie trie = SuggestTrie.empty();
+        Assertions.assertEquals(0, trie.size());
+        Assertions.assertTrue(trie.match("a", 10).isEmpty());
+        Assertions.assertTrue(trie.top(10).isEmpty());
+
+        SuggestTrie built = trie(term("abc", 1));
+        Assertions.assertTrue(built.match("", 10).isEmpty());
+    }
+
+    @DisplayName("拆分边: 后插入的键结束于已有边的中间")
+    @Test
+    public void testSplitWhenKeyEndsInsideEdge() {
+        // 按热度降序插入: abcdef 先建成一条边, abc 插入时在第3个字符处拆分
+        SuggestTrie trie = trie(term("abcdef", 2), term("abc", 1));
+
+        Assertions.assertEquals(List.of("abcdef", "abc"), texts(trie.match("abc", 10)));
+        Assertions.assertEquals(List.of("abcdef", "abc"), texts(trie.match("ab", 10)));
+        Assertions.assertEquals(List.of("abcdef"), texts(trie.match("abcd", 10)));
+        Assertions.assertEquals(List.of("abcdef"), texts(trie.match("abcdef", 10)));
+        Assertions.assertTrue(trie.match("abcdefg", 10).isEmpty());
+    }
+
+    @DisplayName("拆分边: 两个键在边的中间分叉")
+    @Test
+    public void testSplitWhenKeysDiverge() {
+        SuggestTrie trie = trie(term("abcx", 1), term("abdy", 2));
+
+        Assertions.assertEquals(List.of("abdy", "abcx"), texts(trie.match("ab", 10)));
+        Assertions.assertEquals(List.of("abcx"), texts(trie.match("abc", 10)));
+        Assertions.assertEquals(List.of("abdy"), texts(trie.match("abd", 10)));
+        // 输入结束于边中间但字符不一致
+        Assertions.assertTrue(trie.match("abcy", 10).isEmpty());
+        Assertions.assertTrue(trie.match("abe", 10).isEmpty());
+        Assertions.assertTrue(trie.match("b", 10).isEmpty());
+    }
+
+    @DisplayName("合并: 父节点结果按热度合并各子树, 与插入顺序无关")
+    @Test
+    public void testMergeChildrenByScore() {
+        SuggestTrie trie = trie(term("ba", 1), term("bb", 5), term("bc", 3), term("b", 4));
+
+        Assertions.assertEquals(List.of("bb", "b", "bc", "ba"), texts(trie.match("b", 10)));
+        Assertions.assertEquals(List.of("bb", "b"), texts(trie.match("b", 2)));
+        Assertions.assertEquals(List.of("bb", "b", "bc", "ba"), texts(trie.top(10)));
+    }
+
+    @DisplayName("top-K: 每个节点最多保留热度最高的 TOP_K 个")
+    @Test
+    public void testTopKPerNode() {
+        List<SuggestTrie.Term> terms = new ArrayList<>();
+        for (int i = 0; i < SuggestTrie.TOP_K + 10; i++) {
+            terms.add(term(String.format("k%02d", i), i));
+        }
+        SuggestTrie trie = SuggestTrie.build(terms);
+
+        List<SuggestTrie.Term> matched = trie.match("k", 100);
+        Assertions.assertEquals(SuggestTrie.TOP_K, matched.size());
+        Assertions.assertEquals("k29", matched.get(0).text());
+        Assertions.assertEquals("k10", matched.get(matched.size() - 1).text());
+
+        // 深层节点只看自己的子树
+        Assertions.assertEquals(List.of("k09", "k08", "k07"), texts(trie.match("k0", 3)));
+        Assertions.assertEquals(List.of("k05"), texts(trie.match("k05", 10)));
+    }
+
+    @DisplayName("原文、全拼、首字母都能匹配, 同一建议词只返回一次")
+    @Test
+    public void testPinyinKeysDeduplicated() {
+        SuggestTrie trie = trie(term("王者荣耀", 10), term("王者", 5), term("wz", 1));
+
+        Assertions.assertEquals(List.of("王者荣耀", "王者"), texts(trie.match("王者", 10)));
+        Assertions.assertEquals(List.of("王者荣耀", "王者"), texts(trie.match("wangzhe", 10)));
+        Assertions.assertEquals(List.of("王者荣耀"), texts(trie.match("wangzher", 10)));
+        Assertions.assertEquals(List.of("王者荣耀", "王者", "wz"), texts(trie.match("wz", 10)));
+        Assertions.assertEquals(List.of("王者荣耀"), texts(trie.match("wzry", 10)));
+        Assertions.assertEquals(3, trie.size());
+    }
+
+    private static SuggestTrie trie(SuggestTrie.Term... terms) {
+        return SuggestTrie.build(List.of(terms));
+    }
+
+    private static SuggestTrie.Term term(String text, double score) {
+        return new SuggestTrie.Term(text, PinyinKeys.of(text), score);
+    }
+
+    private static List<String> texts(List<SuggestTrie.Term> terms) {
+        return terms.stream().map(SuggestTrie.Term::text).toList();
+    }
+
+}
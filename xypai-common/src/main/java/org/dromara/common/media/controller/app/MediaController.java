@@ -3,12 +3,15 @@ package org.dromara.common.media.controller.app;
 import cn.dev33.satoken.annotation.SaCheckRole;
 import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.media.domain.bo.MediaMultipartInitBo;
 import org.dromara.common.media.domain.bo.MediaUploadBo;
+import org.dromara.common.media.domain.vo.MediaMultipartVo;
 import org.dromara.common.media.domain.vo.MediaUploadResultVo;
 import org.dromara.common.media.service.IMediaService;
 import org.dromara.common.web.core.BaseController;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * 媒体服务C端控制器
@@ -36,6 +39,72 @@ public class MediaController extends BaseController {
         return mediaService.uploadMedia(uploadBo);
     }
 
+    /**
+     * 创建分片上传
+     *
+     * @param initBo 文件信息
+     * @return 上传会话及分片规格
+     */
+    @SaCheckRole("user")
+    @PostMapping("/multipart")
+    public R<MediaMultipartVo> initMultipart(@Validated @RequestBody MediaMultipartInitBo initBo) {
+        return mediaService.initMultipart(initBo);
+    }
+
+    /**
+     * 上传分片
+     *
+     * @param uploadId   上传会话ID
+     * @param partNumber 分片序号 (从1开始)
+     * @param file       分片数据
+     * @param md5        分片MD5 (可选)
+     * @return 上传进度
+     */
+    @SaCheckRole("user")
+    @PutMapping("/multipart/{uploadId}/{partNumber}")
+    public R<MediaMultipartVo> uploadPart(@PathVariable String uploadId,
+                                          @PathVariable Integer partNumber,
+                                          @RequestParam("file") MultipartFile file,
+                                          @RequestParam(value = "md5", required = false) String md5) {
+        return mediaService.uploadPart(uploadId, partNumber, file, md5);
+    }
+
+    /**
+     * 查询分片上传进度 (断点续传)
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传进度
+     */
+    @SaCheckRole("user")
+    @GetMapping("/multipart/{uploadId}")
+    public R<MediaMultipartVo> getMultipart(@PathVariable String uploadId) {
+        return mediaService.getMultipart(uploadId);
+    }
+
+    /**
+     * 合并分片, 完成上传
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传结果
+     */
+    @SaCheckRole("user")
+    @PostMapping("/multipart/{uploadId}/complete")
+    public R<MediaUploadResultVo> completeMultipart(@PathVariable String uploadId) {
+        return mediaService.completeMultipart(uploadId);
+    }
+
+    /**
+     * 取消分片上传
+     *
+     * @param uploadId 上传会话ID
+     * @return 是否成功
+     */
+    @SaCheckRole("user")
+    @DeleteMapping("/multipart/{uploadId}")
+    public R<Boolean> abortMultipart(@PathVariable String uploadId) {
+        return mediaService.abortMultipart(uploadId);
+    }
+
     /**
      * 删除媒体文件
      *
@@ -0,0 +1,52 @@
+package org.dromara.common.media.domain.bo;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 分片上传初始化业务对象
+ * Media Multipart Upload Init BO
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+public class MediaMultipartInitBo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 原始文件名
+     */
+    @NotBlank(message = "文件名不能为空")
+    private String fileName;
+
+    /**
+     * 文件大小 (字节)
+     */
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long fileSize;
+
+    /**
+     * MIME类型
+     */
+    @NotBlank(message = "文件类型不能为空")
+    private String contentType;
+
+    /**
+     * 业务类型: avatar/post/moment/chat等
+     */
+    @NotBlank(message = "业务类型不能为空")
+    private String bizType;
+
+    /**
+     * 关联业务ID (可选)
+     */
+    private Long bizId;
+}
@@ -0,0 +1,89 @@
+package org.dromara.common.media.domain.bo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 分片上传会话 (缓存在 Redis, 分片本身由对象存储保存)
+ * Media Multipart Upload Session
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+public class MediaMultipartSession implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 上传用户ID
+     */
+    private Long userId;
+
+    /**
+     * 存储配置KEY, 分片必须写入创建任务时的存储
+     */
+    private String configKey;
+
+    /**
+     * 对象存储的分片上传任务ID
+     */
+    private String ossUploadId;
+
+    /**
+     * 文件路径 (OSS对象键)
+     */
+    private String filePath;
+
+    /**
+     * 存储文件名
+     */
+    private String storedName;
+
+    /**
+     * 原始文件名
+     */
+    private String originalName;
+
+    /**
+     * 文件扩展名
+     */
+    private String fileExt;
+
+    /**
+     * 文件类型: image/video
+     */
+    private String fileType;
+
+    /**
+     * MIME类型
+     */
+    private String contentType;
+
+    /**
+     * 文件大小 (字节)
+     */
+    private Long fileSize;
+
+    /**
+     * 分片大小 (字节, 最后一片可以更小)
+     */
+    private Long partSize;
+
+    /**
+     * 分片数
+     */
+    private Integer partCount;
+
+    /**
+     * 业务类型
+     */
+    private String bizType;
+
+    /**
+     * 关联业务ID
+     */
+    private Long bizId;
+}
@@ -0,0 +1,40 @@
+package org.dromara.common.media.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 分片上传进度视图对象
+ * Media Multipart Upload VO
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+public class MediaMultipartVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 上传会话ID, 后续分片、续传、合并时使用
+     */
+    private String uploadId;
+
+    /**
+     * 分片大小 (字节, 最后一片可以更小)
+     */
+    private Long partSize;
+
+    /**
+     * 分片数
+     */
+    private Integer partCount;
+
+    /**
+     * 已上传的分片序号 (从1开始), 续传时跳过这些分片
+     */
+    private List<Integer> uploadedParts;
+}
@@ -1,7 +1,9 @@
 package org.dromara.common.media.service;
 
 import org.dromara.common.core.domain.R;
+import org.dromara.common.media.domain.bo.MediaMultipartInitBo;
 import org.dromara.common.media.domain.bo.MediaUploadBo;
+import org.dromara.common.media.domain.vo.MediaMultipartVo;
 import org.dromara.common.media.domain.vo.MediaUploadResultVo;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,6 +23,49 @@ public interface IMediaService {
      */
     R<MediaUploadResultVo> uploadMedia(MediaUploadBo uploadBo);
 
+    /**
+     * 创建分片上传 (大文件/弱网环境, 支持断点续传)
+     *
+     * @param initBo 文件信息
+     * @return 上传会话及分片规格
+     */
+    R<MediaMultipartVo> initMultipart(MediaMultipartInitBo initBo);
+
+    /**
+     * 上传一个分片, 重复上传同一序号时覆盖
+     *
+     * @param uploadId   上传会话ID
+     * @param partNumber 分片序号 (从1开始)
+     * @param file       分片数据
+     * @param md5        分片MD5 (十六进制, 可选, 由存储端校验)
+     * @return 上传进度
+     */
+    R<MediaMultipartVo> uploadPart(String uploadId, Integer partNumber, MultipartFile file, String md5);
+
+    /**
+     * 查询分片上传进度 (断点续传)
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传进度
+     */
+    R<MediaMultipartVo> getMultipart(String uploadId);
+
+    /**
+     * 合并分片, 完成上传
+     *
+     * @param uploadId 上传会话ID
+     * @return 上传结果
+     */
+    R<MediaUploadResultVo> completeMultipart(String uploadId);
+
+    /**
+     * 取消分片上传
+     *
+     * @param uploadId 上传会话ID
+     * @return 是否成功
+     */
+    R<Boolean> abortMultipart(String uploadId);
+
     /**
      * 删除媒体文件
      *
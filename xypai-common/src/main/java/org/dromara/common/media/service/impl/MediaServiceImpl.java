@@ -1,35 +1,53 @@
 package org.dromara.common.media.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.codec.Base64;
 import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.IdUtil;
-import cn.hutool.crypto.digest.DigestUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.media.domain.bo.MediaMultipartInitBo;
+import org.dromara.common.media.domain.bo.MediaMultipartSession;
 import org.dromara.common.media.domain.bo.MediaUploadBo;
 import org.dromara.common.media.domain.entity.MediaFile;
+import org.dromara.common.media.domain.vo.MediaMultipartVo;
 import org.dromara.common.media.domain.vo.MediaUploadResultVo;
 import org.dromara.common.media.mapper.MediaFileMapper;
 import org.dromara.common.media.service.IMediaService;
+import org.dromara.common.oss.constant.OssConstant;
 import org.dromara.common.oss.core.OssClient;
 import org.dromara.common.oss.entity.UploadResult;
 import org.dromara.common.oss.factory.OssFactory;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * 媒体服务实现
  * Media Service Implementation
+ * <p>
+ * 上传全程流式处理: 文件内容从请求(超过阈值时为磁盘临时文件)直接写入对象存储, 同时计算MD5,
+ * 大文件由存储客户端自动分片, 每个上传占用的堆内存有上限。
+ * 弱网客户端可使用分片上传: 会话信息缓存在 Redis, 分片由对象存储保存, 断线后查询已上传分片继续上传。
+ * 过期未完成的会话不会主动清理对象存储中的分片, 需在存储桶配置"清理未完成分片"的生命周期规则
  *
  * @author XiangYuPai Team
  */
@@ -60,8 +78,25 @@ public class MediaServiceImpl implements IMediaService {
      */
     private static final int MAX_VIDEO_SIZE_MB = 100;
 
+    /**
+     * 分片上传会话缓存KEY前缀
+     */
+    private static final String MULTIPART_KEY_PREFIX = "media:multipart:";
+
+    /**
+     * 分片上传会话有效期, 每上传一个分片顺延
+     */
+    private static final Duration MULTIPART_TTL = Duration.ofHours(24);
+
+    /**
+     * S3 单个分片上传任务最多分片数
+     */
+    private static final int MAX_PART_COUNT = 10000;
+
+    /**
+     * 上传耗时较长, 不开启事务, 避免上传期间占用数据库连接
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public R<MediaUploadResultVo> uploadMedia(MediaUploadBo uploadBo) {
         MultipartFile file = uploadBo.getFile();
 
@@ -69,17 +104,7 @@ public class MediaServiceImpl implements IMediaService {
                  file.getOriginalFilename(), uploadBo.getBizType());
 
         try {
-            // 1. 计算文件MD5 (用于秒传)
-            String md5 = DigestUtil.md5Hex(file.getInputStream());
-
-            // 2. 检查是否已存在相同文件 (秒传)
-            MediaUploadResultVo existingFile = findByMd5(md5);
-            if (existingFile != null) {
-                log.info("文件已存在，秒传成功 - MD5: {}", md5);
-                return R.ok(existingFile);
-            }
-
-            // 3. 验证文件类型
+            // 1. 验证文件类型
             String contentType = file.getContentType();
             if (contentType == null) {
                 return R.fail("无法识别文件类型");
@@ -90,29 +115,35 @@ public class MediaServiceImpl implements IMediaService {
                 return R.fail("不支持的文件类型: " + contentType);
             }
 
-            // 4. 验证文件大小
+            // 2. 验证文件大小
             int maxSize = fileType.equals("image") ? MAX_IMAGE_SIZE_MB : MAX_VIDEO_SIZE_MB;
             if (!validateFileSize(file.getSize(), maxSize)) {
                 return R.fail("文件大小超过限制 (最大 " + maxSize + "MB)");
             }
 
-            // 5. 构建存储路径
+            // 3. 构建存储路径
             String fileExt = FileUtil.extName(file.getOriginalFilename());
             String storedName = IdUtil.fastSimpleUUID() + "." + fileExt;
-            String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String filePath = uploadBo.getBizType() + "/" + datePath + "/" + storedName;
+            String filePath = buildFilePath(uploadBo.getBizType(), storedName);
 
-            // 6. 上传到OSS
+            // 4. 流式上传到OSS, 同时计算文件MD5 (大文件自动分片, 不整体读入内存)
             OssClient ossClient = OssFactory.instance();
-            byte[] fileBytes = file.getBytes();
-            UploadResult uploadResult = ossClient.upload(
-                new ByteArrayInputStream(fileBytes),
-                filePath,
-                (long) fileBytes.length,
-                contentType
-            );
-
-            // 7. 保存媒体记录
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            UploadResult uploadResult;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                uploadResult = ossClient.upload(in, filePath, file.getSize(), contentType);
+            }
+            String md5 = HexUtil.encodeHexStr(digest.digest());
+
+            // 5. 已存在相同文件时删除本次上传的对象, 复用已有记录 (秒传)
+            MediaUploadResultVo existingFile = findByMd5(md5);
+            if (existingFile != null) {
+                deleteObjectQuietly(ossClient, filePath);
+                log.info("文件已存在，复用已有文件 - MD5: {}", md5);
+                return R.ok(existingFile);
+            }
+
+            // 6. 保存媒体记录
             MediaFile mediaFile = new MediaFile();
             mediaFile.setUserId(LoginHelper.getUserId());
             mediaFile.setFileType(fileType);
@@ -130,19 +161,169 @@ public class MediaServiceImpl implements IMediaService {
 
             mediaFileMapper.insert(mediaFile);
 
-            // 8. 构建返回结果
+            // 7. 构建返回结果
             MediaUploadResultVo result = BeanUtil.toBean(mediaFile, MediaUploadResultVo.class);
 
             log.info("媒体文件上传成功 - ID: {}, URL: {}", mediaFile.getId(), mediaFile.getFileUrl());
 
             return R.ok(result);
 
-        } catch (IOException e) {
+        } catch (IOException | NoSuchAlgorithmException e) {
             log.error("文件上传失败", e);
             return R.fail("文件上传失败: " + e.getMessage());
         }
     }
 
+    @Override
+    public R<MediaMultipartVo> initMultipart(MediaMultipartInitBo initBo) {
+        // 1. 验证文件类型和大小
+        String fileType = getFileType(initBo.getContentType());
+        if (!isAllowedType(initBo.getContentType(), fileType)) {
+            return R.fail("不支持的文件类型: " + initBo.getContentType());
+        }
+        int maxSize = fileType.equals("image") ? MAX_IMAGE_SIZE_MB : MAX_VIDEO_SIZE_MB;
+        if (!validateFileSize(initBo.getFileSize(), maxSize)) {
+            return R.fail("文件大小超过限制 (最大 " + maxSize + "MB)");
+        }
+
+        // 2. 计算分片规格
+        long partSize = Math.max(OssConstant.MULTIPART_PART_SIZE,
+            (initBo.getFileSize() + MAX_PART_COUNT - 1) / MAX_PART_COUNT);
+        int partCount = (int) ((initBo.getFileSize() + partSize - 1) / partSize);
+
+        // 3. 在对象存储创建分片上传任务
+        String fileExt = FileUtil.extName(initBo.getFileName());
+        String storedName = IdUtil.fastSimpleUUID() + "." + fileExt;
+        String filePath = buildFilePath(initBo.getBizType(), storedName);
+        OssClient ossClient = OssFactory.instance();
+        String ossUploadId = ossClient.createMultipartUpload(filePath, initBo.getContentType());
+
+        // 4. 缓存上传会话
+        MediaMultipartSession session = new MediaMultipartSession();
+        session.setUserId(LoginHelper.getUserId());
+        session.setConfigKey(ossClient.getConfigKey());
+        session.setOssUploadId(ossUploadId);
+        session.setFilePath(filePath);
+        session.setStoredName(storedName);
+        session.setOriginalName(initBo.getFileName());
+        session.setFileExt(fileExt);
+        session.setFileType(fileType);
+        session.setContentType(initBo.getContentType());
+        session.setFileSize(initBo.getFileSize());
+        session.setPartSize(partSize);
+        session.setPartCount(partCount);
+        session.setBizType(initBo.getBizType());
+        session.setBizId(initBo.getBizId());
+
+        String uploadId = IdUtil.fastSimpleUUID();
+        RedisUtils.setCacheObject(MULTIPART_KEY_PREFIX + uploadId, session, MULTIPART_TTL);
+
+        log.info("创建分片上传 - uploadId: {}, 文件: {}, 大小: {}, 分片数: {}",
+                 uploadId, initBo.getFileName(), initBo.getFileSize(), partCount);
+
+        return R.ok(buildMultipartVo(uploadId, session, List.of()));
+    }
+
+    @Override
+    public R<MediaMultipartVo> uploadPart(String uploadId, Integer partNumber, MultipartFile file, String md5) {
+        MediaMultipartSession session = getMultipartSession(uploadId);
+        if (session == null) {
+            return R.fail("上传会话不存在或已过期");
+        }
+        if (partNumber == null || partNumber < 1 || partNumber > session.getPartCount()) {
+            return R.fail("分片序号无效");
+        }
+
+        // 除最后一片外, 分片大小必须与约定一致
+        long expectedSize = partNumber < session.getPartCount()
+            ? session.getPartSize()
+            : session.getFileSize() - (long) (session.getPartCount() - 1) * session.getPartSize();
+        if (file == null || file.getSize() != expectedSize) {
+            return R.fail("分片大小不正确, 应为 " + expectedSize + " 字节");
+        }
+        if (md5 != null && !md5.matches("[0-9a-fA-F]{32}")) {
+            return R.fail("分片MD5格式不正确");
+        }
+
+        OssClient ossClient = OssFactory.instance(session.getConfigKey());
+        try (InputStream in = file.getInputStream()) {
+            ossClient.uploadPart(session.getFilePath(), session.getOssUploadId(), partNumber, in, expectedSize,
+                md5 != null ? Base64.encode(HexUtil.decodeHex(md5)) : null);
+        } catch (IOException e) {
+            log.error("分片上传失败 - uploadId: {}, partNumber: {}", uploadId, partNumber, e);
+            return R.fail("分片上传失败: " + e.getMessage());
+        }
+        RedisUtils.expire(MULTIPART_KEY_PREFIX + uploadId, MULTIPART_TTL);
+
+        return R.ok(buildMultipartVo(uploadId, session,
+            ossClient.listParts(session.getFilePath(), session.getOssUploadId())));
+    }
+
+    @Override
+    public R<MediaMultipartVo> getMultipart(String uploadId) {
+        MediaMultipartSession session = getMultipartSession(uploadId);
+        if (session == null) {
+            return R.fail("上传会话不存在或已过期");
+        }
+        OssClient ossClient = OssFactory.instance(session.getConfigKey());
+        return R.ok(buildMultipartVo(uploadId, session,
+            ossClient.listParts(session.getFilePath(), session.getOssUploadId())));
+    }
+
+    @Override
+    public R<MediaUploadResultVo> completeMultipart(String uploadId) {
+        MediaMultipartSession session = getMultipartSession(uploadId);
+        if (session == null) {
+            return R.fail("上传会话不存在或已过期");
+        }
+
+        // 1. 确认分片已全部上传
+        OssClient ossClient = OssFactory.instance(session.getConfigKey());
+        List<CompletedPart> parts = ossClient.listParts(session.getFilePath(), session.getOssUploadId());
+        if (parts.size() != session.getPartCount()) {
+            return R.fail("分片未上传完整 (" + parts.size() + "/" + session.getPartCount() + ")");
+        }
+
+        // 2. 合并分片
+        UploadResult uploadResult = ossClient.completeMultipartUpload(
+            session.getFilePath(), session.getOssUploadId(), parts);
+
+        // 3. 保存媒体记录 (服务端未读取完整文件, 不记录MD5, 不参与秒传)
+        MediaFile mediaFile = new MediaFile();
+        mediaFile.setUserId(session.getUserId());
+        mediaFile.setFileType(session.getFileType());
+        mediaFile.setOriginalName(session.getOriginalName());
+        mediaFile.setStoredName(session.getStoredName());
+        mediaFile.setFilePath(session.getFilePath());
+        mediaFile.setFileUrl(uploadResult.getUrl());
+        mediaFile.setFileSize(session.getFileSize());
+        mediaFile.setFileExt(session.getFileExt());
+        mediaFile.setMimeType(session.getContentType());
+        mediaFile.setBizType(session.getBizType());
+        mediaFile.setBizId(session.getBizId());
+        mediaFile.setStatus(0);  // 0=正常
+
+        mediaFileMapper.insert(mediaFile);
+        RedisUtils.deleteObject(MULTIPART_KEY_PREFIX + uploadId);
+
+        log.info("分片上传完成 - ID: {}, URL: {}, 分片数: {}", mediaFile.getId(), mediaFile.getFileUrl(), parts.size());
+
+        return R.ok(BeanUtil.toBean(mediaFile, MediaUploadResultVo.class));
+    }
+
+    @Override
+    public R<Boolean> abortMultipart(String uploadId) {
+        MediaMultipartSession session = getMultipartSession(uploadId);
+        if (session == null) {
+            return R.fail("上传会话不存在或已过期");
+        }
+        OssFactory.instance(session.getConfigKey()).abortMultipartUpload(session.getFilePath(), session.getOssUploadId());
+        RedisUtils.deleteObject(MULTIPART_KEY_PREFIX + uploadId);
+
+        log.info("取消分片上传 - uploadId: {}", uploadId);
+        return R.ok(true);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public R<Boolean> deleteMedia(Long id) {
@@ -190,7 +371,19 @@ public class MediaServiceImpl implements IMediaService {
 
     @Override
     public boolean validateFileType(MultipartFile file, String... allowedTypes) {
-        String contentType = file.getContentType();
+        return isAllowedType(file.getContentType(), allowedTypes);
+    }
+
+    @Override
+    public boolean validateFileSize(long fileSize, int maxSizeMB) {
+        long maxSizeBytes = maxSizeMB * 1024L * 1024L;
+        return fileSize <= maxSizeBytes;
+    }
+
+    /**
+     * MIME类型是否属于允许的文件类型
+     */
+    private boolean isAllowedType(String contentType, String... allowedTypes) {
         if (contentType == null) {
             return false;
         }
@@ -207,10 +400,40 @@ public class MediaServiceImpl implements IMediaService {
         return false;
     }
 
-    @Override
-    public boolean validateFileSize(long fileSize, int maxSizeMB) {
-        long maxSizeBytes = maxSizeMB * 1024L * 1024L;
-        return fileSize <= maxSizeBytes;
+    /**
+     * 构建存储路径: 业务类型/年/月/日/存储文件名
+     */
+    private String buildFilePath(String bizType, String storedName) {
+        String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        return bizType + "/" + datePath + "/" + storedName;
+    }
+
+    /**
+     * 读取当前用户的分片上传会话
+     */
+    private MediaMultipartSession getMultipartSession(String uploadId) {
+        MediaMultipartSession session = RedisUtils.getCacheObject(MULTIPART_KEY_PREFIX + uploadId);
+        if (session == null || !session.getUserId().equals(LoginHelper.getUserId())) {
+            return null;
+        }
+        return session;
+    }
+
+    private MediaMultipartVo buildMultipartVo(String uploadId, MediaMultipartSession session, List<CompletedPart> parts) {
+        MediaMultipartVo vo = new MediaMultipartVo();
+        vo.setUploadId(uploadId);
+        vo.setPartSize(session.getPartSize());
+        vo.setPartCount(session.getPartCount());
+        vo.setUploadedParts(parts.stream().map(CompletedPart::partNumber).toList());
+        return vo;
+    }
+
+    private void deleteObjectQuietly(OssClient ossClient, String filePath) {
+        try {
+            ossClient.delete(filePath);
+        } catch (Exception e) {
+            log.warn("删除重复文件失败 - Path: {}", filePath, e);
+        }
     }
 
     /**
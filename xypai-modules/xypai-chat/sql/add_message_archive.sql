@@ -0,0 +1,38 @@
+-- =========================================================================================
+-- XiangYuPai Chat Module - Message Archive (cold tier)
+-- Database: xypai_chat
+-- Description: 超过热数据保留天数的消息由归档任务从 message 表迁出, 按会话、月份压缩成块写入 message_archive,
+--              message 表只保留近期消息, 索引大小随热数据窗口而不是历史总量增长
+--              块内消息为 gzip 压缩的 JSON, 会话历史、增量同步、删除消息时透明读取
+--              表按归档月份 RANGE 分区, 归档任务写入前自动从 p_future 拆出当月分区; 清理历史时可直接 DROP PARTITION
+-- =========================================================================================
+
+USE `xypai_chat`;
+
+CREATE TABLE IF NOT EXISTS `message_archive` (
+    `id` BIGINT(20) NOT NULL COMMENT '归档块ID',
+    `archive_month` INT(11) NOT NULL COMMENT '消息所属月份 yyyyMM(分区键)',
+    `conversation_id` BIGINT(20) NOT NULL COMMENT '会话ID',
+    `low_user_id` BIGINT(20) NOT NULL COMMENT '用户对中较小的用户ID',
+    `high_user_id` BIGINT(20) NOT NULL COMMENT '用户对中较大的用户ID',
+    `min_id` BIGINT(20) NOT NULL COMMENT '块内最小消息ID',
+    `max_id` BIGINT(20) NOT NULL COMMENT '块内最大消息ID',
+    `min_seq` BIGINT(20) NOT NULL COMMENT '块内最小序号',
+    `max_seq` BIGINT(20) NOT NULL COMMENT '块内最大序号(删除归档消息时分配的新序号也计入)',
+    `min_create_time` DATETIME NOT NULL COMMENT '块内最早消息时间',
+    `max_create_time` DATETIME NOT NULL COMMENT '块内最晚消息时间',
+    `message_count` INT(11) NOT NULL COMMENT '块内消息数(含已删除)',
+    `visible_count` INT(11) NOT NULL COMMENT '块内未删除的消息数',
+    `payload` MEDIUMBLOB NOT NULL COMMENT '消息内容(gzip压缩的JSON数组, 按消息ID升序)',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`, `archive_month`),
+    KEY `idx_conversation_time` (`conversation_id`, `max_create_time`),
+    KEY `idx_pair_seq` (`low_user_id`, `high_user_id`, `max_seq`),
+    KEY `idx_low_user_max_id` (`low_user_id`, `max_id`),
+    KEY `idx_high_user_max_id` (`high_user_id`, `max_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='消息归档表'
+PARTITION BY RANGE (`archive_month`) (
+    PARTITION `p_history` VALUES LESS THAN (202501),
+    PARTITION `p_future` VALUES LESS THAN MAXVALUE
+);
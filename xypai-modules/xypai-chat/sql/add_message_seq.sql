@@ -0,0 +1,21 @@
+-- =========================================================================================
+-- XiangYuPai Chat Module - Message Sequence
+-- Database: xypai_chat
+-- Description: 消息增加会话内序号 seq, 供客户端按序号增量同步
+--              序号按用户对(双方会话共用)单调递增, 发送/撤回/删除时分配新序号
+-- =========================================================================================
+
+USE `xypai_chat`;
+
+ALTER TABLE `message`
+    ADD COLUMN `seq` BIGINT(20) NOT NULL DEFAULT 0 COMMENT '会话内序号(用户对内单调递增)' AFTER `receiver_id`,
+    DROP INDEX `idx_sender_receiver`,
+    ADD INDEX `idx_sender_receiver_seq` (`sender_id`, `receiver_id`, `seq`);
+
+-- 存量消息按用户对、发送时间回填序号, Redis 序号计数器首次使用时从库中最大值续接
+UPDATE `message` m
+    JOIN (SELECT `id`,
+                 ROW_NUMBER() OVER (PARTITION BY LEAST(`sender_id`, `receiver_id`), GREATEST(`sender_id`, `receiver_id`)
+                                    ORDER BY `create_time`, `id`) AS `rn`
+          FROM `message`) t ON m.`id` = t.`id`
+SET m.`seq` = t.`rn`;
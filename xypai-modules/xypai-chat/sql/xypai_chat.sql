@@ -39,6 +39,7 @@ CREATE TABLE IF NOT EXISTS `message` (
     `conversation_id` BIGINT(20) NOT NULL COMMENT '会话ID',
     `sender_id` BIGINT(20) NOT NULL COMMENT '发送者ID',
     `receiver_id` BIGINT(20) NOT NULL COMMENT '接收者ID',
+    `seq` BIGINT(20) NOT NULL DEFAULT 0 COMMENT '会话内序号(用户对内单调递增)',
     `message_type` VARCHAR(20) NOT NULL COMMENT '消息类型: text/image/voice/video',
     `content` TEXT COMMENT '消息内容(文字消息)',
     `media_url` VARCHAR(500) NULL COMMENT '媒体URL(图片/语音/视频)',
@@ -54,10 +55,42 @@ CREATE TABLE IF NOT EXISTS `message` (
     `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     PRIMARY KEY (`id`),
     KEY `idx_conversation_deleted_created` (`conversation_id`, `deleted`, `create_time`),
-    KEY `idx_sender_receiver` (`sender_id`, `receiver_id`),
+    KEY `idx_sender_receiver_seq` (`sender_id`, `receiver_id`, `seq`),
     KEY `idx_status` (`status`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='消息表';
 
+-- ============================================
+-- Table: message_archive
+-- Description: 消息归档表 - 超过热数据保留天数的消息按会话、月份压缩成块存放
+-- ============================================
+CREATE TABLE IF NOT EXISTS `message_archive` (
+    `id` BIGINT(20) NOT NULL COMMENT '归档块ID',
+    `archive_month` INT(11) NOT NULL COMMENT '消息所属月份 yyyyMM(分区键)',
+    `conversation_id` BIGINT(20) NOT NULL COMMENT '会话ID',
+    `low_user_id` BIGINT(20) NOT NULL COMMENT '用户对中较小的用户ID',
+    `high_user_id` BIGINT(20) NOT NULL COMMENT '用户对中较大的用户ID',
+    `min_id` BIGINT(20) NOT NULL COMMENT '块内最小消息ID',
+    `max_id` BIGINT(20) NOT NULL COMMENT '块内最大消息ID',
+    `min_seq` BIGINT(20) NOT NULL COMMENT '块内最小序号',
+    `max_seq` BIGINT(20) NOT NULL COMMENT '块内最大序号(删除归档消息时分配的新序号也计入)',
+    `min_create_time` DATETIME NOT NULL COMMENT '块内最早消息时间',
+    `max_create_time` DATETIME NOT NULL COMMENT '块内最晚消息时间',
+    `message_count` INT(11) NOT NULL COMMENT '块内消息数(含已删除)',
+    `visible_count` INT(11) NOT NULL COMMENT '块内未删除的消息数',
+    `payload` MEDIUMBLOB NOT NULL COMMENT '消息内容(gzip压缩的JSON数组, 按消息ID升序)',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`, `archive_month`),
+    KEY `idx_conversation_time` (`conversation_id`, `max_create_time`),
+    KEY `idx_pair_seq` (`low_user_id`, `high_user_id`, `max_seq`),
+    KEY `idx_low_user_max_id` (`low_user_id`, `max_id`),
+    KEY `idx_high_user_max_id` (`high_user_id`, `max_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='消息归档表'
+PARTITION BY RANGE (`archive_month`) (
+    PARTITION `p_history` VALUES LESS THAN (202501),
+    PARTITION `p_future` VALUES LESS THAN MAXVALUE
+);
+
 -- ============================================
 -- Test Data (Optional - for development)
 -- ============================================
@@ -69,11 +102,11 @@ VALUES
     (2, 2, 1, '你好，最近怎么样？', NOW(), 0);
 
 -- Insert test messages
-INSERT INTO `message` (`id`, `conversation_id`, `sender_id`, `receiver_id`, `message_type`, `content`, `status`)
+INSERT INTO `message` (`id`, `conversation_id`, `sender_id`, `receiver_id`, `seq`, `message_type`, `content`, `status`)
 VALUES
-    (1, 1, 1, 2, 'text', '你好，最近怎么样？', 1),
-    (2, 1, 2, 1, 'text', '挺好的，你呢？', 2),
-    (3, 1, 1, 2, 'text', '我也不错，有空一起吃饭吗？', 1);
+    (1, 1, 1, 2, 1, 'text', '你好，最近怎么样？', 1),
+    (2, 1, 2, 1, 2, 'text', '挺好的，你呢？', 2),
+    (3, 1, 1, 2, 3, 'text', '我也不错，有空一起吃饭吗？', 1);
 
 -- ============================================
 -- Indexes for Performance Optimization
@@ -100,8 +133,8 @@ Cache Strategy:
 3. 在线状态: Redis缓存5分钟(心跳刷新)
 
 Scaling Considerations:
-1. 消息表数据量大时,考虑按时间范围分表
-2. 热数据(最近7天)缓存到Redis
-3. 历史消息归档到历史库
+1. message表只保留热数据, 超过保留天数(chat.message.archive.hot-days)的消息由归档任务迁到message_archive
+2. message_archive按月分区, 块内消息gzip压缩, 会话历史/增量同步透明读取
+3. 热数据(最近7天)缓存到Redis
 4. 使用读写分离提升查询性能
 */
@@ -0,0 +1,140 @@
+package org.dromara.chat.archive;
+
+import cn.hutool.core.util.ZipUtil;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.domain.entity.MessageArchive;
+import org.dromara.common.json.utils.JsonUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Message Archive Codec
+ * 归档块编解码
+ *
+ * A chunk stores its messages as a gzip-compressed JSON array with short keys. Columns that are constant
+ * within a chunk (conversation, user pair) live on the chunk row and are restored on decode, times are
+ * epoch millis, and null fields are omitted.
+ *
+ * @author XiangYuPai Team
+ */
+public final class MessageArchiveCodec {
+
+    private MessageArchiveCodec() {
+    }
+
+    /**
+     * Encode messages of one chunk
+     */
+    public static byte[] encode(List<Message> messages) {
+        List<Entry> entries = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            entries.add(new Entry(
+                message.getId(),
+                message.getSenderId(),
+                message.getSeq(),
+                message.getMessageType(),
+                message.getContent(),
+                message.getMediaUrl(),
+                message.getThumbnailUrl(),
+                message.getDuration(),
+                message.getStatus(),
+                Boolean.TRUE.equals(message.getIsRecalled()) ? 1 : null,
+                toMillis(message.getRecalledAt()),
+                Integer.valueOf(1).equals(message.getDeleted()) ? 1 : null,
+                toMillis(message.getDeletedAt()),
+                message.getCreateTime() != null ? message.getCreateTime().getTime() : null
+            ));
+        }
+        return ZipUtil.gzip(JsonUtils.toJsonString(entries).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fill a chunk's range columns, counts and payload from its messages
+     *
+     * @param messages messages of one conversation and month, in message id order
+     */
+    public static void pack(MessageArchive chunk, List<Message> messages) {
+        Message first = messages.get(0);
+        chunk.setConversationId(first.getConversationId());
+        chunk.setLowUserId(Math.min(first.getSenderId(), first.getReceiverId()));
+        chunk.setHighUserId(Math.max(first.getSenderId(), first.getReceiverId()));
+        chunk.setMinId(first.getId());
+        chunk.setMaxId(messages.get(messages.size() - 1).getId());
+        chunk.setMinSeq(messages.stream().mapToLong(Message::getSeq).min().orElse(0));
+        chunk.setMaxSeq(messages.stream().mapToLong(Message::getSeq).max().orElse(0));
+        chunk.setMinCreateTime(messages.stream().map(Message::getCreateTime).min(Date::compareTo).orElse(null));
+        chunk.setMaxCreateTime(messages.stream().map(Message::getCreateTime).max(Date::compareTo).orElse(null));
+        chunk.setMessageCount(messages.size());
+        chunk.setVisibleCount((int) messages.stream().filter(m -> !Integer.valueOf(1).equals(m.getDeleted())).count());
+        chunk.setPayload(encode(messages));
+    }
+
+    /**
+     * Decode messages of a chunk, in message id order
+     */
+    public static List<Message> decode(MessageArchive chunk) {
+        String json = new String(ZipUtil.unGzip(chunk.getPayload()), StandardCharsets.UTF_8);
+        List<Entry> entries = JsonUtils.parseArray(json, Entry.class);
+        List<Message> messages = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            Long receiverId = chunk.getLowUserId().equals(entry.senderId()) ? chunk.getHighUserId() : chunk.getLowUserId();
+            Message message = Message.builder()
+                .id(entry.id())
+                .conversationId(chunk.getConversationId())
+                .senderId(entry.senderId())
+                .receiverId(receiverId)
+                .seq(entry.seq())
+                .messageType(entry.messageType())
+                .content(entry.content())
+                .mediaUrl(entry.mediaUrl())
+                .thumbnailUrl(entry.thumbnailUrl())
+                .duration(entry.duration())
+                .status(entry.status())
+                .isRecalled(entry.recalled() != null && entry.recalled() == 1)
+                .recalledAt(toDateTime(entry.recalledAt()))
+                .deleted(entry.deleted() != null ? entry.deleted() : 0)
+                .deletedAt(toDateTime(entry.deletedAt()))
+                .build();
+            message.setCreateTime(entry.createTime() != null ? new Date(entry.createTime()) : null);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static Long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
+
+    private static LocalDateTime toDateTime(Long millis) {
+        return millis != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()) : null;
+    }
+
+    /**
+     * Serialized form of one archived message
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(
+        @JsonProperty("i") Long id,
+        @JsonProperty("f") Long senderId,
+        @JsonProperty("q") Long seq,
+        @JsonProperty("t") String messageType,
+        @JsonProperty("c") String content,
+        @JsonProperty("u") String mediaUrl,
+        @JsonProperty("h") String thumbnailUrl,
+        @JsonProperty("d") Integer duration,
+        @JsonProperty("s") Integer status,
+        @JsonProperty("r") Integer recalled,
+        @JsonProperty("ra") Long recalledAt,
+        @JsonProperty("x") Integer deleted,
+        @JsonProperty("xa") Long deletedAt,
+        @JsonProperty("ct") Long createTime) {
+    }
+}
@@ -0,0 +1,148 @@
+package org.dromara.chat.archive;
+
+import cn.hutool.core.date.DateUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.config.properties.ChatArchiveProperties;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.mapper.MessageArchiveMapper;
+import org.dromara.chat.mapper.MessageMapper;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message Archive Job
+ * 消息归档任务
+ *
+ * Walks the hot table from the oldest primary key: message ids are time ordered and archived rows are deleted,
+ * so the head of the table is always the oldest unarchived data and each batch reads no more rows than it moves.
+ * Only one node runs at a time. A monthly partition is split off p_future before the first chunk of a new month
+ * is written, DDL runs outside the move transaction.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageArchiveJob {
+
+    private final ChatArchiveProperties properties;
+    private final MessageMapper messageMapper;
+    private final MessageArchiveMapper messageArchiveMapper;
+    private final MessageArchiveWriter messageArchiveWriter;
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    private static final String LOCK_KEY = "chat:archive:lock";
+
+    /**
+     * Upper bound (yyyyMM, exclusive) of the highest bounded partition, loaded lazily
+     */
+    private Integer partitionBound;
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            log.info("Message archive job disabled");
+            return;
+        }
+        scheduledExecutorService.scheduleWithFixedDelay(this::scheduledRun,
+            1, properties.getPeriodMinutes(), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Scheduled run, only the node holding the lock archives
+     */
+    private void scheduledRun() {
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(0, properties.getPeriodMinutes(), TimeUnit.MINUTES);
+            if (locked) {
+                run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Message archive failed: {}", e.getMessage(), e);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Archive batches until the head of the hot table is newer than the cutoff or half the period is used
+     *
+     * @return number of messages archived
+     */
+    public int run() {
+        Date cutoff = DateUtil.offsetDay(new Date(), -Math.max(1, properties.getHotDays()));
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(properties.getPeriodMinutes()) / 2;
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int total = 0;
+
+        while (System.currentTimeMillis() < deadline) {
+            // 1. Oldest rows by primary key, stop at the first one inside the hot window
+            List<Message> head = messageMapper.selectOldest(batchSize);
+            List<Long> ids = new ArrayList<>(head.size());
+            SortedSet<Integer> months = new TreeSet<>();
+            for (Message message : head) {
+                if (!message.getCreateTime().before(cutoff)) {
+                    break;
+                }
+                ids.add(message.getId());
+                months.add(MessageArchiveWriter.archiveMonth(message));
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            // 2. Make sure each month has a partition, then move the batch
+            months.forEach(this::ensurePartition);
+            int archived = messageArchiveWriter.archive(ids, cutoff);
+            total += archived;
+            if (archived == 0 || ids.size() < head.size()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Message archive finished: archived={}, cutoff={}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * Split a partition for the month off p_future if no bounded partition covers it yet.
+     * Months that arrive out of order land in the covering partition, which only widens its range.
+     */
+    private void ensurePartition(int month) {
+        try {
+            if (partitionBound == null) {
+                partitionBound = messageArchiveMapper.selectPartitionBounds().stream()
+                    .map(Integer::valueOf)
+                    .max(Integer::compare)
+                    .orElse(0);
+            }
+            if (month < partitionBound) {
+                return;
+            }
+            int upperBound = month % 100 == 12 ? (month / 100 + 1) * 100 + 1 : month + 1;
+            messageArchiveMapper.splitFuturePartition("p" + month, upperBound);
+            partitionBound = upperBound;
+            log.info("Message archive partition created: p{}", month);
+        } catch (Exception e) {
+            // Rows still go to p_future, the partition is retried on the next run
+            partitionBound = null;
+            log.warn("Failed to create message archive partition: month={}, error={}", month, e.getMessage());
+        }
+    }
+}
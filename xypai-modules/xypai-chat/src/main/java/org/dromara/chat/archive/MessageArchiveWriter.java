@@ -0,0 +1,97 @@
+package org.dromara.chat.archive;
+
+import cn.hutool.core.date.DateUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.config.properties.ChatArchiveProperties;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.domain.entity.MessageArchive;
+import org.dromara.chat.mapper.MessageArchiveMapper;
+import org.dromara.chat.mapper.MessageMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Message Archive Writer
+ * 消息归档写入
+ *
+ * Moves hot rows into archive chunks in one transaction. The rows are locked first, so a concurrent delete either
+ * finishes before the move (and the chunk carries the deleted flag) or finds the row gone and goes to the archive.
+ * Messages are appended to the conversation's latest chunk of the month while it has room, then packed into new chunks.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageArchiveWriter {
+
+    private final ChatArchiveProperties properties;
+    private final MessageMapper messageMapper;
+    private final MessageArchiveMapper messageArchiveMapper;
+
+    /**
+     * Archive messages created before the cutoff
+     *
+     * @param ids    candidate message ids
+     * @param cutoff rows created at or after this time stay in the hot table
+     * @return number of messages archived
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int archive(Collection<Long> ids, Date cutoff) {
+        // 1. Lock the rows, deleted rows included
+        List<Message> rows = messageMapper.selectByIdsForUpdate(ids).stream()
+            .filter(m -> m.getCreateTime() != null && m.getCreateTime().before(cutoff))
+            .sorted(Comparator.comparing(Message::getId))
+            .toList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // 2. Group by conversation and month
+        Map<String, List<Message>> groups = new LinkedHashMap<>();
+        for (Message message : rows) {
+            groups.computeIfAbsent(message.getConversationId() + ":" + archiveMonth(message), k -> new ArrayList<>())
+                .add(message);
+        }
+
+        // 3. Fill the latest chunk of each group, then pack the rest into new chunks
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        for (List<Message> group : groups.values()) {
+            Message first = group.get(0);
+            int month = archiveMonth(first);
+            List<Message> pending = group;
+
+            MessageArchive latest = messageArchiveMapper.selectLatestForUpdate(first.getConversationId(), month);
+            if (latest != null && latest.getMessageCount() < chunkSize && latest.getMaxId() < first.getId()) {
+                int take = Math.min(chunkSize - latest.getMessageCount(), pending.size());
+                List<Message> merged = new ArrayList<>(MessageArchiveCodec.decode(latest));
+                merged.addAll(pending.subList(0, take));
+                MessageArchiveCodec.pack(latest, merged);
+                messageArchiveMapper.updateById(latest);
+                pending = pending.subList(take, pending.size());
+            }
+
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                MessageArchive chunk = MessageArchive.builder().archiveMonth(month).build();
+                MessageArchiveCodec.pack(chunk, pending.subList(from, Math.min(from + chunkSize, pending.size())));
+                messageArchiveMapper.insert(chunk);
+            }
+        }
+
+        // 4. Remove the archived rows from the hot table
+        messageMapper.deleteArchived(rows.stream().map(Message::getId).toList());
+
+        log.debug("Archived messages: count={}, groups={}", rows.size(), groups.size());
+        return rows.size();
+    }
+
+    /**
+     * Partition key of a message: yyyyMM of its create time
+     */
+    public static int archiveMonth(Message message) {
+        return Integer.parseInt(DateUtil.format(message.getCreateTime(), "yyyyMM"));
+    }
+}
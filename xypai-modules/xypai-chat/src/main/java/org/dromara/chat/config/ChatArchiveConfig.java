@@ -0,0 +1,16 @@
+package org.dromara.chat.config;
+
+import org.dromara.chat.config.properties.ChatArchiveProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Message Archive Configuration
+ * 消息归档配置
+ *
+ * @author XiangYuPai Team
+ */
+@Configuration
+@EnableConfigurationProperties(ChatArchiveProperties.class)
+public class ChatArchiveConfig {
+}
@@ -0,0 +1,16 @@
+package org.dromara.chat.config;
+
+import org.dromara.chat.config.properties.ChatIngestProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Message Ingest Configuration
+ * 消息写入管道配置
+ *
+ * @author XiangYuPai Team
+ */
+@Configuration
+@EnableConfigurationProperties(ChatIngestProperties.class)
+public class ChatIngestConfig {
+}
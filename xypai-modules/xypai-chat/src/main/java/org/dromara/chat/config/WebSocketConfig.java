@@ -1,7 +1,9 @@
 package org.dromara.chat.config;
 
 import lombok.RequiredArgsConstructor;
+import org.dromara.chat.config.properties.ChatOutboundProperties;
 import org.dromara.chat.websocket.MessageWebSocketHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
@@ -16,6 +18,7 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
  */
 @Configuration
 @EnableWebSocket
+@EnableConfigurationProperties(ChatOutboundProperties.class)
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
 
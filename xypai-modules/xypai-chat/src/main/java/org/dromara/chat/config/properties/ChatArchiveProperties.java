@@ -0,0 +1,39 @@
+package org.dromara.chat.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 消息归档配置项
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@ConfigurationProperties("chat.message.archive")
+public class ChatArchiveProperties {
+
+    /**
+     * 是否启用归档任务; 关闭后已归档的消息仍可读取
+     */
+    private boolean enabled = true;
+
+    /**
+     * 热数据保留天数, 早于该天数的消息迁入归档表(至少1天)
+     */
+    private int hotDays = 90;
+
+    /**
+     * 单个归档块最多存放的消息数
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 单个事务迁移的消息数
+     */
+    private int batchSize = 2000;
+
+    /**
+     * 归档任务执行间隔(分钟), 单次执行最多占用半个间隔
+     */
+    private long periodMinutes = 10;
+}
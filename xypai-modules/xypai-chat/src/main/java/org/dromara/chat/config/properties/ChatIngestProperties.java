@@ -0,0 +1,34 @@
+package org.dromara.chat.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 消息写入管道配置项
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@ConfigurationProperties("chat.message.ingest")
+public class ChatIngestProperties {
+
+    /**
+     * 是否启用写入管道; 关闭时发送消息在请求事务内同步落库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 单批最多写入的消息数
+     */
+    private int maxBatchSize = 200;
+
+    /**
+     * 攒批最长等待时间(毫秒), 从取到本批第一条消息开始计算
+     */
+    private long maxBatchDelayMillis = 20;
+
+    /**
+     * 已投递未确认的消息空闲超过该时间(毫秒)后由其他节点接管, 覆盖节点宕机的情况
+     */
+    private long claimIdleMillis = 60000;
+}
@@ -0,0 +1,45 @@
+package org.dromara.chat.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * WebSocket 出站队列配置项
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@ConfigurationProperties("chat.websocket.outbound")
+public class ChatOutboundProperties {
+
+    /**
+     * 每个会话最多排队的消息数
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * 写线程数
+     */
+    private int writerThreads = 4;
+
+    /**
+     * 单个会话一次最多连续发送的消息数, 发送完后让出写线程, 避免慢连接长期占用
+     */
+    private int drainBatchSize = 32;
+
+    /**
+     * 队列满(且已丢弃可丢弃的输入状态等事件)后的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DISCONNECT;
+
+    public enum OverflowPolicy {
+        /**
+         * 丢弃新消息
+         */
+        DROP_NEWEST,
+        /**
+         * 断开连接, 客户端重连后通过历史接口补齐
+         */
+        DISCONNECT
+    }
+}
@@ -12,11 +12,13 @@ import org.dromara.chat.domain.dto.ChatHistoryQueryDTO;
 import org.dromara.chat.domain.dto.ConversationQueryDTO;
 import org.dromara.chat.domain.dto.MessageSendDTO;
 import org.dromara.chat.domain.vo.ConversationVO;
+import org.dromara.chat.domain.vo.MessageSyncVO;
 import org.dromara.chat.domain.vo.MessageVO;
 import org.dromara.chat.domain.vo.UnreadCountVO;
 import org.dromara.chat.service.IFileUploadService;
 import org.dromara.chat.service.IMessageService;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.mybatis.core.page.CursorPage;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.common.web.core.BaseController;
 import org.springframework.validation.annotation.Validated;
@@ -127,6 +129,68 @@ public class MessageController extends BaseController {
         return R.ok(result);
     }
 
+    /**
+     * Scroll chat history by cursor
+     * 游标分页获取聊天记录
+     *
+     * @param conversationId Conversation ID
+     * @param queryDTO Query parameters (cursor from previous page)
+     * @return Message list with next cursor
+     */
+    @GetMapping("/chat/{conversationId}/scroll")
+    @Operation(summary = "Scroll Chat History", description = "游标分页获取聊天记录（由新到旧，传入上一页返回的nextCursor）")
+    @Parameter(name = "conversationId", description = "会话ID", required = true)
+    public R<CursorPage<MessageVO>> scrollChatHistory(
+            @PathVariable("conversationId") Long conversationId,
+            @Valid ChatHistoryQueryDTO queryDTO) {
+
+        Long userId = LoginHelper.getUserId();
+        queryDTO.setConversationId(conversationId);
+
+        CursorPage<MessageVO> result = messageService.scrollChatHistory(userId, queryDTO);
+        return R.ok(result);
+    }
+
+    /**
+     * Incremental sync by sequence
+     * 按序号增量同步聊天记录
+     *
+     * @param conversationId Conversation ID
+     * @param seq Last synced sequence (omit to resume from the last ack)
+     * @param limit Max deltas to return
+     * @return Deltas (new/recalled/deleted) and read markers
+     */
+    @GetMapping("/chat/{conversationId}/sync")
+    @Operation(summary = "Sync Chat", description = "增量同步：返回序号之后的新消息、撤回、删除及双方已读标记")
+    @Parameter(name = "conversationId", description = "会话ID", required = true)
+    public R<MessageSyncVO> syncChat(
+            @PathVariable("conversationId") Long conversationId,
+            @RequestParam(value = "seq", required = false) Long seq,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        Long userId = LoginHelper.getUserId();
+        MessageSyncVO result = messageService.syncSince(userId, conversationId, seq, limit);
+        return R.ok(result);
+    }
+
+    /**
+     * Acknowledge synced sequence
+     * 确认已同步到的序号
+     *
+     * @param conversationId Conversation ID
+     * @param seq Last synced sequence (capped at the safe mark, sequences still being written are never acked)
+     * @return Success response
+     */
+    @PostMapping("/chat/{conversationId}/ack")
+    @Operation(summary = "Ack Sync", description = "确认已同步到的序号，之后同步未传序号时从此处继续")
+    @Parameter(name = "conversationId", description = "会话ID", required = true)
+    public R<Void> ackSync(
+            @PathVariable("conversationId") Long conversationId,
+            @RequestParam("seq") Long seq) {
+        Long userId = LoginHelper.getUserId();
+        messageService.ackSync(userId, conversationId, seq);
+        return R.ok();
+    }
+
     /**
      * Send message
      * 发送消息
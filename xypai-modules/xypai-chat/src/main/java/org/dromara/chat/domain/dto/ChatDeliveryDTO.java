@@ -0,0 +1,38 @@
+package org.dromara.chat.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 跨节点投递消息DTO
+ * Node-addressed WebSocket Delivery
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatDeliveryDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 接收用户ID
+     */
+    private Long userId;
+
+    /**
+     * 已序列化的WebSocket事件
+     */
+    private String frame;
+
+    /**
+     * 合并键, 非空表示输入状态等可合并/可丢弃的瞬时事件
+     */
+    private String coalesceKey;
+}
@@ -50,4 +50,9 @@ public class ChatHistoryQueryDTO implements Serializable {
      * 最后一条消息ID (用于分页)
      */
     private Long lastMessageId;
+
+    /**
+     * 游标 (游标分页模式使用, 首页不传)
+     */
+    private String cursor;
 }
@@ -0,0 +1,41 @@
+package org.dromara.chat.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.chat.domain.entity.Message;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 待写入消息
+ * Message waiting in the ingest pipeline, id/seq/createTime already assigned
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageIngestDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 消息 (conversationId 为发送者会话ID)
+     */
+    private Message message;
+
+    /**
+     * 接收者会话ID
+     */
+    private Long receiverConversationId;
+
+    /**
+     * 会话列表中显示的消息预览
+     */
+    private String preview;
+}
@@ -0,0 +1,59 @@
+package org.dromara.chat.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 消息撤回/删除操作
+ * Recall or delete of a message, deferred by the ingest pipeline while the message is still queued
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageOpDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String RECALL = "recall";
+    public static final String DELETE = "delete";
+
+    /**
+     * 操作类型: recall/delete
+     */
+    private String type;
+
+    /**
+     * 消息ID
+     */
+    private Long messageId;
+
+    /**
+     * 发送者ID
+     */
+    private Long senderId;
+
+    /**
+     * 接收者ID
+     */
+    private Long receiverId;
+
+    /**
+     * 操作分配的新序号
+     */
+    private Long seq;
+
+    /**
+     * 操作时间
+     */
+    private LocalDateTime operateTime;
+}
@@ -51,6 +51,11 @@ public class Message extends BaseEntity implements Serializable {
      */
     private Long receiverId;
 
+    /**
+     * 会话内序号 (用户对内单调递增, 发送/撤回/删除时分配)
+     */
+    private Long seq;
+
     /**
      * 消息类型: text/image/voice/video
      */
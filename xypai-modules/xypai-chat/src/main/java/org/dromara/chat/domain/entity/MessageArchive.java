@@ -0,0 +1,111 @@
+package org.dromara.chat.domain.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Message Archive Entity
+ * 消息归档块 - 同一会话、同一月份的冷数据消息压缩存放
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("message_archive")
+public class MessageArchive implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 归档块ID
+     */
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 消息所属月份 yyyyMM (分区键)
+     */
+    private Integer archiveMonth;
+
+    /**
+     * 会话ID
+     */
+    private Long conversationId;
+
+    /**
+     * 用户对中较小的用户ID
+     */
+    private Long lowUserId;
+
+    /**
+     * 用户对中较大的用户ID
+     */
+    private Long highUserId;
+
+    /**
+     * 块内最小消息ID
+     */
+    private Long minId;
+
+    /**
+     * 块内最大消息ID
+     */
+    private Long maxId;
+
+    /**
+     * 块内最小序号
+     */
+    private Long minSeq;
+
+    /**
+     * 块内最大序号
+     */
+    private Long maxSeq;
+
+    /**
+     * 块内最早消息时间
+     */
+    private Date minCreateTime;
+
+    /**
+     * 块内最晚消息时间
+     */
+    private Date maxCreateTime;
+
+    /**
+     * 块内消息数 (含已删除)
+     */
+    private Integer messageCount;
+
+    /**
+     * 块内未删除的消息数
+     */
+    private Integer visibleCount;
+
+    /**
+     * 压缩后的消息内容, 见 MessageArchiveCodec
+     */
+    private byte[] payload;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+}
@@ -0,0 +1,60 @@
+package org.dromara.chat.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 消息增量VO
+ * Message Delta
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageDeltaVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 变更类型: 新消息
+     */
+    public static final String OP_NEW = "new";
+
+    /**
+     * 变更类型: 已撤回
+     */
+    public static final String OP_RECALLED = "recalled";
+
+    /**
+     * 变更类型: 已删除
+     */
+    public static final String OP_DELETED = "deleted";
+
+    /**
+     * 序号
+     */
+    private Long seq;
+
+    /**
+     * 变更类型: new/recalled/deleted
+     */
+    private String op;
+
+    /**
+     * 消息ID
+     */
+    private Long messageId;
+
+    /**
+     * 消息内容 (deleted 时为空, recalled 时不含正文)
+     */
+    private MessageVO message;
+}
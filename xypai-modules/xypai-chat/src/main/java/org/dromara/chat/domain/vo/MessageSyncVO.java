@@ -0,0 +1,61 @@
+package org.dromara.chat.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 消息增量同步VO
+ * Message Sync Response
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSyncVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 会话ID
+     */
+    private Long conversationId;
+
+    /**
+     * 按序号升序的变更
+     */
+    private List<MessageDeltaVO> deltas;
+
+    /**
+     * 下次同步的起始序号 (还有更多时为本页最后一条的序号, 否则为安全水位; 不会越过仍在写入的序号)
+     */
+    private Long nextSeq;
+
+    /**
+     * 当前会话最新序号
+     */
+    private Long latestSeq;
+
+    /**
+     * 是否还有未同步的变更
+     */
+    private Boolean hasMore;
+
+    /**
+     * 本人已读到的序号
+     */
+    private Long readSeq;
+
+    /**
+     * 对方已读到的序号
+     */
+    private Long peerReadSeq;
+}
@@ -46,6 +46,11 @@ public class MessageVO implements Serializable {
      */
     private Long receiverId;
 
+    /**
+     * 会话内序号
+     */
+    private Long seq;
+
     /**
      * 消息类型: text/image/voice/video
      */
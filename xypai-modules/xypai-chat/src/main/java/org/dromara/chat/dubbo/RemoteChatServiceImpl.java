@@ -3,6 +3,7 @@ package org.dromara.chat.dubbo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboService;
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
 import org.dromara.chat.api.RemoteChatService;
 import org.dromara.chat.api.domain.vo.RemoteChatConversationVo;
 import org.dromara.chat.api.domain.vo.RemoteChatMessageVo;
@@ -12,14 +13,19 @@ import org.dromara.chat.domain.entity.Message;
 import org.dromara.chat.domain.vo.UnreadCountVO;
 import org.dromara.chat.mapper.ConversationMapper;
 import org.dromara.chat.mapper.MessageMapper;
+import org.dromara.chat.service.IChatProfileService;
+import org.dromara.chat.service.IConversationIndexService;
+import org.dromara.chat.service.IMessageArchiveService;
 import org.dromara.chat.service.IMessageService;
 import org.dromara.chat.websocket.MessageWebSocketHandler;
 import org.dromara.common.core.exception.ServiceException;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,8 +45,11 @@ import java.util.stream.Collectors;
 public class RemoteChatServiceImpl implements RemoteChatService {
 
     private final IMessageService messageService;
+    private final IConversationIndexService conversationIndexService;
+    private final IChatProfileService chatProfileService;
     private final ConversationMapper conversationMapper;
     private final MessageMapper messageMapper;
+    private final IMessageArchiveService messageArchiveService;
     private final MessageWebSocketHandler webSocketHandler;
 
     @Override
@@ -68,16 +77,33 @@ public class RemoteChatServiceImpl implements RemoteChatService {
     @Override
     public List<RemoteChatConversationVo> getUserConversations(Long userId, Integer limit) throws ServiceException {
         try {
-            LambdaQueryWrapper<Conversation> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(Conversation::getUserId, userId)
-                .eq(Conversation::getDeleted, 0)
-                .orderByDesc(Conversation::getLastMessageTime)
-                .last("LIMIT " + (limit != null ? limit : 20));
-
-            List<Conversation> conversations = conversationMapper.selectList(wrapper);
+            int size = limit != null ? limit : 20;
+            Page<Conversation> indexed = conversationIndexService.page(userId, 1, size);
+            List<Conversation> conversations;
+            if (indexed != null) {
+                conversations = indexed.getRecords();
+            } else {
+                LambdaQueryWrapper<Conversation> wrapper = new LambdaQueryWrapper<>();
+                wrapper.eq(Conversation::getUserId, userId)
+                    .eq(Conversation::getDeleted, 0)
+                    .orderByDesc(Conversation::getLastMessageTime)
+                    .last("LIMIT " + size);
+                conversations = conversationMapper.selectList(wrapper);
+            }
+            List<Long> otherUserIds = conversations.stream()
+                .map(Conversation::getOtherUserId)
+                .distinct()
+                .collect(Collectors.toList());
+            Map<Long, RemoteAppUserVo> profileMap = chatProfileService.getProfiles(otherUserIds);
+            Map<Long, Boolean> onlineMap = webSocketHandler.batchIsUserOnline(otherUserIds);
 
             return conversations.stream()
-                .map(this::convertToRemoteConversationVo)
+                .map(conversation -> {
+                    RemoteChatConversationVo vo = convertToRemoteConversationVo(conversation,
+                        onlineMap.getOrDefault(conversation.getOtherUserId(), false));
+                    fillProfile(vo, profileMap.get(conversation.getOtherUserId()));
+                    return vo;
+                })
                 .collect(Collectors.toList());
 
         } catch (Exception e) {
@@ -99,7 +125,11 @@ public class RemoteChatServiceImpl implements RemoteChatService {
                 throw new ServiceException("无权限访问该会话");
             }
 
-            return convertToRemoteConversationVo(conversation);
+            RemoteChatConversationVo vo = convertToRemoteConversationVo(conversation,
+                webSocketHandler.isUserOnline(conversation.getOtherUserId()));
+            fillProfile(vo, chatProfileService.getProfiles(List.of(conversation.getOtherUserId()))
+                .get(conversation.getOtherUserId()));
+            return vo;
 
         } catch (Exception e) {
             log.error("Failed to get conversation via RPC: userId={}, conversationId={}",
@@ -123,9 +153,19 @@ public class RemoteChatServiceImpl implements RemoteChatService {
             wrapper.eq(Message::getConversationId, conversationId)
                 .eq(Message::getDeleted, 0)
                 .orderByDesc(Message::getCreateTime)
+                .orderByDesc(Message::getId)
                 .last("LIMIT " + (limit != null ? limit : 50));
 
-            List<Message> messages = messageMapper.selectList(wrapper);
+            List<Message> messages = new ArrayList<>(messageMapper.selectList(wrapper));
+
+            // Continue into the archive when the hot rows run out
+            int size = limit != null ? limit : 50;
+            if (messages.size() < size) {
+                Message last = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+                messages.addAll(messageArchiveService.listBefore(conversationId,
+                    last != null ? last.getCreateTime() : null, last != null ? last.getId() : null,
+                    size - messages.size()));
+            }
 
             return messages.stream()
                 .map(this::convertToRemoteMessageVo)
@@ -142,8 +182,11 @@ public class RemoteChatServiceImpl implements RemoteChatService {
     public RemoteChatMessageVo getMessageById(Long userId, Long messageId) throws ServiceException {
         try {
             Message message = messageMapper.selectById(messageId);
-
             if (message == null) {
+                message = messageArchiveService.getMessage(userId, messageId);
+            }
+
+            if (message == null || Integer.valueOf(1).equals(message.getDeleted())) {
                 throw new ServiceException("消息不存在");
             }
 
@@ -172,17 +215,12 @@ public class RemoteChatServiceImpl implements RemoteChatService {
 
     @Override
     public Map<Long, Boolean> batchCheckOnlineStatus(List<Long> userIds) {
-        Map<Long, Boolean> result = new HashMap<>();
-
         try {
-            for (Long userId : userIds) {
-                result.put(userId, webSocketHandler.isUserOnline(userId));
-            }
+            return new HashMap<>(webSocketHandler.batchIsUserOnline(userIds));
         } catch (Exception e) {
             log.error("Failed to batch check online status via RPC: userIds={}", userIds, e);
+            return new HashMap<>();
         }
-
-        return result;
     }
 
     // ==================== Private Helper Methods ====================
@@ -190,7 +228,7 @@ public class RemoteChatServiceImpl implements RemoteChatService {
     /**
      * Convert Conversation entity to RemoteChatConversationVo
      */
-    private RemoteChatConversationVo convertToRemoteConversationVo(Conversation conversation) {
+    private RemoteChatConversationVo convertToRemoteConversationVo(Conversation conversation, boolean otherUserOnline) {
         return RemoteChatConversationVo.builder()
             .conversationId(conversation.getId())
             .userId(conversation.getUserId())
@@ -198,12 +236,22 @@ public class RemoteChatServiceImpl implements RemoteChatService {
             .lastMessage(conversation.getLastMessage())
             .lastMessageTime(conversation.getLastMessageTime())
             .unreadCount(conversation.getUnreadCount())
-            .isOnline(webSocketHandler.isUserOnline(conversation.getOtherUserId()))
+            .isOnline(otherUserOnline)
             .createTime(conversation.getCreateTime() != null ?
                 LocalDateTime.ofInstant(conversation.getCreateTime().toInstant(), ZoneId.systemDefault()) : null)
             .build();
     }
 
+    /**
+     * Fill the other user's nickname and avatar
+     */
+    private void fillProfile(RemoteChatConversationVo vo, RemoteAppUserVo profile) {
+        if (profile != null) {
+            vo.setOtherUserNickname(profile.getNickname());
+            vo.setOtherUserAvatar(profile.getAvatar());
+        }
+    }
+
     /**
      * Convert Message entity to RemoteChatMessageVo
      */
@@ -0,0 +1,83 @@
+package org.dromara.chat.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Conversation Changed Event
+ * 会话变更事件
+ *
+ * Published inside the message transaction and applied to the Redis conversation index after commit,
+ * so a rolled back send/read/delete never reaches the index.
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationChangedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 变更类型
+     */
+    private Type type;
+
+    /**
+     * 会话所属用户ID
+     */
+    private Long userId;
+
+    /**
+     * 会话ID
+     */
+    private Long conversationId;
+
+    /**
+     * 对方用户ID (仅 MESSAGE)
+     */
+    private Long otherUserId;
+
+    /**
+     * 最后一条消息预览 (仅 MESSAGE)
+     */
+    private String lastMessage;
+
+    /**
+     * 最后消息时间 (仅 MESSAGE)
+     */
+    private LocalDateTime lastMessageTime;
+
+    /**
+     * 未读数增量 (仅 MESSAGE)
+     */
+    private int unreadDelta;
+
+    public enum Type {
+        /**
+         * 新消息: 会话置顶, 累加未读数
+         */
+        MESSAGE,
+        /**
+         * 标记已读: 清零未读数
+         */
+        READ,
+        /**
+         * 删除会话
+         */
+        DELETE,
+        /**
+         * 清空全部会话
+         */
+        CLEAR
+    }
+}
@@ -0,0 +1,39 @@
+package org.dromara.chat.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.chat.domain.dto.MessageIngestDTO;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Message Sent Event
+ * 消息发送事件
+ *
+ * Published inside the send transaction. After commit the message is enqueued to the ingest pipeline (if it was not
+ * written in the transaction) and pushed to the receiver, so a rolled back send is neither written nor delivered.
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSentEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 待写入消息
+     */
+    private MessageIngestDTO ingest;
+
+    /**
+     * 是否需要提交后入队 (false 表示已在发送事务内写入)
+     */
+    private boolean enqueue;
+}
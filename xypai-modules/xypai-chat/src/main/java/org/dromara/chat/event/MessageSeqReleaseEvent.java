@@ -0,0 +1,41 @@
+package org.dromara.chat.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.chat.domain.entity.Message;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Message Sequence Release Event
+ * 消息序号释放事件
+ *
+ * Published inside the transaction that writes rows carrying freshly assigned sequences. The sequences stay pending
+ * (holding back the safe sync mark) until the transaction commits; a rolled back write keeps them pending only when
+ * the rows will be retried, such as a pipeline batch that stays in the stream.
+ *
+ * @author XiangYuPai Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSeqReleaseEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 写入的消息 (只用到 senderId/receiverId/seq)
+     */
+    private List<Message> messages;
+
+    /**
+     * 事务回滚时是否也释放 (false 表示这些序号之后还会重试写入)
+     */
+    private boolean releaseOnRollback;
+}
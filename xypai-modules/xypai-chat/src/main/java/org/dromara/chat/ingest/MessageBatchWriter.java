@@ -0,0 +1,171 @@
+package org.dromara.chat.ingest;
+
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.domain.dto.MessageIngestDTO;
+import org.dromara.chat.domain.dto.MessageOpDTO;
+import org.dromara.chat.domain.entity.Conversation;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.event.MessageSeqReleaseEvent;
+import org.dromara.chat.mapper.ConversationMapper;
+import org.dromara.chat.mapper.MessageMapper;
+import org.dromara.chat.service.IConversationIndexService;
+import org.dromara.common.core.utils.SpringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Message Batch Writer
+ * 消息批量写入
+ *
+ * One transaction per batch: a multi-row INSERT for the messages and a single UPDATE for all touched conversations,
+ * with the last message and unread increments coalesced per conversation. The conversation index is updated and the
+ * message sequences are released (see {@link org.dromara.chat.service.IMessageSequenceService#safeSeq}) after commit.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageBatchWriter {
+
+    private final MessageMapper messageMapper;
+    private final ConversationMapper conversationMapper;
+    private final IConversationIndexService conversationIndexService;
+
+    /**
+     * Write a batch of messages
+     *
+     * @param batch  messages with id/seq/createTime assigned
+     * @param replay true if the batch may contain messages already written (redelivered entries)
+     * @return number of messages written
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int write(List<MessageIngestDTO> batch, boolean replay) {
+        // Sequences are released once this transaction commits, a rolled back batch is retried and keeps holding them
+        SpringUtils.context().publishEvent(MessageSeqReleaseEvent.builder()
+            .messages(batch.stream().map(MessageIngestDTO::getMessage).toList())
+            .releaseOnRollback(false)
+            .build());
+
+        List<MessageIngestDTO> pending = replay ? skipWritten(batch) : batch;
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // 1. Multi-row insert
+        messageMapper.insertIgnoreBatch(pending.stream().map(MessageIngestDTO::getMessage).toList());
+
+        // 2. Coalesce conversation updates: last message wins, unread counts add up
+        Map<Long, ConversationChange> changes = new TreeMap<>();
+        for (MessageIngestDTO dto : pending) {
+            Message message = dto.getMessage();
+            merge(changes, message.getConversationId(), message.getSenderId(), message.getReceiverId(), dto, 0);
+            if (dto.getReceiverConversationId() != null) {
+                merge(changes, dto.getReceiverConversationId(), message.getReceiverId(), message.getSenderId(), dto, 1);
+            }
+        }
+        List<Conversation> updates = new ArrayList<>(changes.size());
+        changes.forEach((conversationId, change) -> updates.add(Conversation.builder()
+            .id(conversationId)
+            .lastMessage(change.lastMessage)
+            .lastMessageTime(change.lastMessageTime)
+            .unreadCount(change.unreadDelta)
+            .build()));
+        conversationMapper.applyMessageBatch(updates);
+
+        // 3. Conversation index (applied after commit)
+        changes.forEach((conversationId, change) -> conversationIndexService.onMessage(change.userId, conversationId,
+            change.otherUserId, change.lastMessage, change.lastMessageTime, change.unreadDelta));
+
+        log.debug("Message batch written: messages={}, conversations={}", pending.size(), changes.size());
+        return pending.size();
+    }
+
+    /**
+     * Write a batch from an after-commit callback, where the finished transaction is still bound to the thread
+     * and a joined write would never be committed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public int writeAfterCommit(List<MessageIngestDTO> batch, boolean replay) {
+        return write(batch, replay);
+    }
+
+    /**
+     * Apply a recall or delete to a written row, moving it to the sequence assigned by the op
+     *
+     * @return rows updated, 0 if the row is not written yet or has moved to the archive
+     */
+    public int apply(MessageOpDTO op) {
+        LambdaUpdateWrapper<Message> wrapper = new LambdaUpdateWrapper<>();
+        wrapper.eq(Message::getId, op.getMessageId())
+            .set(Message::getSeq, op.getSeq());
+        if (MessageOpDTO.RECALL.equals(op.getType())) {
+            wrapper.set(Message::getIsRecalled, true)
+                .set(Message::getRecalledAt, op.getOperateTime());
+        } else {
+            wrapper.set(Message::getDeleted, 1)
+                .set(Message::getDeletedAt, op.getOperateTime());
+        }
+        return messageMapper.update(null, wrapper);
+    }
+
+    /**
+     * Apply ops deferred while their messages were queued, right after the messages are written
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void applyDeferred(List<MessageOpDTO> ops) {
+        SpringUtils.context().publishEvent(MessageSeqReleaseEvent.builder()
+            .messages(ops.stream().map(op -> Message.builder()
+                .senderId(op.getSenderId())
+                .receiverId(op.getReceiverId())
+                .seq(op.getSeq())
+                .build()).toList())
+            .releaseOnRollback(false)
+            .build());
+        ops.forEach(this::apply);
+        log.debug("Deferred message ops applied: count={}", ops.size());
+    }
+
+    private List<MessageIngestDTO> skipWritten(List<MessageIngestDTO> batch) {
+        Set<Long> written = new HashSet<>(messageMapper.selectExistingIds(
+            batch.stream().map(dto -> dto.getMessage().getId()).toList()));
+        if (written.isEmpty()) {
+            return batch;
+        }
+        return batch.stream().filter(dto -> !written.contains(dto.getMessage().getId())).toList();
+    }
+
+    private void merge(Map<Long, ConversationChange> changes, Long conversationId, Long userId, Long otherUserId,
+                       MessageIngestDTO dto, int unread) {
+        ConversationChange change = changes.computeIfAbsent(conversationId, id -> new ConversationChange(userId, otherUserId));
+        Message message = dto.getMessage();
+        if (change.seq < message.getSeq()) {
+            change.seq = message.getSeq();
+            change.lastMessage = dto.getPreview();
+            change.lastMessageTime = LocalDateTime.ofInstant(message.getCreateTime().toInstant(), ZoneId.systemDefault());
+        }
+        change.unreadDelta += unread;
+    }
+
+    private static class ConversationChange {
+
+        final Long userId;
+        final Long otherUserId;
+        long seq = Long.MIN_VALUE;
+        String lastMessage;
+        LocalDateTime lastMessageTime;
+        int unreadDelta;
+
+        ConversationChange(Long userId, Long otherUserId) {
+            this.userId = userId;
+            this.otherUserId = otherUserId;
+        }
+    }
+}
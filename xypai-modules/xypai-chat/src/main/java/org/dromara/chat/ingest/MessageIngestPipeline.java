@@ -0,0 +1,337 @@
+package org.dromara.chat.ingest;
+
+import cn.hutool.core.util.IdUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.config.properties.ChatIngestProperties;
+import org.dromara.chat.domain.dto.MessageIngestDTO;
+import org.dromara.chat.domain.dto.MessageOpDTO;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.service.IMessageSequenceService;
+import org.dromara.common.json.utils.JsonUtils;
+import org.redisson.api.RMap;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.api.StreamMessageId;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message Ingest Pipeline
+ * 消息写入管道
+ *
+ * sendMessage appends the message to the Redis stream chat:ingest:stream and returns once XADD succeeds; each chat node
+ * runs one writer thread that reads the stream as a member of a consumer group, collects up to maxBatchSize messages
+ * or maxBatchDelayMillis, writes them with {@link MessageBatchWriter} and then acks and deletes the entries.
+ * Entries left unacked by a crashed node are claimed after claimIdleMillis and replayed; the writer skips ids already in MySQL.
+ * A batch that fails is retried one message at a time: messages that still fail while others succeed are moved to
+ * chat:ingest:dead, if every message fails (database unavailable) the batch stays pending and is retried later.
+ * Queued sequences stay pending in {@link IMessageSequenceService} until their batch commits, so sync never hands out a
+ * nextSeq past a message still in the stream; dead-lettered messages release theirs.
+ * A recall or delete of a queued message is stored in chat:ingest:ops and applied right after the message is written.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Component
+public class MessageIngestPipeline {
+
+    private static final String STREAM_KEY = "chat:ingest:stream";
+    private static final String DEAD_LETTER_KEY = "chat:ingest:dead";
+    private static final String OPS_KEY = "chat:ingest:ops";
+    private static final String GROUP = "chat-ingest";
+    private static final String FIELD = "m";
+
+    // Idle poll timeout while the stream is empty
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+    // Pause after a failed write before reading again
+    private static final long FAILURE_BACKOFF_MILLIS = 1000;
+
+    private final ChatIngestProperties properties;
+    private final MessageBatchWriter batchWriter;
+    private final IMessageSequenceService messageSequenceService;
+    private final RedissonClient redissonClient;
+    private final String consumer = IdUtil.fastSimpleUUID();
+
+    private volatile boolean running;
+    private Thread writerThread;
+    private long nextClaimAt;
+
+    // Metrics
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+    private final Counter deadLetterCounter;
+
+    public MessageIngestPipeline(ChatIngestProperties properties, MessageBatchWriter batchWriter,
+                                 IMessageSequenceService messageSequenceService, RedissonClient redissonClient,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.batchWriter = batchWriter;
+        this.messageSequenceService = messageSequenceService;
+        this.redissonClient = redissonClient;
+        this.batchSizeSummary = DistributionSummary.builder("chat.message.ingest.batch.size")
+            .description("Messages per group commit")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("chat.message.ingest.flush")
+            .description("Group commit latency")
+            .register(meterRegistry);
+        this.deadLetterCounter = meterRegistry.counter("chat.message.ingest.dead");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Message ingest pipeline disabled, messages are written synchronously");
+            return;
+        }
+        try {
+            stream().createGroup(StreamCreateGroupArgs.name(GROUP).makeStream());
+        } catch (Exception e) {
+            // BUSYGROUP: created by another node
+            log.debug("Ingest consumer group exists: {}", e.getMessage());
+        }
+        running = true;
+        writerThread = new Thread(this::runLoop, "chat-ingest-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Message ingest pipeline started: consumer={}, maxBatchSize={}, maxBatchDelayMillis={}",
+            consumer, properties.getMaxBatchSize(), properties.getMaxBatchDelayMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            try {
+                // Let the current batch finish; anything left stays pending and is claimed by another node
+                writerThread.join(POLL_TIMEOUT_MILLIS + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Durably enqueue a message
+     *
+     * @return false if the stream is unavailable, the caller should write synchronously
+     */
+    public boolean enqueue(MessageIngestDTO message) {
+        try {
+            stream().add(StreamAddArgs.entry(FIELD, JsonUtils.toJsonString(message)));
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to enqueue message, falling back to synchronous write: messageId={}, error={}",
+                message.getMessage().getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Find a message still waiting in the stream, only called when a recall or delete misses the table
+     *
+     * @return the queued message, or null if it is not in the stream
+     */
+    public MessageIngestDTO findQueued(Long messageId) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        String id = String.valueOf(messageId);
+        for (Map<String, String> fields : stream().range(StreamMessageId.MIN, StreamMessageId.MAX).values()) {
+            String json = fields.get(FIELD);
+            if (json == null || !json.contains(id)) {
+                continue;
+            }
+            MessageIngestDTO dto = JsonUtils.parseObject(json, MessageIngestDTO.class);
+            if (dto != null && messageId.equals(dto.getMessage().getId())) {
+                return dto;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Defer a recall or delete until the queued message is written
+     */
+    public void defer(MessageOpDTO op) {
+        ops().fastPut(String.valueOf(op.getMessageId()), JsonUtils.toJsonString(op));
+    }
+
+    /**
+     * Drop a deferred op that has been applied directly
+     */
+    public void undefer(Long messageId) {
+        ops().fastRemove(String.valueOf(messageId));
+    }
+
+    // ==================== Writer Loop ====================
+
+    private void runLoop() {
+        while (running) {
+            try {
+                Map<StreamMessageId, Map<String, String>> entries = collect();
+                if (!entries.isEmpty()) {
+                    flush(entries, false);
+                }
+                claimIdle();
+            } catch (Exception e) {
+                log.error("Message ingest loop error: {}", e.getMessage(), e);
+                sleep(FAILURE_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Block until the first entry arrives, then keep reading until the batch is full or the batching delay is used up
+     */
+    private Map<StreamMessageId, Map<String, String>> collect() {
+        int maxBatchSize = properties.getMaxBatchSize();
+        Map<StreamMessageId, Map<String, String>> entries = new LinkedHashMap<>(read(maxBatchSize, POLL_TIMEOUT_MILLIS));
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        long deadline = System.currentTimeMillis() + properties.getMaxBatchDelayMillis();
+        while (entries.size() < maxBatchSize) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            entries.putAll(read(maxBatchSize - entries.size(), remaining));
+        }
+        return entries;
+    }
+
+    private Map<StreamMessageId, Map<String, String>> read(int count, long timeoutMillis) {
+        Map<StreamMessageId, Map<String, String>> entries = stream().readGroup(GROUP, consumer,
+            StreamReadGroupArgs.neverDelivered().count(count).timeout(Duration.ofMillis(Math.max(1, timeoutMillis))));
+        return entries != null ? entries : Collections.emptyMap();
+    }
+
+    /**
+     * Take over entries another node left unacked
+     */
+    private void claimIdle() {
+        long now = System.currentTimeMillis();
+        if (now < nextClaimAt) {
+            return;
+        }
+        nextClaimAt = now + properties.getClaimIdleMillis() / 2;
+        Map<StreamMessageId, Map<String, String>> claimed = stream().autoClaim(GROUP, consumer,
+            properties.getClaimIdleMillis(), TimeUnit.MILLISECONDS, StreamMessageId.MIN, properties.getMaxBatchSize())
+            .getMessages();
+        if (claimed != null && !claimed.isEmpty()) {
+            log.warn("Claimed idle ingest entries: count={}", claimed.size());
+            flush(claimed, true);
+        }
+    }
+
+    private void flush(Map<StreamMessageId, Map<String, String>> entries, boolean replay) {
+        List<StreamMessageId> ids = new ArrayList<>(entries.size());
+        List<MessageIngestDTO> batch = new ArrayList<>(entries.size());
+        entries.forEach((id, fields) -> {
+            ids.add(id);
+            batch.add(JsonUtils.parseObject(fields.get(FIELD), MessageIngestDTO.class));
+        });
+
+        long start = System.nanoTime();
+        try {
+            batchWriter.write(batch, replay);
+            applyDeferred(batch);
+            acknowledge(ids);
+        } catch (Exception e) {
+            log.warn("Message batch write failed, retrying one by one: size={}, error={}", batch.size(), e.getMessage());
+            flushOneByOne(ids, batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+        }
+    }
+
+    private void flushOneByOne(List<StreamMessageId> ids, List<MessageIngestDTO> batch) {
+        List<StreamMessageId> written = new ArrayList<>();
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                batchWriter.write(List.of(batch.get(i)), true);
+                applyDeferred(List.of(batch.get(i)));
+                written.add(ids.get(i));
+            } catch (Exception e) {
+                log.warn("Message write failed: messageId={}, error={}", batch.get(i).getMessage().getId(), e.getMessage());
+                failed.add(i);
+            }
+        }
+        if (written.isEmpty()) {
+            // Nothing could be written, most likely the database is down: keep the entries pending
+            sleep(FAILURE_BACKOFF_MILLIS);
+            return;
+        }
+        List<Message> dead = new ArrayList<>(failed.size());
+        for (int i : failed) {
+            redissonClient.getList(DEAD_LETTER_KEY, StringCodec.INSTANCE).add(JsonUtils.toJsonString(batch.get(i)));
+            written.add(ids.get(i));
+            dead.add(batch.get(i).getMessage());
+            deadLetterCounter.increment();
+            log.error("Message moved to dead letter list: messageId={}", batch.get(i).getMessage().getId());
+        }
+        acknowledge(written);
+        // Not going to be written by the pipeline, let the safe mark move past them
+        messageSequenceService.release(dead);
+    }
+
+    /**
+     * Ops are read after the batch committed: an op stored later finds the row itself, so none is missed.
+     * Runs before the ack, a failure leaves the entries pending and the replay applies the ops again.
+     */
+    private void applyDeferred(List<MessageIngestDTO> batch) {
+        RMap<String, String> ops = ops();
+        Set<String> messageIds = new HashSet<>(batch.size());
+        batch.forEach(dto -> messageIds.add(String.valueOf(dto.getMessage().getId())));
+        Map<String, String> deferred = ops.getAll(messageIds);
+        if (deferred.isEmpty()) {
+            return;
+        }
+        batchWriter.applyDeferred(deferred.values().stream()
+            .map(json -> JsonUtils.parseObject(json, MessageOpDTO.class))
+            .toList());
+        ops.fastRemove(deferred.keySet().toArray(new String[0]));
+    }
+
+    private void acknowledge(List<StreamMessageId> ids) {
+        StreamMessageId[] array = ids.toArray(new StreamMessageId[0]);
+        RStream<String, String> stream = stream();
+        stream.ack(GROUP, array);
+        stream.remove(array);
+    }
+
+    private RMap<String, String> ops() {
+        return redissonClient.getMap(OPS_KEY, StringCodec.INSTANCE);
+    }
+
+    private RStream<String, String> stream() {
+        return redissonClient.getStream(STREAM_KEY, StringCodec.INSTANCE);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,8 +4,11 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 import org.dromara.chat.domain.entity.Conversation;
 
+import java.util.List;
+
 /**
  * Conversation Mapper Interface
  * 会话数据访问层
@@ -26,4 +29,25 @@ public interface ConversationMapper extends BaseMapper<Conversation> {
             "FROM conversation " +
             "WHERE user_id = #{userId} AND deleted = 0")
     Integer getTotalUnreadCount(@Param("userId") Long userId);
+
+    /**
+     * 批量更新会话最后消息并累加未读数(单条语句, 按主键顺序加锁)
+     * 最后消息只在不早于库中时间时覆盖, 多个节点的批次乱序提交时不会回退; SET 按顺序求值, last_message 须在 last_message_time 之前
+     *
+     * @param updates 会话变更: id、lastMessage、lastMessageTime, unreadCount 为未读数增量
+     * @return 更新的行数
+     */
+    @Update("<script>" +
+            "UPDATE conversation SET " +
+            "last_message = IF(last_message_time &lt;= CASE id " +
+            "<foreach collection='updates' item='u'>WHEN #{u.id} THEN #{u.lastMessageTime} </foreach>END, CASE id " +
+            "<foreach collection='updates' item='u'>WHEN #{u.id} THEN #{u.lastMessage} </foreach>END, last_message), " +
+            "last_message_time = GREATEST(last_message_time, CASE id " +
+            "<foreach collection='updates' item='u'>WHEN #{u.id} THEN #{u.lastMessageTime} </foreach>END), " +
+            "unread_count = unread_count + CASE id " +
+            "<foreach collection='updates' item='u'>WHEN #{u.id} THEN #{u.unreadCount} </foreach>END " +
+            "WHERE deleted = 0 AND id IN " +
+            "<foreach collection='updates' item='u' open='(' separator=',' close=')'>#{u.id}</foreach>" +
+            "</script>")
+    int applyMessageBatch(@Param("updates") List<Conversation> updates);
 }
@@ -0,0 +1,123 @@
+package org.dromara.chat.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.dromara.chat.domain.entity.MessageArchive;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Message Archive Mapper Interface
+ * 消息归档块数据访问层
+ *
+ * 带 "Meta" 的查询不读取 payload 列, 调用方确定需要解压的块后再按ID读取
+ *
+ * @author XiangYuPai Team
+ */
+@Mapper
+public interface MessageArchiveMapper extends BaseMapper<MessageArchive> {
+
+    String META_COLUMNS = "id, archive_month, conversation_id, low_user_id, high_user_id, min_id, max_id, " +
+        "min_seq, max_seq, min_create_time, max_create_time, message_count, visible_count";
+
+    /**
+     * 查询会话的归档块(不含内容), 按时间倒序
+     *
+     * @param conversationId 会话ID
+     * @param beforeTime     只返回最早消息早于或等于该时间的块, 为空时不限
+     * @return 归档块
+     */
+    @Select("<script>" +
+            "SELECT " + META_COLUMNS + " FROM message_archive WHERE conversation_id = #{conversationId} " +
+            "<if test='beforeTime != null'>AND min_create_time &lt;= #{beforeTime} </if>" +
+            "ORDER BY max_create_time DESC, max_id DESC" +
+            "</script>")
+    List<MessageArchive> selectConversationMetas(@Param("conversationId") Long conversationId,
+                                                 @Param("beforeTime") Date beforeTime);
+
+    /**
+     * 统计会话已归档的未删除消息数
+     */
+    @Select("SELECT COALESCE(SUM(visible_count), 0) FROM message_archive WHERE conversation_id = #{conversationId}")
+    Long sumVisibleCount(@Param("conversationId") Long conversationId);
+
+    /**
+     * 查询用户对中包含序号大于 sinceSeq 的消息的归档块(不含内容), 按最小序号升序
+     *
+     * @param lowUserId  较小的用户ID
+     * @param highUserId 较大的用户ID
+     * @param sinceSeq   起始序号(不含)
+     * @return 归档块
+     */
+    @Select("SELECT " + META_COLUMNS + " FROM message_archive " +
+            "WHERE low_user_id = #{lowUserId} AND high_user_id = #{highUserId} AND max_seq > #{sinceSeq} " +
+            "ORDER BY min_seq ASC")
+    List<MessageArchive> selectPairMetasSinceSeq(@Param("lowUserId") Long lowUserId,
+                                                 @Param("highUserId") Long highUserId,
+                                                 @Param("sinceSeq") Long sinceSeq);
+
+    /**
+     * 查询用户对已归档消息的最大序号
+     *
+     * @return 最大序号, 无归档时为0
+     */
+    @Select("SELECT COALESCE(MAX(max_seq), 0) FROM message_archive " +
+            "WHERE low_user_id = #{lowUserId} AND high_user_id = #{highUserId}")
+    Long selectMaxSeq(@Param("lowUserId") Long lowUserId, @Param("highUserId") Long highUserId);
+
+    /**
+     * 查询用户参与的、消息ID范围覆盖指定消息的归档块
+     *
+     * @param userId    发送者或接收者ID
+     * @param messageId 消息ID
+     * @return 候选归档块, 需解压确认
+     */
+    @Select("SELECT * FROM message_archive WHERE low_user_id = #{userId} AND max_id >= #{messageId} AND min_id <= #{messageId} " +
+            "UNION ALL " +
+            "SELECT * FROM message_archive WHERE high_user_id = #{userId} AND max_id >= #{messageId} AND min_id <= #{messageId}")
+    List<MessageArchive> selectCovering(@Param("userId") Long userId, @Param("messageId") Long messageId);
+
+    /**
+     * 查询用户参与的、消息ID范围覆盖指定消息的归档块(加行锁)
+     *
+     * @param userId    发送者或接收者ID
+     * @param messageId 消息ID
+     * @return 候选归档块, 需解压确认
+     */
+    @Select("(SELECT * FROM message_archive " +
+            " WHERE low_user_id = #{userId} AND max_id >= #{messageId} AND min_id <= #{messageId} FOR UPDATE) " +
+            "UNION ALL " +
+            "(SELECT * FROM message_archive " +
+            " WHERE high_user_id = #{userId} AND max_id >= #{messageId} AND min_id <= #{messageId} FOR UPDATE)")
+    List<MessageArchive> selectCoveringForUpdate(@Param("userId") Long userId, @Param("messageId") Long messageId);
+
+    /**
+     * 查询会话在指定月份的最新归档块(加行锁), 用于向未满的块追加消息
+     */
+    @Select("SELECT * FROM message_archive WHERE conversation_id = #{conversationId} AND archive_month = #{archiveMonth} " +
+            "ORDER BY max_id DESC LIMIT 1 FOR UPDATE")
+    MessageArchive selectLatestForUpdate(@Param("conversationId") Long conversationId,
+                                         @Param("archiveMonth") Integer archiveMonth);
+
+    /**
+     * 查询归档表各分区的上界(不含 p_future)
+     */
+    @Select("SELECT partition_description FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = 'message_archive' " +
+            "  AND partition_name IS NOT NULL AND partition_description <> 'MAXVALUE'")
+    List<String> selectPartitionBounds();
+
+    /**
+     * 从 p_future 拆出一个月份分区
+     *
+     * @param name       分区名 pyyyyMM
+     * @param upperBound 分区上界(下个月 yyyyMM)
+     */
+    @Update("ALTER TABLE message_archive REORGANIZE PARTITION p_future INTO (" +
+            "PARTITION ${name} VALUES LESS THAN (${upperBound}), PARTITION p_future VALUES LESS THAN MAXVALUE)")
+    void splitFuturePartition(@Param("name") String name, @Param("upperBound") Integer upperBound);
+}
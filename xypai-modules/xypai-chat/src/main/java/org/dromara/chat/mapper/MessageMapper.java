@@ -1,9 +1,16 @@
 package org.dromara.chat.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.dromara.chat.domain.entity.Message;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Message Mapper Interface
  * 消息数据访问层
@@ -14,4 +21,96 @@ import org.dromara.chat.domain.entity.Message;
 @Mapper
 public interface MessageMapper extends BaseMapper<Message> {
 
+    /**
+     * 查询两个用户之间序号大于 sinceSeq 的消息(包含已删除的消息, 用于增量同步)
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @param sinceSeq    起始序号(不含)
+     * @param limit       最大条数
+     * @return 按序号升序的消息
+     */
+    @Select("SELECT * FROM message " +
+            "WHERE ((sender_id = #{userId} AND receiver_id = #{otherUserId}) " +
+            "    OR (sender_id = #{otherUserId} AND receiver_id = #{userId})) " +
+            "  AND seq > #{sinceSeq} " +
+            "ORDER BY seq ASC LIMIT #{limit}")
+    List<Message> selectSinceSeq(@Param("userId") Long userId,
+                                 @Param("otherUserId") Long otherUserId,
+                                 @Param("sinceSeq") Long sinceSeq,
+                                 @Param("limit") Integer limit);
+
+    /**
+     * 查询两个用户之间的最大消息序号
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @return 最大序号, 无消息时为0
+     */
+    @Select("SELECT COALESCE(MAX(seq), 0) FROM message " +
+            "WHERE (sender_id = #{userId} AND receiver_id = #{otherUserId}) " +
+            "   OR (sender_id = #{otherUserId} AND receiver_id = #{userId})")
+    Long selectMaxSeq(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
+
+    /**
+     * 多行插入消息, 已存在的消息ID忽略(写入管道重放时去重)
+     *
+     * @param messages 消息(ID、序号、创建时间已分配)
+     * @return 实际插入的行数
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO message (id, conversation_id, sender_id, receiver_id, seq, message_type, content, " +
+            "media_url, thumbnail_url, duration, status, is_recalled, create_time, update_time) VALUES " +
+            "<foreach collection='messages' item='m' separator=','>" +
+            "(#{m.id}, #{m.conversationId}, #{m.senderId}, #{m.receiverId}, #{m.seq}, #{m.messageType}, #{m.content}, " +
+            "#{m.mediaUrl}, #{m.thumbnailUrl}, #{m.duration}, #{m.status}, #{m.isRecalled}, #{m.createTime}, #{m.createTime})" +
+            "</foreach>" +
+            "</script>")
+    int insertIgnoreBatch(@Param("messages") List<Message> messages);
+
+    /**
+     * 查询已落库的消息ID(包含已删除的消息, 用于写入管道重放去重)
+     *
+     * @param ids 消息ID
+     * @return 已存在的消息ID
+     */
+    @Select("<script>" +
+            "SELECT id FROM message WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Long> selectExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按主键顺序查询最早的消息(只取ID和创建时间, 包含已删除的消息, 用于归档)
+     *
+     * @param limit 最大条数
+     * @return 按ID升序的消息
+     */
+    @Select("SELECT id, create_time FROM message ORDER BY id ASC LIMIT #{limit}")
+    List<Message> selectOldest(@Param("limit") Integer limit);
+
+    /**
+     * 按ID查询消息并加行锁(包含已删除的消息, 用于归档)
+     *
+     * @param ids 消息ID
+     * @return 消息
+     */
+    @Select("<script>" +
+            "SELECT * FROM message WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            " FOR UPDATE" +
+            "</script>")
+    List<Message> selectByIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 物理删除已归档的消息
+     *
+     * @param ids 消息ID
+     * @return 删除的行数
+     */
+    @Delete("<script>" +
+            "DELETE FROM message WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteArchived(@Param("ids") Collection<Long> ids);
 }
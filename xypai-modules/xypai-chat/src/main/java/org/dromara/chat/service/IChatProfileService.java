@@ -0,0 +1,25 @@
+package org.dromara.chat.service;
+
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Chat Profile Service Interface
+ * 聊天用户资料服务接口
+ *
+ * 会话列表等场景批量获取对方用户资料: 先读本地短期缓存, 未命中的用户合并为一次 RPC
+ *
+ * @author XiangYuPai Team
+ */
+public interface IChatProfileService {
+
+    /**
+     * 批量获取用户基本资料
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID -> 资料, 获取失败或不存在的用户不在结果中
+     */
+    Map<Long, RemoteAppUserVo> getProfiles(Collection<Long> userIds);
+}
@@ -0,0 +1,72 @@
+package org.dromara.chat.service;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.dromara.chat.domain.entity.Conversation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversation Index Service Interface
+ * 会话索引服务接口
+ *
+ * 在 Redis 中为每个用户维护按最后消息时间排序的会话索引和各会话未读数, 收件箱列表和未读总数直接从索引读取;
+ * MySQL 仍是持久数据, 索引在首次访问时从库加载, 变更在事务提交后写穿, 过期后重新加载对齐
+ *
+ * @author XiangYuPai Team
+ */
+public interface IConversationIndexService {
+
+    /**
+     * 分页获取会话(按最后消息时间倒序)
+     *
+     * @param userId   用户ID
+     * @param pageNum  页码
+     * @param pageSize 每页数量
+     * @return 会话分页(只含ID、对方ID、最后消息、最后消息时间、未读数), 会话过多不建索引时返回null
+     */
+    Page<Conversation> page(Long userId, long pageNum, long pageSize);
+
+    /**
+     * 获取会话未读总数
+     *
+     * @param userId 用户ID
+     * @return 未读总数, 会话过多不建索引时返回null
+     */
+    Integer getTotalUnread(Long userId);
+
+    /**
+     * 登记会话新消息: 更新最后消息并累加未读数
+     *
+     * @param userId          会话所属用户ID
+     * @param conversationId  会话ID
+     * @param otherUserId     对方用户ID
+     * @param lastMessage     最后一条消息预览
+     * @param lastMessageTime 最后消息时间
+     * @param unreadDelta     未读数增量(发送者自己的会话为0)
+     */
+    void onMessage(Long userId, Long conversationId, Long otherUserId,
+                   String lastMessage, LocalDateTime lastMessageTime, int unreadDelta);
+
+    /**
+     * 登记会话已读
+     *
+     * @param userId         用户ID
+     * @param conversationId 会话ID
+     */
+    void onRead(Long userId, Long conversationId);
+
+    /**
+     * 登记会话删除
+     *
+     * @param userId         用户ID
+     * @param conversationId 会话ID
+     */
+    void onDeleted(Long userId, Long conversationId);
+
+    /**
+     * 登记清空全部会话
+     *
+     * @param userId 用户ID
+     */
+    void onCleared(Long userId);
+}
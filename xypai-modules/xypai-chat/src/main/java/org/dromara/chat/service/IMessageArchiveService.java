@@ -0,0 +1,75 @@
+package org.dromara.chat.service;
+
+import org.dromara.chat.domain.entity.Message;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Message Archive Service Interface
+ * 消息归档服务接口
+ *
+ * 读取已迁出热表的冷数据消息: 会话历史、增量同步在热数据不足时接着读归档块, 删除消息时热表找不到再查归档
+ *
+ * @author XiangYuPai Team
+ */
+public interface IMessageArchiveService {
+
+    /**
+     * 统计会话已归档的未删除消息数
+     *
+     * @param conversationId 会话ID
+     * @return 消息数
+     */
+    long countVisible(Long conversationId);
+
+    /**
+     * 按时间倒序分页读取会话的已归档消息(不含已删除)
+     *
+     * @param conversationId 会话ID
+     * @param offset         跳过的条数(从最新的归档消息算起)
+     * @param size           条数
+     * @return 按 (创建时间, ID) 倒序的消息
+     */
+    List<Message> page(Long conversationId, long offset, int size);
+
+    /**
+     * 读取会话中位于游标之前的已归档消息(不含已删除)
+     *
+     * @param conversationId 会话ID
+     * @param beforeTime     游标时间, 为空时从最新的归档消息开始
+     * @param beforeId       游标消息ID
+     * @param limit          条数
+     * @return 按 (创建时间, ID) 倒序的消息
+     */
+    List<Message> listBefore(Long conversationId, Date beforeTime, Long beforeId, int limit);
+
+    /**
+     * 读取用户对中序号大于 sinceSeq 的已归档消息(包含已删除的消息)
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @param sinceSeq    起始序号(不含)
+     * @param limit       条数
+     * @return 按序号升序的消息
+     */
+    List<Message> listSinceSeq(Long userId, Long otherUserId, long sinceSeq, int limit);
+
+    /**
+     * 读取单条已归档的消息
+     *
+     * @param userId    发送者或接收者ID
+     * @param messageId 消息ID
+     * @return 消息(包含已删除的消息), 归档中不存在或用户不是参与方时返回null
+     */
+    Message getMessage(Long userId, Long messageId);
+
+    /**
+     * 删除已归档的消息: 标记删除并分配新序号, 需在调用方事务内执行
+     *
+     * @param userId    操作用户ID(发送者或接收者)
+     * @param messageId 消息ID
+     * @return 删除后的消息, 归档中不存在时返回null
+     */
+    Message deleteMessage(Long userId, Long messageId);
+}
@@ -0,0 +1,89 @@
+package org.dromara.chat.service;
+
+import org.dromara.chat.domain.entity.Message;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Message Sequence Service Interface
+ * 消息序号服务接口
+ *
+ * 同一对用户的两个会话共用一条序号流, 发送、撤回、删除都会给消息分配新序号;
+ * 新序号落库前一直压住安全水位, 同步和确认都以安全水位为上限;
+ * 同时维护双方的已读标记和客户端的同步确认进度
+ *
+ * @author XiangYuPai Team
+ */
+public interface IMessageSequenceService {
+
+    /**
+     * 分配下一个序号, 序号在 {@link #release} 之前计为未落库
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @return 新序号
+     */
+    long nextSeq(Long userId, Long otherUserId);
+
+    /**
+     * 获取当前最新序号
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @return 最新序号, 无消息时为0
+     */
+    long currentSeq(Long userId, Long otherUserId);
+
+    /**
+     * 获取安全水位: 不超过该序号的变更都已落库, 等于最小未落库序号 - 1
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @return 安全水位, 无未落库序号时为最新序号
+     */
+    long safeSeq(Long userId, Long otherUserId);
+
+    /**
+     * 释放已落库(或确定不会再写入)的序号
+     *
+     * @param messages 消息 (只用到 senderId/receiverId/seq)
+     */
+    void release(List<Message> messages);
+
+    /**
+     * 记录已读标记: 用户已读到当前最新序号
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @return 已读到的序号
+     */
+    long markRead(Long userId, Long otherUserId);
+
+    /**
+     * 获取双方已读到的序号
+     *
+     * @param userId      用户ID
+     * @param otherUserId 对方用户ID
+     * @return 用户ID -> 已读到的序号, 未读过的用户不在结果中
+     */
+    Map<Long, Long> getReadSeqs(Long userId, Long otherUserId);
+
+    /**
+     * 记录客户端已同步到的序号, 只会前移
+     *
+     * @param userId         用户ID
+     * @param conversationId 会话ID
+     * @param seq            已同步到的序号
+     */
+    void ack(Long userId, Long conversationId, long seq);
+
+    /**
+     * 获取客户端已确认的序号
+     *
+     * @param userId         用户ID
+     * @param conversationId 会话ID
+     * @return 已确认的序号, 未确认过时为0
+     */
+    long getAckedSeq(Long userId, Long conversationId);
+}
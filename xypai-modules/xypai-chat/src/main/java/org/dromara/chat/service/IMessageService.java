@@ -5,8 +5,10 @@ import org.dromara.chat.domain.dto.ChatHistoryQueryDTO;
 import org.dromara.chat.domain.dto.ConversationQueryDTO;
 import org.dromara.chat.domain.dto.MessageSendDTO;
 import org.dromara.chat.domain.vo.ConversationVO;
+import org.dromara.chat.domain.vo.MessageSyncVO;
 import org.dromara.chat.domain.vo.MessageVO;
 import org.dromara.chat.domain.vo.UnreadCountVO;
+import org.dromara.common.mybatis.core.page.CursorPage;
 
 /**
  * Message Service Interface
@@ -58,6 +60,15 @@ public interface IMessageService {
      */
     Page<MessageVO> getChatHistory(Long userId, ChatHistoryQueryDTO queryDTO);
 
+    /**
+     * 游标分页获取聊天记录(由新到旧)
+     *
+     * @param userId 用户ID
+     * @param queryDTO 查询参数(cursor为上一页返回的游标)
+     * @return 消息列表
+     */
+    CursorPage<MessageVO> scrollChatHistory(Long userId, ChatHistoryQueryDTO queryDTO);
+
     /**
      * 发送消息
      *
@@ -91,4 +102,24 @@ public interface IMessageService {
      * @param messageId 消息ID
      */
     void deleteMessage(Long userId, Long messageId);
+
+    /**
+     * 增量同步: 返回序号大于 sinceSeq 的新消息、撤回、删除以及双方已读标记
+     *
+     * @param userId 用户ID
+     * @param conversationId 会话ID
+     * @param sinceSeq 已同步到的序号, 为空时从上次确认的序号开始
+     * @param limit 最大条数
+     * @return 增量变更
+     */
+    MessageSyncVO syncSince(Long userId, Long conversationId, Long sinceSeq, Integer limit);
+
+    /**
+     * 确认已同步到指定序号
+     *
+     * @param userId 用户ID
+     * @param conversationId 会话ID
+     * @param seq 已同步到的序号
+     */
+    void ackSync(Long userId, Long conversationId, Long seq);
 }
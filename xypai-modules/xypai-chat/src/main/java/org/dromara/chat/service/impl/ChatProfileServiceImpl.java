@@ -0,0 +1,71 @@
+package org.dromara.chat.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.appuser.api.RemoteAppUserService;
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
+import org.dromara.chat.service.IChatProfileService;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat Profile Service Implementation
+ * 聊天用户资料服务实现类
+ *
+ * Profiles are cached per node for a short time and shared across requests; nickname/avatar changes show up
+ * within PROFILE_TTL_SECONDS. The viewer is not passed to the RPC, so viewer-specific fields (isFollowed) are not filled.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Service
+public class ChatProfileServiceImpl implements IChatProfileService {
+
+    @DubboReference(check = false)
+    private RemoteAppUserService remoteAppUserService;
+
+    // Local profile cache
+    private static final long PROFILE_TTL_SECONDS = 60;
+    private static final long PROFILE_CACHE_SIZE = 20000;
+
+    private final Cache<Long, RemoteAppUserVo> profileCache = Caffeine.newBuilder()
+        .expireAfterWrite(PROFILE_TTL_SECONDS, TimeUnit.SECONDS)
+        .maximumSize(PROFILE_CACHE_SIZE)
+        .build();
+
+    @Override
+    public Map<Long, RemoteAppUserVo> getProfiles(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Long> ids = new HashSet<>(userIds);
+        ids.remove(null);
+
+        // 1. Local cache
+        Map<Long, RemoteAppUserVo> result = new HashMap<>(profileCache.getAllPresent(ids));
+        if (result.size() == ids.size()) {
+            return result;
+        }
+
+        // 2. One RPC for all misses
+        List<Long> missing = ids.stream().filter(id -> !result.containsKey(id)).toList();
+        try {
+            Map<Long, RemoteAppUserVo> loaded = remoteAppUserService.batchGetUserBasicInfo(missing, null);
+            if (loaded != null) {
+                loaded.forEach((id, profile) -> {
+                    if (id != null && profile != null) {
+                        profileCache.put(id, profile);
+                        result.put(id, profile);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.warn("Failed to batch get user profiles: userIds={}, error={}", missing, e.getMessage());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,372 @@
+package org.dromara.chat.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.domain.entity.Conversation;
+import org.dromara.chat.event.ConversationChangedEvent;
+import org.dromara.chat.mapper.ConversationMapper;
+import org.dromara.chat.service.IConversationIndexService;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.json.utils.JsonUtils;
+import org.redisson.api.*;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Conversation Index Service Implementation
+ * 会话索引服务实现类
+ *
+ * Per user, three keys share one TTL:
+ * chat:conv:index:{userId}   ZSET member=conversationId score=last message epoch millis, always holds LOADED_MEMBER (score 0) once built
+ * chat:conv:summary:{userId} HASH conversationId -> JSON (otherUserId, lastMessage, lastMessageTime)
+ * chat:conv:unread:{userId}  HASH conversationId -> unread count, conversations without unread messages have no field
+ *
+ * The index is built from MySQL on first access and rebuilt after the TTL, which bounds any drift from a lost write-through.
+ * Users with more than MAX_INDEXED conversations only get OVERSIZED_MEMBER and are served from MySQL.
+ * chat:conv:version:{userId} is incremented before every write-through; a build is written to temporary keys and only
+ * renamed over the live keys if the version has not moved since the MySQL read, so a change committed during the build is never lost.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConversationIndexServiceImpl implements IConversationIndexService {
+
+    private final ConversationMapper conversationMapper;
+    private final RedissonClient redissonClient;
+
+    // Redis key prefixes
+    private static final String INDEX_KEY_PREFIX = "chat:conv:index:";
+    private static final String SUMMARY_KEY_PREFIX = "chat:conv:summary:";
+    private static final String UNREAD_KEY_PREFIX = "chat:conv:unread:";
+    private static final String VERSION_KEY_PREFIX = "chat:conv:version:";
+    private static final String REBUILD_KEY_SUFFIX = ":rebuild";
+
+    // Index markers (score 0 keeps them behind every real conversation)
+    private static final String LOADED_MEMBER = "0";
+    private static final String OVERSIZED_MEMBER = "-1";
+
+    // Max conversations kept in the index per user
+    private static final int MAX_INDEXED = 2000;
+
+    // Index TTL, the index is rebuilt from MySQL after it expires
+    private static final Duration TTL_INDEX = Duration.ofDays(1);
+
+    /**
+     * KEYS: version, index, summary, unread, then the three rebuild keys; ARGV[1]: version read before the MySQL query.
+     * Renames the rebuilt keys over the live ones if the version is unchanged, otherwise discards them
+     */
+    private static final String SWAP_SCRIPT = """
+        if tonumber(redis.call('GET', KEYS[1]) or '0') ~= tonumber(ARGV[1]) then
+            redis.call('DEL', KEYS[5], KEYS[6], KEYS[7])
+            return 0
+        end
+        for i = 2, 4 do
+            if redis.call('EXISTS', KEYS[i + 3]) == 1 then
+                redis.call('RENAME', KEYS[i + 3], KEYS[i])
+            else
+                redis.call('DEL', KEYS[i])
+            end
+        end
+        return 1
+        """;
+
+    @Override
+    public Page<Conversation> page(Long userId, long pageNum, long pageSize) {
+        return page(userId, pageNum, pageSize, true);
+    }
+
+    @Override
+    public Integer getTotalUnread(Long userId) {
+        return getTotalUnread(userId, true);
+    }
+
+    private Page<Conversation> page(Long userId, long pageNum, long pageSize, boolean loadIfMissing) {
+        int start = (int) ((pageNum - 1) * pageSize);
+        int end = (int) (start + pageSize - 1);
+
+        // 1. Markers, size and the id range in one round trip
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> index = batch.getScoredSortedSet(INDEX_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        index.containsAsync(LOADED_MEMBER);
+        index.containsAsync(OVERSIZED_MEMBER);
+        index.sizeAsync();
+        index.valueRangeReversedAsync(start, end);
+        List<?> responses = batch.execute().getResponses();
+
+        if (Boolean.TRUE.equals(responses.get(1))) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(responses.get(0))) {
+            return loadIfMissing && load(userId) ? page(userId, pageNum, pageSize, false) : null;
+        }
+
+        long total = ((Number) responses.get(2)).longValue() - 1;
+        @SuppressWarnings("unchecked")
+        List<String> ids = new ArrayList<>((Collection<String>) responses.get(3));
+        ids.remove(LOADED_MEMBER);
+
+        // 2. Summaries and unread counts of the page
+        List<Conversation> records = ids.isEmpty() ? Collections.emptyList() : loadRecords(userId, ids);
+
+        Page<Conversation> page = new Page<>(pageNum, pageSize, total);
+        page.setRecords(records);
+        return page;
+    }
+
+    private Integer getTotalUnread(Long userId, boolean loadIfMissing) {
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> index = batch.getScoredSortedSet(INDEX_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        index.containsAsync(LOADED_MEMBER);
+        index.containsAsync(OVERSIZED_MEMBER);
+        batch.<String, String>getMap(UNREAD_KEY_PREFIX + userId, StringCodec.INSTANCE).readAllValuesAsync();
+        List<?> responses = batch.execute().getResponses();
+
+        if (Boolean.TRUE.equals(responses.get(1))) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(responses.get(0))) {
+            return loadIfMissing && load(userId) ? getTotalUnread(userId, false) : null;
+        }
+
+        int total = 0;
+        for (Object value : (Collection<?>) responses.get(2)) {
+            total += Integer.parseInt(value.toString());
+        }
+        return total;
+    }
+
+    @Override
+    public void onMessage(Long userId, Long conversationId, Long otherUserId,
+                          String lastMessage, LocalDateTime lastMessageTime, int unreadDelta) {
+        SpringUtils.context().publishEvent(ConversationChangedEvent.builder()
+            .type(ConversationChangedEvent.Type.MESSAGE)
+            .userId(userId)
+            .conversationId(conversationId)
+            .otherUserId(otherUserId)
+            .lastMessage(lastMessage)
+            .lastMessageTime(lastMessageTime)
+            .unreadDelta(unreadDelta)
+            .build());
+    }
+
+    @Override
+    public void onRead(Long userId, Long conversationId) {
+        publish(ConversationChangedEvent.Type.READ, userId, conversationId);
+    }
+
+    @Override
+    public void onDeleted(Long userId, Long conversationId) {
+        publish(ConversationChangedEvent.Type.DELETE, userId, conversationId);
+    }
+
+    @Override
+    public void onCleared(Long userId) {
+        publish(ConversationChangedEvent.Type.CLEAR, userId, null);
+    }
+
+    /**
+     * Write-through after commit; a failed write drops the user's index so the next read rebuilds it
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onConversationChanged(ConversationChangedEvent event) {
+        Long userId = event.getUserId();
+        try {
+            switch (event.getType()) {
+                case MESSAGE -> touch(userId, event);
+                case READ -> {
+                    bumpVersion(userId);
+                    redissonClient.getMap(UNREAD_KEY_PREFIX + userId, StringCodec.INSTANCE)
+                        .fastRemove(String.valueOf(event.getConversationId()));
+                }
+                case DELETE -> {
+                    bumpVersion(userId);
+                    remove(userId, event.getConversationId());
+                }
+                case CLEAR -> evict(userId);
+            }
+        } catch (Exception e) {
+            log.warn("Conversation index write-through failed: userId={}, type={}, error={}",
+                userId, event.getType(), e.getMessage());
+            evict(userId);
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void publish(ConversationChangedEvent.Type type, Long userId, Long conversationId) {
+        SpringUtils.context().publishEvent(ConversationChangedEvent.builder()
+            .type(type)
+            .userId(userId)
+            .conversationId(conversationId)
+            .build());
+    }
+
+    /**
+     * Move the conversation to the top of a loaded index; unloaded indexes pick the change up from MySQL when built
+     */
+    private void touch(Long userId, ConversationChangedEvent event) {
+        // Bump first: a build that started before this point is discarded, one that swapped already is visible here
+        RBatch check = redissonClient.createBatch();
+        versionIncrement(check, userId);
+        check.getScoredSortedSet(INDEX_KEY_PREFIX + userId, StringCodec.INSTANCE).containsAsync(LOADED_MEMBER);
+        if (!Boolean.TRUE.equals(check.execute().getResponses().get(2))) {
+            return;
+        }
+        String member = String.valueOf(event.getConversationId());
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+            .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        batch.getScoredSortedSet(INDEX_KEY_PREFIX + userId, StringCodec.INSTANCE)
+            .addAsync(toScore(event.getLastMessageTime()), member);
+        RMapAsync<String, String> summary = batch.getMap(SUMMARY_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        summary.fastPutAsync(member, toSummary(event.getOtherUserId(), event.getLastMessage(), event.getLastMessageTime()));
+        summary.expireAsync(TTL_INDEX);
+        if (event.getUnreadDelta() > 0) {
+            RMapAsync<String, String> unreadCounts = batch.getMap(UNREAD_KEY_PREFIX + userId, StringCodec.INSTANCE);
+            unreadCounts.addAndGetAsync(member, event.getUnreadDelta());
+            unreadCounts.expireAsync(TTL_INDEX);
+        }
+        batch.execute();
+    }
+
+    private void remove(Long userId, Long conversationId) {
+        String member = String.valueOf(conversationId);
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+            .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        batch.getScoredSortedSet(INDEX_KEY_PREFIX + userId, StringCodec.INSTANCE).removeAsync(member);
+        batch.<String, String>getMap(SUMMARY_KEY_PREFIX + userId, StringCodec.INSTANCE).fastRemoveAsync(member);
+        batch.<String, String>getMap(UNREAD_KEY_PREFIX + userId, StringCodec.INSTANCE).fastRemoveAsync(member);
+        batch.execute();
+    }
+
+    private void evict(Long userId) {
+        bumpVersion(userId);
+        redissonClient.getKeys().delete(INDEX_KEY_PREFIX + userId, SUMMARY_KEY_PREFIX + userId, UNREAD_KEY_PREFIX + userId);
+    }
+
+    private void bumpVersion(Long userId) {
+        RBatch batch = redissonClient.createBatch();
+        versionIncrement(batch, userId);
+        batch.execute();
+    }
+
+    private void versionIncrement(RBatch batch, Long userId) {
+        RAtomicLongAsync version = batch.getAtomicLong(VERSION_KEY_PREFIX + userId);
+        version.incrementAndGetAsync();
+        version.expireAsync(TTL_INDEX);
+    }
+
+    /**
+     * Build the user's index from MySQL
+     *
+     * @return false if the user has too many conversations to index, or a change arrived during the build
+     */
+    private boolean load(Long userId) {
+        long version = redissonClient.getAtomicLong(VERSION_KEY_PREFIX + userId).get();
+        List<Conversation> conversations = conversationMapper.selectList(new LambdaQueryWrapper<Conversation>()
+            .select(Conversation::getId, Conversation::getOtherUserId, Conversation::getLastMessage,
+                Conversation::getLastMessageTime, Conversation::getUnreadCount)
+            .eq(Conversation::getUserId, userId)
+            .eq(Conversation::getDeleted, 0)
+            .orderByDesc(Conversation::getLastMessageTime)
+            .last("LIMIT " + (MAX_INDEXED + 1)));
+        boolean oversized = conversations.size() > MAX_INDEXED;
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+            .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        List<Object> keys = List.of(VERSION_KEY_PREFIX + userId,
+            INDEX_KEY_PREFIX + userId, SUMMARY_KEY_PREFIX + userId, UNREAD_KEY_PREFIX + userId,
+            INDEX_KEY_PREFIX + userId + REBUILD_KEY_SUFFIX, SUMMARY_KEY_PREFIX + userId + REBUILD_KEY_SUFFIX,
+            UNREAD_KEY_PREFIX + userId + REBUILD_KEY_SUFFIX);
+        RScoredSortedSetAsync<String> index = batch.getScoredSortedSet((String) keys.get(4), StringCodec.INSTANCE);
+        RMapAsync<String, String> summary = batch.getMap((String) keys.get(5), StringCodec.INSTANCE);
+        RMapAsync<String, String> unread = batch.getMap((String) keys.get(6), StringCodec.INSTANCE);
+        batch.getKeys().deleteAsync((String) keys.get(4), (String) keys.get(5), (String) keys.get(6));
+        if (oversized) {
+            index.addAsync(0, OVERSIZED_MEMBER);
+        } else {
+            Map<String, Double> scores = new HashMap<>(conversations.size() + 1);
+            Map<String, String> summaries = new HashMap<>(conversations.size());
+            Map<String, String> unreadCounts = new HashMap<>();
+            scores.put(LOADED_MEMBER, 0d);
+            for (Conversation conv : conversations) {
+                String member = String.valueOf(conv.getId());
+                scores.put(member, toScore(conv.getLastMessageTime()));
+                summaries.put(member, toSummary(conv.getOtherUserId(), conv.getLastMessage(), conv.getLastMessageTime()));
+                if (conv.getUnreadCount() != null && conv.getUnreadCount() > 0) {
+                    unreadCounts.put(member, String.valueOf(conv.getUnreadCount()));
+                }
+            }
+            index.addAllAsync(scores);
+            if (!summaries.isEmpty()) {
+                summary.putAllAsync(summaries);
+            }
+            if (!unreadCounts.isEmpty()) {
+                unread.putAllAsync(unreadCounts);
+            }
+        }
+        index.expireAsync(TTL_INDEX);
+        summary.expireAsync(TTL_INDEX);
+        unread.expireAsync(TTL_INDEX);
+        batch.execute();
+
+        Long swapped = redissonClient.getScript(StringCodec.INSTANCE).eval((String) keys.get(0), RScript.Mode.READ_WRITE,
+            SWAP_SCRIPT, RScript.ReturnType.INTEGER, keys, String.valueOf(version));
+        if (swapped == null || swapped == 0) {
+            log.debug("Conversation index build discarded, changed during build: userId={}", userId);
+            return false;
+        }
+
+        log.debug("Conversation index loaded: userId={}, count={}, oversized={}", userId, conversations.size(), oversized);
+        return !oversized;
+    }
+
+    private List<Conversation> loadRecords(Long userId, List<String> ids) {
+        Set<String> keys = new HashSet<>(ids);
+        RBatch batch = redissonClient.createBatch();
+        batch.<String, String>getMap(SUMMARY_KEY_PREFIX + userId, StringCodec.INSTANCE).getAllAsync(keys);
+        batch.<String, String>getMap(UNREAD_KEY_PREFIX + userId, StringCodec.INSTANCE).getAllAsync(keys);
+        List<?> responses = batch.execute().getResponses();
+        @SuppressWarnings("unchecked")
+        Map<String, String> summaries = (Map<String, String>) responses.get(0);
+        @SuppressWarnings("unchecked")
+        Map<String, String> unreadCounts = (Map<String, String>) responses.get(1);
+
+        List<Conversation> records = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            String json = summaries.get(id);
+            if (json == null) {
+                continue;
+            }
+            Conversation conv = JsonUtils.parseObject(json, Conversation.class);
+            conv.setId(Long.valueOf(id));
+            conv.setUserId(userId);
+            String unread = unreadCounts.get(id);
+            conv.setUnreadCount(unread != null ? Integer.parseInt(unread) : 0);
+            records.add(conv);
+        }
+        return records;
+    }
+
+    private static String toSummary(Long otherUserId, String lastMessage, LocalDateTime lastMessageTime) {
+        return JsonUtils.toJsonString(Conversation.builder()
+            .otherUserId(otherUserId)
+            .lastMessage(lastMessage)
+            .lastMessageTime(lastMessageTime)
+            .build());
+    }
+
+    private static double toScore(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 1;
+    }
+}
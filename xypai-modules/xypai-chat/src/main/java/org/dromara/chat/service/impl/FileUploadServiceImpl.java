@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -52,8 +53,7 @@ public class FileUploadServiceImpl implements IFileUploadService {
             String suffix = "chat/images/" + IdUtil.fastSimpleUUID() + "." + extension;
 
             // Upload to OSS
-            OssClient ossClient = OssFactory.instance();
-            UploadResult result = ossClient.uploadSuffix(file.getBytes(), suffix, file.getContentType());
+            UploadResult result = upload(file, suffix);
 
             log.info("Image uploaded successfully: suffix={}, url={}", suffix, result.getUrl());
             return result.getUrl();
@@ -76,8 +76,7 @@ public class FileUploadServiceImpl implements IFileUploadService {
             String suffix = "chat/voices/" + IdUtil.fastSimpleUUID() + "." + extension;
 
             // Upload to OSS
-            OssClient ossClient = OssFactory.instance();
-            UploadResult result = ossClient.uploadSuffix(file.getBytes(), suffix, file.getContentType());
+            UploadResult result = upload(file, suffix);
 
             log.info("Voice uploaded successfully: suffix={}, url={}", suffix, result.getUrl());
             return result.getUrl();
@@ -100,8 +99,7 @@ public class FileUploadServiceImpl implements IFileUploadService {
             String videoSuffix = "chat/videos/" + IdUtil.fastSimpleUUID() + "." + extension;
 
             // Upload video to OSS
-            OssClient ossClient = OssFactory.instance();
-            UploadResult videoResult = ossClient.uploadSuffix(file.getBytes(), videoSuffix, file.getContentType());
+            UploadResult videoResult = upload(file, videoSuffix);
 
             // TODO: Generate video thumbnail
             // For now, return placeholder thumbnail URL
@@ -128,6 +126,16 @@ public class FileUploadServiceImpl implements IFileUploadService {
 
     // ==================== Private Helper Methods ====================
 
+    /**
+     * Stream the file to OSS without loading it into the heap; large files are uploaded in parts by the OSS client
+     */
+    private UploadResult upload(MultipartFile file, String suffix) throws IOException {
+        OssClient ossClient = OssFactory.instance();
+        try (InputStream in = file.getInputStream()) {
+            return ossClient.uploadSuffix(in, suffix, file.getSize(), file.getContentType());
+        }
+    }
+
     /**
      * Validate uploaded file
      */
@@ -0,0 +1,190 @@
+package org.dromara.chat.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.archive.MessageArchiveCodec;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.domain.entity.MessageArchive;
+import org.dromara.chat.event.MessageSeqReleaseEvent;
+import org.dromara.chat.mapper.MessageArchiveMapper;
+import org.dromara.chat.service.IMessageArchiveService;
+import org.dromara.chat.service.IMessageSequenceService;
+import org.dromara.common.core.utils.SpringUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Message Archive Service Implementation
+ * 消息归档服务实现类
+ *
+ * 先只读块的范围列(不含 payload)确定需要的块, 再逐块读取解压; 块按顺序遍历, 当已收集的结果足够且下一块的范围
+ * 不可能再产生更靠前的消息时停止, 因此一次请求通常只解压一到两个块
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageArchiveServiceImpl implements IMessageArchiveService {
+
+    private final MessageArchiveMapper messageArchiveMapper;
+    private final IMessageSequenceService messageSequenceService;
+
+    // History order: newest first
+    private static final Comparator<Message> HISTORY_ORDER = Comparator
+        .comparing(Message::getCreateTime, Comparator.reverseOrder())
+        .thenComparing(Message::getId, Comparator.reverseOrder());
+
+    private static final Comparator<Message> SEQ_ORDER = Comparator.comparing(Message::getSeq);
+
+    @Override
+    public long countVisible(Long conversationId) {
+        Long count = messageArchiveMapper.sumVisibleCount(conversationId);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public List<Message> page(Long conversationId, long offset, int size) {
+        if (size <= 0) {
+            return Collections.emptyList();
+        }
+        List<Message> result = new ArrayList<>(size);
+        long skip = Math.max(0, offset);
+        for (MessageArchive meta : messageArchiveMapper.selectConversationMetas(conversationId, null)) {
+            // Skip whole chunks by their visible count without decompressing them
+            if (skip >= meta.getVisibleCount()) {
+                skip -= meta.getVisibleCount();
+                continue;
+            }
+            List<Message> visible = load(meta).stream()
+                .filter(MessageArchiveServiceImpl::isVisible)
+                .sorted(HISTORY_ORDER)
+                .toList();
+            int from = (int) Math.min(skip, visible.size());
+            int to = Math.min(visible.size(), from + size - result.size());
+            result.addAll(visible.subList(from, to));
+            skip = 0;
+            if (result.size() >= size) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Message> listBefore(Long conversationId, Date beforeTime, Long beforeId, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Message> candidates = new ArrayList<>();
+        for (MessageArchive meta : messageArchiveMapper.selectConversationMetas(conversationId, beforeTime)) {
+            // Chunks come newest first, a chunk ending before the current limit-th candidate cannot contribute
+            if (candidates.size() >= limit) {
+                candidates.sort(HISTORY_ORDER);
+                if (meta.getMaxCreateTime().before(candidates.get(limit - 1).getCreateTime())) {
+                    break;
+                }
+            }
+            for (Message message : load(meta)) {
+                if (isVisible(message) && isBefore(message, beforeTime, beforeId)) {
+                    candidates.add(message);
+                }
+            }
+        }
+        candidates.sort(HISTORY_ORDER);
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    @Override
+    public List<Message> listSinceSeq(Long userId, Long otherUserId, long sinceSeq, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Message> candidates = new ArrayList<>();
+        List<MessageArchive> metas = messageArchiveMapper.selectPairMetasSinceSeq(
+            Math.min(userId, otherUserId), Math.max(userId, otherUserId), sinceSeq);
+        for (MessageArchive meta : metas) {
+            // Chunks come by min seq, once the next chunk starts after the limit-th candidate nothing can move ahead
+            if (candidates.size() >= limit) {
+                candidates.sort(SEQ_ORDER);
+                if (meta.getMinSeq() > candidates.get(limit - 1).getSeq()) {
+                    break;
+                }
+            }
+            for (Message message : load(meta)) {
+                if (message.getSeq() > sinceSeq) {
+                    candidates.add(message);
+                }
+            }
+        }
+        candidates.sort(SEQ_ORDER);
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    @Override
+    public Message getMessage(Long userId, Long messageId) {
+        for (MessageArchive chunk : messageArchiveMapper.selectCovering(userId, messageId)) {
+            for (Message message : MessageArchiveCodec.decode(chunk)) {
+                if (message.getId().equals(messageId)) {
+                    return message;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Message deleteMessage(Long userId, Long messageId) {
+        // 1. Lock the candidate chunks of the user, the id range only narrows them down
+        Set<Long> seen = new HashSet<>();
+        for (MessageArchive chunk : messageArchiveMapper.selectCoveringForUpdate(userId, messageId)) {
+            if (!seen.add(chunk.getId())) {
+                continue;
+            }
+            List<Message> messages = MessageArchiveCodec.decode(chunk);
+            Message message = messages.stream().filter(m -> m.getId().equals(messageId)).findFirst().orElse(null);
+            if (message == null) {
+                continue;
+            }
+            if (Integer.valueOf(1).equals(message.getDeleted())) {
+                return message;
+            }
+
+            // 2. Mark deleted with a new sequence so incremental sync picks it up, then rewrite the chunk
+            message.setDeleted(1);
+            message.setDeletedAt(LocalDateTime.now());
+            message.setSeq(messageSequenceService.nextSeq(message.getSenderId(), message.getReceiverId()));
+            MessageArchiveCodec.pack(chunk, messages);
+            messageArchiveMapper.updateById(chunk);
+            SpringUtils.context().publishEvent(MessageSeqReleaseEvent.builder()
+                .messages(List.of(message))
+                .releaseOnRollback(true)
+                .build());
+
+            log.debug("Archived message deleted: userId={}, messageId={}, chunkId={}", userId, messageId, chunk.getId());
+            return message;
+        }
+        return null;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private List<Message> load(MessageArchive meta) {
+        MessageArchive chunk = messageArchiveMapper.selectById(meta.getId());
+        return chunk != null ? MessageArchiveCodec.decode(chunk) : Collections.emptyList();
+    }
+
+    private static boolean isVisible(Message message) {
+        return !Integer.valueOf(1).equals(message.getDeleted());
+    }
+
+    private static boolean isBefore(Message message, Date beforeTime, Long beforeId) {
+        if (beforeTime == null) {
+            return true;
+        }
+        int cmp = message.getCreateTime().compareTo(beforeTime);
+        return cmp < 0 || (cmp == 0 && beforeId != null && message.getId() < beforeId);
+    }
+}
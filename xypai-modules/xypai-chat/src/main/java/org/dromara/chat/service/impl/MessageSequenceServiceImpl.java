@@ -0,0 +1,246 @@
+package org.dromara.chat.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.event.MessageSeqReleaseEvent;
+import org.dromara.chat.mapper.MessageArchiveMapper;
+import org.dromara.chat.mapper.MessageMapper;
+import org.dromara.chat.service.IMessageSequenceService;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Message Sequence Service Implementation
+ * 消息序号服务实现类
+ *
+ * 序号计数器 chat:seq:{小用户ID}:{大用户ID} 为 RAtomicLong, 不设过期; 计数器不存在时(首次使用或 Redis 数据丢失)
+ * 先用库中(热表和归档表)最大序号初始化, 多个节点同时初始化时只有一个 compareAndSet 成功, 之后统一自增.
+ * 序号在落库前分配, 并发写入(以及写入管道攒批)时落库顺序可能与序号顺序不一致: 分配序号时同一脚本把它记入
+ * {chat:seq:{小}:{大}}:pending, 所在事务提交(或确定不会再写入)后移除. 安全水位 = 最小未落库序号 - 1,
+ * 同步只返回水位以内的变更, nextSeq 与同步确认都不会越过水位, 因此客户端无需处理序号空洞:
+ * 撤回/删除留下的旧序号和回滚丢弃的序号被水位直接越过. 节点宕机遗留的未落库记录超过 PENDING_TIMEOUT 后视为放弃.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageSequenceServiceImpl implements IMessageSequenceService {
+
+    private final MessageMapper messageMapper;
+    private final MessageArchiveMapper messageArchiveMapper;
+    private final RedissonClient redissonClient;
+
+    // Redis key prefixes
+    private static final String SEQ_KEY_PREFIX = "chat:seq:";
+    private static final String READ_KEY_PREFIX = "chat:read:";
+    private static final String ACK_KEY_PREFIX = "chat:sync:ack:";
+    private static final String PENDING_KEY_SUFFIX = "}:pending";
+
+    // Well beyond the ingest claim idle time, so a batch replayed after a node crash is still pending
+    private static final Duration PENDING_TIMEOUT = Duration.ofMinutes(5);
+
+    /**
+     * KEYS[1] counter, KEYS[2] pending set; ARGV[1] now, ARGV[2] pending ttl (ms).
+     * Increment and registration are atomic, a reader never sees the counter ahead of the pending set.
+     */
+    private static final String NEXT_SCRIPT = """
+        local seq = redis.call('INCR', KEYS[1])
+        redis.call('ZADD', KEYS[2], ARGV[1], seq)
+        redis.call('PEXPIRE', KEYS[2], ARGV[2])
+        return seq
+        """;
+
+    /**
+     * KEYS[1] counter, KEYS[2] pending set; ARGV[1] oldest live assignment time.
+     * Returns the lowest pending sequence - 1, the counter when nothing is pending, or -1 if not seeded.
+     */
+    private static final String SAFE_SCRIPT = """
+        local current = redis.call('GET', KEYS[1])
+        if not current then
+            return -1
+        end
+        redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[1])
+        local safe = tonumber(current)
+        for _, seq in ipairs(redis.call('ZRANGE', KEYS[2], 0, -1)) do
+            local below = tonumber(seq) - 1
+            if below < safe then
+                safe = below
+            end
+        end
+        return safe
+        """;
+
+    // Read markers and acks are rebuilt by the client on expiry (read marker resets, sync restarts from 0)
+    private static final Duration TTL_MARKER = Duration.ofDays(30);
+
+    @Override
+    public long nextSeq(Long userId, Long otherUserId) {
+        RAtomicLong counter = counter(userId, otherUserId);
+        if (!counter.isExists()) {
+            long maxSeq = selectMaxSeq(userId, otherUserId);
+            if (counter.compareAndSet(0, maxSeq)) {
+                log.debug("Seeded message sequence: pair={}, seq={}", pairKey(userId, otherUserId), maxSeq);
+            }
+        }
+        String counterKey = counter.getName();
+        List<Object> keys = List.of(counterKey, pendingKey(counterKey));
+        return redissonClient.getScript(StringCodec.INSTANCE).<Long>eval(counterKey, RScript.Mode.READ_WRITE,
+            NEXT_SCRIPT, RScript.ReturnType.INTEGER, keys,
+            String.valueOf(System.currentTimeMillis()), String.valueOf(PENDING_TIMEOUT.toMillis()));
+    }
+
+    @Override
+    public long currentSeq(Long userId, Long otherUserId) {
+        RAtomicLong counter = counter(userId, otherUserId);
+        long seq = counter.get();
+        if (seq == 0) {
+            // Counter not seeded yet, fall back to the database
+            return selectMaxSeq(userId, otherUserId);
+        }
+        return seq;
+    }
+
+    @Override
+    public long safeSeq(Long userId, Long otherUserId) {
+        String counterKey = counter(userId, otherUserId).getName();
+        List<Object> keys = List.of(counterKey, pendingKey(counterKey));
+        Long safe = redissonClient.getScript(StringCodec.INSTANCE).eval(counterKey, RScript.Mode.READ_WRITE,
+            SAFE_SCRIPT, RScript.ReturnType.INTEGER, keys,
+            String.valueOf(System.currentTimeMillis() - PENDING_TIMEOUT.toMillis()));
+        if (safe == null || safe < 0) {
+            // Counter not seeded yet, nothing can be pending
+            return selectMaxSeq(userId, otherUserId);
+        }
+        return safe;
+    }
+
+    @Override
+    public void release(List<Message> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        for (Message message : messages) {
+            String counterKey = counter(message.getSenderId(), message.getReceiverId()).getName();
+            batch.getScoredSortedSet(pendingKey(counterKey), StringCodec.INSTANCE)
+                .removeAsync(String.valueOf(message.getSeq()));
+        }
+        batch.execute();
+    }
+
+    /**
+     * Rows written: their sequences are no longer pending
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeqReleased(MessageSeqReleaseEvent event) {
+        releaseQuietly(event);
+    }
+
+    /**
+     * Write rolled back: release only sequences that will not be retried, the rest hold the mark until replayed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onSeqRolledBack(MessageSeqReleaseEvent event) {
+        if (event.isReleaseOnRollback()) {
+            releaseQuietly(event);
+        }
+    }
+
+    @Override
+    public long markRead(Long userId, Long otherUserId) {
+        long seq = currentSeq(userId, otherUserId);
+        if (seq > 0) {
+            RScoredSortedSet<String> markers = readMarkers(userId, otherUserId);
+            markers.addIfGreater(seq, String.valueOf(userId));
+            markers.expire(TTL_MARKER);
+        }
+        return seq;
+    }
+
+    @Override
+    public Map<Long, Long> getReadSeqs(Long userId, Long otherUserId) {
+        List<Double> scores = readMarkers(userId, otherUserId)
+            .getScore(List.of(String.valueOf(userId), String.valueOf(otherUserId)));
+        Map<Long, Long> result = new HashMap<>(2);
+        if (scores.get(0) != null) {
+            result.put(userId, scores.get(0).longValue());
+        }
+        if (scores.get(1) != null) {
+            result.put(otherUserId, scores.get(1).longValue());
+        }
+        return result;
+    }
+
+    @Override
+    public void ack(Long userId, Long conversationId, long seq) {
+        RScoredSortedSet<String> acks = acks(userId);
+        acks.addIfGreater(seq, String.valueOf(conversationId));
+        acks.expire(TTL_MARKER);
+    }
+
+    @Override
+    public long getAckedSeq(Long userId, Long conversationId) {
+        Double score = acks(userId).getScore(String.valueOf(conversationId));
+        return score != null ? score.longValue() : 0;
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void releaseQuietly(MessageSeqReleaseEvent event) {
+        try {
+            release(event.getMessages());
+        } catch (Exception e) {
+            // Left to PENDING_TIMEOUT, sync stalls below the sequence until then but never skips it
+            log.warn("Failed to release message sequences: count={}, error={}", event.getMessages().size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Highest sequence in the database, archived messages included (a pair may have no hot rows left)
+     */
+    private long selectMaxSeq(Long userId, Long otherUserId) {
+        Long hot = messageMapper.selectMaxSeq(userId, otherUserId);
+        Long archived = messageArchiveMapper.selectMaxSeq(Math.min(userId, otherUserId), Math.max(userId, otherUserId));
+        return Math.max(hot != null ? hot : 0, archived != null ? archived : 0);
+    }
+
+    private RAtomicLong counter(Long userId, Long otherUserId) {
+        return redissonClient.getAtomicLong(SEQ_KEY_PREFIX + pairKey(userId, otherUserId));
+    }
+
+    /**
+     * Hash-tagged on the counter key so both land in one slot for the scripts
+     */
+    private static String pendingKey(String counterKey) {
+        return "{" + counterKey + PENDING_KEY_SUFFIX;
+    }
+
+    private RScoredSortedSet<String> readMarkers(Long userId, Long otherUserId) {
+        return redissonClient.getScoredSortedSet(READ_KEY_PREFIX + pairKey(userId, otherUserId), StringCodec.INSTANCE);
+    }
+
+    private RScoredSortedSet<String> acks(Long userId) {
+        return redissonClient.getScoredSortedSet(ACK_KEY_PREFIX + userId, StringCodec.INSTANCE);
+    }
+
+    /**
+     * Both conversations of a user pair share one sequence stream
+     */
+    private static String pairKey(Long userId, Long otherUserId) {
+        return Math.min(userId, otherUserId) + ":" + Math.max(userId, otherUserId);
+    }
+}
@@ -3,30 +3,52 @@ package org.dromara.chat.service.impl;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
 import org.dromara.chat.domain.dto.ChatHistoryQueryDTO;
 import org.dromara.chat.domain.dto.ConversationQueryDTO;
+import org.dromara.chat.domain.dto.MessageIngestDTO;
+import org.dromara.chat.domain.dto.MessageOpDTO;
 import org.dromara.chat.domain.dto.MessageSendDTO;
 import org.dromara.chat.domain.entity.Conversation;
 import org.dromara.chat.domain.entity.Message;
 import org.dromara.chat.domain.vo.ConversationVO;
+import org.dromara.chat.domain.vo.MessageDeltaVO;
+import org.dromara.chat.domain.vo.MessageSyncVO;
 import org.dromara.chat.domain.vo.MessageVO;
 import org.dromara.chat.domain.vo.UnreadCountVO;
+import org.dromara.chat.event.MessageSentEvent;
+import org.dromara.chat.event.MessageSeqReleaseEvent;
+import org.dromara.chat.ingest.MessageBatchWriter;
+import org.dromara.chat.ingest.MessageIngestPipeline;
 import org.dromara.chat.mapper.ConversationMapper;
 import org.dromara.chat.mapper.MessageMapper;
+import org.dromara.chat.service.IChatProfileService;
+import org.dromara.chat.service.IConversationIndexService;
+import org.dromara.chat.service.IMessageArchiveService;
+import org.dromara.chat.service.IMessageSequenceService;
 import org.dromara.chat.service.IMessageService;
 import org.dromara.chat.websocket.MessageWebSocketHandler;
 import org.dromara.common.core.exception.ServiceException;
-import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.mybatis.core.page.CursorPage;
+import org.dromara.common.mybatis.core.page.CursorQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -43,39 +65,33 @@ public class MessageServiceImpl implements IMessageService {
 
     private final ConversationMapper conversationMapper;
     private final MessageMapper messageMapper;
+    private final IMessageSequenceService messageSequenceService;
+    private final IMessageArchiveService messageArchiveService;
+    private final IConversationIndexService conversationIndexService;
+    private final IChatProfileService chatProfileService;
+    private final MessageIngestPipeline ingestPipeline;
+    private final MessageBatchWriter messageBatchWriter;
     private final MessageWebSocketHandler webSocketHandler;
 
-    // Cache key prefixes
-    private static final String CACHE_UNREAD_COUNT = "chat:unread:count:";
-    private static final String CACHE_CONVERSATION_LIST = "chat:conversation:list:";
-    private static final String CACHE_ONLINE_STATUS = "chat:online:";
-
-    // Cache TTL (seconds)
-    private static final Duration TTL_UNREAD_COUNT = Duration.ofMinutes(3);
-    private static final Duration TTL_CONVERSATION_LIST = Duration.ofMinutes(5);
-    private static final Duration TTL_ONLINE_STATUS = Duration.ofMinutes(5);
-
     // Message recall timeout (2 minutes)
     private static final long RECALL_TIMEOUT_MILLIS = 2 * 60 * 1000;
 
+    // Incremental sync page size
+    private static final int SYNC_DEFAULT_LIMIT = 100;
+    private static final int SYNC_MAX_LIMIT = 500;
+
     @Override
     public UnreadCountVO getUnreadCount(Long userId) {
-        String cacheKey = CACHE_UNREAD_COUNT + userId;
-
-        // 1. Try cache
-        UnreadCountVO cached = RedisUtils.getCacheObject(cacheKey);
-        if (cached != null) {
-            log.debug("Cache hit for unread count: userId={}", userId);
-            return cached;
+        // 1. Read from the conversation index, fall back to the database for users without one
+        Integer conversationUnread = conversationIndexService.getTotalUnread(userId);
+        if (conversationUnread == null) {
+            conversationUnread = conversationMapper.getTotalUnreadCount(userId);
         }
-
-        // 2. Query database
-        Integer conversationUnread = conversationMapper.getTotalUnreadCount(userId);
         if (conversationUnread == null) {
             conversationUnread = 0;
         }
 
-        // 3. Build result (notification counts would come from NotificationService RPC)
+        // 2. Build result (notification counts would come from NotificationService RPC)
         UnreadCountVO result = UnreadCountVO.builder()
             .likes(0)  // TODO: Call NotificationService RPC
             .comments(0)  // TODO: Call NotificationService RPC
@@ -84,55 +100,50 @@ public class MessageServiceImpl implements IMessageService {
             .total(conversationUnread)
             .build();
 
-        // 4. Cache result
-        RedisUtils.setCacheObject(cacheKey, result, TTL_UNREAD_COUNT);
-        log.debug("Cached unread count: userId={}, total={}", userId, result.getTotal());
+        log.debug("Unread count: userId={}, total={}", userId, result.getTotal());
 
         return result;
     }
 
     @Override
     public Page<ConversationVO> getConversations(Long userId, ConversationQueryDTO queryDTO) {
-        String cacheKey = CACHE_CONVERSATION_LIST + userId + ":page:" + queryDTO.getPage();
-
-        // 1. Try cache (only for first page)
-        if (queryDTO.getPage() == 1) {
-            Page<ConversationVO> cached = RedisUtils.getCacheObject(cacheKey);
-            if (cached != null) {
-                log.debug("Cache hit for conversation list: userId={}, page={}", userId, queryDTO.getPage());
-                return cached;
-            }
+        // 1. Read from the conversation index
+        Page<Conversation> result = conversationIndexService.page(userId, queryDTO.getPage(), queryDTO.getPageSize());
+
+        // 2. Fall back to the database for users without an index
+        if (result == null) {
+            Page<Conversation> page = new Page<>(queryDTO.getPage(), queryDTO.getPageSize());
+            LambdaQueryWrapper<Conversation> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(Conversation::getUserId, userId)
+                .eq(Conversation::getDeleted, 0)
+                .orderByDesc(Conversation::getLastMessageTime);
+            result = conversationMapper.selectPage(page, wrapper);
         }
 
-        // 2. Build query
-        Page<Conversation> page = new Page<>(queryDTO.getPage(), queryDTO.getPageSize());
-        LambdaQueryWrapper<Conversation> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Conversation::getUserId, userId)
-            .eq(Conversation::getDeleted, 0)
-            .orderByDesc(Conversation::getLastMessageTime);
-
-        // 3. Execute query
-        Page<Conversation> result = conversationMapper.selectPage(page, wrapper);
-
-        // 4. Convert to VOs
+        // 3. Convert to VOs (peer profiles in one RPC, online status in one round trip)
+        List<Long> otherUserIds = result.getRecords().stream()
+            .map(Conversation::getOtherUserId)
+            .distinct()
+            .collect(Collectors.toList());
+        Map<Long, RemoteAppUserVo> profileMap = chatProfileService.getProfiles(otherUserIds);
+        Map<Long, Boolean> onlineMap = webSocketHandler.batchIsUserOnline(otherUserIds);
         List<ConversationVO> voList = result.getRecords().stream()
             .map(conv -> {
-                // TODO: Batch get user info via RPC
-                // TODO: Check online status from Redis
+                RemoteAppUserVo profile = profileMap.get(conv.getOtherUserId());
                 return ConversationVO.builder()
                     .conversationId(conv.getId())
                     .userId(conv.getOtherUserId())
-                    .nickname("User" + conv.getOtherUserId())  // TODO: Get from UserService
-                    .avatar("")  // TODO: Get from UserService
+                    .nickname(profile != null ? profile.getNickname() : "User" + conv.getOtherUserId())
+                    .avatar(profile != null && profile.getAvatar() != null ? profile.getAvatar() : "")
                     .lastMessage(conv.getLastMessage())
                     .lastMessageTime(conv.getLastMessageTime())
                     .unreadCount(conv.getUnreadCount())
-                    .isOnline(isUserOnline(conv.getOtherUserId()))
+                    .isOnline(onlineMap.getOrDefault(conv.getOtherUserId(), false))
                     .build();
             })
             .collect(Collectors.toList());
 
-        // 5. Build paginated result
+        // 4. Build paginated result
         Page<ConversationVO> voPage = new Page<>();
         voPage.setRecords(voList);
         voPage.setTotal(result.getTotal());
@@ -140,13 +151,6 @@ public class MessageServiceImpl implements IMessageService {
         voPage.setSize(result.getSize());
         voPage.setPages(result.getPages());
 
-        // 6. Cache first page
-        if (queryDTO.getPage() == 1) {
-            RedisUtils.setCacheObject(cacheKey, voPage, TTL_CONVERSATION_LIST);
-            log.debug("Cached conversation list: userId={}, page={}, total={}",
-                userId, queryDTO.getPage(), voPage.getTotal());
-        }
-
         return voPage;
     }
 
@@ -168,8 +172,8 @@ public class MessageServiceImpl implements IMessageService {
 
         conversationMapper.update(null, wrapper);
 
-        // 3. Clear cache
-        clearUserCache(userId);
+        // 3. Update conversation index
+        conversationIndexService.onDeleted(userId, conversationId);
         log.info("Deleted conversation: userId={}, conversationId={}", userId, conversationId);
     }
 
@@ -186,8 +190,8 @@ public class MessageServiceImpl implements IMessageService {
 
         conversationMapper.update(null, wrapper);
 
-        // 2. Clear cache
-        clearUserCache(userId);
+        // 2. Update conversation index
+        conversationIndexService.onCleared(userId);
         log.info("Cleared all messages: userId={}", userId);
     }
 
@@ -199,28 +203,42 @@ public class MessageServiceImpl implements IMessageService {
             throw new ServiceException("会话不存在或无权限访问");
         }
 
-        // 2. Build query
-        Page<Message> page = new Page<>(queryDTO.getPage(), queryDTO.getPageSize());
-        LambdaQueryWrapper<Message> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Message::getConversationId, queryDTO.getConversationId())
-            .eq(Message::getDeleted, 0)
-            .orderByDesc(Message::getCreateTime);
+        // 2. Count hot rows; the page is read by offset directly because the pagination plugin
+        //    resets an overflowing page to the first one, while here the overflow continues into the archive
+        Page<MessageVO> voPage = new Page<>(queryDTO.getPage(), queryDTO.getPageSize());
+        long offset = voPage.offset();
+        int size = (int) voPage.getSize();
+        long hotTotal = messageMapper.selectCount(new LambdaQueryWrapper<Message>()
+            .eq(Message::getConversationId, queryDTO.getConversationId())
+            .eq(Message::getDeleted, 0));
+
+        // 3. Query the hot table
+        List<Message> records = new ArrayList<>(size);
+        if (offset < hotTotal) {
+            LambdaQueryWrapper<Message> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(Message::getConversationId, queryDTO.getConversationId())
+                .eq(Message::getDeleted, 0)
+                .orderByDesc(Message::getCreateTime)
+                .orderByDesc(Message::getId)
+                .last("LIMIT " + offset + ", " + size);
+            records.addAll(messageMapper.selectList(wrapper));
+        }
 
-        // 3. Execute query
-        Page<Message> result = messageMapper.selectPage(page, wrapper);
+        // 4. Continue into the archive once the page runs past the hot rows
+        long archivedTotal = messageArchiveService.countVisible(queryDTO.getConversationId());
+        if (records.size() < size && archivedTotal > 0) {
+            records.addAll(messageArchiveService.page(queryDTO.getConversationId(),
+                Math.max(0, offset - hotTotal), size - records.size()));
+        }
 
-        // 4. Convert to VOs
-        List<MessageVO> voList = result.getRecords().stream()
+        // 5. Convert to VOs
+        List<MessageVO> voList = records.stream()
             .map(this::convertToMessageVO)
             .collect(Collectors.toList());
 
-        // 5. Build paginated result
-        Page<MessageVO> voPage = new Page<>();
+        // 6. Build paginated result
         voPage.setRecords(voList);
-        voPage.setTotal(result.getTotal());
-        voPage.setCurrent(result.getCurrent());
-        voPage.setSize(result.getSize());
-        voPage.setPages(result.getPages());
+        voPage.setTotal(hotTotal + archivedTotal);
 
         log.debug("Retrieved chat history: conversationId={}, page={}, total={}",
             queryDTO.getConversationId(), queryDTO.getPage(), voPage.getTotal());
@@ -228,25 +246,68 @@ public class MessageServiceImpl implements IMessageService {
         return voPage;
     }
 
+    @Override
+    public CursorPage<MessageVO> scrollChatHistory(Long userId, ChatHistoryQueryDTO queryDTO) {
+        // 1. Verify conversation access
+        Conversation conversation = conversationMapper.selectById(queryDTO.getConversationId());
+        if (conversation == null || !conversation.getUserId().equals(userId)) {
+            throw new ServiceException("会话不存在或无权限访问");
+        }
+
+        // 2. Keyset query on (create_time, id), no OFFSET / COUNT
+        CursorQuery cursorQuery = new CursorQuery(queryDTO.getCursor(), queryDTO.getPageSize());
+        LambdaQueryWrapper<Message> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Message::getConversationId, queryDTO.getConversationId())
+            .eq(Message::getDeleted, 0);
+        cursorQuery.apply(wrapper, Message::getCreateTime, Date.class, Message::getId);
+        List<Message> rows = new ArrayList<>(messageMapper.selectList(wrapper));
+
+        // 3. Continue into the archive once the hot rows run out, from the last hot row or the incoming cursor
+        int wanted = cursorQuery.getLimit() + 1;
+        if (rows.size() < wanted) {
+            Date beforeTime = null;
+            Long beforeId = null;
+            if (!rows.isEmpty()) {
+                Message last = rows.get(rows.size() - 1);
+                beforeTime = last.getCreateTime();
+                beforeId = last.getId();
+            } else if (!cursorQuery.isFirstPage()) {
+                long[] position = cursorQuery.decode();
+                beforeTime = new Date(position[0]);
+                beforeId = position[1];
+            }
+            rows.addAll(messageArchiveService.listBefore(queryDTO.getConversationId(), beforeTime, beforeId,
+                wanted - rows.size()));
+        }
+        CursorPage<Message> messagePage = cursorQuery.build(rows, Message::getCreateTime, Message::getId);
+
+        // 4. Convert to VOs
+        List<MessageVO> voList = messagePage.getRows().stream()
+            .map(this::convertToMessageVO)
+            .collect(Collectors.toList());
+
+        log.debug("Scrolled chat history: conversationId={}, size={}, hasMore={}",
+            queryDTO.getConversationId(), voList.size(), messagePage.isHasMore());
+
+        return messagePage.convert(voList);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public MessageVO sendMessage(Long userId, MessageSendDTO sendDTO) {
         // 1. Validate message
         validateMessage(sendDTO);
 
-        // 2. Check if conversation exists
-        Conversation conversation = conversationMapper.selectById(sendDTO.getConversationId());
-        if (conversation == null) {
-            // Create new conversation (bidirectional)
-            conversation = createConversation(userId, sendDTO.getReceiverId());
-            createConversation(sendDTO.getReceiverId(), userId);
-        }
+        // 2. Resolve both users' conversations in one query, creating whichever side is missing
+        Map<Long, Conversation> conversations = resolveConversations(userId, sendDTO.getReceiverId());
 
-        // 3. Create message
+        // 3. Assign id, sequence and time up-front so the sender can be acknowledged before the row is written
         Message message = Message.builder()
-            .conversationId(sendDTO.getConversationId())
+            .id(IdWorker.getId())
+            .conversationId(conversations.get(userId).getId())
             .senderId(userId)
             .receiverId(sendDTO.getReceiverId())
+            .seq(messageSequenceService.nextSeq(userId, sendDTO.getReceiverId()))
             .messageType(sendDTO.getMessageType())
             .content(sendDTO.getContent())
             .mediaUrl(sendDTO.getMediaUrl())
@@ -255,39 +316,74 @@ public class MessageServiceImpl implements IMessageService {
             .status(1)  // Delivered
             .isRecalled(false)
             .build();
+        message.setCreateTime(new Date());
 
-        messageMapper.insert(message);
+        MessageIngestDTO ingest = MessageIngestDTO.builder()
+            .message(message)
+            .receiverConversationId(conversations.get(sendDTO.getReceiverId()).getId())
+            .preview(getMessagePreview(sendDTO))
+            .build();
 
-        // 4. Update conversation
-        String lastMessagePreview = getMessagePreview(sendDTO);
-        updateConversationLastMessage(conversation.getId(), lastMessagePreview);
+        // 4. Write within this transaction only if the pipeline is off; otherwise enqueue after commit so the
+        //    queued entry never references a conversation row that was rolled back
+        boolean enqueue = ingestPipeline.isEnabled();
+        if (!enqueue) {
+            messageBatchWriter.write(List.of(ingest), false);
+        }
 
-        // 5. Increment receiver's unread count
-        incrementUnreadCount(sendDTO.getReceiverId(), userId);
+        // 5. Enqueue and WebSocket push happen after commit
+        SpringUtils.context().publishEvent(MessageSentEvent.builder()
+            .ingest(ingest)
+            .enqueue(enqueue)
+            .build());
 
-        // 6. Clear cache
-        clearUserCache(userId);
-        clearUserCache(sendDTO.getReceiverId());
+        return convertToMessageVO(message);
+    }
 
-        // 7. Send via WebSocket if receiver is online
-        if (webSocketHandler.isUserOnline(sendDTO.getReceiverId())) {
-            webSocketHandler.sendNewMessage(sendDTO.getReceiverId(), java.util.Map.of(
-                "messageId", message.getId(),
-                "senderId", userId,
-                "messageType", sendDTO.getMessageType(),
-                "content", sendDTO.getContent() != null ? sendDTO.getContent() : "",
-                "mediaUrl", sendDTO.getMediaUrl() != null ? sendDTO.getMediaUrl() : "",
-                "timestamp", message.getCreateTime().toString()
-            ));
+    /**
+     * After commit: durable enqueue for group commit (synchronous write if the stream is unavailable),
+     * then send via WebSocket (routed to the receiver's chat node) if the receiver is online
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        MessageIngestDTO ingest = event.getIngest();
+        Message message = ingest.getMessage();
+        boolean queued = false;
+        if (event.isEnqueue()) {
+            queued = ingestPipeline.enqueue(ingest);
+            if (!queued) {
+                try {
+                    messageBatchWriter.writeAfterCommit(List.of(ingest), true);
+                } catch (Exception e) {
+                    log.error("Synchronous message write failed: messageId={}, error={}", message.getId(), e.getMessage(), e);
+                    // Neither queued nor written, do not hold back sync for the rest of the pair
+                    messageSequenceService.release(List.of(message));
+                }
+            }
         }
 
-        // 8. TODO: Send offline push notification if receiver is offline
+        boolean delivered = webSocketHandler.sendNewMessage(message.getReceiverId(), Map.of(
+            "messageId", message.getId(),
+            "seq", message.getSeq(),
+            "senderId", message.getSenderId(),
+            "messageType", message.getMessageType(),
+            "content", message.getContent() != null ? message.getContent() : "",
+            "mediaUrl", message.getMediaUrl() != null ? message.getMediaUrl() : "",
+            "timestamp", message.getCreateTime().toString()
+        ));
 
-        log.info("Message sent: senderId={}, receiverId={}, type={}, online={}",
-            userId, sendDTO.getReceiverId(), sendDTO.getMessageType(),
-            webSocketHandler.isUserOnline(sendDTO.getReceiverId()));
+        // TODO: Send offline push notification if receiver is offline
 
-        return convertToMessageVO(message);
+        log.info("Message sent: senderId={}, receiverId={}, type={}, queued={}, online={}",
+            message.getSenderId(), message.getReceiverId(), message.getMessageType(), queued, delivered);
+    }
+
+    /**
+     * Send rolled back: the message is never written, release its sequence so the safe mark can move past it
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onMessageSendRolledBack(MessageSentEvent event) {
+        messageSequenceService.release(List.of(event.getIngest().getMessage()));
     }
 
     @Override
@@ -316,16 +412,21 @@ public class MessageServiceImpl implements IMessageService {
 
         conversationMapper.update(null, convWrapper);
 
-        // 4. Clear cache
-        clearUserCache(userId);
+        // 4. Clear unread count in conversation index
+        conversationIndexService.onRead(userId, conversationId);
 
-        // 5. Send read receipt via WebSocket to sender(s)
-        // Note: In a real implementation, we'd need to track which messages were read
-        // and notify the respective senders. For now, we'll log this action.
-        log.debug("Messages marked as read, WebSocket notifications would be sent to senders");
+        // 5. Move the read marker and send read receipt via WebSocket to the other user
+        long readSeq = messageSequenceService.markRead(userId, conversation.getOtherUserId());
+        if (readCount > 0) {
+            webSocketHandler.sendMessageRead(conversation.getOtherUserId(), Map.of(
+                "readerId", userId,
+                "readSeq", readSeq,
+                "timestamp", System.currentTimeMillis()
+            ));
+        }
 
-        log.debug("Marked messages as read: userId={}, conversationId={}, count={}",
-            userId, conversationId, readCount);
+        log.debug("Marked messages as read: userId={}, conversationId={}, count={}, readSeq={}",
+            userId, conversationId, readCount, readSeq);
 
         return readCount;
     }
@@ -333,8 +434,12 @@ public class MessageServiceImpl implements IMessageService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void recallMessage(Long userId, Long messageId) {
-        // 1. Get message
+        // 1. Get message, one sent moments ago may still be queued in the ingest pipeline
         Message message = messageMapper.selectById(messageId);
+        MessageIngestDTO queued = message == null ? ingestPipeline.findQueued(messageId) : null;
+        if (queued != null) {
+            message = queued.getMessage();
+        }
         if (message == null) {
             throw new ServiceException("消息不存在");
         }
@@ -351,34 +456,43 @@ public class MessageServiceImpl implements IMessageService {
             throw new ServiceException("超过2分钟，无法撤回");
         }
 
-        // 4. Mark as recalled
-        LambdaUpdateWrapper<Message> wrapper = new LambdaUpdateWrapper<>();
-        wrapper.eq(Message::getId, messageId)
-            .set(Message::getIsRecalled, true)
-            .set(Message::getRecalledAt, LocalDateTime.now());
-
-        messageMapper.update(null, wrapper);
+        // 4. Mark as recalled, moving the message to a new sequence so incremental sync picks it up
+        long seq = messageSequenceService.nextSeq(message.getSenderId(), message.getReceiverId());
+        applyOp(MessageOpDTO.builder()
+            .type(MessageOpDTO.RECALL)
+            .messageId(messageId)
+            .senderId(message.getSenderId())
+            .receiverId(message.getReceiverId())
+            .seq(seq)
+            .operateTime(LocalDateTime.now())
+            .build(), queued != null);
 
         // 5. Send recall notification via WebSocket to receiver
-        if (webSocketHandler.isUserOnline(message.getReceiverId())) {
-            webSocketHandler.sendMessageRecalled(message.getReceiverId(), java.util.Map.of(
-                "messageId", messageId,
-                "senderId", userId,
-                "timestamp", System.currentTimeMillis()
-            ));
-        }
+        boolean delivered = webSocketHandler.sendMessageRecalled(message.getReceiverId(), java.util.Map.of(
+            "messageId", messageId,
+            "seq", seq,
+            "senderId", userId,
+            "timestamp", System.currentTimeMillis()
+        ));
 
         log.info("Message recalled: userId={}, messageId={}, receiverOnline={}",
-            userId, messageId, webSocketHandler.isUserOnline(message.getReceiverId()));
+            userId, messageId, delivered);
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteMessage(Long userId, Long messageId) {
-        // 1. Get message
+        // 1. Get message, one sent moments ago may still be queued in the ingest pipeline,
+        //    messages past the hot window live in the archive
         Message message = messageMapper.selectById(messageId);
+        MessageIngestDTO queued = null;
         if (message == null) {
-            throw new ServiceException("消息不存在");
+            queued = ingestPipeline.findQueued(messageId);
+            if (queued == null) {
+                deleteArchivedMessage(userId, messageId);
+                return;
+            }
+            message = queued.getMessage();
         }
 
         // 2. Verify permission (can delete if sender or receiver)
@@ -386,19 +500,163 @@ public class MessageServiceImpl implements IMessageService {
             throw new ServiceException("无权限删除该消息");
         }
 
-        // 3. Soft delete
-        LambdaUpdateWrapper<Message> wrapper = new LambdaUpdateWrapper<>();
-        wrapper.eq(Message::getId, messageId)
-            .set(Message::getDeleted, 1)
-            .set(Message::getDeletedAt, LocalDateTime.now());
-
-        messageMapper.update(null, wrapper);
+        // 3. Soft delete, moving the message to a new sequence so incremental sync picks it up
+        long seq = messageSequenceService.nextSeq(message.getSenderId(), message.getReceiverId());
+        boolean updated = applyOp(MessageOpDTO.builder()
+            .type(MessageOpDTO.DELETE)
+            .messageId(messageId)
+            .senderId(message.getSenderId())
+            .receiverId(message.getReceiverId())
+            .seq(seq)
+            .operateTime(LocalDateTime.now())
+            .build(), queued != null);
+        if (!updated && queued == null) {
+            // Moved to the archive in the meantime
+            deleteArchivedMessage(userId, messageId);
+            return;
+        }
 
         log.info("Message deleted: userId={}, messageId={}", userId, messageId);
     }
 
+    @Override
+    public MessageSyncVO syncSince(Long userId, Long conversationId, Long sinceSeq, Integer limit) {
+        // 1. Verify conversation access
+        Conversation conversation = conversationMapper.selectById(conversationId);
+        if (conversation == null || !conversation.getUserId().equals(userId)) {
+            throw new ServiceException("会话不存在或无权限访问");
+        }
+        Long otherUserId = conversation.getOtherUserId();
+
+        // 2. Resume from the last acked sequence when the client has no local state
+        long since = sinceSeq != null ? sinceSeq : messageSequenceService.getAckedSeq(userId, conversationId);
+        int size = limit == null || limit <= 0 ? SYNC_DEFAULT_LIMIT : Math.min(limit, SYNC_MAX_LIMIT);
+
+        // 3. Safe mark before reading: every change up to it is already in the database, anything above may
+        //    still be uncommitted or queued, so it is neither returned nor skipped by nextSeq
+        long safeSeq = messageSequenceService.safeSeq(userId, otherUserId);
+
+        // 4. Query one extra row to detect whether more changes remain (deleted rows included),
+        //    each tier returns its lowest sequences so the merged head is exact
+        List<Message> messages = new ArrayList<>(messageMapper.selectSinceSeq(userId, otherUserId, since, size + 1));
+        messages.addAll(messageArchiveService.listSinceSeq(userId, otherUserId, since, size + 1));
+        messages.removeIf(message -> message.getSeq() > safeSeq);
+        messages.sort(Comparator.comparing(Message::getSeq));
+        boolean hasMore = messages.size() > size;
+        if (hasMore) {
+            messages = messages.subList(0, size);
+        }
+
+        List<MessageDeltaVO> deltas = messages.stream()
+            .map(this::convertToDelta)
+            .collect(Collectors.toList());
+        // A complete page covers everything up to the safe mark, including sequences left behind by recalls and deletes
+        long nextSeq = hasMore ? messages.get(messages.size() - 1).getSeq() : Math.max(since, safeSeq);
+
+        // 5. Read markers of both sides
+        Map<Long, Long> readSeqs = messageSequenceService.getReadSeqs(userId, otherUserId);
+
+        log.debug("Synced messages: userId={}, conversationId={}, since={}, size={}, hasMore={}",
+            userId, conversationId, since, deltas.size(), hasMore);
+
+        return MessageSyncVO.builder()
+            .conversationId(conversationId)
+            .deltas(deltas)
+            .nextSeq(nextSeq)
+            .latestSeq(hasMore ? messageSequenceService.currentSeq(userId, otherUserId) : nextSeq)
+            .hasMore(hasMore)
+            .readSeq(readSeqs.getOrDefault(userId, 0L))
+            .peerReadSeq(readSeqs.getOrDefault(otherUserId, 0L))
+            .build();
+    }
+
+    @Override
+    public void ackSync(Long userId, Long conversationId, Long seq) {
+        Conversation conversation = conversationMapper.selectById(conversationId);
+        if (conversation == null || !conversation.getUserId().equals(userId)) {
+            throw new ServiceException("会话不存在或无权限访问");
+        }
+        // Never past the safe mark, an ack must not cover a sequence that is still being written
+        long acked = Math.min(seq, messageSequenceService.safeSeq(userId, conversation.getOtherUserId()));
+        messageSequenceService.ack(userId, conversationId, acked);
+
+        log.debug("Sync acked: userId={}, conversationId={}, seq={}, acked={}", userId, conversationId, seq, acked);
+    }
+
     // ==================== Private Helper Methods ====================
 
+    /**
+     * Apply a recall or delete. For a queued message the op is deferred to the ingest pipeline, which applies it
+     * right after writing the row; the row may have been committed before the op was stored, so the update is
+     * tried here as well (applying it twice is harmless).
+     *
+     * @return true if the row was updated here
+     */
+    private boolean applyOp(MessageOpDTO op, boolean queued) {
+        if (queued) {
+            ingestPipeline.defer(op);
+        }
+        boolean updated = messageBatchWriter.apply(op) > 0;
+        if (queued && !updated) {
+            // The pipeline writes the sequence together with the row and releases it then
+            return false;
+        }
+        if (queued) {
+            ingestPipeline.undefer(op.getMessageId());
+        }
+        releaseSeqOnCompletion(op);
+        return updated;
+    }
+
+    /**
+     * Recall and delete write the new sequence in this transaction: released once it ends either way
+     */
+    private void releaseSeqOnCompletion(MessageOpDTO op) {
+        SpringUtils.context().publishEvent(MessageSeqReleaseEvent.builder()
+            .messages(List.of(Message.builder()
+                .senderId(op.getSenderId())
+                .receiverId(op.getReceiverId())
+                .seq(op.getSeq())
+                .build()))
+            .releaseOnRollback(true)
+            .build());
+    }
+
+    /**
+     * Delete a message that has been moved to the archive
+     */
+    private void deleteArchivedMessage(Long userId, Long messageId) {
+        Message archived = messageArchiveService.deleteMessage(userId, messageId);
+        if (archived == null) {
+            throw new ServiceException("消息不存在");
+        }
+        log.info("Archived message deleted: userId={}, messageId={}", userId, messageId);
+    }
+
+    /**
+     * Convert a synced message row to a delta, the op is derived from the row state
+     */
+    private MessageDeltaVO convertToDelta(Message message) {
+        MessageDeltaVO delta = MessageDeltaVO.builder()
+            .seq(message.getSeq())
+            .messageId(message.getId())
+            .build();
+        if (Integer.valueOf(1).equals(message.getDeleted())) {
+            delta.setOp(MessageDeltaVO.OP_DELETED);
+        } else if (Boolean.TRUE.equals(message.getIsRecalled())) {
+            MessageVO vo = convertToMessageVO(message);
+            vo.setContent(null);
+            vo.setMediaUrl(null);
+            vo.setThumbnailUrl(null);
+            delta.setOp(MessageDeltaVO.OP_RECALLED);
+            delta.setMessage(vo);
+        } else {
+            delta.setOp(MessageDeltaVO.OP_NEW);
+            delta.setMessage(convertToMessageVO(message));
+        }
+        return delta;
+    }
+
     /**
      * Convert Message entity to MessageVO
      */
@@ -408,6 +666,7 @@ public class MessageServiceImpl implements IMessageService {
             .conversationId(message.getConversationId())
             .senderId(message.getSenderId())
             .receiverId(message.getReceiverId())
+            .seq(message.getSeq())
             .messageType(message.getMessageType())
             .content(message.getContent())
             .mediaUrl(message.getMediaUrl())
@@ -491,61 +750,28 @@ public class MessageServiceImpl implements IMessageService {
     }
 
     /**
-     * Update conversation's last message
+     * Load both users' conversations with one query, creating whichever side is missing
+     *
+     * @return owner user ID -> conversation
      */
-    private void updateConversationLastMessage(Long conversationId, String lastMessage) {
-        LambdaUpdateWrapper<Conversation> wrapper = new LambdaUpdateWrapper<>();
-        wrapper.eq(Conversation::getId, conversationId)
-            .set(Conversation::getLastMessage, lastMessage)
-            .set(Conversation::getLastMessageTime, LocalDateTime.now());
-
-        conversationMapper.update(null, wrapper);
-    }
-
-    /**
-     * Increment unread count for receiver
-     */
-    private void incrementUnreadCount(Long receiverId, Long senderId) {
-        // Find or create receiver's conversation
+    private Map<Long, Conversation> resolveConversations(Long userId, Long otherUserId) {
         LambdaQueryWrapper<Conversation> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Conversation::getUserId, receiverId)
-            .eq(Conversation::getOtherUserId, senderId)
-            .eq(Conversation::getDeleted, 0);
-
-        Conversation conversation = conversationMapper.selectOne(wrapper);
-        if (conversation != null) {
-            LambdaUpdateWrapper<Conversation> updateWrapper = new LambdaUpdateWrapper<>();
-            updateWrapper.eq(Conversation::getId, conversation.getId())
-                .setSql("unread_count = unread_count + 1");
+        wrapper.select(Conversation::getId, Conversation::getUserId)
+            .eq(Conversation::getDeleted, 0)
+            .and(w -> w
+                .and(c -> c.eq(Conversation::getUserId, userId).eq(Conversation::getOtherUserId, otherUserId))
+                .or(c -> c.eq(Conversation::getUserId, otherUserId).eq(Conversation::getOtherUserId, userId)));
 
-            conversationMapper.update(null, updateWrapper);
+        Map<Long, Conversation> conversations = new HashMap<>(2);
+        for (Conversation conversation : conversationMapper.selectList(wrapper)) {
+            conversations.putIfAbsent(conversation.getUserId(), conversation);
         }
-    }
-
-    /**
-     * Check if user is online
-     */
-    private Boolean isUserOnline(Long userId) {
-        // First check WebSocket connection (most accurate)
-        if (webSocketHandler.isUserOnline(userId)) {
-            return true;
+        if (!conversations.containsKey(userId)) {
+            conversations.put(userId, createConversation(userId, otherUserId));
         }
-
-        // Fallback to Redis cache (for cases where WebSocket wasn't used)
-        String cacheKey = CACHE_ONLINE_STATUS + userId;
-        String status = RedisUtils.getCacheObject(cacheKey);
-        return "1".equals(status);
-    }
-
-    /**
-     * Clear user's cache
-     */
-    private void clearUserCache(Long userId) {
-        String unreadKey = CACHE_UNREAD_COUNT + userId;
-        String listKeyPattern = CACHE_CONVERSATION_LIST + userId + ":*";
-
-        RedisUtils.deleteObject(unreadKey);
-        // TODO: Delete all conversation list cache keys for this user
-        log.debug("Cleared cache for user: {}", userId);
+        if (!conversations.containsKey(otherUserId)) {
+            conversations.put(otherUserId, createConversation(otherUserId, userId));
+        }
+        return conversations;
     }
 }
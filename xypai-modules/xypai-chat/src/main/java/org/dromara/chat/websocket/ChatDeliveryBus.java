@@ -0,0 +1,77 @@
+package org.dromara.chat.websocket;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.domain.dto.ChatDeliveryDTO;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chat Delivery Bus
+ * 跨节点消息投递总线
+ *
+ * Looks up the receiver's node in {@link ChatPresenceRegistry}; local receivers are pushed directly,
+ * remote receivers are published to that node's own topic chat:delivery:{nodeId}, so each event
+ * reaches exactly one node instead of being broadcast to the whole cluster.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatDeliveryBus {
+
+    private static final String DELIVERY_TOPIC_PREFIX = "chat:delivery:";
+
+    private final ChatSessionHolder sessionHolder;
+    private final ChatPresenceRegistry presenceRegistry;
+
+    @PostConstruct
+    public void init() {
+        RedisUtils.subscribe(DELIVERY_TOPIC_PREFIX + presenceRegistry.getNodeId(), ChatDeliveryDTO.class, delivery -> {
+            if (!sessionHolder.sendLocal(delivery.getUserId(), delivery.getFrame(), delivery.getCoalesceKey())) {
+                // User disconnected between lookup and delivery
+                log.debug("Delivery target no longer on this node: userId={}", delivery.getUserId());
+            }
+        });
+        log.info("Chat delivery bus subscribed: nodeId={}", presenceRegistry.getNodeId());
+    }
+
+    /**
+     * Deliver an event to the user on whichever node holds the session
+     *
+     * @return false if the user is offline (caller may fall back to offline push)
+     */
+    public boolean deliver(Long userId, String frame) {
+        return deliver(userId, frame, null);
+    }
+
+    /**
+     * Deliver an event to the user on whichever node holds the session
+     *
+     * @param coalesceKey non-null marks a transient event (e.g. typing) that may be coalesced or dropped
+     * @return false if the user is offline (caller may fall back to offline push)
+     */
+    public boolean deliver(Long userId, String frame, String coalesceKey) {
+        if (userId == null) {
+            return false;
+        }
+        if (sessionHolder.sendLocal(userId, frame, coalesceKey)) {
+            return true;
+        }
+        String nodeId = presenceRegistry.locate(userId);
+        if (nodeId == null || nodeId.equals(presenceRegistry.getNodeId())) {
+            // Registered on this node but the session is already gone
+            return false;
+        }
+        long receivers = RedisUtils.getClient().getTopic(DELIVERY_TOPIC_PREFIX + nodeId).publish(new ChatDeliveryDTO(userId, frame, coalesceKey));
+        if (receivers == 0) {
+            // Owning node is down without having cleaned up, drop the stale registration
+            presenceRegistry.evict(userId, nodeId);
+            log.info("Stale presence evicted: userId={}, nodeId={}", userId, nodeId);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,232 @@
+package org.dromara.chat.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.chat.config.properties.ChatOutboundProperties;
+import org.dromara.chat.config.properties.ChatOutboundProperties.OverflowPolicy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chat Outbound Dispatcher
+ * WebSocket出站消息分发器
+ *
+ * Callers only enqueue into a bounded per-session queue; a small writer pool drains the queues,
+ * so a slow client never blocks the request thread and sends to one session never run concurrently.
+ * Transient events (typing) carry a coalesce key: a newer event replaces the queued one with the same key,
+ * and they are the first to be dropped when the queue is full. If the queue is still full the configured
+ * {@link OverflowPolicy} applies.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Component
+public class ChatOutboundDispatcher {
+
+    private final ChatOutboundProperties properties;
+    private final ExecutorService writerPool;
+    private final Map<String, SessionOutbound> outbounds = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicInteger queuedFrames = new AtomicInteger();
+    private final Timer sendTimer;
+    private final Counter coalescedCounter;
+    private final Counter droppedTransientCounter;
+    private final Counter droppedOverflowCounter;
+    private final Counter disconnectCounter;
+
+    public ChatOutboundDispatcher(ChatOutboundProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.writerPool = Executors.newFixedThreadPool(Math.max(1, properties.getWriterThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "chat-ws-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("chat.ws.outbound.queued", queuedFrames, AtomicInteger::get)
+            .description("Frames waiting in per-session outbound queues")
+            .register(meterRegistry);
+        Gauge.builder("chat.ws.outbound.sessions", outbounds, Map::size)
+            .description("Sessions with an outbound queue on this node")
+            .register(meterRegistry);
+        this.sendTimer = Timer.builder("chat.ws.outbound.send")
+            .description("WebSocket frame send latency")
+            .register(meterRegistry);
+        this.coalescedCounter = meterRegistry.counter("chat.ws.outbound.coalesced");
+        this.droppedTransientCounter = meterRegistry.counter("chat.ws.outbound.dropped", "reason", "transient");
+        this.droppedOverflowCounter = meterRegistry.counter("chat.ws.outbound.dropped", "reason", "overflow");
+        this.disconnectCounter = meterRegistry.counter("chat.ws.outbound.disconnect", "reason", "overflow");
+    }
+
+    /**
+     * Enqueue a frame for the session
+     *
+     * @param coalesceKey non-null marks a transient event that may be replaced or dropped
+     * @return false if the session is closed or the frame was rejected by the overflow policy
+     */
+    public boolean enqueue(WebSocketSession session, String frame, String coalesceKey) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        SessionOutbound outbound = outbounds.computeIfAbsent(session.getId(), id -> new SessionOutbound(session));
+        return outbound.offer(new Frame(frame, coalesceKey));
+    }
+
+    /**
+     * Release the session's queue after the connection is closed
+     */
+    public void remove(WebSocketSession session) {
+        SessionOutbound outbound = outbounds.remove(session.getId());
+        if (outbound != null) {
+            outbound.discard();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        writerPool.shutdown();
+    }
+
+    private record Frame(String payload, String coalesceKey) {
+    }
+
+    /**
+     * Per-session outbound queue; at most one drain task per session is scheduled at a time
+     */
+    private class SessionOutbound {
+
+        private final WebSocketSession session;
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean closed;
+
+        SessionOutbound(WebSocketSession session) {
+            this.session = session;
+        }
+
+        boolean offer(Frame frame) {
+            boolean schedule;
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                if (frame.coalesceKey() != null && replaceQueued(frame)) {
+                    coalescedCounter.increment();
+                    return true;
+                }
+                if (queue.size() >= properties.getQueueCapacity() && !dropOneTransient()) {
+                    if (frame.coalesceKey() != null || properties.getOverflowPolicy() == OverflowPolicy.DROP_NEWEST) {
+                        droppedOverflowCounter.increment();
+                        return false;
+                    }
+                    closeForOverflow();
+                    return false;
+                }
+                queue.addLast(frame);
+                queuedFrames.incrementAndGet();
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                writerPool.execute(this::drain);
+            }
+            return true;
+        }
+
+        /**
+         * Send up to drainBatchSize frames, then yield the writer thread if more are pending
+         */
+        void drain() {
+            for (int i = 0; i < properties.getDrainBatchSize(); i++) {
+                Frame frame;
+                synchronized (this) {
+                    frame = queue.pollFirst();
+                    if (frame == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    queuedFrames.decrementAndGet();
+                }
+                send(frame);
+            }
+            writerPool.execute(this::drain);
+        }
+
+        void discard() {
+            synchronized (this) {
+                closed = true;
+                queuedFrames.addAndGet(-queue.size());
+                queue.clear();
+            }
+        }
+
+        private void send(Frame frame) {
+            if (!session.isOpen()) {
+                discard();
+                outbounds.remove(session.getId(), this);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                session.sendMessage(new TextMessage(frame.payload()));
+            } catch (IOException | IllegalStateException e) {
+                log.warn("Error sending WebSocket frame: sessionId={}, error={}", session.getId(), e.getMessage());
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private boolean replaceQueued(Frame frame) {
+            for (Iterator<Frame> it = queue.iterator(); it.hasNext(); ) {
+                if (frame.coalesceKey().equals(it.next().coalesceKey())) {
+                    it.remove();
+                    queue.addLast(frame);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean dropOneTransient() {
+            for (Iterator<Frame> it = queue.iterator(); it.hasNext(); ) {
+                if (it.next().coalesceKey() != null) {
+                    it.remove();
+                    queuedFrames.decrementAndGet();
+                    droppedTransientCounter.increment();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void closeForOverflow() {
+            closed = true;
+            queuedFrames.addAndGet(-queue.size());
+            queue.clear();
+            disconnectCounter.increment();
+            log.warn("WebSocket outbound queue overflow, disconnecting: sessionId={}", session.getId());
+            // Closing may block on a stuck connection, keep it off the caller thread
+            writerPool.execute(() -> {
+                try {
+                    session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException e) {
+                    log.debug("Error closing overflowed session: sessionId={}", session.getId());
+                }
+            });
+        }
+    }
+}
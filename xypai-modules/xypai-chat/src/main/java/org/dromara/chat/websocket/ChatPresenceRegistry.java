@@ -0,0 +1,157 @@
+package org.dromara.chat.websocket;
+
+import cn.hutool.core.util.IdUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Chat Presence Registry
+ * 聊天在线状态注册表
+ *
+ * chat:presence:{userId} -> nodeId of the chat node holding the user's WebSocket session,
+ * expires unless refreshed by client heartbeats. Answers "is online" and "which node"
+ * for any number of users in one Redis round trip.
+ *
+ * @author XiangYuPai Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatPresenceRegistry {
+
+    private static final String PRESENCE_KEY_PREFIX = "chat:presence:";
+
+    // Presence TTL (5 minutes, refreshed by heartbeat)
+    private static final Duration TTL_PRESENCE = Duration.ofMinutes(5);
+
+    private final RedissonClient redissonClient;
+    private final ChatSessionHolder sessionHolder;
+
+    /**
+     * Unique id of this chat node (per process)
+     */
+    @Getter
+    private final String nodeId = IdUtil.fastSimpleUUID();
+
+    /**
+     * Register user on this node, or refresh TTL on heartbeat
+     */
+    public void online(Long userId) {
+        bucket(userId).set(nodeId, TTL_PRESENCE);
+        log.debug("User presence registered: userId={}, nodeId={}", userId, nodeId);
+    }
+
+    /**
+     * Unregister user, only if still registered on this node (user may have reconnected elsewhere)
+     */
+    public void offline(Long userId) {
+        bucket(userId).compareAndSet(nodeId, null);
+        log.debug("User presence removed: userId={}, nodeId={}", userId, nodeId);
+    }
+
+    /**
+     * Remove a stale registration pointing at a node that is no longer alive
+     */
+    public void evict(Long userId, String staleNodeId) {
+        bucket(userId).compareAndSet(staleNodeId, null);
+    }
+
+    /**
+     * Locate the node holding the user's session
+     *
+     * @return nodeId, null if offline
+     */
+    public String locate(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        if (sessionHolder.isLocal(userId)) {
+            return nodeId;
+        }
+        return bucket(userId).get();
+    }
+
+    /**
+     * Locate nodes for users in one round trip
+     *
+     * @return userId -> nodeId, offline users are absent
+     */
+    public Map<Long, String> locateAll(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        RBatch batch = redissonClient.createBatch();
+        for (Long id : ids) {
+            batch.<String>getBucket(PRESENCE_KEY_PREFIX + id, StringCodec.INSTANCE).getAsync();
+        }
+        List<?> responses = batch.execute().getResponses();
+
+        Map<Long, String> result = new HashMap<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Object node = responses.get(i);
+            if (node != null) {
+                result.put(ids.get(i), (String) node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check if user is online on any chat node
+     */
+    public boolean isOnline(Long userId) {
+        return locate(userId) != null;
+    }
+
+    /**
+     * Batch check online status in one round trip
+     */
+    public Map<Long, Boolean> batchIsOnline(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> located = locateAll(userIds);
+        Map<Long, Boolean> result = new HashMap<>(userIds.size());
+        for (Long userId : userIds) {
+            result.put(userId, located.containsKey(userId));
+        }
+        return result;
+    }
+
+    /**
+     * Remove this node's registrations on graceful shutdown, clients reconnect to other nodes
+     */
+    @PreDestroy
+    public void destroy() {
+        Set<Long> localUserIds = sessionHolder.getLocalUserIds();
+        if (localUserIds.isEmpty()) {
+            return;
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            for (Long userId : localUserIds) {
+                batch.<String>getBucket(PRESENCE_KEY_PREFIX + userId, StringCodec.INSTANCE)
+                    .compareAndSetAsync(nodeId, null);
+            }
+            batch.execute();
+            log.info("Chat node presence cleared: nodeId={}, users={}", nodeId, localUserIds.size());
+        } catch (Exception e) {
+            log.warn("Failed to clear chat node presence: nodeId={}, error={}", nodeId, e.getMessage());
+        }
+    }
+
+    private RBucket<String> bucket(Long userId) {
+        return redissonClient.getBucket(PRESENCE_KEY_PREFIX + userId, StringCodec.INSTANCE);
+    }
+}
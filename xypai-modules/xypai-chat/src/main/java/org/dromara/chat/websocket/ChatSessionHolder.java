@@ -0,0 +1,106 @@
+package org.dromara.chat.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chat Session Holder
+ * 本节点WebSocket会话持有者
+ *
+ * Only tracks sessions connected to this JVM; cluster-wide lookups go through
+ * {@link ChatPresenceRegistry} and {@link ChatDeliveryBus}.
+ *
+ * @author XiangYuPai Team
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatSessionHolder {
+
+    private final ChatOutboundDispatcher outboundDispatcher;
+
+    // Session storage: userId -> WebSocketSession
+    private final Map<Long, WebSocketSession> userSessions = new ConcurrentHashMap<>();
+
+    // Session to userId mapping for reverse lookup
+    private final Map<String, Long> sessionToUser = new ConcurrentHashMap<>();
+
+    /**
+     * Bind session to user, returns the previous session of the same user (if any)
+     */
+    public WebSocketSession bind(Long userId, WebSocketSession session) {
+        sessionToUser.put(session.getId(), userId);
+        WebSocketSession previous = userSessions.put(userId, session);
+        if (previous != null) {
+            sessionToUser.remove(previous.getId());
+        }
+        return previous;
+    }
+
+    /**
+     * Unbind session, returns the userId only if the session was still the user's current session
+     */
+    public Long unbind(WebSocketSession session) {
+        outboundDispatcher.remove(session);
+        Long userId = sessionToUser.remove(session.getId());
+        if (userId != null && userSessions.remove(userId, session)) {
+            return userId;
+        }
+        return null;
+    }
+
+    /**
+     * Get userId bound to the session
+     */
+    public Long getUserId(WebSocketSession session) {
+        return sessionToUser.get(session.getId());
+    }
+
+    /**
+     * Check if user has a session on this node
+     */
+    public boolean isLocal(Long userId) {
+        return userSessions.containsKey(userId);
+    }
+
+    /**
+     * Get userIds connected to this node
+     */
+    public Set<Long> getLocalUserIds() {
+        return userSessions.keySet();
+    }
+
+    /**
+     * Get local session count
+     */
+    public int size() {
+        return userSessions.size();
+    }
+
+    /**
+     * Queue frame for the user's session on this node
+     *
+     * @return false if the user has no open session on this node
+     */
+    public boolean sendLocal(Long userId, String frame) {
+        return sendLocal(userId, frame, null);
+    }
+
+    /**
+     * Queue frame for the user's session on this node (sent asynchronously by the writer pool)
+     *
+     * @param coalesceKey non-null marks a transient event (e.g. typing) that may be coalesced or dropped
+     * @return false if the user has no open session on this node
+     */
+    public boolean sendLocal(Long userId, String frame, String coalesceKey) {
+        WebSocketSession session = userSessions.get(userId);
+        if (session == null || !session.isOpen()) {
+            return false;
+        }
+        return outboundDispatcher.enqueue(session, frame, coalesceKey);
+    }
+}
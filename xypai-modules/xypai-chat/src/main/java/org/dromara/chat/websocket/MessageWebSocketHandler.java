@@ -5,15 +5,13 @@ import cn.hutool.json.JSONObject;
 import cn.hutool.json.JSONUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.dromara.common.redis.utils.RedisUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import java.io.IOException;
-import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -23,7 +21,8 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * Handles WebSocket connections for real-time messaging:
  * - Connection/disconnection management
- * - Online status tracking
+ * - Cluster-wide online status tracking ({@link ChatPresenceRegistry})
+ * - Cross-node delivery ({@link ChatDeliveryBus})
  * - Message event handling (new_message, message_read, message_recalled, typing, online_status)
  * - Heartbeat mechanism
  *
@@ -35,17 +34,9 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public class MessageWebSocketHandler extends TextWebSocketHandler {
 
-    // Cache key prefix for online status
-    private static final String CACHE_ONLINE_STATUS = "chat:online:";
-
-    // Online status TTL (5 minutes, refreshed by heartbeat)
-    private static final Duration TTL_ONLINE_STATUS = Duration.ofMinutes(5);
-
-    // Session storage: userId -> WebSocketSession
-    private final Map<Long, WebSocketSession> userSessions = new ConcurrentHashMap<>();
-
-    // Session to userId mapping for reverse lookup
-    private final Map<String, Long> sessionToUser = new ConcurrentHashMap<>();
+    private final ChatSessionHolder sessionHolder;
+    private final ChatPresenceRegistry presenceRegistry;
+    private final ChatDeliveryBus deliveryBus;
 
     /**
      * Called after WebSocket connection is established
@@ -62,17 +53,19 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
-            // Store session
-            userSessions.put(userId, session);
-            sessionToUser.put(session.getId(), userId);
+            // Store session, close the user's previous session on this node
+            WebSocketSession previous = sessionHolder.bind(userId, session);
+            if (previous != null && previous.isOpen()) {
+                previous.close(CloseStatus.NORMAL.withReason("Replaced by new connection"));
+            }
 
-            // Mark user as online in Redis
-            setUserOnline(userId, true);
+            // Register presence so other nodes can route to this one
+            presenceRegistry.online(userId);
 
             log.info("WebSocket connected: userId={}, sessionId={}", userId, session.getId());
 
             // Send connection success message
-            sendMessageToUser(userId, createEvent("connection_success", Map.of(
+            sessionHolder.sendLocal(userId, createEvent("connection_success", Map.of(
                 "userId", userId,
                 "message", "WebSocket连接成功"
             )));
@@ -89,13 +82,11 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         String sessionId = session.getId();
-        Long userId = sessionToUser.remove(sessionId);
+        Long userId = sessionHolder.unbind(session);
 
         if (userId != null) {
-            userSessions.remove(userId);
-
-            // Mark user as offline in Redis
-            setUserOnline(userId, false);
+            // Unregister presence (no-op if the user already reconnected to another node)
+            presenceRegistry.offline(userId);
 
             log.info("WebSocket disconnected: userId={}, sessionId={}, status={}",
                 userId, sessionId, status);
@@ -117,7 +108,7 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
-            Long userId = sessionToUser.get(session.getId());
+            Long userId = sessionHolder.getUserId(session);
             if (userId == null) {
                 log.warn("Received message from unknown session: {}", session.getId());
                 return;
@@ -153,7 +144,7 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         log.error("WebSocket transport error: sessionId={}", session.getId(), exception);
 
-        Long userId = sessionToUser.get(session.getId());
+        Long userId = sessionHolder.getUserId(session);
         if (userId != null) {
             log.error("Transport error for userId={}", userId);
         }
@@ -169,17 +160,13 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
      * Handle heartbeat event
      */
     private void handleHeartbeat(Long userId, WebSocketSession session) {
-        // Refresh online status TTL
-        setUserOnline(userId, true);
+        // Refresh presence TTL
+        presenceRegistry.online(userId);
 
         // Send heartbeat response
-        try {
-            session.sendMessage(new TextMessage(createEvent("heartbeat_ack", Map.of(
-                "timestamp", System.currentTimeMillis()
-            ))));
-        } catch (IOException e) {
-            log.error("Error sending heartbeat ack to userId={}", userId, e);
-        }
+        sessionHolder.sendLocal(userId, createEvent("heartbeat_ack", Map.of(
+            "timestamp", System.currentTimeMillis()
+        )));
 
         log.debug("Heartbeat received from userId={}", userId);
     }
@@ -194,11 +181,11 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
-        // Notify target user that sender is typing
-        sendMessageToUser(targetUserId, createEvent("typing", Map.of(
+        // Notify target user that sender is typing (transient: coalesced per sender, dropped first under pressure)
+        deliveryBus.deliver(targetUserId, createEvent("typing", Map.of(
             "userId", userId,
             "isTyping", true
-        )));
+        )), "typing:" + userId);
 
         log.debug("Typing event: from userId={} to targetUserId={}", userId, targetUserId);
     }
@@ -221,26 +208,31 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
 
     /**
      * Send new message event to receiver
+     *
+     * @return false if receiver is offline on all nodes
      */
-    public void sendNewMessage(Long receiverId, Map<String, Object> messageData) {
-        sendMessageToUser(receiverId, createEvent("new_message", messageData));
-        log.debug("Sent new_message event to userId={}", receiverId);
+    public boolean sendNewMessage(Long receiverId, Map<String, Object> messageData) {
+        boolean delivered = sendMessageToUser(receiverId, createEvent("new_message", messageData));
+        log.debug("Sent new_message event to userId={}, delivered={}", receiverId, delivered);
+        return delivered;
     }
 
     /**
      * Send message read event to sender
      */
-    public void sendMessageRead(Long senderId, Map<String, Object> readData) {
-        sendMessageToUser(senderId, createEvent("message_read", readData));
-        log.debug("Sent message_read event to userId={}", senderId);
+    public boolean sendMessageRead(Long senderId, Map<String, Object> readData) {
+        boolean delivered = sendMessageToUser(senderId, createEvent("message_read", readData));
+        log.debug("Sent message_read event to userId={}, delivered={}", senderId, delivered);
+        return delivered;
     }
 
     /**
      * Send message recalled event to receiver
      */
-    public void sendMessageRecalled(Long receiverId, Map<String, Object> recallData) {
-        sendMessageToUser(receiverId, createEvent("message_recalled", recallData));
-        log.debug("Sent message_recalled event to userId={}", receiverId);
+    public boolean sendMessageRecalled(Long receiverId, Map<String, Object> recallData) {
+        boolean delivered = sendMessageToUser(receiverId, createEvent("message_recalled", recallData));
+        log.debug("Sent message_recalled event to userId={}, delivered={}", receiverId, delivered);
+        return delivered;
     }
 
     /**
@@ -255,17 +247,24 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * Check if user is online (has active WebSocket connection)
+     * Check if user is online (has active WebSocket connection on any chat node)
      */
     public boolean isUserOnline(Long userId) {
-        return userSessions.containsKey(userId);
+        return presenceRegistry.isOnline(userId);
     }
 
     /**
-     * Get online user count
+     * Batch check online status across all chat nodes in one round trip
+     */
+    public Map<Long, Boolean> batchIsUserOnline(Collection<Long> userIds) {
+        return presenceRegistry.batchIsOnline(userIds);
+    }
+
+    /**
+     * Get online user count on this node
      */
     public int getOnlineUserCount() {
-        return userSessions.size();
+        return sessionHolder.size();
     }
 
     // ==================== Private Helper Methods ====================
@@ -318,20 +317,14 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * Send message to specific user
+     * Send message to specific user, routed to the node holding the session
      */
-    private void sendMessageToUser(Long userId, String message) {
-        WebSocketSession session = userSessions.get(userId);
-
-        if (session != null && session.isOpen()) {
-            try {
-                session.sendMessage(new TextMessage(message));
-            } catch (IOException e) {
-                log.error("Error sending message to userId={}", userId, e);
-            }
-        } else {
+    private boolean sendMessageToUser(Long userId, String message) {
+        boolean delivered = deliveryBus.deliver(userId, message);
+        if (!delivered) {
             log.debug("User not online, cannot send WebSocket message: userId={}", userId);
         }
+        return delivered;
     }
 
     /**
@@ -344,19 +337,4 @@ public class MessageWebSocketHandler extends TextWebSocketHandler {
         event.set("timestamp", System.currentTimeMillis());
         return event.toString();
     }
-
-    /**
-     * Set user online status in Redis
-     */
-    private void setUserOnline(Long userId, boolean isOnline) {
-        String cacheKey = CACHE_ONLINE_STATUS + userId;
-
-        if (isOnline) {
-            RedisUtils.setCacheObject(cacheKey, "1", TTL_ONLINE_STATUS);
-        } else {
-            RedisUtils.deleteObject(cacheKey);
-        }
-
-        log.debug("User online status updated: userId={}, isOnline={}", userId, isOnline);
-    }
 }
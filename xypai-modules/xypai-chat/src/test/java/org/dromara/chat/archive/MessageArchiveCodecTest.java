@@ -0,0 +1,170 @@
+package org.dromara.chat.archive;
+
+import cn.hutool.core.util.ZipUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.domain.entity.MessageArchive;
+import org.dromara.common.core.utils.SpringUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Message Archive Codec Test
+ * 归档块编解码单元测试: gzip + 短键往返、空字段省略、块范围列与可见数统计
+ *
+ * @author XiangYuPai Team
+ */
+@DisplayName("归档块编解码单元测试")
+public class MessageArchiveCodecTest {
+
+    static final long CONVERSATION_ID = 900L;
+    private static final long LOW_USER = 1001L;
+    private static final long HIGH_USER = 2002L;
+
+    @BeforeAll
+    public static void initJson() {
+        // JsonUtils 从 Spring 容器取 ObjectMapper, 单元测试只注册这两个 bean
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(ObjectMapper.class, ObjectMapper::new);
+        context.registerBean(SpringUtils.class);
+        context.refresh();
+    }
+
+    @DisplayName("往返: 全部字段还原, 接收者由块上的用户对推出")
+    @Test
+    public void testRoundTrip() {
+        LocalDateTime recalledAt = LocalDateTime.of(2025, 3, 1, 12, 0, 5);
+        LocalDateTime deletedAt = LocalDateTime.of(2025, 3, 2, 8, 30);
+        Message text = message(1L, HIGH_USER, LOW_USER, 7L, 1_740_000_000_000L);
+        text.setContent("你好 hello");
+        text.setStatus(2);
+        Message voice = message(2L, LOW_USER, HIGH_USER, 8L, 1_740_000_060_000L);
+        voice.setMessageType("voice");
+        voice.setMediaUrl("https://oss/v.mp3");
+        voice.setThumbnailUrl("https://oss/v.png");
+        voice.setDuration(12);
+        voice.setIsRecalled(true);
+        voice.setRecalledAt(recalledAt);
+        voice.setDeleted(1);
+        voice.setDeletedAt(deletedAt);
+
+        MessageArchive chunk = new MessageArchive();
+        MessageArchiveCodec.pack(chunk, List.of(text, voice));
+        List<Message> decoded = MessageArchiveCodec.decode(chunk);
+
+        Assertions.assertEquals(2, decoded.size());
+        Message first = decoded.get(0);
+        Assertions.assertEquals(1L, first.getId());
+        Assertions.assertEquals(CONVERSATION_ID, first.getConversationId());
+        Assertions.assertEquals(HIGH_USER, first.getSenderId());
+        Assertions.assertEquals(LOW_USER, first.getReceiverId());
+        Assertions.assertEquals(7L, first.getSeq());
+        Assertions.assertEquals("text", first.getMessageType());
+        Assertions.assertEquals("你好 hello", first.getContent());
+        Assertions.assertEquals(2, first.getStatus());
+        Assertions.assertFalse(first.getIsRecalled());
+        Assertions.assertNull(first.getRecalledAt());
+        Assertions.assertEquals(0, first.getDeleted());
+        Assertions.assertNull(first.getMediaUrl());
+        Assertions.assertEquals(new Date(1_740_000_000_000L), first.getCreateTime());
+
+        Message second = decoded.get(1);
+        Assertions.assertEquals(LOW_USER, second.getSenderId());
+        Assertions.assertEquals(HIGH_USER, second.getReceiverId());
+        Assertions.assertEquals("voice", second.getMessageType());
+        Assertions.assertEquals("https://oss/v.mp3", second.getMediaUrl());
+        Assertions.assertEquals("https://oss/v.png", second.getThumbnailUrl());
+        Assertions.assertEquals(12, second.getDuration());
+        Assertions.assertTrue(second.getIsRecalled());
+        Assertions.assertEquals(recalledAt, second.getRecalledAt());
+        Assertions.assertEquals(1, second.getDeleted());
+        Assertions.assertEquals(deletedAt, second.getDeletedAt());
+    }
+
+    @DisplayName("编码: gzip 压缩的短键 JSON, 空字段和默认值不写入")
+    @Test
+    public void testEncodedFormat() {
+        Message text = message(1L, LOW_USER, HIGH_USER, 1L, 1_740_000_000_000L);
+        text.setContent("hi");
+
+        byte[] payload = MessageArchiveCodec.encode(List.of(text));
+        Assertions.assertEquals((byte) 0x1f, payload[0]);
+        Assertions.assertEquals((byte) 0x8b, payload[1]);
+
+        String json = new String(ZipUtil.unGzip(payload), StandardCharsets.UTF_8);
+        Assertions.assertTrue(json.contains("\"i\":1"));
+        Assertions.assertTrue(json.contains("\"c\":\"hi\""));
+        Assertions.assertTrue(json.contains("\"ct\":1740000000000"));
+        Assertions.assertFalse(json.contains("null"));
+        Assertions.assertFalse(json.contains("content"));
+        // 未撤回/未删除不写标记, 会话和接收者存放在块上
+        Assertions.assertFalse(json.contains("\"r\""));
+        Assertions.assertFalse(json.contains("\"x\""));
+        Assertions.assertFalse(json.contains(String.valueOf(CONVERSATION_ID)));
+    }
+
+    @DisplayName("打包: 范围列取块内最值, 已删除消息计入总数但不计入可见数")
+    @Test
+    public void testPackRangesAndVisibleCount() {
+        Message a = message(10L, HIGH_USER, LOW_USER, 5L, 1_740_000_300_000L);
+        Message b = message(11L, LOW_USER, HIGH_USER, 3L, 1_740_000_100_000L);
+        Message c = message(12L, HIGH_USER, LOW_USER, 9L, 1_740_000_200_000L);
+        b.setDeleted(1);
+
+        MessageArchive chunk = new MessageArchive();
+        MessageArchiveCodec.pack(chunk, List.of(a, b, c));
+
+        Assertions.assertEquals(CONVERSATION_ID, chunk.getConversationId());
+        Assertions.assertEquals(LOW_USER, chunk.getLowUserId());
+        Assertions.assertEquals(HIGH_USER, chunk.getHighUserId());
+        Assertions.assertEquals(10L, chunk.getMinId());
+        Assertions.assertEquals(12L, chunk.getMaxId());
+        Assertions.assertEquals(3L, chunk.getMinSeq());
+        Assertions.assertEquals(9L, chunk.getMaxSeq());
+        Assertions.assertEquals(new Date(1_740_000_100_000L), chunk.getMinCreateTime());
+        Assertions.assertEquals(new Date(1_740_000_300_000L), chunk.getMaxCreateTime());
+        Assertions.assertEquals(3, chunk.getMessageCount());
+        Assertions.assertEquals(2, chunk.getVisibleCount());
+    }
+
+    @DisplayName("重新打包: 解码后追加再打包, 计数与范围随之更新")
+    @Test
+    public void testRepackAfterDecode() {
+        MessageArchive chunk = new MessageArchive();
+        Message deleted = message(1L, LOW_USER, HIGH_USER, 1L, 1_740_000_000_000L);
+        deleted.setDeleted(1);
+        MessageArchiveCodec.pack(chunk, List.of(deleted));
+        Assertions.assertEquals(0, chunk.getVisibleCount());
+
+        List<Message> merged = new ArrayList<>(MessageArchiveCodec.decode(chunk));
+        merged.add(message(2L, HIGH_USER, LOW_USER, 2L, 1_740_000_060_000L));
+        MessageArchiveCodec.pack(chunk, merged);
+
+        Assertions.assertEquals(2, chunk.getMessageCount());
+        Assertions.assertEquals(1, chunk.getVisibleCount());
+        Assertions.assertEquals(2L, chunk.getMaxId());
+        Assertions.assertEquals(List.of(1L, 2L), MessageArchiveCodec.decode(chunk).stream().map(Message::getId).toList());
+    }
+
+    static Message message(Long id, Long senderId, Long receiverId, Long seq, long createMillis) {
+        Message message = Message.builder()
+            .id(id)
+            .conversationId(CONVERSATION_ID)
+            .senderId(senderId)
+            .receiverId(receiverId)
+            .seq(seq)
+            .messageType("text")
+            .build();
+        message.setCreateTime(new Date(createMillis));
+        return message;
+    }
+}
@@ -0,0 +1,201 @@
+package org.dromara.chat.archive;
+
+import org.dromara.chat.config.properties.ChatArchiveProperties;
+import org.dromara.chat.domain.entity.Message;
+import org.dromara.chat.domain.entity.MessageArchive;
+import org.dromara.chat.mapper.MessageArchiveMapper;
+import org.dromara.chat.mapper.MessageMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Message Archive Writer Test
+ * 归档写入单元测试: 追加到会话当月最新块、按块大小拆分新块、截止时间过滤
+ *
+ * @author XiangYuPai Team
+ */
+@DisplayName("归档写入单元测试")
+public class MessageArchiveWriterTest {
+
+    private static final long CONVERSATION_ID = MessageArchiveCodecTest.CONVERSATION_ID;
+    private static final long LOW_USER = 1001L;
+    private static final long HIGH_USER = 2002L;
+
+    /**
+     * 2025-02 中旬, 各时区都落在同一个月
+     */
+    private static final long FEBRUARY = 1_740_000_000_000L;
+
+    /**
+     * 2025-03 下旬
+     */
+    private static final long MARCH = 1_743_000_000_000L;
+
+    private static final Date CUTOFF = new Date(1_745_000_000_000L);
+
+    private MessageMapper messageMapper;
+    private MessageArchiveMapper messageArchiveMapper;
+    private MessageArchiveWriter writer;
+
+    @BeforeAll
+    public static void initJson() {
+        MessageArchiveCodecTest.initJson();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ChatArchiveProperties properties = new ChatArchiveProperties();
+        properties.setChunkSize(3);
+        messageMapper = Mockito.mock(MessageMapper.class);
+        messageArchiveMapper = Mockito.mock(MessageArchiveMapper.class);
+        writer = new MessageArchiveWriter(properties, messageMapper, messageArchiveMapper);
+    }
+
+    @DisplayName("追加: 最新块未满且 maxId 小于首条消息时先填满, 剩余消息写入新块")
+    @Test
+    public void testAppendToOpenChunk() {
+        MessageArchive latest = chunk(message(10L, 1L, FEBRUARY));
+        int month = latest.getArchiveMonth();
+        Mockito.when(messageArchiveMapper.selectLatestForUpdate(CONVERSATION_ID, month)).thenReturn(latest);
+        // 乱序传入, 写入前按ID排序
+        rows(message(13L, 4L, FEBRUARY + 3000), message(11L, 2L, FEBRUARY + 1000),
+            message(14L, 5L, FEBRUARY + 4000), message(12L, 3L, FEBRUARY + 2000));
+
+        Assertions.assertEquals(4, writer.archive(List.of(11L, 12L, 13L, 14L), CUTOFF));
+
+        Mockito.verify(messageArchiveMapper).updateById(latest);
+        Assertions.assertEquals(3, latest.getMessageCount());
+        Assertions.assertEquals(3, latest.getVisibleCount());
+        Assertions.assertEquals(10L, latest.getMinId());
+        Assertions.assertEquals(12L, latest.getMaxId());
+        Assertions.assertEquals(3L, latest.getMaxSeq());
+        Assertions.assertEquals(List.of(10L, 11L, 12L), ids(latest));
+
+        List<MessageArchive> inserted = inserted(1);
+        Assertions.assertEquals(month, inserted.get(0).getArchiveMonth());
+        Assertions.assertEquals(List.of(13L, 14L), ids(inserted.get(0)));
+        Mockito.verify(messageMapper).deleteArchived(List.of(11L, 12L, 13L, 14L));
+    }
+
+    @DisplayName("追加: 可见数按合并后的消息重新统计")
+    @Test
+    public void testAppendKeepsVisibleCount() {
+        Message archivedDeleted = message(10L, 1L, FEBRUARY);
+        archivedDeleted.setDeleted(1);
+        MessageArchive latest = chunk(archivedDeleted);
+        Mockito.when(messageArchiveMapper.selectLatestForUpdate(CONVERSATION_ID, latest.getArchiveMonth()))
+            .thenReturn(latest);
+        Message hotDeleted = message(12L, 3L, FEBRUARY + 2000);
+        hotDeleted.setDeleted(1);
+        rows(message(11L, 2L, FEBRUARY + 1000), hotDeleted);
+
+        writer.archive(List.of(11L, 12L), CUTOFF);
+
+        Assertions.assertEquals(3, latest.getMessageCount());
+        Assertions.assertEquals(1, latest.getVisibleCount());
+        List<Message> decoded = MessageArchiveCodec.decode(latest);
+        Assertions.assertEquals(List.of(1, 0, 1), decoded.stream().map(Message::getDeleted).toList());
+        inserted(0);
+    }
+
+    @DisplayName("不追加: 最新块的 maxId 不小于首条消息(迟到的旧消息)时写入新块")
+    @Test
+    public void testLateMessageStartsNewChunk() {
+        MessageArchive latest = chunk(message(20L, 1L, FEBRUARY));
+        Mockito.when(messageArchiveMapper.selectLatestForUpdate(CONVERSATION_ID, latest.getArchiveMonth()))
+            .thenReturn(latest);
+        rows(message(15L, 2L, FEBRUARY + 1000));
+
+        writer.archive(List.of(15L), CUTOFF);
+
+        Mockito.verify(messageArchiveMapper, Mockito.never()).updateById(Mockito.any(MessageArchive.class));
+        Assertions.assertEquals(List.of(20L), ids(latest));
+        Assertions.assertEquals(List.of(15L), ids(inserted(1).get(0)));
+    }
+
+    @DisplayName("不追加: 最新块已满时直接按块大小拆分")
+    @Test
+    public void testFullChunkSplitsPending() {
+        MessageArchive latest = chunk(message(1L, 1L, FEBRUARY), message(2L, 2L, FEBRUARY), message(3L, 3L, FEBRUARY));
+        Mockito.when(messageArchiveMapper.selectLatestForUpdate(CONVERSATION_ID, latest.getArchiveMonth()))
+            .thenReturn(latest);
+        rows(message(4L, 4L, FEBRUARY), message(5L, 5L, FEBRUARY), message(6L, 6L, FEBRUARY),
+            message(7L, 7L, FEBRUARY));
+
+        writer.archive(List.of(4L, 5L, 6L, 7L), CUTOFF);
+
+        Mockito.verify(messageArchiveMapper, Mockito.never()).updateById(Mockito.any(MessageArchive.class));
+        List<MessageArchive> inserted = inserted(2);
+        Assertions.assertEquals(List.of(4L, 5L, 6L), ids(inserted.get(0)));
+        Assertions.assertEquals(List.of(7L), ids(inserted.get(1)));
+    }
+
+    @DisplayName("分组: 同一会话跨月的消息分别归入各自月份的块")
+    @Test
+    public void testGroupByMonth() {
+        Message february = message(1L, 1L, FEBRUARY);
+        Message march = message(2L, 2L, MARCH);
+        rows(february, march);
+
+        writer.archive(List.of(1L, 2L), CUTOFF);
+
+        Mockito.verify(messageArchiveMapper).selectLatestForUpdate(CONVERSATION_ID, MessageArchiveWriter.archiveMonth(february));
+        Mockito.verify(messageArchiveMapper).selectLatestForUpdate(CONVERSATION_ID, MessageArchiveWriter.archiveMonth(march));
+        List<MessageArchive> inserted = inserted(2);
+        Assertions.assertEquals(MessageArchiveWriter.archiveMonth(february), inserted.get(0).getArchiveMonth());
+        Assertions.assertEquals(MessageArchiveWriter.archiveMonth(march), inserted.get(1).getArchiveMonth());
+    }
+
+    @DisplayName("截止时间: 截止时间之后或没有时间的消息留在热表")
+    @Test
+    public void testCutoffFiltersRows() {
+        Message old = message(1L, 1L, FEBRUARY);
+        Message recent = message(2L, 2L, CUTOFF.getTime());
+        Message noTime = message(3L, 3L, FEBRUARY);
+        noTime.setCreateTime(null);
+        rows(old, recent, noTime);
+
+        Assertions.assertEquals(1, writer.archive(List.of(1L, 2L, 3L), CUTOFF));
+        Mockito.verify(messageMapper).deleteArchived(List.of(1L));
+
+        rows(recent);
+        Assertions.assertEquals(0, writer.archive(List.of(2L), CUTOFF));
+        Mockito.verify(messageMapper, Mockito.times(1)).deleteArchived(Mockito.anyCollection());
+    }
+
+    private void rows(Message... messages) {
+        Mockito.when(messageMapper.selectByIdsForUpdate(Mockito.anyCollection())).thenReturn(List.of(messages));
+    }
+
+    private List<MessageArchive> inserted(int times) {
+        ArgumentCaptor<MessageArchive> captor = ArgumentCaptor.forClass(MessageArchive.class);
+        Mockito.verify(messageArchiveMapper, Mockito.times(times)).insert(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static MessageArchive chunk(Message... messages) {
+        MessageArchive chunk = MessageArchive.builder()
+            .id(1L)
+            .archiveMonth(MessageArchiveWriter.archiveMonth(messages[0]))
+            .build();
+        MessageArchiveCodec.pack(chunk, List.of(messages));
+        return chunk;
+    }
+
+    private static List<Long> ids(MessageArchive chunk) {
+        return MessageArchiveCodec.decode(chunk).stream().map(Message::getId).toList();
+    }
+
+    private static Message message(Long id, Long seq, long createMillis) {
+        return MessageArchiveCodecTest.message(id, id % 2 == 0 ? LOW_USER : HIGH_USER,
+            id % 2 == 0 ? HIGH_USER : LOW_USER, seq, createMillis);
+    }
+}
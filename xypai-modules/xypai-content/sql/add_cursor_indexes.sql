@@ -0,0 +1,18 @@
+-- =========================================================================================
+-- XiangYuPai Content Module - Cursor Pagination Indexes
+-- Database: xypai_content
+-- Version: 1.1.1
+-- Description: 游标分页按 (时间, id) 倒序 keyset 查询, 补充对应的联合索引
+--              InnoDB 二级索引隐含主键, 索引末尾不需要显式加 id
+-- =========================================================================================
+
+USE `xypai_content`;
+
+-- 评论列表: WHERE feed_id = ? ORDER BY created_at DESC, id DESC
+ALTER TABLE `comment` ADD INDEX `idx_feed_created` (`feed_id`, `created_at`);
+
+-- 我的点赞: WHERE user_id = ? AND target_type = ? ORDER BY created_at DESC, id DESC
+ALTER TABLE `like` ADD INDEX `idx_user_type_created` (`user_id`, `target_type`, `created_at`);
+
+-- 我的收藏: 已有 idx_user_created (user_id, created_at)
+-- 动态列表: 已有 idx_created_timestamp (created_timestamp)
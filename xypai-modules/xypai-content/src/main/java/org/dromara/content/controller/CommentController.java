@@ -9,6 +9,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.mybatis.core.page.CursorPage;
 import org.dromara.common.ratelimiter.annotation.RateLimiter;
 import org.dromara.common.ratelimiter.enums.LimitType;
 import org.dromara.common.web.core.BaseController;
@@ -50,6 +51,21 @@ public class CommentController extends BaseController {
         return R.ok(page);
     }
 
+    /**
+     * 游标分页获取评论列表
+     */
+    @Operation(summary = "游标分页获取评论列表", description = "无限滚动使用, 传入上一页返回的nextCursor; 仅支持按时间排序")
+    @GetMapping("/comments/{feedId}/scroll")
+    @RateLimiter(count = 100, time = 60, limitType = LimitType.IP)
+    public R<CursorPage<CommentListVO>> scrollCommentList(
+        @Parameter(description = "动态ID", required = true) @PathVariable Long feedId,
+        @Valid CommentListQueryDTO queryDTO
+    ) {
+        queryDTO.setFeedId(feedId);
+        Long userId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
+        return R.ok(commentService.scrollCommentList(queryDTO, userId));
+    }
+
     /**
      * 发布评论
      */
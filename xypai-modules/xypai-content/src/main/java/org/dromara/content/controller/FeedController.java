@@ -9,6 +9,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.mybatis.core.page.CursorPage;
 import org.dromara.common.ratelimiter.annotation.RateLimiter;
 import org.dromara.common.ratelimiter.enums.LimitType;
 import org.dromara.common.web.core.BaseController;
@@ -53,6 +54,21 @@ public class FeedController extends BaseController {
         return R.ok(page);
     }
 
+    /**
+     * 游标分页获取动态列表
+     */
+    @Operation(summary = "游标分页获取动态列表", description = "无限滚动使用, 传入上一页返回的nextCursor; 支持关注/同城/最新")
+    @GetMapping("/feed/{tabType}/scroll")
+    @RateLimiter(count = 100, time = 60, limitType = LimitType.IP)
+    public R<CursorPage<FeedListVO>> scrollFeedList(
+        @Parameter(description = "Tab类型", required = true) @PathVariable String tabType,
+        @Valid FeedListQueryDTO queryDTO
+    ) {
+        queryDTO.setTabType(tabType);
+        Long userId = StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : null;
+        return R.ok(feedService.scrollFeedList(queryDTO, userId));
+    }
+
     /**
      * 获取动态详情
      */
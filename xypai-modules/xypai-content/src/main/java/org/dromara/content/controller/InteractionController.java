@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboReference;
 import org.dromara.appuser.api.RemoteAppUserService;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.mybatis.core.page.CursorPage;
 import org.dromara.common.ratelimiter.annotation.RateLimiter;
 import org.dromara.common.ratelimiter.enums.LimitType;
 import org.dromara.common.web.core.BaseController;
@@ -97,6 +98,18 @@ public class InteractionController extends BaseController {
         return R.ok(page);
     }
 
+    /**
+     * 我的点赞列表(游标分页)
+     */
+    @Operation(summary = "我的点赞列表(游标分页)", description = "无限滚动使用, 传入上一页返回的nextCursor")
+    @GetMapping("/like/my/scroll")
+    @RateLimiter(count = 50, time = 60, limitType = LimitType.USER)
+    public R<CursorPage<MyLikeVO>> scrollMyLikeList(@Valid MyLikeQueryDTO queryDTO) {
+        StpUtil.checkLogin();
+        Long userId = StpUtil.getLoginIdAsLong();
+        return R.ok(interactionService.scrollMyLikeList(queryDTO, userId));
+    }
+
     /**
      * 我的收藏列表
      */
@@ -110,6 +123,18 @@ public class InteractionController extends BaseController {
         return R.ok(page);
     }
 
+    /**
+     * 我的收藏列表(游标分页)
+     */
+    @Operation(summary = "我的收藏列表(游标分页)", description = "无限滚动使用, 传入上一页返回的nextCursor")
+    @GetMapping("/collect/my/scroll")
+    @RateLimiter(count = 50, time = 60, limitType = LimitType.USER)
+    public R<CursorPage<MyCollectionVO>> scrollMyCollectionList(@Valid MyCollectionQueryDTO queryDTO) {
+        StpUtil.checkLogin();
+        Long userId = StpUtil.getLoginIdAsLong();
+        return R.ok(interactionService.scrollMyCollectionList(queryDTO, userId));
+    }
+
     // ==================== 关注相关API ====================
 
     /**
@@ -21,6 +21,8 @@ import org.dromara.content.service.ITopicService;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 话题管理控制器
  *
@@ -73,6 +75,22 @@ public class TopicController extends BaseController {
         return R.ok(result);
     }
 
+    /**
+     * 话题联想
+     */
+    @Operation(summary = "话题联想", description = "按话题名称前缀实时提示,按帖子数和参与人数排序")
+    @GetMapping("/suggest")
+    @RateLimiter(count = 300, time = 60, limitType = LimitType.IP)
+    public R<List<TopicListVO>> suggestTopics(
+        @Parameter(description = "名称前缀,1-20字符", example = "探", required = true)
+        @RequestParam @NotBlank(message = "名称前缀不能为空") @Size(min = 1, max = 20, message = "前缀长度为1-20字符") String prefix,
+
+        @Parameter(description = "返回数量,最大20", example = "10")
+        @RequestParam(defaultValue = "10") @Min(value = 1, message = "返回数量最小为1") @Max(value = 20, message = "返回数量最大为20") Integer limit
+    ) {
+        return R.ok(topicService.suggestTopics(prefix, limit));
+    }
+
     /**
      * 获取话题下的动态列表
      */
@@ -0,0 +1,37 @@
+package org.dromara.content.domain.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.content.domain.vo.FeedDetailVO;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 动态详情共享主体
+ * <p>
+ * 与查看者无关的部分(正文、媒体、话题、作者资料、计数)，所有查看者共用一份缓存；
+ * 点赞/收藏/关注/编辑权限等查看者相关字段在读取时叠加到副本上，不写回主体
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedDetailBodyBo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 详情主体(查看者相关字段为默认值)
+     */
+    private FeedDetailVO detail;
+
+    /**
+     * 可见范围: 0=公开, 1=好友, 2=仅自己
+     */
+    private Integer visibility;
+
+}
@@ -0,0 +1,81 @@
+package org.dromara.content.domain.bo;
+
+import lombok.Data;
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
+import org.dromara.content.domain.entity.FeedMedia;
+import org.dromara.content.domain.entity.FeedTopic;
+import org.dromara.content.domain.entity.Topic;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 动态列表页批量装配结果
+ * <p>
+ * 一页动态所需的媒体、话题、作者、点赞/收藏状态一次性批量查出后放在这里，
+ * 转换VO时只做内存查找，不再逐行访问数据库或RPC
+ *
+ * @author XiangYuPai
+ */
+@Data
+public class FeedHydrationBo {
+
+    /**
+     * 动态ID -> 媒体列表(已按sortOrder升序)
+     */
+    private Map<Long, List<FeedMedia>> mediaMap = new HashMap<>();
+
+    /**
+     * 动态ID -> 话题关联列表
+     */
+    private Map<Long, List<FeedTopic>> feedTopicMap = new HashMap<>();
+
+    /**
+     * 话题名称 -> 话题
+     */
+    private Map<String, Topic> topicMap = new HashMap<>();
+
+    /**
+     * 作者ID -> 用户基本信息
+     */
+    private Map<Long, RemoteAppUserVo> userMap = new HashMap<>();
+
+    /**
+     * 当前用户已点赞的动态ID
+     */
+    private Set<Long> likedFeedIds = new HashSet<>();
+
+    /**
+     * 当前用户已收藏的动态ID
+     */
+    private Set<Long> collectedFeedIds = new HashSet<>();
+
+    public List<FeedMedia> getMedia(Long feedId) {
+        return mediaMap.getOrDefault(feedId, Collections.emptyList());
+    }
+
+    public List<FeedTopic> getFeedTopics(Long feedId) {
+        return feedTopicMap.getOrDefault(feedId, Collections.emptyList());
+    }
+
+    public Topic getTopic(String topicName) {
+        return topicMap.get(topicName);
+    }
+
+    public RemoteAppUserVo getUser(Long userId) {
+        return userMap.get(userId);
+    }
+
+    public boolean isLiked(Long feedId) {
+        return likedFeedIds.contains(feedId);
+    }
+
+    public boolean isCollected(Long feedId) {
+        return collectedFeedIds.contains(feedId);
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.dromara.content.domain.bo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 关注时间线分页结果
+ *
+ * @author XiangYuPai
+ */
+@Data
+public class FeedTimelinePageBo {
+
+    /**
+     * 当前页动态ID(按发布时间倒序)
+     */
+    private List<Long> feedIds = new ArrayList<>();
+
+    /**
+     * 下一页游标
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多
+     */
+    private boolean hasMore;
+
+}
@@ -24,15 +24,16 @@ public class CommentListQueryDTO implements Serializable {
     private Long feedId;
 
     @Schema(description = "页码", example = "1")
-    @NotNull(message = "页码不能为空")
     @Min(value = 1, message = "页码最小为1")
-    private Integer pageNum;
+    private Integer pageNum = 1;
 
     @Schema(description = "每页数量", example = "20")
-    @NotNull(message = "每页数量不能为空")
     @Min(value = 1, message = "每页数量最小为1")
     @Max(value = 100, message = "每页数量最大为100")
-    private Integer pageSize;
+    private Integer pageSize = 20;
+
+    @Schema(description = "游标(游标分页模式使用, 首页不传)")
+    private String cursor;
 
     @Schema(description = "排序方式: time=时间, hot=热度, like=点赞数", example = "time")
     private String sortType;
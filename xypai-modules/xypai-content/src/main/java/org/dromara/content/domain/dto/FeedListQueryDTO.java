@@ -37,6 +37,9 @@ public class FeedListQueryDTO implements Serializable {
     @Max(value = 100, message = "每页数量最大为100")
     private Integer pageSize;
 
+    @Schema(description = "游标(游标分页模式使用, 首页不传)")
+    private String cursor;
+
     @Schema(description = "用户纬度(同城Tab必传)", example = "22.5431")
     private BigDecimal latitude;
 
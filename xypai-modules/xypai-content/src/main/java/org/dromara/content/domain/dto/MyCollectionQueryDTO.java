@@ -29,4 +29,7 @@ public class MyCollectionQueryDTO implements Serializable {
     @Max(value = 100, message = "每页数量最大为100")
     private Integer pageSize = 20;
 
+    @Schema(description = "游标(游标分页模式使用, 首页不传)")
+    private String cursor;
+
 }
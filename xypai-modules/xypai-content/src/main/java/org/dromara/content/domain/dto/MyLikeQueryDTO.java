@@ -29,6 +29,9 @@ public class MyLikeQueryDTO implements Serializable {
     @Max(value = 100, message = "每页数量最大为100")
     private Integer pageSize = 20;
 
+    @Schema(description = "游标(游标分页模式使用, 首页不传)")
+    private String cursor;
+
     @Schema(description = "点赞类型: feed=动态, comment=评论, all=全部", example = "feed")
     private String type = "feed";
 
@@ -14,6 +14,9 @@ import org.dromara.content.domain.entity.Feed;
 import org.dromara.content.domain.entity.Like;
 import org.dromara.content.mapper.FeedMapper;
 import org.dromara.content.mapper.LikeMapper;
+import org.dromara.content.service.IContentCounterService;
+import org.dromara.content.service.IContentMembershipService;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,6 +40,8 @@ public class RemoteContentServiceImpl implements RemoteContentService {
 
     private final FeedMapper feedMapper;
     private final LikeMapper likeMapper;
+    private final IContentCounterService contentCounterService;
+    private final IContentMembershipService contentMembershipService;
 
     @Override
     public Map<Long, UserFeedsVo> batchGetUserFeeds(List<Long> userIds, Integer limit) {
@@ -51,6 +56,7 @@ public class RemoteContentServiceImpl implements RemoteContentService {
         try {
             // 批量查询所有用户的动态
             List<Feed> allFeeds = feedMapper.selectUsersLatestFeeds(userIds, feedLimit);
+            contentCounterService.mergeFeeds(allFeeds);
 
             // 按用户ID分组
             Map<Long, List<Feed>> feedsByUser = allFeeds.stream()
@@ -92,6 +98,7 @@ public class RemoteContentServiceImpl implements RemoteContentService {
 
         try {
             List<Feed> feeds = feedMapper.selectUserLatestFeeds(userId, feedLimit);
+            contentCounterService.mergeFeeds(feeds);
             Integer totalCount = feedMapper.countUserFeeds(userId);
 
             return UserFeedsVo.builder()
@@ -193,6 +200,7 @@ public class RemoteContentServiceImpl implements RemoteContentService {
             // 分页查询
             Page<Feed> feedPage = new Page<>(page, size);
             Page<Feed> result = feedMapper.selectPage(feedPage, wrapper);
+            contentCounterService.mergeFeeds(result.getRecords());
 
             // 获取当前用户对这些动态的点赞状态
             Set<Long> likedFeedIds = Collections.emptySet();
@@ -200,7 +208,7 @@ public class RemoteContentServiceImpl implements RemoteContentService {
                 List<Long> feedIds = result.getRecords().stream()
                     .map(Feed::getId)
                     .collect(Collectors.toList());
-                likedFeedIds = likeMapper.findLikedTargetIds(currentUserId, "feed", feedIds);
+                likedFeedIds = contentMembershipService.liked(currentUserId, "feed", feedIds);
             }
 
             // 转换为VO
@@ -255,11 +263,18 @@ public class RemoteContentServiceImpl implements RemoteContentService {
                 .targetType("feed")
                 .targetId(momentId)
                 .build();
-            likeMapper.insert(like);
+            try {
+                likeMapper.insert(like);
+            } catch (DuplicateKeyException e) {
+                // 并发点赞或状态缓存落后于库: 以库为准修正缓存
+                contentMembershipService.restore(userId, IContentMembershipService.LIKE, "feed", momentId, true);
+                log.info("用户已点赞过该动态: userId={}, momentId={}", userId, momentId);
+                return false;
+            }
+            contentMembershipService.onChange(userId, IContentMembershipService.LIKE, "feed", momentId, true);
 
             // 更新动态点赞数
-            feed.setLikeCount(feed.getLikeCount() + 1);
-            feedMapper.updateById(feed);
+            contentCounterService.incrementFeed(feed, IContentCounterService.LIKE, 1);
 
             log.info("点赞成功: userId={}, momentId={}", userId, momentId);
             return true;
@@ -280,26 +295,22 @@ public class RemoteContentServiceImpl implements RemoteContentService {
         }
 
         try {
-            // 查找点赞记录
+            // 删除点赞记录, 以删除行数为准
             LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
             wrapper.eq(Like::getUserId, userId);
             wrapper.eq(Like::getTargetType, "feed");
             wrapper.eq(Like::getTargetId, momentId);
 
-            Like like = likeMapper.selectOne(wrapper);
-            if (like == null) {
+            if (!checkMomentLiked(userId, momentId) || likeMapper.delete(wrapper) == 0) {
                 log.info("用户未点赞过该动态: userId={}, momentId={}", userId, momentId);
                 return false;
             }
-
-            // 删除点赞记录
-            likeMapper.deleteById(like.getId());
+            contentMembershipService.onChange(userId, IContentMembershipService.LIKE, "feed", momentId, false);
 
             // 更新动态点赞数
             Feed feed = feedMapper.selectById(momentId);
-            if (feed != null && feed.getLikeCount() > 0) {
-                feed.setLikeCount(feed.getLikeCount() - 1);
-                feedMapper.updateById(feed);
+            if (feed != null) {
+                contentCounterService.incrementFeed(feed, IContentCounterService.LIKE, -1);
             }
 
             log.info("取消点赞成功: userId={}, momentId={}", userId, momentId);
@@ -317,12 +328,7 @@ public class RemoteContentServiceImpl implements RemoteContentService {
             return false;
         }
 
-        LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Like::getUserId, userId);
-        wrapper.eq(Like::getTargetType, "feed");
-        wrapper.eq(Like::getTargetId, momentId);
-
-        return likeMapper.selectCount(wrapper) > 0;
+        return contentMembershipService.isLiked(userId, "feed", momentId);
     }
 
     /**
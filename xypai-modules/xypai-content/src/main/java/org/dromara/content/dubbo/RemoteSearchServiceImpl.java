@@ -0,0 +1,146 @@
+package org.dromara.content.dubbo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboReference;
+import org.apache.dubbo.config.annotation.DubboService;
+import org.dromara.appuser.api.RemoteAppUserService;
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.content.api.RemoteSearchService;
+import org.dromara.content.api.domain.dto.RemoteSearchQueryDto;
+import org.dromara.content.api.domain.vo.RemoteSearchHitVo;
+import org.dromara.content.api.domain.vo.RemoteSearchResult;
+import org.dromara.content.search.SearchCursor;
+import org.dromara.content.search.SearchDocument;
+import org.dromara.content.search.SearchHits;
+import org.dromara.content.search.SearchQuery;
+import org.dromara.content.service.ISearchIndexService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 搜索远程服务实现
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@DubboService
+public class RemoteSearchServiceImpl implements RemoteSearchService {
+
+    private final ISearchIndexService searchIndexService;
+
+    /**
+     * 远程用户服务（Dubbo RPC）
+     */
+    @DubboReference(check = false)
+    private RemoteAppUserService remoteAppUserService;
+
+    @Override
+    public RemoteSearchResult search(RemoteSearchQueryDto queryDto) {
+        RemoteSearchResult result = new RemoteSearchResult();
+        if (StringUtils.isBlank(queryDto.getKeyword())) {
+            result.setList(Collections.emptyList());
+            result.setTotal(0L);
+            result.setHasMore(false);
+            result.setCounts(Collections.emptyMap());
+            return result;
+        }
+
+        String gender = StringUtils.isBlank(queryDto.getGender()) || "all".equals(queryDto.getGender())
+            ? null : queryDto.getGender();
+        Set<String> types = queryDto.getTypes() == null ? Collections.emptySet() : new HashSet<>(queryDto.getTypes());
+        SearchCursor cursor = SearchCursor.decode(queryDto.getCursor());
+        int pageSize = queryDto.getPageSize();
+        SearchHits hits = searchIndexService.search(new SearchQuery(queryDto.getKeyword().trim(), types, gender,
+            cursor, (queryDto.getPageNum() - 1) * pageSize, pageSize, queryDto.getWithCounts()));
+
+        Map<Long, RemoteAppUserVo> users = loadUsers(hits.documents(), queryDto.getCurrentUserId());
+        List<RemoteSearchHitVo> list = new ArrayList<>(hits.documents().size());
+        for (SearchDocument document : hits.documents()) {
+            list.add(convertToHitVo(document, users));
+        }
+        result.setList(list);
+        result.setTotal(hits.total());
+        result.setHasMore(hits.hasMore());
+        result.setNextCursor(hits.nextCursor() != null ? hits.nextCursor().encode() : null);
+        result.setCounts(hits.counts());
+        return result;
+    }
+
+    /**
+     * 动态作者信息、用户关注状态(一次RPC), 失败时不影响结果
+     */
+    private Map<Long, RemoteAppUserVo> loadUsers(List<SearchDocument> documents, Long currentUserId) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (SearchDocument document : documents) {
+            if (SearchDocument.TYPE_FEED.equals(document.getDocType())) {
+                if (document.getUserId() != null) {
+                    userIds.add(document.getUserId());
+                }
+            } else if (currentUserId != null && !SearchDocument.TYPE_TOPIC.equals(document.getDocType())) {
+                userIds.add(document.getRefId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            Map<Long, RemoteAppUserVo> users = remoteAppUserService.batchGetUserBasicInfo(new ArrayList<>(userIds), currentUserId);
+            return users != null ? users : Collections.emptyMap();
+        } catch (Exception e) {
+            log.warn("搜索结果用户信息获取失败: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private RemoteSearchHitVo convertToHitVo(SearchDocument document, Map<Long, RemoteAppUserVo> users) {
+        RemoteSearchHitVo vo = new RemoteSearchHitVo();
+        vo.setType(document.getDocType());
+        vo.setId(document.getRefId());
+        vo.setTitle(document.getTitle());
+        vo.setContent(document.getContent());
+        vo.setImage(document.getImage());
+        vo.setMediaType(document.getMediaType());
+        vo.setGender(document.getGender());
+        vo.setAge(document.getAge());
+        vo.setIsVerified(document.getVerified());
+        vo.setIsOnline(document.getOnline());
+        vo.setTags(StringUtils.isBlank(document.getTags()) ? Collections.emptyList()
+            : Arrays.asList(document.getTags().split(" ")));
+        vo.setPrice(document.getPrice());
+        vo.setPriceUnit(document.getPriceUnit());
+        vo.setIsHot(document.getHot());
+        vo.setLikeCount(document.getLikeCount());
+        vo.setCommentCount(document.getCommentCount());
+        vo.setPostCount(document.getPostCount());
+        vo.setParticipantCount(document.getParticipantCount());
+
+        if (SearchDocument.TYPE_FEED.equals(document.getDocType())) {
+            vo.setUserId(document.getUserId());
+            RemoteAppUserVo author = users.get(document.getUserId());
+            if (author != null) {
+                vo.setNickname(author.getNickname());
+                vo.setAvatar(author.getAvatar());
+            }
+        } else if (!SearchDocument.TYPE_TOPIC.equals(document.getDocType())) {
+            vo.setUserId(document.getRefId());
+            vo.setNickname(document.getTitle());
+            vo.setAvatar(document.getImage());
+            RemoteAppUserVo user = users.get(document.getRefId());
+            vo.setIsFollowed(user != null && Boolean.TRUE.equals(user.getIsFollowed()));
+        }
+        return vo;
+    }
+
+}
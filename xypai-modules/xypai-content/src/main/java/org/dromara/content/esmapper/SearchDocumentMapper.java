@@ -0,0 +1,12 @@
+package org.dromara.content.esmapper;
+
+import org.dromara.content.search.SearchDocument;
+import org.dromara.easyes.core.kernel.BaseEsMapper;
+
+/**
+ * 搜索文档 Elasticsearch Mapper
+ *
+ * @author XiangYuPai
+ */
+public interface SearchDocumentMapper extends BaseEsMapper<SearchDocument> {
+}
@@ -0,0 +1,51 @@
+package org.dromara.content.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.content.domain.entity.Feed;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 计数增量事件
+ * <p>
+ * 事务提交后累加到待落库 Hash，动态的互动计数同时累加热度榜，事务回滚时增量不会写入
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterIncrementEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 目标类型: feed/comment
+     */
+    private String targetType;
+
+    /**
+     * 目标ID
+     */
+    private Long targetId;
+
+    /**
+     * 计数字段
+     */
+    private String field;
+
+    /**
+     * 变化量
+     */
+    private long delta;
+
+    /**
+     * 动态(计数已合并本次增量), 热度榜补齐基础分使用; 按ID累加时为空
+     */
+    private Feed feed;
+
+}
@@ -0,0 +1,64 @@
+package org.dromara.content.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.content.domain.entity.Feed;
+import org.dromara.content.service.IFeedGeoService;
+import org.dromara.content.service.IFeedHotRankService;
+import org.dromara.content.service.IFeedTimelineService;
+import org.dromara.content.service.ISearchIndexService;
+import org.dromara.content.service.ITopicCatalogService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 动态发布后置处理
+ * <p>
+ * 事务提交后异步执行，发布接口不再等待 Redis 写入；事务回滚时不会留下指向不存在动态的索引
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedPublishEventListener {
+
+    private final IFeedHotRankService feedHotRankService;
+    private final IFeedGeoService feedGeoService;
+    private final IFeedTimelineService feedTimelineService;
+    private final ITopicCatalogService topicCatalogService;
+    private final ISearchIndexService searchIndexService;
+
+    /**
+     * 加入热门排行榜、位置索引, 推送到粉丝关注时间线, 通知各节点刷新话题目录(新话题、帖子数), 加入搜索索引
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFeedPublished(FeedPublishedEvent event) {
+        Feed feed = event.getFeed();
+        try {
+            feedHotRankService.addFeed(feed);
+        } catch (Exception e) {
+            log.warn("动态加入热门排行榜失败: feedId={}, error={}", feed.getId(), e.getMessage());
+        }
+        try {
+            feedGeoService.addFeed(feed);
+        } catch (Exception e) {
+            log.warn("动态加入位置索引失败: feedId={}, error={}", feed.getId(), e.getMessage());
+        }
+        feedTimelineService.onPublish(feed);
+        try {
+            topicCatalogService.refresh(event.getTopicNames());
+        } catch (Exception e) {
+            log.warn("话题目录刷新通知失败: feedId={}, error={}", feed.getId(), e.getMessage());
+        }
+        try {
+            searchIndexService.onFeedPublished(feed, event.getTopicNames());
+        } catch (Exception e) {
+            log.warn("动态加入搜索索引失败: feedId={}, error={}", feed.getId(), e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.dromara.content.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.dromara.content.domain.entity.Feed;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 动态发布事件
+ * <p>
+ * 发布事务提交后触发，排行榜、位置索引、关注时间线等派生数据在监听器中异步维护
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedPublishedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 已入库的动态
+     */
+    private Feed feed;
+
+    /**
+     * 话题名称(已去重)
+     */
+    private List<String> topicNames;
+
+}
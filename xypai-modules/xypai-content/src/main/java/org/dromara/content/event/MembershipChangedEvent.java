@@ -0,0 +1,50 @@
+package org.dromara.content.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 点赞/收藏状态变更事件
+ * <p>
+ * 事务提交后写穿到状态缓存，事务回滚时缓存不受影响
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipChangedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 行为类型: like/collect
+     */
+    private String action;
+
+    /**
+     * 目标类型
+     */
+    private String targetType;
+
+    /**
+     * 目标ID
+     */
+    private Long targetId;
+
+    /**
+     * 变更后状态
+     */
+    private boolean active;
+
+}
@@ -3,6 +3,8 @@ package org.dromara.content.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.dromara.content.domain.entity.Comment;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 
 /**
  * 评论Mapper
@@ -12,4 +14,19 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface CommentMapper extends BaseMapper<Comment> {
 
+    /**
+     * 合并写入计数增量(计数不小于0)
+     *
+     * @param id        评论ID
+     * @param likeDelta 点赞数增量
+     * @return 影响行数
+     */
+    @Update("""
+        UPDATE comment
+        SET like_count = GREATEST(like_count + #{likeDelta}, 0)
+        WHERE id = #{id}
+        """)
+    int applyCounterDeltas(@Param("id") Long id,
+                           @Param("likeDelta") long likeDelta);
+
 }
@@ -5,6 +5,7 @@ import org.dromara.content.domain.entity.Feed;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -19,6 +20,7 @@ public interface FeedMapper extends BaseMapper<Feed> {
 
     /**
      * 查询附近的动态(基于经纬度)
+     * 先按外接矩形走经纬度索引预过滤，再精确计算距离；列表检索优先使用位置索引 IFeedGeoService
      *
      * @param latitude 纬度
      * @param longitude 经度
@@ -35,6 +37,9 @@ public interface FeedMapper extends BaseMapper<Feed> {
         FROM feed
         WHERE deleted = 0
           AND status = 0
+          AND latitude BETWEEN #{latitude} - #{radiusKm} / 111.32 AND #{latitude} + #{radiusKm} / 111.32
+          AND longitude BETWEEN #{longitude} - #{radiusKm} / (111.32 * COS(RADIANS(#{latitude})))
+                            AND #{longitude} + #{radiusKm} / (111.32 * COS(RADIANS(#{latitude})))
           AND ST_Distance_Sphere(
                 POINT(longitude, latitude),
                 POINT(#{longitude}, #{latitude})
@@ -113,4 +118,31 @@ public interface FeedMapper extends BaseMapper<Feed> {
         """)
     Integer countUserFeeds(@Param("userId") Long userId);
 
+    /**
+     * 合并写入计数增量(计数不小于0)
+     *
+     * @param id            动态ID
+     * @param likeDelta     点赞数增量
+     * @param commentDelta  评论数增量
+     * @param shareDelta    分享数增量
+     * @param collectDelta  收藏数增量
+     * @param viewDelta     浏览数增量
+     * @return 影响行数
+     */
+    @Update("""
+        UPDATE feed
+        SET like_count = GREATEST(like_count + #{likeDelta}, 0),
+            comment_count = GREATEST(comment_count + #{commentDelta}, 0),
+            share_count = GREATEST(share_count + #{shareDelta}, 0),
+            collect_count = GREATEST(collect_count + #{collectDelta}, 0),
+            view_count = GREATEST(view_count + #{viewDelta}, 0)
+        WHERE id = #{id}
+        """)
+    int applyCounterDeltas(@Param("id") Long id,
+                           @Param("likeDelta") long likeDelta,
+                           @Param("commentDelta") long commentDelta,
+                           @Param("shareDelta") long shareDelta,
+                           @Param("collectDelta") long collectDelta,
+                           @Param("viewDelta") long viewDelta);
+
 }
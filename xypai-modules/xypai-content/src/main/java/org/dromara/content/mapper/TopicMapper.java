@@ -2,7 +2,11 @@ package org.dromara.content.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.dromara.content.domain.entity.Topic;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 话题Mapper
@@ -12,4 +16,23 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface TopicMapper extends BaseMapper<Topic> {
 
+    /**
+     * 批量登记话题使用: 不存在的话题新建(帖子数为1), 已存在的帖子数原子加1
+     * 依赖 uk_name 唯一索引; 调用方需去重并按名称排序, 保证并发发布时加锁顺序一致
+     *
+     * @param topics 话题(需预先分配ID和名称)
+     * @return 影响行数
+     */
+    @Insert("""
+        <script>
+        INSERT INTO topic (id, name, post_count, participant_count, is_official, is_hot)
+        VALUES
+        <foreach collection="topics" item="t" separator=",">
+            (#{t.id}, #{t.name}, 1, 0, 0, 0)
+        </foreach>
+        ON DUPLICATE KEY UPDATE post_count = post_count + 1
+        </script>
+        """)
+    int upsertIncrementPostCount(@Param("topics") List<Topic> topics);
+
 }
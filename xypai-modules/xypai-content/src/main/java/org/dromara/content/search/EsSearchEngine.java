@@ -0,0 +1,142 @@
+package org.dromara.content.search;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.content.esmapper.SearchDocumentMapper;
+import org.dromara.easyes.core.biz.EsPageInfo;
+import org.dromara.easyes.core.biz.SAPageInfo;
+import org.dromara.easyes.core.conditions.select.LambdaEsQueryWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Elasticsearch 搜索引擎(Easy-ES)
+ * <p>
+ * title/tags/content 使用 IK 分词, 按字段加权 match; 排序为 相关度降序, 业务ID升序, 类型升序,
+ * 带游标时使用 search_after 翻页, 不带游标的非首页兼容按页码查询。
+ * 各类型命中数通过一次 docType 词项聚合获得
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EsSearchEngine implements SearchEngine {
+
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float TAGS_BOOST = 2.0f;
+    private static final float CONTENT_BOOST = 1.0f;
+
+    private static final String TYPE_AGGREGATION = "docType";
+
+    private final SearchDocumentMapper searchDocumentMapper;
+
+    @Override
+    public boolean shared() {
+        return true;
+    }
+
+    @Override
+    public void upsert(Collection<SearchDocument> documents) {
+        if (!documents.isEmpty()) {
+            searchDocumentMapper.insertBatch(documents);
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            searchDocumentMapper.deleteBatchIds(ids);
+        }
+    }
+
+    @Override
+    public void deleteStale(String docType, long before) {
+        LambdaEsQueryWrapper<SearchDocument> wrapper = new LambdaEsQueryWrapper<>();
+        wrapper.eq(SearchDocument::getDocType, docType)
+            .lt(SearchDocument::getIndexedAt, before);
+        searchDocumentMapper.delete(wrapper);
+    }
+
+    @Override
+    public SearchHits search(SearchQuery query) {
+        LambdaEsQueryWrapper<SearchDocument> wrapper = matchWrapper(query);
+        if (query.types() != null && !query.types().isEmpty()) {
+            wrapper.in(SearchDocument::getDocType, query.types());
+        }
+        wrapper.sortByScore();
+        wrapper.orderByAsc(SearchDocument::getRefId, SearchDocument::getDocType);
+
+        List<SearchDocument> documents;
+        long total;
+        boolean hasMore;
+        SearchCursor nextCursor = null;
+        if (query.cursor() == null && query.offset() > 0) {
+            EsPageInfo<SearchDocument> page = searchDocumentMapper.pageQuery(wrapper,
+                query.offset() / query.size() + 1, query.size());
+            documents = page.getList();
+            total = page.getTotal();
+            hasMore = page.isHasNextPage();
+        } else {
+            SearchCursor cursor = query.cursor();
+            List<Object> searchAfter = cursor == null ? null
+                : List.of(cursor.score(), cursor.refId(), cursor.docType());
+            SAPageInfo<SearchDocument> page = searchDocumentMapper.searchAfterPage(wrapper, searchAfter, query.size());
+            documents = page.getList();
+            total = page.getTotal();
+            hasMore = documents.size() == query.size() && page.getNextSearchAfter() != null;
+            if (hasMore) {
+                List<Object> next = page.getNextSearchAfter();
+                nextCursor = new SearchCursor(((Number) next.get(0)).floatValue(),
+                    ((Number) next.get(1)).longValue(), String.valueOf(next.get(2)));
+            }
+        }
+        Map<String, Long> counts = query.withCounts() ? countByType(query) : Collections.emptyMap();
+        return new SearchHits(new ArrayList<>(documents), total, hasMore, nextCursor, counts);
+    }
+
+    /**
+     * 各类型命中数: 不限类型的同一查询, 只取 docType 聚合
+     */
+    private Map<String, Long> countByType(SearchQuery query) {
+        LambdaEsQueryWrapper<SearchDocument> wrapper = matchWrapper(query);
+        wrapper.limit(0);
+        wrapper.termsAggregation(TYPE_AGGREGATION, SearchDocument::getDocType);
+        Map<String, Long> counts = new HashMap<>();
+        try {
+            SearchResponse<SearchDocument> response = searchDocumentMapper.search(wrapper);
+            Aggregate aggregate = response.aggregations().get(TYPE_AGGREGATION);
+            if (aggregate != null) {
+                for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+                    counts.put(bucket.key().stringValue(), bucket.docCount());
+                }
+            }
+        } catch (Exception e) {
+            // 统计失败不影响结果列表, Tab数量显示为0
+            log.warn("搜索类型统计失败: keyword={}, error={}", query.keyword(), e.getMessage());
+        }
+        return counts;
+    }
+
+    private LambdaEsQueryWrapper<SearchDocument> matchWrapper(SearchQuery query) {
+        LambdaEsQueryWrapper<SearchDocument> wrapper = new LambdaEsQueryWrapper<>();
+        String keyword = query.keyword();
+        wrapper.and(w -> w.match(SearchDocument::getTitle, keyword, TITLE_BOOST)
+            .or().match(SearchDocument::getTags, keyword, TAGS_BOOST)
+            .or().match(SearchDocument::getContent, keyword, CONTENT_BOOST));
+        if (query.gender() != null) {
+            // 性别只过滤用户和服务者
+            wrapper.and(w -> w.in(SearchDocument::getDocType, List.of(SearchDocument.TYPE_FEED, SearchDocument.TYPE_TOPIC))
+                .or().eq(SearchDocument::getGender, query.gender()));
+        }
+        return wrapper;
+    }
+
+}
@@ -0,0 +1,298 @@
+package org.dromara.content.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 进程内搜索引擎
+ * <p>
+ * 倒排索引: 词 -> (文档ID -> 各字段词频)。查询时从文档数最少的词开始求交集(所有词都命中),
+ * 按 BM25 计算 标题/标签/正文 加权得分并乘以热度系数; 一次遍历同时统计各类型命中数,
+ * 用定长小顶堆取出游标之后的一页, 不对全部命中排序。
+ * 每个节点各自维护一份, 读写锁保护, 写入只发生在增量更新和定时重载
+ *
+ * @author XiangYuPai
+ */
+public class LocalSearchEngine implements SearchEngine {
+
+    private static final int TITLE = 0;
+    private static final int TAGS = 1;
+    private static final int CONTENT = 2;
+    private static final int FIELD_COUNT = 3;
+
+    /**
+     * 字段权重: 标题 > 标签 > 正文
+     */
+    private static final float[] FIELD_WEIGHTS = {3.0f, 2.0f, 1.0f};
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    /**
+     * 热度系数: 1 + POPULARITY_FACTOR * ln(1 + 热度)
+     */
+    private static final float POPULARITY_FACTOR = 0.1f;
+
+    /**
+     * 排序: 相关度降序, 业务ID升序, 类型升序(与游标一致)
+     */
+    private static final Comparator<Scored> RANK_ORDER = Comparator
+        .comparingDouble((Scored s) -> s.score).reversed()
+        .thenComparingLong(s -> s.entry.document.getRefId())
+        .thenComparing(s -> s.entry.document.getDocType());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 文档ID -> 文档
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * 词 -> (文档ID -> 各字段词频)
+     */
+    private final Map<String, Map<String, int[]>> postings = new HashMap<>();
+
+    /**
+     * 各字段总词数(计算平均长度)
+     */
+    private final long[] totalLengths = new long[FIELD_COUNT];
+
+    @Override
+    public boolean shared() {
+        return false;
+    }
+
+    @Override
+    public void upsert(Collection<SearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            for (SearchDocument document : documents) {
+                remove(document.getId());
+                add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteStale(String docType, long before) {
+        lock.writeLock().lock();
+        try {
+            List<String> stale = new ArrayList<>();
+            entries.forEach((id, entry) -> {
+                SearchDocument document = entry.document;
+                if (docType.equals(document.getDocType())
+                    && (document.getIndexedAt() == null || document.getIndexedAt() < before)) {
+                    stale.add(id);
+                }
+            });
+            stale.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public SearchHits search(SearchQuery query) {
+        List<String> terms = SearchTokenizer.queryTerms(query.keyword());
+        if (terms.isEmpty()) {
+            return new SearchHits(Collections.emptyList(), 0, false, null, Collections.emptyMap());
+        }
+        lock.readLock().lock();
+        try {
+            return doSearch(query, terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchHits doSearch(SearchQuery query, List<String> terms) {
+        List<Map<String, int[]>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<String, int[]> posting = postings.get(term);
+            if (posting == null) {
+                return new SearchHits(Collections.emptyList(), 0, false, null, Collections.emptyMap());
+            }
+            termPostings.add(posting);
+        }
+        // 从最短的倒排表开始遍历, 其余词逐个校验
+        termPostings.sort(Comparator.comparingInt(Map::size));
+
+        int docCount = entries.size();
+        float[] idf = new float[termPostings.size()];
+        for (int i = 0; i < idf.length; i++) {
+            int df = termPostings.get(i).size();
+            idf[i] = (float) Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        }
+        float[] avgLengths = new float[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            avgLengths[f] = docCount == 0 ? 1 : Math.max(1, (float) totalLengths[f] / docCount);
+        }
+
+        Set<String> types = query.types();
+        SearchCursor cursor = query.cursor();
+        int limit = (cursor == null ? query.offset() : 0) + query.size() + 1;
+        // 小顶堆(按排序末位在堆顶), 只保留前 limit 条
+        PriorityQueue<Scored> top = new PriorityQueue<>(limit, RANK_ORDER.reversed());
+        Map<String, Long> counts = new HashMap<>();
+        long total = 0;
+
+        outer:
+        for (Map.Entry<String, int[]> first : termPostings.get(0).entrySet()) {
+            String id = first.getKey();
+            for (int i = 1; i < termPostings.size(); i++) {
+                if (!termPostings.get(i).containsKey(id)) {
+                    continue outer;
+                }
+            }
+            Entry entry = entries.get(id);
+            SearchDocument document = entry.document;
+            if (!matchesGender(document, query.gender())) {
+                continue;
+            }
+            if (query.withCounts()) {
+                counts.merge(document.getDocType(), 1L, Long::sum);
+            }
+            if (types != null && !types.isEmpty() && !types.contains(document.getDocType())) {
+                continue;
+            }
+            total++;
+
+            float score = 0;
+            for (int i = 0; i < termPostings.size(); i++) {
+                int[] tf = i == 0 ? first.getValue() : termPostings.get(i).get(id);
+                score += idf[i] * fieldScore(tf, entry.lengths, avgLengths);
+            }
+            long popularity = document.getPopularity() == null ? 0 : Math.max(0, document.getPopularity());
+            score *= 1 + POPULARITY_FACTOR * (float) Math.log1p(popularity);
+
+            if (cursor != null && !cursor.isBefore(score, document.getRefId(), document.getDocType())) {
+                continue;
+            }
+            Scored scored = new Scored(entry, score);
+            if (top.size() < limit) {
+                top.add(scored);
+            } else if (RANK_ORDER.compare(scored, top.peek()) < 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(RANK_ORDER);
+        int from = cursor == null ? Math.min(query.offset(), ranked.size()) : 0;
+        int to = Math.min(from + query.size(), ranked.size());
+        List<Scored> page = ranked.subList(from, to);
+        boolean hasMore = ranked.size() > to;
+
+        List<SearchDocument> documents = new ArrayList<>(page.size());
+        page.forEach(s -> documents.add(s.entry.document));
+        SearchCursor nextCursor = null;
+        if (hasMore && !page.isEmpty()) {
+            Scored last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.score, last.entry.document.getRefId(), last.entry.document.getDocType());
+        }
+        return new SearchHits(documents, total, hasMore, nextCursor, counts);
+    }
+
+    private static float fieldScore(int[] tf, int[] lengths, float[] avgLengths) {
+        float score = 0;
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            if (tf[f] == 0) {
+                continue;
+            }
+            float norm = K1 * (1 - B + B * lengths[f] / avgLengths[f]);
+            score += FIELD_WEIGHTS[f] * tf[f] * (K1 + 1) / (tf[f] + norm);
+        }
+        return score;
+    }
+
+    private static boolean matchesGender(SearchDocument document, String gender) {
+        if (gender == null) {
+            return true;
+        }
+        String docType = document.getDocType();
+        if (!SearchDocument.TYPE_USER.equals(docType) && !SearchDocument.TYPE_PROVIDER.equals(docType)) {
+            return true;
+        }
+        return gender.equals(document.getGender());
+    }
+
+    private void add(SearchDocument document) {
+        String id = document.getId();
+        String[] fields = new String[FIELD_COUNT];
+        fields[TITLE] = document.getTitle();
+        fields[TAGS] = document.getTags();
+        fields[CONTENT] = document.getContent();
+
+        int[] lengths = new int[FIELD_COUNT];
+        Map<String, int[]> termFreqs = new HashMap<>();
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            List<String> terms = SearchTokenizer.indexTerms(fields[f]);
+            lengths[f] = terms.size();
+            totalLengths[f] += terms.size();
+            for (String term : terms) {
+                termFreqs.computeIfAbsent(term, k -> new int[FIELD_COUNT])[f]++;
+            }
+        }
+        termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(id, tf));
+        entries.put(id, new Entry(document, lengths, termFreqs.keySet().toArray(new String[0])));
+    }
+
+    private void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalLengths[f] -= entry.lengths[f];
+        }
+        for (String term : entry.terms) {
+            Map<String, int[]> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * 索引中的文档
+     *
+     * @param document 文档
+     * @param lengths  各字段词数
+     * @param terms    文档包含的词(删除时清理倒排表)
+     */
+    private record Entry(SearchDocument document, int[] lengths, String[] terms) {
+    }
+
+    /**
+     * 打分后的命中
+     */
+    private record Scored(Entry entry, float score) {
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.dromara.content.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 搜索游标: 上一页最后一条的排序值(相关度降序, 业务ID升序, 类型升序)
+ *
+ * @param score   相关度
+ * @param refId   业务ID
+ * @param docType 文档类型
+ * @author XiangYuPai
+ */
+public record SearchCursor(float score, long refId, String docType) {
+
+    public String encode() {
+        String raw = score + "," + refId + "," + docType;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标, 格式不正确时返回null(按首页处理)
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",", 3);
+            if (parts.length != 3) {
+                return null;
+            }
+            return new SearchCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 给定排序值是否排在游标之后
+     */
+    public boolean isBefore(float otherScore, long otherRefId, String otherDocType) {
+        int cmp = Float.compare(otherScore, score);
+        if (cmp != 0) {
+            return cmp < 0;
+        }
+        if (otherRefId != refId) {
+            return otherRefId > refId;
+        }
+        return otherDocType.compareTo(docType) > 0;
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.dromara.content.search;
+
+import lombok.Data;
+import org.dromara.easyes.annotation.IndexField;
+import org.dromara.easyes.annotation.IndexId;
+import org.dromara.easyes.annotation.IndexName;
+import org.dromara.easyes.annotation.rely.Analyzer;
+import org.dromara.easyes.annotation.rely.FieldType;
+import org.dromara.easyes.annotation.rely.IdType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * 搜索文档
+ * <p>
+ * 动态、用户、服务者、话题共用一个索引，按 docType 区分；title/tags/content 参与全文检索，
+ * 其余字段用于过滤和结果展示。文档ID为 "类型:业务ID"
+ *
+ * @author XiangYuPai
+ */
+@Data
+@IndexName("xypai_content_search")
+public class SearchDocument implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String TYPE_FEED = "feed";
+    public static final String TYPE_USER = "user";
+    public static final String TYPE_PROVIDER = "provider";
+    public static final String TYPE_TOPIC = "topic";
+
+    /**
+     * 文档ID: 类型:业务ID
+     */
+    @IndexId(type = IdType.CUSTOMIZE)
+    private String id;
+
+    /**
+     * 文档类型: feed/user/provider/topic
+     */
+    @IndexField(fieldType = FieldType.KEYWORD)
+    private String docType;
+
+    /**
+     * 业务ID: 动态ID/用户ID/话题ID
+     */
+    @IndexField(fieldType = FieldType.LONG)
+    private Long refId;
+
+    /**
+     * 标题: 动态标题/用户昵称/话题名称
+     */
+    @IndexField(fieldType = FieldType.TEXT, analyzer = Analyzer.IK_MAX_WORD, searchAnalyzer = Analyzer.IK_SMART)
+    private String title;
+
+    /**
+     * 标签(空格分隔): 动态话题/服务者技能
+     */
+    @IndexField(fieldType = FieldType.TEXT, analyzer = Analyzer.IK_MAX_WORD, searchAnalyzer = Analyzer.IK_SMART)
+    private String tags;
+
+    /**
+     * 正文: 动态内容/个人简介/技能描述/话题描述
+     */
+    @IndexField(fieldType = FieldType.TEXT, analyzer = Analyzer.IK_MAX_WORD, searchAnalyzer = Analyzer.IK_SMART)
+    private String content;
+
+    @IndexField(fieldType = FieldType.KEYWORD)
+    private String image;
+
+    @IndexField(fieldType = FieldType.KEYWORD)
+    private String mediaType;
+
+    /**
+     * 动态作者ID
+     */
+    @IndexField(fieldType = FieldType.LONG)
+    private Long userId;
+
+    @IndexField(fieldType = FieldType.KEYWORD)
+    private String gender;
+
+    @IndexField(fieldType = FieldType.INTEGER)
+    private Integer age;
+
+    @IndexField(fieldType = FieldType.BOOLEAN)
+    private Boolean verified;
+
+    @IndexField(fieldType = FieldType.BOOLEAN)
+    private Boolean online;
+
+    @IndexField(fieldType = FieldType.DOUBLE)
+    private BigDecimal price;
+
+    @IndexField(fieldType = FieldType.KEYWORD)
+    private String priceUnit;
+
+    @IndexField(fieldType = FieldType.BOOLEAN)
+    private Boolean hot;
+
+    @IndexField(fieldType = FieldType.INTEGER)
+    private Integer likeCount;
+
+    @IndexField(fieldType = FieldType.INTEGER)
+    private Integer commentCount;
+
+    @IndexField(fieldType = FieldType.INTEGER)
+    private Integer postCount;
+
+    @IndexField(fieldType = FieldType.INTEGER)
+    private Integer participantCount;
+
+    /**
+     * 热度(点赞数/粉丝数/订单数/帖子数), 相关度相同时热度高的靠前
+     */
+    @IndexField(fieldType = FieldType.LONG)
+    private Long popularity;
+
+    /**
+     * 写入索引的时间(毫秒), 全量重载时早于本轮开始时间的文档视为已失效
+     */
+    @IndexField(fieldType = FieldType.LONG)
+    private Long indexedAt;
+
+    public static String id(String docType, Long refId) {
+        return docType + ":" + refId;
+    }
+
+}
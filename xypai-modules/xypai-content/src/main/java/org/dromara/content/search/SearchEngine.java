@@ -0,0 +1,43 @@
+package org.dromara.content.search;
+
+import java.util.Collection;
+
+/**
+ * 搜索引擎
+ * <p>
+ * 两种实现: 配置 easy-es.enable=true 时使用 Elasticsearch({@link EsSearchEngine})，
+ * 否则使用进程内倒排索引({@link LocalSearchEngine}, 用于测试和本地运行)
+ *
+ * @author XiangYuPai
+ */
+public interface SearchEngine {
+
+    /**
+     * 是否为各节点共享的索引; 非共享时索引变更需要广播到所有节点
+     */
+    boolean shared();
+
+    /**
+     * 写入或覆盖文档
+     */
+    void upsert(Collection<SearchDocument> documents);
+
+    /**
+     * 按文档ID删除
+     */
+    void delete(Collection<String> ids);
+
+    /**
+     * 删除指定类型中写入时间早于给定时间的文档(全量重载后清理已失效文档)
+     *
+     * @param docType 文档类型
+     * @param before  毫秒时间戳
+     */
+    void deleteStale(String docType, long before);
+
+    /**
+     * 搜索
+     */
+    SearchHits search(SearchQuery query);
+
+}
@@ -0,0 +1,30 @@
+package org.dromara.content.search;
+
+import org.dromara.content.esmapper.SearchDocumentMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索引擎配置
+ * <p>
+ * easy-es.enable=true 时使用 Elasticsearch, 未配置或为false时使用进程内索引
+ *
+ * @author XiangYuPai
+ */
+@Configuration
+public class SearchEngineConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(value = "easy-es.enable", havingValue = "true")
+    public SearchEngine esSearchEngine(SearchDocumentMapper searchDocumentMapper) {
+        return new EsSearchEngine(searchDocumentMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "easy-es.enable", havingValue = "false", matchIfMissing = true)
+    public SearchEngine localSearchEngine() {
+        return new LocalSearchEngine();
+    }
+
+}
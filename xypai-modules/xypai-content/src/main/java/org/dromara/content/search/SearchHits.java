@@ -0,0 +1,18 @@
+package org.dromara.content.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索结果
+ *
+ * @param documents  命中文档(按相关度降序)
+ * @param total      所查类型的命中总数
+ * @param hasMore    是否有更多
+ * @param nextCursor 下一页游标
+ * @param counts     文档类型 -> 命中数(不受类型限制), 未要求统计时为空
+ * @author XiangYuPai
+ */
+public record SearchHits(List<SearchDocument> documents, long total, boolean hasMore,
+                         SearchCursor nextCursor, Map<String, Long> counts) {
+}
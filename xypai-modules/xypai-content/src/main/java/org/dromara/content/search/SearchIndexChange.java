@@ -0,0 +1,34 @@
+package org.dromara.content.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 搜索索引变更(进程内索引时通过 Redis 广播到所有节点)
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexChange implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 写入或覆盖的文档
+     */
+    private List<SearchDocument> upserts;
+
+    /**
+     * 删除的文档ID
+     */
+    private List<String> deletes;
+
+}
@@ -0,0 +1,19 @@
+package org.dromara.content.search;
+
+import java.util.Set;
+
+/**
+ * 搜索条件
+ *
+ * @param keyword    关键词
+ * @param types      文档类型
+ * @param gender     性别(只过滤用户和服务者), 为null不限
+ * @param cursor     游标, 为null时从offset开始
+ * @param offset     偏移量(无游标时)
+ * @param size       每页数量
+ * @param withCounts 是否统计各类型命中数
+ * @author XiangYuPai
+ */
+public record SearchQuery(String keyword, Set<String> types, String gender, SearchCursor cursor,
+                          int offset, int size, boolean withCounts) {
+}
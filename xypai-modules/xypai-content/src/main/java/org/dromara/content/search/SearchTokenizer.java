@@ -0,0 +1,94 @@
+package org.dromara.content.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 本地索引分词器
+ * <p>
+ * 中日韩文字按二元切分(索引时同时保留单字, 单字查询也能命中)，字母数字按连续串切分并转小写，
+ * 其余字符(空白、标点、表情)作为分隔符。查询时连续两个以上汉字只取二元词, 所有词都命中才算匹配, 效果接近短语匹配
+ *
+ * @author XiangYuPai
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 索引分词, 保留重复词(用于词频)
+     */
+    public static List<String> indexTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, true, terms);
+        return terms;
+    }
+
+    /**
+     * 查询分词, 已去重
+     */
+    public static List<String> queryTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, false, terms);
+        Set<String> distinct = new LinkedHashSet<>(terms);
+        return new ArrayList<>(distinct);
+    }
+
+    private static void tokenize(String text, boolean index, List<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                emitCjk(text.substring(start, i), index, terms);
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < length) {
+                    int c = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(c) || isCjk(c)) {
+                        break;
+                    }
+                    i += Character.charCount(c);
+                }
+                terms.add(text.substring(start, i).toLowerCase());
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+    }
+
+    private static void emitCjk(String run, boolean index, List<String> terms) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            terms.add(run);
+            return;
+        }
+        for (int j = 0; j < cps.length; j++) {
+            if (index) {
+                terms.add(new String(cps, j, 1));
+            }
+            if (j + 1 < cps.length) {
+                terms.add(new String(cps, j, 2));
+            }
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+            || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA
+            || script == Character.UnicodeScript.HANGUL;
+    }
+
+}
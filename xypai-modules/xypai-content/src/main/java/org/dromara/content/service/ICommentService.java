@@ -1,6 +1,7 @@
 package org.dromara.content.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.dromara.common.mybatis.core.page.CursorPage;
 import org.dromara.content.domain.dto.CommentListQueryDTO;
 import org.dromara.content.domain.dto.CommentPublishDTO;
 import org.dromara.content.domain.vo.CommentListVO;
@@ -21,6 +22,15 @@ public interface ICommentService {
      */
     Page<CommentListVO> getCommentList(CommentListQueryDTO queryDTO, Long userId);
 
+    /**
+     * 游标分页获取评论列表(按时间倒序, 置顶评论在首页返回)
+     *
+     * @param queryDTO 查询参数(cursor为上一页返回的游标)
+     * @param userId 当前用户ID
+     * @return 评论列表
+     */
+    CursorPage<CommentListVO> scrollCommentList(CommentListQueryDTO queryDTO, Long userId);
+
     /**
      * 发布评论
      *
@@ -0,0 +1,75 @@
+package org.dromara.content.service;
+
+import org.dromara.content.domain.entity.Comment;
+import org.dromara.content.domain.entity.Feed;
+
+import java.util.Collection;
+
+/**
+ * 内容计数服务接口
+ * <p>
+ * 点赞/评论/分享/收藏/浏览数先以原子增量累积在 Redis，定时批量合并写回数据库；
+ * 读取时将未落库的增量合并到实体上，调用方无需关心计数是否已持久化
+ *
+ * @author XiangYuPai
+ */
+public interface IContentCounterService {
+
+    /**
+     * 计数字段
+     */
+    String LIKE = "like";
+    String COMMENT = "comment";
+    String SHARE = "share";
+    String COLLECT = "collect";
+    String VIEW = "view";
+
+    /**
+     * 动态计数增量
+     *
+     * @param feed  动态(计数字段会被更新为合并后的值)
+     * @param field 计数字段
+     * @param delta 变化量
+     * @return 合并后的计数
+     */
+    int incrementFeed(Feed feed, String field, int delta);
+
+    /**
+     * 动态计数增量(只累积, 不读取合并后的值)
+     *
+     * @param feedId 动态ID
+     * @param field  计数字段
+     * @param delta  变化量
+     */
+    void incrementFeed(Long feedId, String field, int delta);
+
+    /**
+     * 评论计数增量(仅支持点赞数)
+     *
+     * @param comment 评论(计数字段会被更新为合并后的值)
+     * @param field   计数字段
+     * @param delta   变化量
+     * @return 合并后的计数
+     */
+    int incrementComment(Comment comment, String field, int delta);
+
+    /**
+     * 将未落库的增量合并到动态计数上
+     *
+     * @param feeds 动态列表
+     */
+    void mergeFeeds(Collection<Feed> feeds);
+
+    /**
+     * 将未落库的增量合并到评论计数上
+     *
+     * @param comments 评论列表
+     */
+    void mergeComments(Collection<Comment> comments);
+
+    /**
+     * 立即将累积的增量写回数据库
+     */
+    void flush();
+
+}
@@ -0,0 +1,78 @@
+package org.dromara.content.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 点赞/收藏状态服务接口
+ * <p>
+ * 按用户+目标类型在 Redis 中缓存已点赞/已收藏的目标ID集合，首次访问时从数据库加载，
+ * 点赞/收藏变更在事务提交后写穿到缓存。列表渲染批量判断状态时只需一次 Redis 往返
+ *
+ * @author XiangYuPai
+ */
+public interface IContentMembershipService {
+
+    /**
+     * 行为类型: 点赞
+     */
+    String LIKE = "like";
+
+    /**
+     * 行为类型: 收藏
+     */
+    String COLLECT = "collect";
+
+    /**
+     * 批量判断点赞状态
+     *
+     * @param userId     用户ID, 为空时返回空集合
+     * @param targetType 目标类型 feed/comment
+     * @param targetIds  目标ID集合
+     * @return 已点赞的目标ID
+     */
+    Set<Long> liked(Long userId, String targetType, Collection<Long> targetIds);
+
+    /**
+     * 批量判断收藏状态
+     *
+     * @param userId     用户ID, 为空时返回空集合
+     * @param targetType 目标类型
+     * @param targetIds  目标ID集合
+     * @return 已收藏的目标ID
+     */
+    Set<Long> collected(Long userId, String targetType, Collection<Long> targetIds);
+
+    /**
+     * 是否已点赞
+     */
+    boolean isLiked(Long userId, String targetType, Long targetId);
+
+    /**
+     * 是否已收藏
+     */
+    boolean isCollected(Long userId, String targetType, Long targetId);
+
+    /**
+     * 登记状态变更(点赞/取消点赞/收藏/取消收藏), 在当前事务提交后写穿到缓存；无事务时立即写入
+     *
+     * @param userId     用户ID
+     * @param action     行为类型 {@link #LIKE}/{@link #COLLECT}
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @param active     变更后状态: true=已点赞/已收藏
+     */
+    void onChange(Long userId, String action, String targetType, Long targetId, boolean active);
+
+    /**
+     * 立即写入状态缓存, 不等待当前事务; 用于库中状态已确定的情况(如插入时唯一键冲突, 说明记录已由其他请求提交)
+     *
+     * @param userId     用户ID
+     * @param action     行为类型 {@link #LIKE}/{@link #COLLECT}
+     * @param targetType 目标类型
+     * @param targetId   目标ID
+     * @param active     库中状态: true=已点赞/已收藏
+     */
+    void restore(Long userId, String action, String targetType, Long targetId, boolean active);
+
+}
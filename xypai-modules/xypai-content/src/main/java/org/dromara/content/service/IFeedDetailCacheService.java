@@ -0,0 +1,41 @@
+package org.dromara.content.service;
+
+import org.dromara.content.domain.bo.FeedDetailBodyBo;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 动态详情多级缓存服务接口
+ * <p>
+ * 一级: 本地 Caffeine(短时有效, 跨节点通过 Redis 发布订阅失效)；二级: Redis；未命中时回源数据库。
+ * 只缓存与查看者无关的共享主体，编辑/删除/计数落库后失效
+ *
+ * @author XiangYuPai
+ */
+public interface IFeedDetailCacheService {
+
+    /**
+     * 读取详情共享主体(返回对象为共享实例, 调用方不得修改)
+     *
+     * @param feedId 动态ID
+     * @param loader 缓存未命中时的回源加载
+     * @return 共享主体
+     */
+    FeedDetailBodyBo getBody(Long feedId, Function<Long, FeedDetailBodyBo> loader);
+
+    /**
+     * 失效单条动态详情
+     *
+     * @param feedId 动态ID
+     */
+    void evict(Long feedId);
+
+    /**
+     * 批量失效动态详情
+     *
+     * @param feedIds 动态ID集合
+     */
+    void evictAll(Collection<Long> feedIds);
+
+}
@@ -0,0 +1,64 @@
+package org.dromara.content.service;
+
+import org.dromara.common.redis.utils.GeoIndexUtils.GeoPage;
+import org.dromara.content.domain.entity.Feed;
+
+import java.math.BigDecimal;
+
+/**
+ * 动态地理位置索引服务接口
+ * <p>
+ * 发布/删除时维护 Redis GEO 索引，附近检索按距离分页读取动态ID，不再逐行计算距离
+ *
+ * @author XiangYuPai
+ */
+public interface IFeedGeoService {
+
+    /**
+     * 动态加入位置索引(无经纬度时忽略)
+     *
+     * @param feed 动态
+     */
+    void addFeed(Feed feed);
+
+    /**
+     * 从位置索引移除动态
+     *
+     * @param feed 动态
+     */
+    void removeFeed(Feed feed);
+
+    /**
+     * 按页码检索附近动态(由近到远)
+     *
+     * @param latitude  纬度
+     * @param longitude 经度
+     * @param radiusKm  半径(公里)
+     * @param type      动态类型(可为null)
+     * @param pageNum   页码
+     * @param pageSize  每页数量
+     * @return 动态ID及距离(米)
+     */
+    GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusKm,
+                         Integer type, int pageNum, int pageSize);
+
+    /**
+     * 按游标检索附近动态(由近到远)
+     *
+     * @param latitude  纬度
+     * @param longitude 经度
+     * @param radiusKm  半径(公里)
+     * @param type      动态类型(可为null)
+     * @param cursor    上一页返回的游标, 首页传null
+     * @param pageSize  每页数量
+     * @return 动态ID及距离(米)
+     */
+    GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusKm,
+                         Integer type, String cursor, int pageSize);
+
+    /**
+     * 从数据库全量重建位置索引
+     */
+    void rebuild();
+
+}
@@ -0,0 +1,54 @@
+package org.dromara.content.service;
+
+import org.dromara.content.domain.entity.Feed;
+
+import java.util.List;
+
+/**
+ * 热门动态排行服务接口
+ * <p>
+ * 热度分 = (点赞数 * 1 + 评论数 * 2 + 分享数 * 3 + 收藏数 * 2) * 时间衰减(每24小时衰减50%)
+ * 排行榜由计数增量事件在事务提交后增量维护，热门Tab直接按页读取
+ *
+ * @author XiangYuPai
+ */
+public interface IFeedHotRankService {
+
+    /**
+     * 新发布动态加入排行榜
+     *
+     * @param feed 动态
+     */
+    void addFeed(Feed feed);
+
+    /**
+     * 从排行榜移除动态(删除/下架)
+     *
+     * @param feed 动态
+     */
+    void removeFeed(Feed feed);
+
+    /**
+     * 按页读取热门动态ID(热度降序)
+     *
+     * @param type     动态类型(可为null, 为null时不区分类型)
+     * @param pageNum  页码
+     * @param pageSize 每页数量
+     * @return 动态ID列表
+     */
+    List<Long> pageFeedIds(Integer type, int pageNum, int pageSize);
+
+    /**
+     * 排行榜中的动态总数
+     *
+     * @param type 动态类型(可为null)
+     * @return 总数
+     */
+    long count(Integer type);
+
+    /**
+     * 从数据库全量重建排行榜(同时完成时间衰减基准的重置)
+     */
+    void rebuild();
+
+}
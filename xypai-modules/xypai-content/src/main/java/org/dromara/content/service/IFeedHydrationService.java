@@ -0,0 +1,25 @@
+package org.dromara.content.service;
+
+import org.dromara.content.domain.bo.FeedHydrationBo;
+import org.dromara.content.domain.entity.Feed;
+
+import java.util.List;
+
+/**
+ * 动态列表批量装配服务接口
+ *
+ * @author XiangYuPai
+ */
+public interface IFeedHydrationService {
+
+    /**
+     * 批量装配一页动态的关联数据
+     * 媒体、话题、作者、点赞状态、收藏状态各一次批量查询
+     *
+     * @param feeds         当前页动态
+     * @param currentUserId 当前用户ID(可为null, 为null时不查询点赞收藏状态)
+     * @return 装配结果
+     */
+    FeedHydrationBo hydrate(List<Feed> feeds, Long currentUserId);
+
+}
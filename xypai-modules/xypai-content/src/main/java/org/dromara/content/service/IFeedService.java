@@ -1,6 +1,7 @@
 package org.dromara.content.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.dromara.common.mybatis.core.page.CursorPage;
 import org.dromara.content.domain.dto.FeedListQueryDTO;
 import org.dromara.content.domain.dto.FeedPublishDTO;
 import org.dromara.content.domain.dto.UserFeedQueryDTO;
@@ -23,6 +24,16 @@ public interface IFeedService {
      */
     Page<FeedListVO> getFeedList(FeedListQueryDTO queryDTO, Long currentUserId);
 
+    /**
+     * 游标分页获取动态列表(无限滚动)
+     * 支持关注/同城/最新, 热门排行实时变化不支持游标分页
+     *
+     * @param queryDTO 查询参数(cursor为上一页返回的游标)
+     * @param currentUserId 当前用户ID(可为null)
+     * @return 动态列表
+     */
+    CursorPage<FeedListVO> scrollFeedList(FeedListQueryDTO queryDTO, Long currentUserId);
+
     /**
      * 获取动态详情
      *
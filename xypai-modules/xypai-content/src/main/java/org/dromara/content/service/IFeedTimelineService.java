@@ -0,0 +1,66 @@
+package org.dromara.content.service;
+
+import org.dromara.content.domain.bo.FeedTimelinePageBo;
+import org.dromara.content.domain.entity.Feed;
+
+/**
+ * 关注时间线服务接口
+ * <p>
+ * 发布动态时推送到粉丝的收件箱(写扩散)，粉丝数超过阈值的作者只写入自己的发件箱，
+ * 读取时再合并(读扩散)；关注Tab直接按页读取收件箱，不再对关注列表做 IN 查询
+ *
+ * @author XiangYuPai
+ */
+public interface IFeedTimelineService {
+
+    /**
+     * 动态发布后推送给粉丝(异步)
+     *
+     * @param feed 动态
+     */
+    void onPublish(Feed feed);
+
+    /**
+     * 动态删除后从作者发件箱移除, 并异步从粉丝收件箱移除
+     *
+     * @param feed 动态
+     */
+    void onDelete(Feed feed);
+
+    /**
+     * 使用户的时间线失效, 下次读取时重建
+     *
+     * @param userId 用户ID
+     */
+    void invalidate(Long userId);
+
+    /**
+     * 是否关注了目标用户(读取时间线的关注快照, 快照缺失时查询关系服务, 不重建收件箱)
+     *
+     * @param userId       用户ID
+     * @param targetUserId 目标用户ID
+     * @return 是否关注
+     */
+    boolean isFollowing(Long userId, Long targetUserId);
+
+    /**
+     * 按页码读取关注时间线
+     *
+     * @param userId   用户ID
+     * @param pageNum  页码
+     * @param pageSize 每页数量
+     * @return 动态ID分页
+     */
+    FeedTimelinePageBo page(Long userId, int pageNum, int pageSize);
+
+    /**
+     * 按游标读取关注时间线
+     *
+     * @param userId   用户ID
+     * @param cursor   上一页返回的游标, 首页传null
+     * @param pageSize 每页数量
+     * @return 动态ID分页
+     */
+    FeedTimelinePageBo page(Long userId, String cursor, int pageSize);
+
+}
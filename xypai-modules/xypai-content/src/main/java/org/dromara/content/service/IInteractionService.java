@@ -1,6 +1,7 @@
 package org.dromara.content.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.dromara.common.mybatis.core.page.CursorPage;
 import org.dromara.content.domain.dto.InteractionDTO;
 import org.dromara.content.domain.dto.MyCollectionQueryDTO;
 import org.dromara.content.domain.dto.MyLikeQueryDTO;
@@ -52,6 +53,15 @@ public interface IInteractionService {
      */
     Page<MyLikeVO> getMyLikeList(MyLikeQueryDTO queryDTO, Long userId);
 
+    /**
+     * 游标分页获取我的点赞列表
+     *
+     * @param queryDTO 查询参数(cursor为上一页返回的游标)
+     * @param userId 用户ID
+     * @return 点赞列表
+     */
+    CursorPage<MyLikeVO> scrollMyLikeList(MyLikeQueryDTO queryDTO, Long userId);
+
     /**
      * 获取我的收藏列表
      *
@@ -61,4 +71,13 @@ public interface IInteractionService {
      */
     Page<MyCollectionVO> getMyCollectionList(MyCollectionQueryDTO queryDTO, Long userId);
 
+    /**
+     * 游标分页获取我的收藏列表
+     *
+     * @param queryDTO 查询参数(cursor为上一页返回的游标)
+     * @param userId 用户ID
+     * @return 收藏列表
+     */
+    CursorPage<MyCollectionVO> scrollMyCollectionList(MyCollectionQueryDTO queryDTO, Long userId);
+
 }
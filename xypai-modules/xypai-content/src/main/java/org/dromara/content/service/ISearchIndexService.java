@@ -0,0 +1,49 @@
+package org.dromara.content.service;
+
+import org.dromara.content.domain.entity.Feed;
+import org.dromara.content.search.SearchHits;
+import org.dromara.content.search.SearchQuery;
+
+import java.util.Collection;
+
+/**
+ * 搜索索引服务接口
+ * <p>
+ * 索引动态(公开且正常)、用户、服务者(有上架技能的用户)、话题。启动时及定时全量重载，
+ * 动态发布/删除、话题计数变化、用户资料/技能变更(xypai-user 通过 Redis 通知)时增量更新
+ *
+ * @author XiangYuPai
+ */
+public interface ISearchIndexService {
+
+    /**
+     * 搜索
+     *
+     * @param query 搜索条件
+     * @return 命中文档
+     */
+    SearchHits search(SearchQuery query);
+
+    /**
+     * 动态发布后加入索引, 同时刷新相关话题
+     *
+     * @param feed       已入库的动态
+     * @param topicNames 话题名称
+     */
+    void onFeedPublished(Feed feed, Collection<String> topicNames);
+
+    /**
+     * 动态删除后移出索引
+     *
+     * @param feedId 动态ID
+     */
+    void onFeedDeleted(Long feedId);
+
+    /**
+     * 重新加载用户及服务者文档(用户已删除或没有上架技能时移除对应文档)
+     *
+     * @param userIds 用户ID
+     */
+    void reloadUsers(Collection<Long> userIds);
+
+}
@@ -0,0 +1,75 @@
+package org.dromara.content.service;
+
+import org.dromara.content.domain.entity.Topic;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 话题目录服务接口
+ * <p>
+ * 全量话题常驻本地内存(ID索引、名称索引、名称前缀树)，启动时加载；
+ * 发布等写入后通过 Redis 发布订阅让所有节点按名称增量刷新，另有定时全量重载兜底后台直接改库的情况。
+ * 返回的话题为共享实例，调用方不得修改
+ *
+ * @author XiangYuPai
+ */
+public interface ITopicCatalogService {
+
+    /**
+     * 按ID获取话题
+     *
+     * @param topicId 话题ID
+     * @return 话题, 不存在返回null
+     */
+    Topic getById(Long topicId);
+
+    /**
+     * 按名称获取话题(忽略大小写, 与库表唯一索引一致)
+     *
+     * @param name 话题名称
+     * @return 话题, 不存在返回null
+     */
+    Topic getByName(String name);
+
+    /**
+     * 按名称批量获取话题
+     *
+     * @param names 话题名称
+     * @return 入参名称 -> 话题, 不存在的名称不包含在结果中
+     */
+    Map<String, Topic> getByNames(Collection<String> names);
+
+    /**
+     * 按名称前缀联想话题, 按帖子数、参与人数降序
+     *
+     * @param prefix 名称前缀
+     * @param limit  最大返回数量
+     * @return 话题列表
+     */
+    List<Topic> suggest(String prefix, int limit);
+
+    /**
+     * 关键词搜索话题: 名称前缀命中的排在前面, 其余为名称或描述包含关键词的话题, 组内按帖子数、参与人数降序
+     *
+     * @param keyword 关键词
+     * @return 全部命中的话题
+     */
+    List<Topic> search(String keyword);
+
+    /**
+     * 热门话题, 按帖子数、参与人数降序
+     *
+     * @return 全部热门话题
+     */
+    List<Topic> listHot();
+
+    /**
+     * 通知所有节点从数据库重新加载指定话题(话题新建或计数变化后调用)
+     *
+     * @param names 话题名称
+     */
+    void refresh(Collection<String> names);
+
+}
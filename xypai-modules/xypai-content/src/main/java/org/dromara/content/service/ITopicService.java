@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.dromara.content.domain.vo.FeedListVO;
 import org.dromara.content.domain.vo.TopicListVO;
 
+import java.util.List;
+
 /**
  * 话题服务接口
  *
@@ -30,6 +32,15 @@ public interface ITopicService {
      */
     Page<TopicListVO> searchTopics(String keyword, Integer page, Integer pageSize);
 
+    /**
+     * 话题名称前缀联想(输入时实时提示)
+     *
+     * @param prefix 名称前缀
+     * @param limit  最大返回数量
+     * @return 话题列表
+     */
+    List<TopicListVO> suggestTopics(String prefix, Integer limit);
+
     /**
      * 获取话题下的动态列表
      *
@@ -8,6 +8,8 @@ import org.apache.dubbo.config.annotation.DubboReference;
 import org.dromara.appuser.api.RemoteAppUserService;
 import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
 import org.dromara.common.core.exception.ServiceException;
+import org.dromara.common.mybatis.core.page.CursorPage;
+import org.dromara.common.mybatis.core.page.CursorQuery;
 import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.content.domain.dto.CommentListQueryDTO;
 import org.dromara.content.domain.dto.CommentPublishDTO;
@@ -16,11 +18,12 @@ import org.dromara.content.domain.entity.Feed;
 import org.dromara.content.domain.vo.CommentListVO;
 import org.dromara.content.mapper.CommentMapper;
 import org.dromara.content.mapper.FeedMapper;
-import org.dromara.content.mapper.LikeMapper;
 import org.dromara.content.service.ICommentService;
+import org.dromara.content.service.IContentCounterService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -36,7 +39,8 @@ public class CommentServiceImpl implements ICommentService {
 
     private final CommentMapper commentMapper;
     private final FeedMapper feedMapper;
-    private final LikeMapper likeMapper;
+    private final IContentCounterService contentCounterService;
+    private final IContentMembershipService contentMembershipService;
 
     @DubboReference
     private RemoteAppUserService remoteAppUserService;
@@ -71,48 +75,10 @@ public class CommentServiceImpl implements ICommentService {
 
         Page<Comment> commentPage = commentMapper.selectPage(page, wrapper);
 
-        // 4. 收集所有评论者的用户ID
-        Set<Long> userIds = commentPage.getRecords().stream()
-            .map(Comment::getUserId)
-            .collect(Collectors.toSet());
-
-        // 5. 批量查询用户信息
-        Map<Long, RemoteAppUserVo> userInfoMap = new HashMap<>();
-        if (!userIds.isEmpty()) {
-            try {
-                userInfoMap = remoteAppUserService.batchGetUserBasicInfo(
-                    new ArrayList<>(userIds), userId);
-                if (userInfoMap == null) {
-                    userInfoMap = new HashMap<>();
-                }
-            } catch (Exception e) {
-                log.warn("批量获取用户信息失败: {}", e.getMessage());
-            }
-        }
-
-        // 6. 查询当前用户对评论的点赞状态
-        Set<Long> likedCommentIds = new HashSet<>();
-        if (userId != null) {
-            List<Long> commentIds = commentPage.getRecords().stream()
-                .map(Comment::getId)
-                .collect(Collectors.toList());
-
-            if (!commentIds.isEmpty()) {
-                Set<Long> result = likeMapper.findLikedTargetIds(userId, "comment", commentIds);
-                if (result != null) {
-                    likedCommentIds = result;
-                }
-            }
-        }
+        // 4. 批量装配用户信息、点赞状态
+        List<CommentListVO> voList = convertToVOList(commentPage.getRecords(), userId);
 
-        // 7. 转换为VO
-        final Set<Long> finalLikedCommentIds = likedCommentIds;
-        final Map<Long, RemoteAppUserVo> finalUserInfoMap = userInfoMap;
-        List<CommentListVO> voList = commentPage.getRecords().stream()
-            .map(comment -> convertToVO(comment, userId, finalUserInfoMap, finalLikedCommentIds))
-            .collect(Collectors.toList());
-
-        // 8. 构建返回结果
+        // 5. 构建返回结果
         Page<CommentListVO> resultPage = new Page<>(commentPage.getCurrent(), commentPage.getSize());
         resultPage.setRecords(voList);
         resultPage.setTotal(commentPage.getTotal());
@@ -120,6 +86,39 @@ public class CommentServiceImpl implements ICommentService {
         return resultPage;
     }
 
+    @Override
+    public CursorPage<CommentListVO> scrollCommentList(CommentListQueryDTO queryDTO, Long userId) {
+        // 1. 验证动态存在
+        Feed feed = feedMapper.selectById(queryDTO.getFeedId());
+        if (feed == null || feed.getDeleted() == 1) {
+            throw new ServiceException("动态不存在");
+        }
+        if ("hot".equals(queryDTO.getSortType()) || "like".equals(queryDTO.getSortType())) {
+            throw new ServiceException("按热度排序不支持游标分页");
+        }
+
+        // 2. 置顶评论只在首页返回, 其余按(创建时间, ID)倒序 keyset 分页
+        CursorQuery cursorQuery = new CursorQuery(queryDTO.getCursor(), queryDTO.getPageSize());
+        List<Comment> topComments = new ArrayList<>();
+        if (cursorQuery.isFirstPage()) {
+            topComments = commentMapper.selectList(new LambdaQueryWrapper<Comment>()
+                .eq(Comment::getFeedId, queryDTO.getFeedId())
+                .eq(Comment::getIsTop, 1)
+                .orderByDesc(Comment::getCreatedAt));
+        }
+        LambdaQueryWrapper<Comment> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Comment::getFeedId, queryDTO.getFeedId())
+            .ne(Comment::getIsTop, 1);
+        cursorQuery.apply(wrapper, Comment::getCreatedAt, LocalDateTime.class, Comment::getId);
+        CursorPage<Comment> commentPage = cursorQuery.build(
+            commentMapper.selectList(wrapper), Comment::getCreatedAt, Comment::getId);
+
+        // 3. 批量装配用户信息、点赞状态
+        List<Comment> comments = new ArrayList<>(topComments);
+        comments.addAll(commentPage.getRows());
+        return commentPage.convert(convertToVOList(comments, userId));
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public CommentListVO publishComment(CommentPublishDTO publishDTO, Long userId) {
@@ -139,9 +138,8 @@ public class CommentServiceImpl implements ICommentService {
 
         commentMapper.insert(comment);
 
-        // 3. 更新动态评论数
-        feed.setCommentCount(feed.getCommentCount() + 1);
-        feedMapper.updateById(feed);
+        // 3. 更新动态评论数(Redis累积增量, 定时落库)
+        contentCounterService.incrementFeed(feed, IContentCounterService.COMMENT, 1);
 
         // 4. 清除缓存
         RedisUtils.deleteObject(CACHE_KEY_COMMENT_LIST + publishDTO.getFeedId());
@@ -183,8 +181,9 @@ public class CommentServiceImpl implements ICommentService {
 
         // 4. 更新动态评论数
         Feed feed = feedMapper.selectById(comment.getFeedId());
-        feed.setCommentCount(Math.max(0, feed.getCommentCount() - 1));
-        feedMapper.updateById(feed);
+        if (feed != null) {
+            contentCounterService.incrementFeed(feed, IContentCounterService.COMMENT, -1);
+        }
 
         // 5. 清除缓存
         RedisUtils.deleteObject(CACHE_KEY_COMMENT_LIST + comment.getFeedId());
@@ -192,6 +191,51 @@ public class CommentServiceImpl implements ICommentService {
         log.info("用户 {} 删除评论: {}", userId, commentId);
     }
 
+    /**
+     * 批量转换为VO
+     * 整页一次查询评论者信息和点赞状态
+     */
+    private List<CommentListVO> convertToVOList(List<Comment> comments, Long userId) {
+        // 1. 收集所有评论者的用户ID
+        Set<Long> userIds = comments.stream()
+            .map(Comment::getUserId)
+            .collect(Collectors.toSet());
+
+        // 2. 批量查询用户信息
+        Map<Long, RemoteAppUserVo> userInfoMap = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            try {
+                userInfoMap = remoteAppUserService.batchGetUserBasicInfo(
+                    new ArrayList<>(userIds), userId);
+                if (userInfoMap == null) {
+                    userInfoMap = new HashMap<>();
+                }
+            } catch (Exception e) {
+                log.warn("批量获取用户信息失败: {}", e.getMessage());
+            }
+        }
+
+        // 3. 查询当前用户对评论的点赞状态
+        Set<Long> likedCommentIds = new HashSet<>();
+        if (userId != null) {
+            List<Long> commentIds = comments.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList());
+
+            if (!commentIds.isEmpty()) {
+                likedCommentIds = contentMembershipService.liked(userId, "comment", commentIds);
+            }
+        }
+
+        // 4. 合并未落库的点赞增量, 转换为VO
+        contentCounterService.mergeComments(comments);
+        final Set<Long> finalLikedCommentIds = likedCommentIds;
+        final Map<Long, RemoteAppUserVo> finalUserInfoMap = userInfoMap;
+        return comments.stream()
+            .map(comment -> convertToVO(comment, userId, finalUserInfoMap, finalLikedCommentIds))
+            .collect(Collectors.toList());
+    }
+
     /**
      * 转换为VO
      */
@@ -0,0 +1,336 @@
+package org.dromara.content.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.content.domain.entity.Comment;
+import org.dromara.content.domain.entity.Feed;
+import org.dromara.content.event.CounterIncrementEvent;
+import org.dromara.content.mapper.CommentMapper;
+import org.dromara.content.mapper.FeedMapper;
+import org.dromara.content.service.IContentCounterService;
+import org.dromara.content.service.IFeedDetailCacheService;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 内容计数服务实现
+ * <p>
+ * 每种目标类型一个待落库 Hash(field = id:计数字段, value = 增量)，点击只执行一次 HINCRBY，不再锁数据库行。
+ * 落库时先把待落库 Hash 整体 RENAME 为落库中 Hash，新的增量自动写入新 Hash，
+ * 再按行合并为一条 UPDATE ... SET x = x + delta 写回；读取时合并两个 Hash 中的增量。
+ * 在事务内产生的增量于提交后才写入 Redis，回滚的点赞/评论不会被计数。
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentCounterServiceImpl implements IContentCounterService {
+
+    private final FeedMapper feedMapper;
+    private final CommentMapper commentMapper;
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final IFeedDetailCacheService feedDetailCacheService;
+
+    private static final String TARGET_FEED = "feed";
+    private static final String TARGET_COMMENT = "comment";
+
+    /**
+     * 同一目标类型的两个 Hash 使用相同 hash tag，保证集群模式下 RENAME 落在同一槽位
+     */
+    private static final String KEY_PREFIX = "content:counter:{";
+    private static final String PENDING_KEY_SUFFIX = "}:pending";
+    private static final String FLUSHING_KEY_SUFFIX = "}:flushing";
+    private static final String FLUSH_LOCK_KEY = "content:counter:flush:lock";
+
+    private static final List<String> FEED_FIELDS = List.of(LIKE, COMMENT, SHARE, COLLECT, VIEW);
+    private static final List<String> COMMENT_FIELDS = List.of(LIKE);
+
+    /**
+     * 增量以十进制字符串存储，保证 HINCRBY 可用
+     */
+    private static final Codec CODEC = new CompositeCodec(StringCodec.INSTANCE, LongCodec.INSTANCE);
+
+    /**
+     * 落库周期(秒)
+     */
+    private static final long FLUSH_PERIOD_SECONDS = 5;
+
+    @PostConstruct
+    public void init() {
+        scheduledExecutorService.scheduleWithFixedDelay(this::scheduledFlush,
+            FLUSH_PERIOD_SECONDS, FLUSH_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public int incrementFeed(Feed feed, String field, int delta) {
+        if (!FEED_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("不支持的动态计数字段: " + field);
+        }
+        int merged = merge(getFeedCount(feed, field), loadPending(TARGET_FEED, feed.getId(), field) + delta);
+        setFeedCount(feed, field, merged);
+        SpringUtils.context().publishEvent(new CounterIncrementEvent(TARGET_FEED, feed.getId(), field, delta, feed));
+        return merged;
+    }
+
+    @Override
+    public void incrementFeed(Long feedId, String field, int delta) {
+        if (!FEED_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("不支持的动态计数字段: " + field);
+        }
+        SpringUtils.context().publishEvent(new CounterIncrementEvent(TARGET_FEED, feedId, field, delta, null));
+    }
+
+    @Override
+    public int incrementComment(Comment comment, String field, int delta) {
+        if (!COMMENT_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("不支持的评论计数字段: " + field);
+        }
+        int merged = merge(comment.getLikeCount(), loadPending(TARGET_COMMENT, comment.getId(), field) + delta);
+        comment.setLikeCount(merged);
+        SpringUtils.context().publishEvent(new CounterIncrementEvent(TARGET_COMMENT, comment.getId(), field, delta, null));
+        return merged;
+    }
+
+    @Override
+    public void mergeFeeds(Collection<Feed> feeds) {
+        if (feeds == null || feeds.isEmpty()) {
+            return;
+        }
+        Map<String, Long> deltas = loadPending(TARGET_FEED,
+            feeds.stream().map(Feed::getId).collect(Collectors.toSet()), FEED_FIELDS);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        for (Feed feed : feeds) {
+            for (String field : FEED_FIELDS) {
+                Long delta = deltas.get(member(feed.getId(), field));
+                if (delta != null) {
+                    setFeedCount(feed, field, merge(getFeedCount(feed, field), delta));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void mergeComments(Collection<Comment> comments) {
+        if (comments == null || comments.isEmpty()) {
+            return;
+        }
+        Map<String, Long> deltas = loadPending(TARGET_COMMENT,
+            comments.stream().map(Comment::getId).collect(Collectors.toSet()), COMMENT_FIELDS);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        for (Comment comment : comments) {
+            Long delta = deltas.get(member(comment.getId(), LIKE));
+            if (delta != null) {
+                comment.setLikeCount(merge(comment.getLikeCount(), delta));
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        RLock lock = redissonClient.getLock(FLUSH_LOCK_KEY);
+        // 不指定租期, 由看门狗续期, 落库耗时超过固定租期时不会被另一节点重复落库
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            flushTarget(TARGET_FEED);
+            flushTarget(TARGET_COMMENT);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 事务提交后累加增量
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounterIncrement(CounterIncrementEvent event) {
+        try {
+            redissonClient.<String, Long>getMap(pendingKey(event.getTargetType()), CODEC)
+                .addAndGet(member(event.getTargetId(), event.getField()), event.getDelta());
+        } catch (Exception e) {
+            log.warn("计数增量写入失败: targetType={}, targetId={}, field={}, delta={}, error={}",
+                event.getTargetType(), event.getTargetId(), event.getField(), event.getDelta(), e.getMessage());
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("计数落库失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 写回一种目标类型的增量
+     * 上次落库中断时落库中 Hash 仍存在，先处理完它再接管新的增量
+     */
+    private void flushTarget(String targetType) {
+        RMap<String, Long> flushing = redissonClient.getMap(flushingKey(targetType), CODEC);
+        if (!flushing.isExists()) {
+            RMap<String, Long> pending = redissonClient.getMap(pendingKey(targetType), CODEC);
+            if (!pending.isExists()) {
+                return;
+            }
+            pending.rename(flushing.getName());
+        }
+
+        Map<String, Long> deltas = flushing.readAllMap();
+        Map<Long, Map<String, Long>> deltasById = new HashMap<>();
+        deltas.forEach((member, delta) -> {
+            int idx = member.indexOf(':');
+            Long id = Long.valueOf(member.substring(0, idx));
+            deltasById.computeIfAbsent(id, k -> new HashMap<>()).put(member.substring(idx + 1), delta);
+        });
+
+        Set<Long> changedFeeds = new HashSet<>();
+        for (Map.Entry<Long, Map<String, Long>> entry : deltasById.entrySet()) {
+            Long id = entry.getKey();
+            Map<String, Long> fieldDeltas = entry.getValue();
+            if (fieldDeltas.entrySet().stream().anyMatch(e -> e.getValue() != 0 && !VIEW.equals(e.getKey()))) {
+                changedFeeds.add(id);
+            }
+            if (fieldDeltas.values().stream().anyMatch(d -> d != 0)) {
+                if (TARGET_FEED.equals(targetType)) {
+                    feedMapper.applyCounterDeltas(id, delta(fieldDeltas, LIKE), delta(fieldDeltas, COMMENT),
+                        delta(fieldDeltas, SHARE), delta(fieldDeltas, COLLECT), delta(fieldDeltas, VIEW));
+                } else {
+                    commentMapper.applyCounterDeltas(id, delta(fieldDeltas, LIKE));
+                }
+            }
+            // 逐行确认，落库中断时只会重放未确认的行
+            flushing.fastRemove(fieldDeltas.keySet().stream()
+                .map(field -> member(id, field)).toArray(String[]::new));
+        }
+        flushing.delete();
+
+        // 详情缓存中的互动计数随落库刷新; 每次详情读取都会产生浏览增量, 只有浏览数变化时不失效,
+        // 否则被浏览的动态每个落库周期都会失效, 浏览数随主体缓存过期或其他计数变化时刷新
+        if (TARGET_FEED.equals(targetType)) {
+            feedDetailCacheService.evictAll(changedFeeds);
+        }
+
+        if (!deltasById.isEmpty()) {
+            log.debug("计数落库完成: targetType={}, rows={}, fields={}", targetType, deltasById.size(), deltas.size());
+        }
+    }
+
+    /**
+     * 读取该字段尚未落库的增量(待落库 + 落库中)
+     */
+    private long loadPending(String targetType, Long targetId, String field) {
+        String member = member(targetId, field);
+        RBatch batch = redissonClient.createBatch();
+        batch.<String, Long>getMap(pendingKey(targetType), CODEC).getAsync(member);
+        batch.<String, Long>getMap(flushingKey(targetType), CODEC).getAsync(member);
+        BatchResult<?> result = batch.execute();
+        return toLong(result.getResponses().get(0)) + toLong(result.getResponses().get(1));
+    }
+
+    /**
+     * 批量读取未落库的增量(待落库 + 落库中)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> loadPending(String targetType, Set<Long> ids, List<String> fields) {
+        Set<String> members = new HashSet<>();
+        for (Long id : ids) {
+            for (String field : fields) {
+                members.add(member(id, field));
+            }
+        }
+        RBatch batch = redissonClient.createBatch();
+        batch.<String, Long>getMap(pendingKey(targetType), CODEC).getAllAsync(members);
+        batch.<String, Long>getMap(flushingKey(targetType), CODEC).getAllAsync(members);
+        List<?> responses = batch.execute().getResponses();
+
+        Map<String, Long> merged = new HashMap<>((Map<String, Long>) responses.get(0));
+        ((Map<String, Long>) responses.get(1)).forEach((member, delta) -> merged.merge(member, delta, Long::sum));
+        return merged;
+    }
+
+    private int getFeedCount(Feed feed, String field) {
+        Integer value = feedAccessor(feed, field).get();
+        return value == null ? 0 : value;
+    }
+
+    private void setFeedCount(Feed feed, String field, int value) {
+        feedSetter(feed, field).accept(value);
+    }
+
+    private Supplier<Integer> feedAccessor(Feed feed, String field) {
+        return switch (field) {
+            case LIKE -> feed::getLikeCount;
+            case COMMENT -> feed::getCommentCount;
+            case SHARE -> feed::getShareCount;
+            case COLLECT -> feed::getCollectCount;
+            case VIEW -> feed::getViewCount;
+            default -> throw new IllegalArgumentException("不支持的动态计数字段: " + field);
+        };
+    }
+
+    private Consumer<Integer> feedSetter(Feed feed, String field) {
+        return switch (field) {
+            case LIKE -> feed::setLikeCount;
+            case COMMENT -> feed::setCommentCount;
+            case SHARE -> feed::setShareCount;
+            case COLLECT -> feed::setCollectCount;
+            case VIEW -> feed::setViewCount;
+            default -> throw new IllegalArgumentException("不支持的动态计数字段: " + field);
+        };
+    }
+
+    private int merge(Integer persisted, long pending) {
+        long value = (persisted == null ? 0 : persisted) + pending;
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    private long delta(Map<String, Long> fieldDeltas, String field) {
+        Long value = fieldDeltas.get(field);
+        return value == null ? 0 : value;
+    }
+
+    private long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private String pendingKey(String targetType) {
+        return KEY_PREFIX + targetType + PENDING_KEY_SUFFIX;
+    }
+
+    private String flushingKey(String targetType) {
+        return KEY_PREFIX + targetType + FLUSHING_KEY_SUFFIX;
+    }
+
+    private String member(Long id, String field) {
+        return id + ":" + field;
+    }
+
+}
@@ -0,0 +1,211 @@
+package org.dromara.content.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.content.domain.entity.ContentCollection;
+import org.dromara.content.domain.entity.Like;
+import org.dromara.content.event.MembershipChangedEvent;
+import org.dromara.content.mapper.CollectionMapper;
+import org.dromara.content.mapper.LikeMapper;
+import org.dromara.content.service.IContentMembershipService;
+import org.redisson.api.RBatch;
+import org.redisson.api.RSet;
+import org.redisson.api.RSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 点赞/收藏状态服务实现
+ * <p>
+ * 状态集合 content:member:{action}:{targetType}:{userId}: SET(member=目标ID)，加载后始终包含 LOADED_MEMBER，
+ * 以区分"未加载"和"无记录"；记录数超过 MAX_CACHED_MEMBERS 的用户只写入 OVERSIZED_MEMBER，之后直接查库。
+ * 加载与写穿之间存在很小的竞争窗口(加载读库后、写入前提交的变更可能丢失)，由过期时间兜底
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentMembershipServiceImpl implements IContentMembershipService {
+
+    private final LikeMapper likeMapper;
+    private final CollectionMapper collectionMapper;
+    private final RedissonClient redissonClient;
+
+    private static final String KEY_PREFIX = "content:member:";
+
+    /**
+     * 已加载标记
+     */
+    private static final String LOADED_MEMBER = "0";
+
+    /**
+     * 记录过多不缓存的标记
+     */
+    private static final String OVERSIZED_MEMBER = "-1";
+
+    /**
+     * 单个集合最多缓存的目标数
+     */
+    private static final int MAX_CACHED_MEMBERS = 10000;
+
+    private static final Duration TTL = Duration.ofDays(3);
+
+    @Override
+    public Set<Long> liked(Long userId, String targetType, Collection<Long> targetIds) {
+        return query(LIKE, userId, targetType, targetIds);
+    }
+
+    @Override
+    public Set<Long> collected(Long userId, String targetType, Collection<Long> targetIds) {
+        return query(COLLECT, userId, targetType, targetIds);
+    }
+
+    @Override
+    public boolean isLiked(Long userId, String targetType, Long targetId) {
+        return targetId != null && liked(userId, targetType, Collections.singletonList(targetId)).contains(targetId);
+    }
+
+    @Override
+    public boolean isCollected(Long userId, String targetType, Long targetId) {
+        return targetId != null && collected(userId, targetType, Collections.singletonList(targetId)).contains(targetId);
+    }
+
+    @Override
+    public void onChange(Long userId, String action, String targetType, Long targetId, boolean active) {
+        SpringUtils.context().publishEvent(new MembershipChangedEvent(userId, action, targetType, targetId, active));
+    }
+
+    @Override
+    public void restore(Long userId, String action, String targetType, Long targetId, boolean active) {
+        onMembershipChanged(new MembershipChangedEvent(userId, action, targetType, targetId, active));
+    }
+
+    /**
+     * 写穿: 只更新已加载的集合, 未加载的等首次访问时从数据库加载
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        try {
+            RSet<String> set = redissonClient.getSet(
+                key(event.getAction(), event.getTargetType(), event.getUserId()), StringCodec.INSTANCE);
+            if (!set.contains(LOADED_MEMBER)) {
+                return;
+            }
+            String member = String.valueOf(event.getTargetId());
+            if (event.isActive()) {
+                set.add(member);
+            } else {
+                set.remove(member);
+            }
+        } catch (Exception e) {
+            // 写穿失败时删除集合, 下次访问从数据库重新加载
+            log.warn("点赞/收藏状态写穿失败: userId={}, action={}, targetId={}, error={}",
+                event.getUserId(), event.getAction(), event.getTargetId(), e.getMessage());
+            redissonClient.getSet(key(event.getAction(), event.getTargetType(), event.getUserId())).delete();
+        }
+    }
+
+    /**
+     * 一次往返同时读取加载标记和各目标状态, 未加载时从数据库加载整个集合
+     */
+    private Set<Long> query(String action, Long userId, String targetType, Collection<Long> targetIds) {
+        if (userId == null || targetIds == null || targetIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Long> ids = targetIds.stream().filter(Objects::nonNull).distinct().toList();
+        String key = key(action, targetType, userId);
+
+        RBatch batch = redissonClient.createBatch();
+        RSetAsync<String> set = batch.getSet(key, StringCodec.INSTANCE);
+        set.containsAsync(LOADED_MEMBER);
+        set.containsAsync(OVERSIZED_MEMBER);
+        for (Long id : ids) {
+            set.containsAsync(String.valueOf(id));
+        }
+        List<?> responses = batch.execute().getResponses();
+
+        if (Boolean.TRUE.equals(responses.get(0))) {
+            Set<Long> result = new HashSet<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (Boolean.TRUE.equals(responses.get(i + 2))) {
+                    result.add(ids.get(i));
+                }
+            }
+            return result;
+        }
+        if (Boolean.TRUE.equals(responses.get(1))) {
+            return selectFromDb(action, userId, targetType, ids);
+        }
+
+        Set<Long> all = load(action, userId, targetType, key);
+        if (all == null) {
+            return selectFromDb(action, userId, targetType, ids);
+        }
+        return ids.stream().filter(all::contains).collect(Collectors.toSet());
+    }
+
+    /**
+     * 从数据库加载用户全部点赞/收藏目标并写入缓存
+     *
+     * @return 全部目标ID, 记录过多时返回null
+     */
+    private Set<Long> load(String action, Long userId, String targetType, String key) {
+        List<Long> ids = LIKE.equals(action)
+            ? likeMapper.selectObjs(new LambdaQueryWrapper<Like>()
+                .select(Like::getTargetId)
+                .eq(Like::getUserId, userId)
+                .eq(Like::getTargetType, targetType)
+                .last("LIMIT " + (MAX_CACHED_MEMBERS + 1)))
+            : collectionMapper.selectObjs(new LambdaQueryWrapper<ContentCollection>()
+                .select(ContentCollection::getTargetId)
+                .eq(ContentCollection::getUserId, userId)
+                .eq(ContentCollection::getTargetType, targetType)
+                .last("LIMIT " + (MAX_CACHED_MEMBERS + 1)));
+        boolean oversized = ids.size() > MAX_CACHED_MEMBERS;
+
+        RBatch batch = redissonClient.createBatch();
+        RSetAsync<String> set = batch.getSet(key, StringCodec.INSTANCE);
+        set.deleteAsync();
+        if (oversized) {
+            set.addAsync(OVERSIZED_MEMBER);
+        } else {
+            List<String> members = new ArrayList<>(ids.size() + 1);
+            members.add(LOADED_MEMBER);
+            ids.forEach(id -> members.add(String.valueOf(id)));
+            set.addAllAsync(members);
+        }
+        set.expireAsync(TTL);
+        batch.execute();
+
+        log.debug("点赞/收藏状态加载完成: userId={}, action={}, targetType={}, count={}", userId, action, targetType, ids.size());
+        return oversized ? null : new HashSet<>(ids);
+    }
+
+    private Set<Long> selectFromDb(String action, Long userId, String targetType, List<Long> ids) {
+        if (LIKE.equals(action)) {
+            Set<Long> liked = likeMapper.findLikedTargetIds(userId, targetType, ids);
+            return liked != null ? liked : Collections.emptySet();
+        }
+        List<Long> collected = collectionMapper.selectObjs(new LambdaQueryWrapper<ContentCollection>()
+            .select(ContentCollection::getTargetId)
+            .eq(ContentCollection::getUserId, userId)
+            .eq(ContentCollection::getTargetType, targetType)
+            .in(ContentCollection::getTargetId, ids));
+        return new HashSet<>(collected);
+    }
+
+    private static String key(String action, String targetType, Long userId) {
+        return KEY_PREFIX + action + ":" + targetType + ":" + userId;
+    }
+
+}
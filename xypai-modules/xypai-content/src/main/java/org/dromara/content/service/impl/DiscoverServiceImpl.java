@@ -1,19 +1,26 @@
 package org.dromara.content.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
+import org.dromara.common.redis.utils.GeoIndexUtils.GeoPage;
+import org.dromara.content.domain.bo.FeedHydrationBo;
+import org.dromara.content.domain.bo.FeedTimelinePageBo;
 import org.dromara.content.domain.dto.DiscoverListQueryDTO;
-import org.dromara.content.domain.entity.ContentCollection;
 import org.dromara.content.domain.entity.Feed;
 import org.dromara.content.domain.entity.Like;
 import org.dromara.content.domain.vo.DiscoverFeedVO;
-import org.dromara.content.mapper.CollectionMapper;
 import org.dromara.content.mapper.FeedMapper;
 import org.dromara.content.mapper.LikeMapper;
+import org.dromara.content.service.IContentCounterService;
+import org.dromara.content.service.IContentMembershipService;
 import org.dromara.content.service.IDiscoverService;
+import org.dromara.content.service.IFeedGeoService;
+import org.dromara.content.service.IFeedHydrationService;
+import org.dromara.content.service.IFeedTimelineService;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,7 +41,11 @@ public class DiscoverServiceImpl implements IDiscoverService {
 
     private final FeedMapper feedMapper;
     private final LikeMapper likeMapper;
-    private final CollectionMapper collectionMapper;
+    private final IFeedHydrationService feedHydrationService;
+    private final IFeedGeoService feedGeoService;
+    private final IContentCounterService contentCounterService;
+    private final IFeedTimelineService feedTimelineService;
+    private final IContentMembershipService contentMembershipService;
 
     /**
      * 热度计算权重
@@ -43,6 +54,11 @@ public class DiscoverServiceImpl implements IDiscoverService {
     private static final int COMMENT_WEIGHT = 2;
     private static final int SHARE_WEIGHT = 3;
 
+    /**
+     * 同城Tab检索半径(公里)
+     */
+    private static final int NEARBY_RADIUS_KM = 50;
+
     @Override
     public Page<DiscoverFeedVO> queryDiscoverList(DiscoverListQueryDTO queryDTO, Long userId) {
         log.info("查询发现列表: tab={}, pageNum={}, pageSize={}, userId={}",
@@ -50,13 +66,14 @@ public class DiscoverServiceImpl implements IDiscoverService {
 
         String tab = queryDTO.getTab();
         Page<Feed> feedPage;
+        Map<Long, Double> distances = new HashMap<>();
 
         switch (tab) {
             case "follow":
                 feedPage = queryFollowFeeds(queryDTO, userId);
                 break;
             case "nearby":
-                feedPage = queryNearbyFeeds(queryDTO);
+                feedPage = queryNearbyFeeds(queryDTO, distances);
                 break;
             case "hot":
             default:
@@ -67,6 +84,9 @@ public class DiscoverServiceImpl implements IDiscoverService {
         // 转换为VO
         Page<DiscoverFeedVO> resultPage = new Page<>(feedPage.getCurrent(), feedPage.getSize(), feedPage.getTotal());
         List<DiscoverFeedVO> voList = convertToVOList(feedPage.getRecords(), userId, queryDTO);
+        if (!distances.isEmpty()) {
+            voList.forEach(vo -> vo.setDistance(distances.get(vo.getId())));
+        }
         resultPage.setRecords(voList);
 
         return resultPage;
@@ -83,16 +103,25 @@ public class DiscoverServiceImpl implements IDiscoverService {
             return page;
         }
 
-        // TODO: 从关系服务获取关注用户列表，然后查询这些用户的动态
-        // 这里先返回空，实际需要调用 user 服务获取关注列表
-        // 暂时返回热门数据作为fallback
-        LambdaQueryWrapper<Feed> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Feed::getDeleted, 0)
-            .eq(Feed::getStatus, 0)
-            .eq(Feed::getVisibility, 0)
-            .orderByDesc(Feed::getCreatedTimestamp);
+        // 从关注时间线读取当前页
+        FeedTimelinePageBo timelinePage = feedTimelineService.page(userId, queryDTO.getPageNum(), queryDTO.getPageSize());
+        List<Feed> followFeeds = new ArrayList<>();
+        if (!timelinePage.getFeedIds().isEmpty()) {
+            Map<Long, Feed> feedMap = feedMapper.selectByIds(timelinePage.getFeedIds()).stream()
+                .filter(f -> Objects.equals(f.getStatus(), 0) && Objects.equals(f.getVisibility(), 0))
+                .collect(Collectors.toMap(Feed::getId, f -> f));
+            for (Long feedId : timelinePage.getFeedIds()) {
+                Feed feed = feedMap.get(feedId);
+                if (feed != null) {
+                    followFeeds.add(feed);
+                }
+            }
+        }
 
-        return feedMapper.selectPage(page, wrapper);
+        page.setRecords(followFeeds);
+        long read = (long) (queryDTO.getPageNum() - 1) * queryDTO.getPageSize() + timelinePage.getFeedIds().size();
+        page.setTotal(timelinePage.isHasMore() ? read + 1 : read);
+        return page;
     }
 
     /**
@@ -116,8 +145,10 @@ public class DiscoverServiceImpl implements IDiscoverService {
 
     /**
      * 查询同城Tab - 按距离排序
+     *
+     * @param distances 输出: 动态ID -> 距离(米)
      */
-    private Page<Feed> queryNearbyFeeds(DiscoverListQueryDTO queryDTO) {
+    private Page<Feed> queryNearbyFeeds(DiscoverListQueryDTO queryDTO, Map<Long, Double> distances) {
         Page<Feed> page = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
 
         BigDecimal latitude = queryDTO.getLatitude();
@@ -135,13 +166,27 @@ public class DiscoverServiceImpl implements IDiscoverService {
             return feedMapper.selectPage(page, wrapper);
         }
 
-        // 有位置信息，使用空间查询
-        List<Feed> nearbyFeeds = feedMapper.selectNearbyFeeds(
-            latitude, longitude, 50, queryDTO.getPageSize()
+        // 有位置信息，从位置索引按距离读取当前页
+        GeoPage geoPage = feedGeoService.searchNearby(
+            latitude, longitude, NEARBY_RADIUS_KM, null, queryDTO.getPageNum(), queryDTO.getPageSize()
         );
+        List<Feed> nearbyFeeds = new ArrayList<>();
+        if (!geoPage.getIds().isEmpty()) {
+            Map<Long, Feed> feedMap = feedMapper.selectByIds(geoPage.getIds()).stream()
+                .filter(f -> Objects.equals(f.getStatus(), 0) && Objects.equals(f.getVisibility(), 0))
+                .collect(Collectors.toMap(Feed::getId, f -> f));
+            for (Long feedId : geoPage.getIds()) {
+                Feed feed = feedMap.get(feedId);
+                if (feed != null) {
+                    nearbyFeeds.add(feed);
+                }
+            }
+        }
 
         page.setRecords(nearbyFeeds);
-        page.setTotal(nearbyFeeds.size());
+        long read = (long) (queryDTO.getPageNum() - 1) * queryDTO.getPageSize() + geoPage.getIds().size();
+        page.setTotal(geoPage.isHasMore() ? read + 1 : read);
+        distances.putAll(geoPage.getDistances());
         return page;
     }
 
@@ -153,17 +198,8 @@ public class DiscoverServiceImpl implements IDiscoverService {
             return Collections.emptyList();
         }
 
-        List<Long> feedIds = feeds.stream().map(Feed::getId).collect(Collectors.toList());
-
-        // 批量查询点赞状态
-        Map<Long, Boolean> likeStatusMap = userId != null
-            ? batchCheckLikeStatus(feedIds, userId)
-            : Collections.emptyMap();
-
-        // 批量查询收藏状态
-        Map<Long, Boolean> collectStatusMap = userId != null
-            ? batchCheckCollectStatus(feedIds, userId)
-            : Collections.emptyMap();
+        // 整页批量装配作者信息、点赞/收藏状态
+        FeedHydrationBo hydration = feedHydrationService.hydrate(feeds, userId);
 
         return feeds.stream().map(feed -> {
             DiscoverFeedVO vo = new DiscoverFeedVO();
@@ -177,12 +213,16 @@ public class DiscoverServiceImpl implements IDiscoverService {
             vo.setTitle(feed.getTitle());
             vo.setContent(feed.getContent());
             vo.setUserId(feed.getUserId());
-            // userAvatar 和 userNickname 需要从user服务获取，在BFF层聚合
+            RemoteAppUserVo author = hydration.getUser(feed.getUserId());
+            if (author != null) {
+                vo.setUserAvatar(author.getAvatar());
+                vo.setUserNickname(author.getNickname());
+            }
             vo.setLikeCount(feed.getLikeCount());
-            vo.setIsLiked(likeStatusMap.getOrDefault(feed.getId(), false));
+            vo.setIsLiked(hydration.isLiked(feed.getId()));
             vo.setCommentCount(feed.getCommentCount());
             vo.setCollectCount(feed.getCollectCount());
-            vo.setIsCollected(collectStatusMap.getOrDefault(feed.getId(), false));
+            vo.setIsCollected(hydration.isCollected(feed.getId()));
             vo.setCreateTime(feed.getCreatedAt());
             vo.setLocation(feed.getLocationName());
 
@@ -196,45 +236,31 @@ public class DiscoverServiceImpl implements IDiscoverService {
         log.info("切换点赞状态: feedId={}, userId={}, isLike={}", feedId, userId, isLike);
 
         // 检查当前点赞状态
-        LambdaQueryWrapper<Like> checkWrapper = new LambdaQueryWrapper<>();
-        checkWrapper.eq(Like::getUserId, userId)
-            .eq(Like::getTargetType, "feed")
-            .eq(Like::getTargetId, feedId);
-        Like existingLike = likeMapper.selectOne(checkWrapper);
+        boolean currentlyLiked = contentMembershipService.isLiked(userId, "feed", feedId);
 
-        boolean currentlyLiked = existingLike != null;
+        Feed feed = feedMapper.selectById(feedId);
+        if (feed == null) {
+            return 0;
+        }
 
-        if (isLike && !currentlyLiked) {
+        if (isLike && !currentlyLiked && insertFeedLike(feedId, userId)) {
             // 点赞
-            Like like = Like.builder()
-                .userId(userId)
-                .targetType("feed")
-                .targetId(feedId)
-                .build();
-            likeMapper.insert(like);
+            contentMembershipService.onChange(userId, IContentMembershipService.LIKE, "feed", feedId, true);
 
             // 更新动态点赞数 +1
-            updateFeedLikeCount(feedId, 1);
-        } else if (!isLike && currentlyLiked) {
+            contentCounterService.incrementFeed(feed, IContentCounterService.LIKE, 1);
+        } else if (!isLike && currentlyLiked && deleteFeedLike(feedId, userId)) {
             // 取消点赞
-            likeMapper.delete(checkWrapper);
+            contentMembershipService.onChange(userId, IContentMembershipService.LIKE, "feed", feedId, false);
 
             // 更新动态点赞数 -1
-            updateFeedLikeCount(feedId, -1);
+            contentCounterService.incrementFeed(feed, IContentCounterService.LIKE, -1);
+        } else {
+            contentCounterService.mergeFeeds(Collections.singletonList(feed));
         }
 
         // 返回最新点赞数
-        return getLikeCount(feedId);
-    }
-
-    /**
-     * 更新动态点赞数
-     */
-    private void updateFeedLikeCount(Long feedId, int delta) {
-        LambdaUpdateWrapper<Feed> updateWrapper = new LambdaUpdateWrapper<>();
-        updateWrapper.eq(Feed::getId, feedId)
-            .setSql("like_count = like_count + " + delta);
-        feedMapper.update(null, updateWrapper);
+        return feed.getLikeCount();
     }
 
     @Override
@@ -243,16 +269,7 @@ public class DiscoverServiceImpl implements IDiscoverService {
             return Collections.emptyMap();
         }
 
-        LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Like::getUserId, userId)
-            .eq(Like::getTargetType, "feed")
-            .in(Like::getTargetId, feedIds);
-
-        List<Like> likes = likeMapper.selectList(wrapper);
-
-        Set<Long> likedFeedIds = likes.stream()
-            .map(Like::getTargetId)
-            .collect(Collectors.toSet());
+        Set<Long> likedFeedIds = contentMembershipService.liked(userId, "feed", feedIds);
 
         Map<Long, Boolean> result = new HashMap<>();
         for (Long feedId : feedIds) {
@@ -261,35 +278,41 @@ public class DiscoverServiceImpl implements IDiscoverService {
         return result;
     }
 
-    /**
-     * 批量检查收藏状态
-     */
-    private Map<Long, Boolean> batchCheckCollectStatus(List<Long> feedIds, Long userId) {
-        if (feedIds == null || feedIds.isEmpty() || userId == null) {
-            return Collections.emptyMap();
+    @Override
+    public Integer getLikeCount(Long feedId) {
+        Feed feed = feedMapper.selectById(feedId);
+        if (feed == null) {
+            return 0;
         }
+        contentCounterService.mergeFeeds(Collections.singletonList(feed));
+        return feed.getLikeCount();
+    }
 
-        LambdaQueryWrapper<ContentCollection> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(ContentCollection::getUserId, userId)
-            .eq(ContentCollection::getTargetType, "feed")
-            .in(ContentCollection::getTargetId, feedIds);
-
-        List<ContentCollection> collections = collectionMapper.selectList(wrapper);
-
-        Set<Long> collectedFeedIds = collections.stream()
-            .map(ContentCollection::getTargetId)
-            .collect(Collectors.toSet());
-
-        Map<Long, Boolean> result = new HashMap<>();
-        for (Long feedId : feedIds) {
-            result.put(feedId, collectedFeedIds.contains(feedId));
+    /**
+     * 插入动态点赞记录; 唯一键冲突说明库中已点赞(并发点赞或状态缓存落后于库), 修正缓存后按已点赞处理
+     */
+    private boolean insertFeedLike(Long feedId, Long userId) {
+        try {
+            likeMapper.insert(Like.builder()
+                .userId(userId)
+                .targetType("feed")
+                .targetId(feedId)
+                .build());
+            return true;
+        } catch (DuplicateKeyException e) {
+            contentMembershipService.restore(userId, IContentMembershipService.LIKE, "feed", feedId, true);
+            return false;
         }
-        return result;
     }
 
-    @Override
-    public Integer getLikeCount(Long feedId) {
-        Feed feed = feedMapper.selectById(feedId);
-        return feed != null ? feed.getLikeCount() : 0;
+    /**
+     * 删除动态点赞记录, 以删除行数为准, 防止状态缓存与库不一致时重复扣减计数
+     */
+    private boolean deleteFeedLike(Long feedId, Long userId) {
+        LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Like::getUserId, userId)
+            .eq(Like::getTargetType, "feed")
+            .eq(Like::getTargetId, feedId);
+        return likeMapper.delete(wrapper) > 0;
     }
 }
@@ -0,0 +1,83 @@
+package org.dromara.content.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.content.domain.bo.FeedDetailBodyBo;
+import org.dromara.content.service.IFeedDetailCacheService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 动态详情多级缓存服务实现
+ * <p>
+ * 本地缓存按 key 单飞加载，同一节点上热门动态的并发读取只回源一次；
+ * 失效时先删 Redis，再广播给所有节点清理本地缓存
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+public class FeedDetailCacheServiceImpl implements IFeedDetailCacheService {
+
+    private static final String CACHE_KEY_PREFIX = "feed:detail:body:";
+
+    /**
+     * 本地缓存失效通知
+     */
+    private static final String EVICT_TOPIC = "content:feed:detail:evict";
+
+    private static final Duration REDIS_TTL = Duration.ofMinutes(10);
+
+    private final Cache<Long, FeedDetailBodyBo> localCache = Caffeine.newBuilder()
+        // 兜底过期时间, 正常情况下由失效通知清理
+        .expireAfterWrite(30, TimeUnit.SECONDS)
+        .maximumSize(10000)
+        .build();
+
+    @PostConstruct
+    public void init() {
+        RedisUtils.subscribe(EVICT_TOPIC, Long[].class, ids -> localCache.invalidateAll(Arrays.asList(ids)));
+    }
+
+    @Override
+    public FeedDetailBodyBo getBody(Long feedId, Function<Long, FeedDetailBodyBo> loader) {
+        return localCache.get(feedId, id -> {
+            String cacheKey = CACHE_KEY_PREFIX + id;
+            FeedDetailBodyBo cached = RedisUtils.getCacheObject(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+            FeedDetailBodyBo body = loader.apply(id);
+            if (body != null) {
+                RedisUtils.setCacheObject(cacheKey, body, REDIS_TTL);
+            }
+            return body;
+        });
+    }
+
+    @Override
+    public void evict(Long feedId) {
+        evictAll(Collections.singletonList(feedId));
+    }
+
+    @Override
+    public void evictAll(Collection<Long> feedIds) {
+        if (feedIds == null || feedIds.isEmpty()) {
+            return;
+        }
+        RedisUtils.deleteObject(feedIds.stream().map(id -> CACHE_KEY_PREFIX + id).toList());
+        localCache.invalidateAll(feedIds);
+        RedisUtils.publish(EVICT_TOPIC, feedIds.toArray(new Long[0]));
+        log.debug("动态详情缓存失效: count={}", feedIds.size());
+    }
+
+}
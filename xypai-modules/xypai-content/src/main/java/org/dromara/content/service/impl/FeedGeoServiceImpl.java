@@ -0,0 +1,183 @@
+package org.dromara.content.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.redis.utils.GeoIndexUtils;
+import org.dromara.common.redis.utils.GeoIndexUtils.GeoPage;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.content.domain.entity.Feed;
+import org.dromara.content.mapper.FeedMapper;
+import org.dromara.content.service.IFeedGeoService;
+import org.redisson.api.GeoEntry;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动态地理位置索引服务实现
+ * <p>
+ * 索引按 全部/各类型 分别维护，类型过滤在 Redis 中完成，翻页不再需要取 pageSize * pageNum 条数据在内存中截取
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedGeoServiceImpl implements IFeedGeoService {
+
+    private final FeedMapper feedMapper;
+    private final RedissonClient redissonClient;
+
+    private static final String GEO_KEY_PREFIX = "feed:geo:";
+    private static final String GEO_KEY_ALL = "all";
+    private static final String READY_KEY = "feed:geo-index:ready";
+    private static final String REBUILD_LOCK_KEY = "feed:geo-index:rebuild:lock";
+
+    /**
+     * 重建用临时key后缀, 见 {@link GeoIndexUtils#rebuildKey}
+     */
+    private static final String REBUILD_KEY_SUFFIX = "}:rebuild";
+
+    /**
+     * 就绪标记有效期: 过期后下次检索从数据库校正一次, 兜底实时写入失败的数据
+     */
+    private static final Duration READY_TTL = Duration.ofHours(6);
+
+    /**
+     * 重建时每批写入数量
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void addFeed(Feed feed) {
+        if (!hasLocation(feed)) {
+            return;
+        }
+        double longitude = feed.getLongitude().doubleValue();
+        double latitude = feed.getLatitude().doubleValue();
+        GeoIndexUtils.add(geoKey(null), feed.getId(), longitude, latitude);
+        if (feed.getType() != null) {
+            GeoIndexUtils.add(geoKey(feed.getType()), feed.getId(), longitude, latitude);
+        }
+    }
+
+    @Override
+    public void removeFeed(Feed feed) {
+        if (feed == null || feed.getId() == null) {
+            return;
+        }
+        GeoIndexUtils.remove(geoKey(null), feed.getId());
+        if (feed.getType() != null) {
+            GeoIndexUtils.remove(geoKey(feed.getType()), feed.getId());
+        }
+    }
+
+    @Override
+    public GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusKm,
+                                Integer type, int pageNum, int pageSize) {
+        ensureBuilt();
+        return GeoIndexUtils.search(geoKey(type), longitude.doubleValue(), latitude.doubleValue(),
+            radiusKm * 1000D, pageNum, pageSize);
+    }
+
+    @Override
+    public GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusKm,
+                                Integer type, String cursor, int pageSize) {
+        ensureBuilt();
+        return GeoIndexUtils.search(geoKey(type), longitude.doubleValue(), latitude.doubleValue(),
+            radiusKm * 1000D, cursor, pageSize);
+    }
+
+    @Override
+    public void rebuild() {
+        // 先对现有索引开启增量日志再读库: 读库到替换之间的实时写入在替换后重放, 不会被旧快照覆盖
+        for (String key : RedisUtils.keys("{" + GEO_KEY_PREFIX + "*" + REBUILD_KEY_SUFFIX)) {
+            RedisUtils.deleteObject(key);
+        }
+        Set<String> keys = new HashSet<>(RedisUtils.keys(GEO_KEY_PREFIX + "*"));
+        keys.add(geoKey(null));
+        keys.forEach(GeoIndexUtils::beginRebuild);
+
+        LambdaQueryWrapper<Feed> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Feed::getId, Feed::getType, Feed::getLatitude, Feed::getLongitude)
+            .eq(Feed::getStatus, 0)
+            .eq(Feed::getDeleted, 0)
+            .isNotNull(Feed::getLatitude)
+            .isNotNull(Feed::getLongitude);
+        List<Feed> feeds = feedMapper.selectList(wrapper);
+
+        Map<String, List<GeoEntry>> entriesByKey = new HashMap<>();
+        for (Feed feed : feeds) {
+            if (!hasLocation(feed)) {
+                continue;
+            }
+            GeoEntry entry = new GeoEntry(feed.getLongitude().doubleValue(),
+                feed.getLatitude().doubleValue(), String.valueOf(feed.getId()));
+            entriesByKey.computeIfAbsent(geoKey(null), k -> new ArrayList<>()).add(entry);
+            if (feed.getType() != null) {
+                entriesByKey.computeIfAbsent(geoKey(feed.getType()), k -> new ArrayList<>()).add(entry);
+            }
+        }
+        // 读库期间首次出现的类型索引此时才开启日志, 之前的实时写入由下次重建校正
+        for (String key : entriesByKey.keySet()) {
+            if (keys.add(key)) {
+                GeoIndexUtils.beginRebuild(key);
+            }
+        }
+
+        // 先写入临时key再替换, 重建期间检索仍读旧索引, 不会看到空索引或半个索引
+        entriesByKey.forEach((key, entries) -> {
+            String rebuildKey = GeoIndexUtils.rebuildKey(key);
+            for (int i = 0; i < entries.size(); i += BATCH_SIZE) {
+                GeoIndexUtils.addAll(rebuildKey, entries.subList(i, Math.min(i + BATCH_SIZE, entries.size())));
+            }
+        });
+        // 库中已无数据的索引没有临时key, 替换时删除后只保留重放的增量
+        long replayed = 0;
+        for (String key : keys) {
+            replayed += GeoIndexUtils.finishRebuild(key);
+        }
+        RedisUtils.setCacheObject(READY_KEY, System.currentTimeMillis(), READY_TTL);
+        log.info("动态位置索引重建完成: 动态数={}, 索引数={}, 重放增量={}", feeds.size(), entriesByKey.size(), replayed);
+    }
+
+    /**
+     * 索引尚未建立时(首次启动/Redis清空)同步重建一次; 就绪标记过期时由抢到锁的请求校正, 其余请求直接读旧索引
+     */
+    private void ensureBuilt() {
+        if (RedisUtils.isExistsObject(READY_KEY)) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(REBUILD_LOCK_KEY);
+        long waitSeconds = GeoIndexUtils.exists(geoKey(null)) ? 0 : 5;
+        try {
+            if (lock.tryLock(waitSeconds, 60, TimeUnit.SECONDS)) {
+                try {
+                    if (!RedisUtils.isExistsObject(READY_KEY)) {
+                        rebuild();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean hasLocation(Feed feed) {
+        return feed != null && feed.getId() != null
+            && feed.getLatitude() != null && feed.getLongitude() != null;
+    }
+
+    private String geoKey(Integer type) {
+        return GEO_KEY_PREFIX + (type == null ? GEO_KEY_ALL : String.valueOf(type));
+    }
+
+}
@@ -0,0 +1,392 @@
+package org.dromara.content.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.content.domain.entity.Feed;
+import org.dromara.content.event.CounterIncrementEvent;
+import org.dromara.content.mapper.FeedMapper;
+import org.dromara.content.service.IContentCounterService;
+import org.dromara.content.service.IFeedHotRankService;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 热门动态排行服务实现
+ * <p>
+ * 使用 Redis ZSET 保存热度分。时间衰减采用"时间归一化"方式:
+ * 实际热度 = 基础分 * 0.5^((now - createdAt) / 24h)，其中 0.5^(now / 24h) 对所有动态相同，
+ * 因此排序等价于按 基础分 * 2^((createdAt - epoch) / 24h) 排序。
+ * 这样每次互动只需 ZINCRBY 一个增量，无需随时间改写所有成员；
+ * 定时任务从数据库全量重建并重置 epoch，避免指数过大，同时修正增量漂移和清理过期动态。
+ * 每次增量同时记入日志 Hash，重建开始时清空日志，替换榜单时把日志一并转出并按新 epoch 重放，
+ * 读库到替换之间的增量不会因替换而丢失(清空日志与读库之间的极短窗口内的增量可能被重复计入)。
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedHotRankServiceImpl implements IFeedHotRankService {
+
+    private final FeedMapper feedMapper;
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final IContentCounterService contentCounterService;
+
+    private static final String RANK_KEY_PREFIX = "feed:hot:rank:";
+    private static final String RANK_KEY_ALL = "all";
+    private static final String EPOCH_KEY = "feed:hot:epoch";
+    private static final String REBUILD_LOCK_KEY = "feed:hot:rebuild:lock";
+
+    /**
+     * 增量日志: field = 动态ID:类型:发布时间戳, value = 累计权重; 重建替换榜单时转入重放key
+     */
+    private static final String JOURNAL_KEY = "feed:hot:journal";
+    private static final String JOURNAL_REPLAY_KEY = "feed:hot:journal:replay";
+
+    /**
+     * 保证替换时日志存在(RENAME 要求源key存在), 重放时跳过
+     */
+    private static final String JOURNAL_MARKER = "-";
+
+    /**
+     * 热度权重
+     */
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 2.0;
+    private static final double SHARE_WEIGHT = 3.0;
+    private static final double COLLECT_WEIGHT = 2.0;
+
+    /**
+     * 基础分保底值，保证零互动的动态按发布时间排序
+     */
+    private static final double BASE_SCORE_FLOOR = 0.01;
+
+    /**
+     * 热度半衰期
+     */
+    private static final long HALF_LIFE_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    /**
+     * 参与排行的时间窗口(天)
+     */
+    private static final int WINDOW_DAYS = 7;
+
+    /**
+     * 重建周期(分钟)
+     */
+    private static final long REBUILD_PERIOD_MINUTES = 10;
+
+    /**
+     * 本地缓存的衰减基准时间, 重建后由定时任务刷新
+     * 刷新前的短暂误差为 2^(周期/24h), 10分钟约0.5%, 对排序影响可忽略
+     */
+    private volatile long epochMillis = -1;
+
+    @PostConstruct
+    public void init() {
+        scheduledExecutorService.scheduleWithFixedDelay(this::scheduledRebuild,
+            1, REBUILD_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void addFeed(Feed feed) {
+        if (feed == null || feed.getId() == null) {
+            return;
+        }
+        incrementScore(feed, 0);
+    }
+
+    @Override
+    public void removeFeed(Feed feed) {
+        if (feed == null || feed.getId() == null) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        String member = String.valueOf(feed.getId());
+        batch.<String>getScoredSortedSet(rankKey(null), StringCodec.INSTANCE).removeAsync(member);
+        if (feed.getType() != null) {
+            batch.<String>getScoredSortedSet(rankKey(feed.getType()), StringCodec.INSTANCE).removeAsync(member);
+        }
+        batch.execute();
+    }
+
+    /**
+     * 动态互动计数提交后累加热度, 回滚的互动不会进入榜单
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounterIncrement(CounterIncrementEvent event) {
+        double weight = weight(event.getField());
+        if (event.getFeed() == null || weight == 0) {
+            return;
+        }
+        try {
+            incrementScore(event.getFeed(), event.getDelta() * weight);
+        } catch (Exception e) {
+            // 下次重建时从数据库修正
+            log.warn("热度增量写入失败: feedId={}, field={}, delta={}, error={}",
+                event.getFeed().getId(), event.getField(), event.getDelta(), e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Long> pageFeedIds(Integer type, int pageNum, int pageSize) {
+        ensureBuilt();
+        int start = (Math.max(pageNum, 1) - 1) * pageSize;
+        Collection<String> members = redissonClient.<String>getScoredSortedSet(rankKey(type), StringCodec.INSTANCE)
+            .valueRangeReversed(start, start + pageSize - 1);
+        return members.stream().map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    @Override
+    public long count(Integer type) {
+        ensureBuilt();
+        return redissonClient.getScoredSortedSet(rankKey(type), StringCodec.INSTANCE).size();
+    }
+
+    @Override
+    public void rebuild() {
+        long newEpoch = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(WINDOW_DAYS);
+
+        LambdaQueryWrapper<Feed> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Feed::getId, Feed::getType, Feed::getLikeCount, Feed::getCommentCount,
+                Feed::getShareCount, Feed::getCollectCount, Feed::getCreatedAt, Feed::getCreatedTimestamp)
+            .eq(Feed::getStatus, 0)
+            .eq(Feed::getDeleted, 0)
+            .ge(Feed::getCreatedAt, LocalDateTime.now().minusDays(WINDOW_DAYS));
+        // 读库前清空增量日志, 之后的增量在替换榜单后重放
+        redissonClient.getKeys().delete(JOURNAL_KEY);
+        List<Feed> feeds = feedMapper.selectList(wrapper);
+        // 合并尚未落库的计数增量
+        contentCounterService.mergeFeeds(feeds);
+
+        // 按 全部/各类型 分组计算分数
+        Map<String, Map<String, Double>> scoresByKey = new HashMap<>();
+        for (Feed feed : feeds) {
+            double score = baseScore(feed) * timeFactor(createdMillis(feed), newEpoch);
+            String member = String.valueOf(feed.getId());
+            scoresByKey.computeIfAbsent(rankKey(null), k -> new HashMap<>()).put(member, score);
+            if (feed.getType() != null) {
+                scoresByKey.computeIfAbsent(rankKey(feed.getType()), k -> new HashMap<>()).put(member, score);
+            }
+        }
+
+        // 写入临时key后在同一事务中rename替换，读请求不会看到半成品
+        Set<String> existingKeys = new HashSet<>(RedisUtils.keys(RANK_KEY_PREFIX + "*"));
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+            .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        for (Map.Entry<String, Map<String, Double>> entry : scoresByKey.entrySet()) {
+            String tmpKey = entry.getKey() + ":tmp";
+            batch.getKeys().deleteAsync(tmpKey);
+            batch.<String>getScoredSortedSet(tmpKey, StringCodec.INSTANCE).addAllAsync(entry.getValue());
+            batch.getScoredSortedSet(tmpKey, StringCodec.INSTANCE).renameAsync(entry.getKey());
+            existingKeys.remove(entry.getKey());
+        }
+        // 已没有动态的类型榜单直接删除
+        for (String staleKey : existingKeys) {
+            batch.getKeys().deleteAsync(staleKey);
+        }
+        batch.<String>getBucket(EPOCH_KEY, StringCodec.INSTANCE).setAsync(String.valueOf(newEpoch));
+        // 与替换同一事务转出日志, 之后的增量直接写入新榜单
+        batch.<String, String>getMap(JOURNAL_KEY, StringCodec.INSTANCE).fastPutIfAbsentAsync(JOURNAL_MARKER, "0");
+        batch.getMap(JOURNAL_KEY, StringCodec.INSTANCE).renameAsync(JOURNAL_REPLAY_KEY);
+        batch.execute();
+
+        epochMillis = newEpoch;
+        int replayed = replayJournal(newEpoch);
+        log.info("热门排行榜重建完成: 动态数={}, 榜单数={}, 重放增量={}", feeds.size(), scoresByKey.size(), replayed);
+    }
+
+    /**
+     * 按新 epoch 重放读库之后、替换之前的增量
+     *
+     * @return 重放的动态数
+     */
+    private int replayJournal(long epoch) {
+        RMap<String, String> journal = redissonClient.getMap(JOURNAL_REPLAY_KEY, StringCodec.INSTANCE);
+        Map<String, String> entries = journal.readAllMap();
+        RBatch batch = redissonClient.createBatch();
+        int replayed = 0;
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            String[] parts = entry.getKey().split(":", -1);
+            if (parts.length != 3) {
+                continue;
+            }
+            String member = parts[0];
+            double factor = timeFactor(Long.parseLong(parts[2]), epoch);
+            double weight = Double.parseDouble(entry.getValue());
+            incrementMember(batch, rankKey(null), member, BASE_SCORE_FLOOR, weight, factor);
+            if (!parts[1].isEmpty()) {
+                incrementMember(batch, rankKey(Integer.valueOf(parts[1])), member, BASE_SCORE_FLOOR, weight, factor);
+            }
+            replayed++;
+        }
+        batch.getKeys().deleteAsync(JOURNAL_REPLAY_KEY);
+        batch.execute();
+        return replayed;
+    }
+
+    /**
+     * 定时重建(多节点下仅一个节点执行，其余节点刷新本地epoch)
+     */
+    private void scheduledRebuild() {
+        RLock lock = redissonClient.getLock(REBUILD_LOCK_KEY);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(0, REBUILD_PERIOD_MINUTES, TimeUnit.MINUTES);
+            if (locked) {
+                rebuild();
+            } else {
+                refreshEpoch();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("热门排行榜重建失败: {}", e.getMessage(), e);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 排行榜尚未建立时(首次启动/Redis清空)同步重建一次
+     */
+    private void ensureBuilt() {
+        if (epochMillis > 0) {
+            return;
+        }
+        if (refreshEpoch()) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(REBUILD_LOCK_KEY);
+        try {
+            if (lock.tryLock(5, REBUILD_PERIOD_MINUTES * 60, TimeUnit.SECONDS)) {
+                try {
+                    if (!refreshEpoch()) {
+                        rebuild();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 从Redis读取epoch到本地
+     *
+     * @return Redis中是否存在epoch
+     */
+    private boolean refreshEpoch() {
+        RBucket<String> bucket = redissonClient.getBucket(EPOCH_KEY, StringCodec.INSTANCE);
+        String value = bucket.get();
+        if (value == null) {
+            return false;
+        }
+        epochMillis = Long.parseLong(value);
+        return true;
+    }
+
+    private void incrementScore(Feed feed, double weight) {
+        if (feed == null || feed.getId() == null) {
+            return;
+        }
+        long created = createdMillis(feed);
+        // 超出时间窗口的动态不参与排行
+        if (created < System.currentTimeMillis() - TimeUnit.DAYS.toMillis(WINDOW_DAYS)) {
+            return;
+        }
+        if (epochMillis <= 0 && !refreshEpoch()) {
+            // 榜单尚未建立，等待重建时从数据库统一计算
+            return;
+        }
+        double factor = timeFactor(created, epochMillis);
+        String member = String.valueOf(feed.getId());
+        // 调用方已把本次增量计入 Feed 计数, 补齐时扣除, 避免重复累加
+        double seed = Math.max(baseScore(feed) - weight, BASE_SCORE_FLOOR);
+        RBatch batch = redissonClient.createBatch();
+        incrementMember(batch, rankKey(null), member, seed, weight, factor);
+        if (feed.getType() != null) {
+            incrementMember(batch, rankKey(feed.getType()), member, seed, weight, factor);
+        }
+        batch.<String, String>getMap(JOURNAL_KEY, StringCodec.INSTANCE).addAndGetAsync(
+            member + ":" + (feed.getType() != null ? feed.getType() : "") + ":" + created, weight);
+        batch.execute();
+    }
+
+    /**
+     * 榜单中缺少该动态时(发布时写入失败、重建期间发布等)先按基础分 ZADD NX 补齐, 再 ZINCRBY 增量
+     */
+    private void incrementMember(RBatch batch, String key, String member, double seed, double weight, double factor) {
+        RScoredSortedSetAsync<String> set = batch.getScoredSortedSet(key, StringCodec.INSTANCE);
+        set.addIfAbsentAsync(seed * factor, member);
+        if (weight != 0) {
+            set.addScoreAsync(member, weight * factor);
+        }
+    }
+
+    private static double weight(String field) {
+        return switch (field) {
+            case IContentCounterService.LIKE -> LIKE_WEIGHT;
+            case IContentCounterService.COMMENT -> COMMENT_WEIGHT;
+            case IContentCounterService.SHARE -> SHARE_WEIGHT;
+            case IContentCounterService.COLLECT -> COLLECT_WEIGHT;
+            default -> 0;
+        };
+    }
+
+    private double baseScore(Feed feed) {
+        return nullToZero(feed.getLikeCount()) * LIKE_WEIGHT
+            + nullToZero(feed.getCommentCount()) * COMMENT_WEIGHT
+            + nullToZero(feed.getShareCount()) * SHARE_WEIGHT
+            + nullToZero(feed.getCollectCount()) * COLLECT_WEIGHT
+            + BASE_SCORE_FLOOR;
+    }
+
+    private String rankKey(Integer type) {
+        return RANK_KEY_PREFIX + (type == null ? RANK_KEY_ALL : String.valueOf(type));
+    }
+
+    private double timeFactor(long createdMillis, long epoch) {
+        return Math.pow(2, (double) (createdMillis - epoch) / HALF_LIFE_MILLIS);
+    }
+
+    private long createdMillis(Feed feed) {
+        if (feed.getCreatedTimestamp() != null) {
+            return feed.getCreatedTimestamp();
+        }
+        if (feed.getCreatedAt() != null) {
+            return feed.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return System.currentTimeMillis();
+    }
+
+    private int nullToZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+}
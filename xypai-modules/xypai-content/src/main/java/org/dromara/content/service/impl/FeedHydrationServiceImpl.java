@@ -0,0 +1,98 @@
+package org.dromara.content.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.appuser.api.RemoteAppUserService;
+import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
+import org.dromara.content.domain.bo.FeedHydrationBo;
+import org.dromara.content.domain.entity.*;
+import org.dromara.content.mapper.*;
+import org.dromara.content.service.IContentCounterService;
+import org.dromara.content.service.IContentMembershipService;
+import org.dromara.content.service.IFeedHydrationService;
+import org.dromara.content.service.ITopicCatalogService;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 动态列表批量装配服务实现
+ * <p>
+ * 替代逐行查询: 一页N条动态固定为 媒体1次 + 话题关联1次 + 用户RPC 1次 + 计数增量1次 + 点赞/收藏状态(Redis)
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedHydrationServiceImpl implements IFeedHydrationService {
+
+    private final FeedMediaMapper feedMediaMapper;
+    private final FeedTopicMapper feedTopicMapper;
+    private final IContentCounterService contentCounterService;
+    private final ITopicCatalogService topicCatalogService;
+    private final IContentMembershipService contentMembershipService;
+
+    /**
+     * 远程用户服务（Dubbo RPC）
+     */
+    @DubboReference(check = false)
+    private RemoteAppUserService remoteAppUserService;
+
+    @Override
+    public FeedHydrationBo hydrate(List<Feed> feeds, Long currentUserId) {
+        FeedHydrationBo bo = new FeedHydrationBo();
+        if (feeds == null || feeds.isEmpty()) {
+            return bo;
+        }
+
+        List<Long> feedIds = feeds.stream().map(Feed::getId).distinct().collect(Collectors.toList());
+        List<Long> authorIds = feeds.stream().map(Feed::getUserId)
+            .filter(Objects::nonNull).distinct().collect(Collectors.toList());
+
+        // 1. 媒体
+        LambdaQueryWrapper<FeedMedia> mediaWrapper = new LambdaQueryWrapper<>();
+        mediaWrapper.in(FeedMedia::getFeedId, feedIds)
+            .orderByAsc(FeedMedia::getSortOrder);
+        bo.setMediaMap(feedMediaMapper.selectList(mediaWrapper).stream()
+            .collect(Collectors.groupingBy(FeedMedia::getFeedId)));
+
+        // 2. 话题关联 + 话题信息
+        LambdaQueryWrapper<FeedTopic> feedTopicWrapper = new LambdaQueryWrapper<>();
+        feedTopicWrapper.in(FeedTopic::getFeedId, feedIds);
+        List<FeedTopic> feedTopics = feedTopicMapper.selectList(feedTopicWrapper);
+        bo.setFeedTopicMap(feedTopics.stream().collect(Collectors.groupingBy(FeedTopic::getFeedId)));
+
+        Set<String> topicNames = feedTopics.stream().map(FeedTopic::getTopicName).collect(Collectors.toSet());
+        if (!topicNames.isEmpty()) {
+            bo.setTopicMap(topicCatalogService.getByNames(topicNames));
+        }
+
+        // 3. 作者信息(一次RPC)
+        if (!authorIds.isEmpty()) {
+            try {
+                Map<Long, RemoteAppUserVo> userMap = remoteAppUserService.batchGetUserBasicInfo(authorIds, currentUserId);
+                if (userMap != null) {
+                    bo.setUserMap(userMap);
+                }
+            } catch (Exception e) {
+                log.warn("RPC批量获取用户信息失败: userIds={}, error={}", authorIds, e.getMessage());
+            }
+        }
+
+        // 4. 合并未落库的计数增量
+        contentCounterService.mergeFeeds(feeds);
+
+        // 5. 当前用户点赞/收藏状态
+        if (currentUserId != null) {
+            bo.setLikedFeedIds(contentMembershipService.liked(currentUserId, "feed", feedIds));
+            bo.setCollectedFeedIds(contentMembershipService.collected(currentUserId, "feed", feedIds));
+        }
+
+        return bo;
+    }
+
+}
@@ -1,7 +1,9 @@
 package org.dromara.content.service.impl;
 
+import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,24 +11,42 @@ import org.apache.dubbo.config.annotation.DubboReference;
 import org.dromara.appuser.api.RemoteAppUserService;
 import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
 import org.dromara.common.core.exception.ServiceException;
-import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mybatis.core.page.CursorPage;
+import org.dromara.common.mybatis.core.page.CursorQuery;
+import org.dromara.common.redis.utils.GeoIndexUtils.GeoPage;
+import org.dromara.content.domain.bo.FeedDetailBodyBo;
+import org.dromara.content.domain.bo.FeedHydrationBo;
+import org.dromara.content.domain.bo.FeedTimelinePageBo;
 import org.dromara.content.domain.dto.FeedListQueryDTO;
 import org.dromara.content.domain.dto.FeedPublishDTO;
 import org.dromara.content.domain.dto.UserFeedQueryDTO;
 import org.dromara.content.domain.entity.*;
 import org.dromara.content.domain.vo.FeedDetailVO;
 import org.dromara.content.domain.vo.FeedListVO;
+import org.dromara.content.event.FeedPublishedEvent;
 import org.dromara.content.mapper.*;
+import org.dromara.content.service.IContentCounterService;
+import org.dromara.content.service.IContentMembershipService;
+import org.dromara.content.service.IFeedDetailCacheService;
+import org.dromara.content.service.IFeedGeoService;
+import org.dromara.content.service.IFeedHotRankService;
+import org.dromara.content.service.IFeedHydrationService;
 import org.dromara.content.service.IFeedService;
+import org.dromara.content.service.IFeedTimelineService;
+import org.dromara.content.service.ISearchIndexService;
+import org.dromara.content.service.ITopicCatalogService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -43,8 +63,15 @@ public class FeedServiceImpl implements IFeedService {
     private final FeedTopicMapper feedTopicMapper;
     private final FeedMediaMapper feedMediaMapper;
     private final TopicMapper topicMapper;
-    private final LikeMapper likeMapper;
-    private final CollectionMapper collectionMapper;
+    private final IFeedHydrationService feedHydrationService;
+    private final IFeedHotRankService feedHotRankService;
+    private final IFeedGeoService feedGeoService;
+    private final IContentCounterService contentCounterService;
+    private final IFeedTimelineService feedTimelineService;
+    private final IFeedDetailCacheService feedDetailCacheService;
+    private final ITopicCatalogService topicCatalogService;
+    private final IContentMembershipService contentMembershipService;
+    private final ISearchIndexService searchIndexService;
 
     /**
      * 远程用户服务（Dubbo RPC）
@@ -52,7 +79,6 @@ public class FeedServiceImpl implements IFeedService {
     @DubboReference(check = false)
     private RemoteAppUserService remoteAppUserService;
 
-    private static final String CACHE_KEY_FEED_DETAIL = "feed:detail:";
     private static final String CACHE_KEY_FEED_LIST = "feed:list:";
 
     @Override
@@ -78,81 +104,31 @@ public class FeedServiceImpl implements IFeedService {
                 throw new ServiceException("按距离排序需要提供经纬度");
             }
             Integer radius = queryDTO.getRadius() != null ? queryDTO.getRadius() : 50; // 默认50km
-            List<Feed> nearbyFeeds = feedMapper.selectNearbyFeeds(
+            // 位置索引中按类型分别维护, 直接读取当前页
+            GeoPage geoPage = feedGeoService.searchNearby(
                 queryDTO.getLatitude(),
                 queryDTO.getLongitude(),
                 radius,
-                queryDTO.getPageSize() * queryDTO.getPageNum() // 获取足够多数据用于分页
-            );
-
-            // 过滤类型
-            if (queryDTO.getType() != null) {
-                nearbyFeeds = nearbyFeeds.stream()
-                    .filter(f -> f.getType().equals(queryDTO.getType()))
-                    .collect(Collectors.toList());
-            }
-
-            // 手动分页
-            int start = (queryDTO.getPageNum() - 1) * queryDTO.getPageSize();
-            int end = Math.min(start + queryDTO.getPageSize(), nearbyFeeds.size());
-            List<Feed> pagedFeeds = nearbyFeeds.subList(
-                Math.min(start, nearbyFeeds.size()),
-                Math.min(end, nearbyFeeds.size())
+                queryDTO.getType(),
+                queryDTO.getPageNum(),
+                queryDTO.getPageSize()
             );
-
-            List<FeedListVO> voList = pagedFeeds.stream()
-                .map(feed -> convertToListVO(feed, currentUserId))
-                .collect(Collectors.toList());
-
-            Page<FeedListVO> resultPage = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
-            resultPage.setRecords(voList);
-            resultPage.setTotal(nearbyFeeds.size());
-            log.info("按距离排序: 共{}条, 返回{}条", nearbyFeeds.size(), voList.size());
-            return resultPage;
+            return buildNearbyPage(geoPage, queryDTO, currentUserId);
 
         } else if ("followed".equals(sortBy)) {
             // 按关注的用户筛选: 需要登录
             if (currentUserId == null) {
                 throw new ServiceException("查看关注用户动态需要登录");
             }
-            // 调用UserService RPC获取关注列表
-            List<Long> followingIds = new ArrayList<>();
-            try {
-                followingIds = remoteAppUserService.getFollowingIds(currentUserId);
-            } catch (Exception e) {
-                log.warn("RPC调用获取关注列表失败: userId={}, error={}", currentUserId, e.getMessage());
-            }
-
-            if (followingIds.isEmpty()) {
-                log.info("用户 {} 暂无关注的人", currentUserId);
-                Page<FeedListVO> emptyPage = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
-                emptyPage.setRecords(new ArrayList<>());
-                emptyPage.setTotal(0);
-                return emptyPage;
-            }
-
-            wrapper.in(Feed::getUserId, followingIds);
-            wrapper.orderByDesc(Feed::getCreatedTimestamp);
-
-            Page<Feed> feedPage = feedMapper.selectPage(page, wrapper);
-            List<FeedListVO> voList = feedPage.getRecords().stream()
-                .map(feed -> convertToListVO(feed, currentUserId))
-                .collect(Collectors.toList());
-
-            Page<FeedListVO> resultPage = new Page<>(feedPage.getCurrent(), feedPage.getSize());
-            resultPage.setRecords(voList);
-            resultPage.setTotal(feedPage.getTotal());
-            log.info("按关注用户筛选: 共{}条", feedPage.getTotal());
-            return resultPage;
+            // 关注时间线: 发布时写入粉丝收件箱, 读取时合并关注大V的发件箱
+            return buildTimelinePage(queryDTO, currentUserId);
 
         } else if ("likes".equals(sortBy)) {
             // 按点赞数排序
             wrapper.orderByDesc(Feed::getLikeCount);
 
             Page<Feed> feedPage = feedMapper.selectPage(page, wrapper);
-            List<FeedListVO> voList = feedPage.getRecords().stream()
-                .map(feed -> convertToListVO(feed, currentUserId))
-                .collect(Collectors.toList());
+            List<FeedListVO> voList = convertToListVOs(feedPage.getRecords(), currentUserId);
 
             Page<FeedListVO> resultPage = new Page<>(feedPage.getCurrent(), feedPage.getSize());
             resultPage.setRecords(voList);
@@ -163,59 +139,27 @@ public class FeedServiceImpl implements IFeedService {
 
         // 2. 根据tabType查询不同数据
         if ("follow".equals(queryDTO.getTabType())) {
-            // 调用UserService RPC获取关注列表
-            List<Long> followingIds = new ArrayList<>();
-            if (currentUserId != null) {
-                try {
-                    followingIds = remoteAppUserService.getFollowingIds(currentUserId);
-                } catch (Exception e) {
-                    log.warn("RPC调用获取关注列表失败: userId={}, error={}", currentUserId, e.getMessage());
-                }
-            }
-            if (followingIds.isEmpty()) {
+            if (currentUserId == null) {
                 return new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
             }
-            wrapper.in(Feed::getUserId, followingIds);
-            wrapper.orderByDesc(Feed::getCreatedTimestamp);
+            return buildTimelinePage(queryDTO, currentUserId);
 
         } else if ("hot".equals(queryDTO.getTabType())) {
-            // 热门排序: 使用热度算法
-            // 热度分 = 点赞数 * 1 + 评论数 * 2 + 分享数 * 3 + 收藏数 * 2
-            // 时间衰减: score * Math.pow(0.5, hoursSinceCreated / 24)
-
-            // 查询最近7天的动态(避免数据量过大)
-            LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-            wrapper.ge(Feed::getCreatedAt, sevenDaysAgo);
-            wrapper.orderByDesc(Feed::getCreatedTimestamp);
-
-            // 查询所有记录(不分页,后面排序后再分页)
-            Page<Feed> allFeeds = new Page<>(1, 1000); // 限制最多1000条
-            Page<Feed> feedPage = feedMapper.selectPage(allFeeds, wrapper);
-
-            // 计算热度分并排序
-            List<Feed> sortedFeeds = feedPage.getRecords().stream()
-                .sorted((f1, f2) -> Double.compare(
-                    calculateHotScore(f2), // 降序排序
-                    calculateHotScore(f1)
-                ))
-                .collect(Collectors.toList());
-
-            // 手动分页
-            int start = (queryDTO.getPageNum() - 1) * queryDTO.getPageSize();
-            int end = Math.min(start + queryDTO.getPageSize(), sortedFeeds.size());
-            List<Feed> pagedFeeds = sortedFeeds.subList(
-                Math.min(start, sortedFeeds.size()),
-                Math.min(end, sortedFeeds.size())
-            );
+            // 热门排序: 从增量维护的热度排行榜按页读取
+            // 热度分 = 点赞数 * 1 + 评论数 * 2 + 分享数 * 3 + 收藏数 * 2, 每24小时衰减50%
+            List<Long> feedIds = feedHotRankService.pageFeedIds(
+                queryDTO.getType(), queryDTO.getPageNum(), queryDTO.getPageSize());
+            long total = feedHotRankService.count(queryDTO.getType());
+
+            // 保持排行榜顺序
+            List<Feed> pagedFeeds = selectNormalFeedsInOrder(feedIds);
 
             // 转换为VO
-            List<FeedListVO> voList = pagedFeeds.stream()
-                .map(feed -> convertToListVO(feed, currentUserId))
-                .collect(Collectors.toList());
+            List<FeedListVO> voList = convertToListVOs(pagedFeeds, currentUserId);
 
             Page<FeedListVO> resultPage = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
             resultPage.setRecords(voList);
-            resultPage.setTotal(sortedFeeds.size());
+            resultPage.setTotal(total);
             return resultPage;
 
         } else if ("local".equals(queryDTO.getTabType())) {
@@ -224,33 +168,24 @@ public class FeedServiceImpl implements IFeedService {
                 throw new ServiceException("同城Tab需要提供经纬度");
             }
 
-            // 使用空间查询
+            // 使用位置索引
             Integer radius = queryDTO.getRadius() != null ? queryDTO.getRadius() : 5;
-            List<Feed> nearbyFeeds = feedMapper.selectNearbyFeeds(
+            GeoPage geoPage = feedGeoService.searchNearby(
                 queryDTO.getLatitude(),
                 queryDTO.getLongitude(),
                 radius,
+                queryDTO.getType(),
+                queryDTO.getPageNum(),
                 queryDTO.getPageSize()
             );
-
-            // 转换为VO
-            List<FeedListVO> voList = nearbyFeeds.stream()
-                .map(feed -> convertToListVO(feed, currentUserId))
-                .collect(Collectors.toList());
-
-            Page<FeedListVO> resultPage = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
-            resultPage.setRecords(voList);
-            resultPage.setTotal(voList.size());
-            return resultPage;
+            return buildNearbyPage(geoPage, queryDTO, currentUserId);
         }
 
         // 3. 执行查询
         Page<Feed> feedPage = feedMapper.selectPage(page, wrapper);
 
         // 4. 转换为VO
-        List<FeedListVO> voList = feedPage.getRecords().stream()
-            .map(feed -> convertToListVO(feed, currentUserId))
-            .collect(Collectors.toList());
+        List<FeedListVO> voList = convertToListVOs(feedPage.getRecords(), currentUserId);
 
         // 5. 构建返回结果
         Page<FeedListVO> resultPage = new Page<>(feedPage.getCurrent(), feedPage.getSize());
@@ -261,52 +196,112 @@ public class FeedServiceImpl implements IFeedService {
     }
 
     @Override
-    public FeedDetailVO getFeedDetail(Long feedId, Long userId) {
-        // 1. 尝试从缓存获取
-        String cacheKey = CACHE_KEY_FEED_DETAIL + feedId;
-        FeedDetailVO cached = RedisUtils.getCacheObject(cacheKey);
-        if (cached != null) {
-            log.debug("从缓存获取动态详情: {}", feedId);
-            // 重要：即使使用缓存，也需要实时更新用户相关状态
-            updateUserRelatedStatus(cached, userId);
-            return cached;
+    public CursorPage<FeedListVO> scrollFeedList(FeedListQueryDTO queryDTO, Long currentUserId) {
+        CursorQuery cursorQuery = new CursorQuery(queryDTO.getCursor(), queryDTO.getPageSize());
+        String sortBy = queryDTO.getSortBy();
+        String tabType = queryDTO.getTabType();
+
+        if ("hot".equals(tabType) || "likes".equals(sortBy)) {
+            throw new ServiceException("热门列表不支持游标分页");
         }
 
-        // 2. 查询数据库
-        Feed feed = feedMapper.selectById(feedId);
-        if (feed == null || feed.getDeleted() == 1) {
-            throw new ServiceException("动态不存在或已删除");
+        if ("followed".equals(sortBy) || "follow".equals(tabType)) {
+            if (currentUserId == null) {
+                if ("followed".equals(sortBy)) {
+                    throw new ServiceException("查看关注用户动态需要登录");
+                }
+                return CursorPage.empty();
+            }
+            FeedTimelinePageBo timelinePage = feedTimelineService.page(
+                currentUserId, queryDTO.getCursor(), cursorQuery.getLimit());
+            List<Feed> pagedFeeds = selectNormalFeedsInOrder(timelinePage.getFeedIds());
+            if (queryDTO.getType() != null) {
+                pagedFeeds.removeIf(f -> !queryDTO.getType().equals(f.getType()));
+            }
+            return CursorPage.build(convertToListVOs(pagedFeeds, currentUserId),
+                timelinePage.getNextCursor(), timelinePage.isHasMore());
         }
 
-        // 3. 检查可见性
-        if (feed.getVisibility() == 1) {
+        if ("distance".equals(sortBy) || "local".equals(tabType)) {
+            if (queryDTO.getLatitude() == null || queryDTO.getLongitude() == null) {
+                throw new ServiceException("按距离查询需要提供经纬度");
+            }
+            int defaultRadius = "distance".equals(sortBy) ? 50 : 5;
+            Integer radius = queryDTO.getRadius() != null ? queryDTO.getRadius() : defaultRadius;
+            GeoPage geoPage = feedGeoService.searchNearby(
+                queryDTO.getLatitude(),
+                queryDTO.getLongitude(),
+                radius,
+                queryDTO.getType(),
+                queryDTO.getCursor(),
+                cursorQuery.getLimit()
+            );
+            List<FeedListVO> voList = convertToListVOs(selectNormalFeedsInOrder(geoPage.getIds()), currentUserId);
+            fillDistances(voList, geoPage);
+            return CursorPage.build(voList, geoPage.getNextCursor(), geoPage.isHasMore());
+        }
+
+        // 最新: 按(发布时间戳, ID)倒序 keyset 分页
+        LambdaQueryWrapper<Feed> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Feed::getStatus, 0);
+        wrapper.eq(Feed::getDeleted, 0);
+        if (queryDTO.getType() != null) {
+            wrapper.eq(Feed::getType, queryDTO.getType());
+        }
+        cursorQuery.apply(wrapper, Feed::getCreatedTimestamp, Long.class, Feed::getId);
+        CursorPage<Feed> feedPage = cursorQuery.build(
+            feedMapper.selectList(wrapper), Feed::getCreatedTimestamp, Feed::getId);
+        return feedPage.convert(convertToListVOs(feedPage.getRows(), currentUserId));
+    }
+
+    @Override
+    public FeedDetailVO getFeedDetail(Long feedId, Long userId) {
+        // 1. 读取共享主体(本地缓存 -> Redis -> 数据库)
+        FeedDetailBodyBo body = feedDetailCacheService.getBody(feedId, this::loadDetailBody);
+
+        // 2. 检查可见性
+        FeedDetailVO detail = body.getDetail();
+        if (Objects.equals(body.getVisibility(), 1)) {
             // TODO: 检查是否为好友关系
-        } else if (feed.getVisibility() == 2) {
+        } else if (Objects.equals(body.getVisibility(), 2)) {
             // 仅自己可见
-            if (!feed.getUserId().equals(userId)) {
+            if (!detail.getUserId().equals(userId)) {
                 throw new ServiceException("无权查看此动态");
             }
         }
 
-        // 4. 转换为VO
-        FeedDetailVO vo = convertToDetailVO(feed, userId);
-
-        // 5. 异步增加浏览数
-        incrementViewCount(feedId);
-
-        // 6. 缓存结果(10分钟)
-        RedisUtils.setCacheObject(cacheKey, vo, Duration.ofMinutes(10));
+        // 3. 增加浏览数(Redis累积增量, 定时落库)
+        contentCounterService.incrementFeed(feedId, IContentCounterService.VIEW, 1);
 
+        // 4. 复制主体后叠加当前用户相关状态, 共享主体不做修改
+        FeedDetailVO vo = BeanUtil.copyProperties(detail, FeedDetailVO.class);
+        if (detail.getUserInfo() != null) {
+            vo.setUserInfo(BeanUtil.copyProperties(detail.getUserInfo(), FeedDetailVO.UserInfoVO.class));
+        }
+        applyViewerOverlay(vo, userId);
         return vo;
     }
 
     /**
-     * 更新用户相关状态（isFollowed, isLiked, isCollected）
-     * 用于缓存命中后实时更新用户相关状态
+     * 从数据库加载详情共享主体(不含查看者相关状态)
      */
-    private void updateUserRelatedStatus(FeedDetailVO vo, Long userId) {
+    private FeedDetailBodyBo loadDetailBody(Long feedId) {
+        Feed feed = feedMapper.selectById(feedId);
+        if (feed == null || feed.getDeleted() == 1) {
+            throw new ServiceException("动态不存在或已删除");
+        }
+        // 合并未落库的计数, 互动计数落库后主体缓存失效重新加载(浏览数不触发失效)
+        contentCounterService.mergeFeeds(Collections.singletonList(feed));
+        return new FeedDetailBodyBo(convertToDetailVO(feed, null), feed.getVisibility());
+    }
+
+    /**
+     * 叠加当前用户相关状态（isFollowed, isLiked, isCollected, canEdit, canDelete）
+     * 关注状态优先读取时间线的关注快照, 快照缺失时调用一次关系RPC, 不会触发收件箱重建
+     */
+    private void applyViewerOverlay(FeedDetailVO vo, Long userId) {
         if (userId == null) {
-            // 未登录用户，重置为默认状态
+            // 未登录用户，默认状态
             vo.setIsLiked(false);
             vo.setIsCollected(false);
             vo.setCanEdit(false);
@@ -317,24 +312,14 @@ public class FeedServiceImpl implements IFeedService {
             return;
         }
 
-        // 实时查询点赞/收藏状态
+        boolean isAuthor = vo.getUserId().equals(userId);
         vo.setIsLiked(checkIsLiked(userId, "feed", vo.getId()));
         vo.setIsCollected(checkIsCollected(userId, vo.getId()));
-
-        // 实时查询关注状态
-        if (vo.getUserInfo() != null && vo.getUserInfo().getId() != null) {
-            try {
-                boolean isFollowed = remoteAppUserService.checkIsFollowed(userId, vo.getUserInfo().getId());
-                vo.getUserInfo().setIsFollowed(isFollowed);
-            } catch (Exception e) {
-                log.warn("查询关注状态失败: userId={}, targetUserId={}, error={}",
-                    userId, vo.getUserInfo().getId(), e.getMessage());
-            }
+        if (vo.getUserInfo() != null) {
+            vo.getUserInfo().setIsFollowed(!isAuthor && feedTimelineService.isFollowing(userId, vo.getUserId()));
         }
-
-        // 更新编辑/删除权限
-        vo.setCanEdit(vo.getUserId().equals(userId));
-        vo.setCanDelete(vo.getUserId().equals(userId));
+        vo.setCanEdit(isAuthor);
+        vo.setCanDelete(isAuthor);
     }
 
     @Override
@@ -357,50 +342,38 @@ public class FeedServiceImpl implements IFeedService {
 
         feedMapper.insert(feed);
 
-        // 2. 关联媒体资源
+        // 2. 关联媒体资源(批量插入)
         if (publishDTO.getMediaIds() != null && !publishDTO.getMediaIds().isEmpty()) {
+            List<FeedMedia> mediaList = new ArrayList<>(publishDTO.getMediaIds().size());
             for (int i = 0; i < publishDTO.getMediaIds().size(); i++) {
-                FeedMedia feedMedia = FeedMedia.builder()
+                mediaList.add(FeedMedia.builder()
                     .feedId(feed.getId())
                     .mediaId(publishDTO.getMediaIds().get(i))
                     .mediaType("image") // TODO: 从MediaService获取实际类型
                     .sortOrder(i + 1)
-                    .build();
-                feedMediaMapper.insert(feedMedia);
+                    .build());
             }
+            feedMediaMapper.insert(mediaList);
         }
 
-        // 3. 处理话题标签
-        if (publishDTO.getTopicNames() != null && !publishDTO.getTopicNames().isEmpty()) {
-            for (String topicName : publishDTO.getTopicNames()) {
-                // 查询或创建话题
-                LambdaQueryWrapper<Topic> topicWrapper = new LambdaQueryWrapper<>();
-                topicWrapper.eq(Topic::getName, topicName);
-                Topic topic = topicMapper.selectOne(topicWrapper);
-
-                if (topic == null) {
-                    // 创建新话题
-                    topic = Topic.builder()
-                        .name(topicName)
-                        .isOfficial(0)
-                        .isHot(0)
-                        .build();
-                    topicMapper.insert(topic);
-                } else {
-                    // 更新话题帖子数
-                    topic.setPostCount(topic.getPostCount() + 1);
-                    topicMapper.updateById(topic);
-                }
-
-                // 创建关联
-                FeedTopic feedTopic = FeedTopic.builder()
-                    .feedId(feed.getId())
-                    .topicName(topicName)
-                    .build();
-                feedTopicMapper.insert(feedTopic);
-            }
+        // 3. 处理话题标签: 一条语句新建缺失话题并原子累加帖子数, 关联批量插入
+        List<String> topicNames = normalizeTopicNames(publishDTO.getTopicNames());
+        if (!topicNames.isEmpty()) {
+            // 已有话题沿用目录中的ID, 避免为必然命中唯一键冲突的行生成新ID
+            topicMapper.upsertIncrementPostCount(topicNames.stream()
+                .map(name -> {
+                    Topic existing = topicCatalogService.getByName(name);
+                    return Topic.builder().id(existing != null ? existing.getId() : IdWorker.getId()).name(name).build();
+                })
+                .collect(Collectors.toList()));
+            feedTopicMapper.insert(topicNames.stream()
+                .map(name -> FeedTopic.builder().feedId(feed.getId()).topicName(name).build())
+                .collect(Collectors.toList()));
         }
 
+        // 4. 事务提交后异步加入热门排行榜、位置索引, 推送到粉丝关注时间线, 刷新话题目录
+        SpringUtils.context().publishEvent(new FeedPublishedEvent(feed, topicNames));
+
         log.info("用户 {} 发布动态成功: {}", userId, feed.getId());
         return feed.getId();
     }
@@ -423,23 +396,118 @@ public class FeedServiceImpl implements IFeedService {
         feed.setDeleted(1);
         feedMapper.updateById(feed);
 
-        // 4. 清除缓存
-        RedisUtils.deleteObject(CACHE_KEY_FEED_DETAIL + feedId);
+        // 4. 清除缓存, 移出热门排行榜、位置索引、关注时间线、搜索索引
+        feedDetailCacheService.evict(feedId);
+        feedHotRankService.removeFeed(feed);
+        feedGeoService.removeFeed(feed);
+        feedTimelineService.onDelete(feed);
+        searchIndexService.onFeedDeleted(feedId);
 
         log.info("用户 {} 删除动态: {}", userId, feedId);
     }
 
     /**
-     * 转换为列表VO
+     * 按位置索引结果组装附近动态分页(距离由米换算为公里)
+     */
+    private Page<FeedListVO> buildNearbyPage(GeoPage geoPage, FeedListQueryDTO queryDTO, Long currentUserId) {
+        List<Feed> pagedFeeds = selectNormalFeedsInOrder(geoPage.getIds());
+        List<FeedListVO> voList = convertToListVOs(pagedFeeds, currentUserId);
+        fillDistances(voList, geoPage);
+
+        Page<FeedListVO> resultPage = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
+        resultPage.setRecords(voList);
+        // 附近列表不统计总数, 有下一页时让总数超过当前已读数量
+        long read = (long) (queryDTO.getPageNum() - 1) * queryDTO.getPageSize() + voList.size();
+        resultPage.setTotal(geoPage.isHasMore() ? read + 1 : read);
+        return resultPage;
+    }
+
+    /**
+     * 话题名称去空白、去重并排序(排序保证并发发布时话题行加锁顺序一致)
      */
-    private FeedListVO convertToListVO(Feed feed) {
-        return convertToListVO(feed, null);
+    private List<String> normalizeTopicNames(List<String> topicNames) {
+        if (topicNames == null || topicNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return topicNames.stream()
+            .filter(StringUtils::isNotBlank)
+            .map(String::trim)
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
     }
 
     /**
-     * 转换为列表VO(带用户ID检查点赞收藏状态)
+     * 填充距离(由米换算为公里)
      */
-    private FeedListVO convertToListVO(Feed feed, Long currentUserId) {
+    private void fillDistances(List<FeedListVO> voList, GeoPage geoPage) {
+        for (FeedListVO vo : voList) {
+            Double meters = geoPage.getDistances().get(vo.getId());
+            if (meters != null) {
+                vo.setDistance(Math.round(meters / 10) / 100.0);
+            }
+        }
+    }
+
+    /**
+     * 按关注时间线组装关注动态分页
+     * 已删除/下架的动态在时间线中可能残留, 回表时过滤
+     */
+    private Page<FeedListVO> buildTimelinePage(FeedListQueryDTO queryDTO, Long currentUserId) {
+        FeedTimelinePageBo timelinePage = feedTimelineService.page(
+            currentUserId, queryDTO.getPageNum(), queryDTO.getPageSize());
+        List<Feed> pagedFeeds = selectNormalFeedsInOrder(timelinePage.getFeedIds());
+        if (queryDTO.getType() != null) {
+            pagedFeeds.removeIf(f -> !queryDTO.getType().equals(f.getType()));
+        }
+        List<FeedListVO> voList = convertToListVOs(pagedFeeds, currentUserId);
+
+        Page<FeedListVO> resultPage = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
+        resultPage.setRecords(voList);
+        // 时间线不统计总数, 有下一页时让总数超过当前已读数量
+        long read = (long) (queryDTO.getPageNum() - 1) * queryDTO.getPageSize() + voList.size();
+        resultPage.setTotal(timelinePage.isHasMore() ? read + 1 : read);
+        return resultPage;
+    }
+
+    /**
+     * 按ID批量查询正常状态的动态, 保持传入顺序
+     */
+    private List<Feed> selectNormalFeedsInOrder(List<Long> feedIds) {
+        List<Feed> feeds = new ArrayList<>();
+        if (feedIds == null || feedIds.isEmpty()) {
+            return feeds;
+        }
+        Map<Long, Feed> feedMap = feedMapper.selectByIds(feedIds).stream()
+            .filter(f -> f.getStatus() != null && f.getStatus() == 0)
+            .collect(Collectors.toMap(Feed::getId, f -> f));
+        for (Long feedId : feedIds) {
+            Feed feed = feedMap.get(feedId);
+            if (feed != null) {
+                feeds.add(feed);
+            }
+        }
+        return feeds;
+    }
+
+    /**
+     * 批量转换为列表VO
+     * 整页一次装配媒体/话题/作者/点赞收藏状态，避免逐行查询
+     */
+    private List<FeedListVO> convertToListVOs(List<Feed> feeds, Long currentUserId) {
+        if (feeds == null || feeds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        FeedHydrationBo hydration = feedHydrationService.hydrate(feeds, currentUserId);
+        return feeds.stream()
+            .map(feed -> convertToListVO(feed, hydration))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 转换为列表VO(关联数据从批量装配结果中读取)
+     */
+    private FeedListVO convertToListVO(Feed feed, FeedHydrationBo hydration) {
         // 生成类型描述
         String typeDesc = getTypeDesc(feed.getType());
 
@@ -448,22 +516,29 @@ public class FeedServiceImpl implements IFeedService {
             ? feed.getContent().substring(0, 100) + "..."
             : feed.getContent();
 
-        // 查询媒体列表
-        List<FeedListVO.MediaVO> mediaList = getMediaList(feed.getId());
-
-        // 查询话题列表
-        List<FeedListVO.TopicVO> topicList = getTopicList(feed.getId());
+        // 媒体列表
+        List<FeedListVO.MediaVO> mediaList = hydration.getMedia(feed.getId()).stream()
+            .map(fm -> FeedListVO.MediaVO.builder()
+                .mediaId(fm.getMediaId())
+                .mediaType(fm.getMediaType())
+                .url("https://via.placeholder.com/400x300") // TODO: 从MediaService获取实际URL
+                .thumbnailUrl("https://via.placeholder.com/150x100") // TODO: 从MediaService获取缩略图
+                .build())
+            .collect(Collectors.toList());
 
-        // 查询用户信息 (TODO: 调用UserService RPC)
-        FeedListVO.UserInfoVO userInfo = getUserInfo(feed.getUserId(), currentUserId);
+        // 话题列表
+        List<FeedListVO.TopicVO> topicList = hydration.getFeedTopics(feed.getId()).stream()
+            .map(ft -> {
+                Topic topic = hydration.getTopic(ft.getTopicName());
+                return FeedListVO.TopicVO.builder()
+                    .name(ft.getTopicName())
+                    .isHot(topic != null && topic.getIsHot() != null && topic.getIsHot() == 1)
+                    .build();
+            })
+            .collect(Collectors.toList());
 
-        // 检查当前用户是否点赞/收藏
-        boolean isLiked = false;
-        boolean isCollected = false;
-        if (currentUserId != null) {
-            isLiked = checkIsLiked(currentUserId, "feed", feed.getId());
-            isCollected = checkIsCollected(currentUserId, feed.getId());
-        }
+        // 用户信息
+        FeedListVO.UserInfoVO userInfo = buildUserInfo(feed.getUserId(), hydration.getUser(feed.getUserId()));
 
         FeedListVO vo = FeedListVO.builder()
             .id(feed.getId())
@@ -483,8 +558,8 @@ public class FeedServiceImpl implements IFeedService {
             .shareCount(feed.getShareCount())
             .collectCount(feed.getCollectCount())
             .viewCount(feed.getViewCount())
-            .isLiked(isLiked)
-            .isCollected(isCollected)
+            .isLiked(hydration.isLiked(feed.getId()))
+            .isCollected(hydration.isCollected(feed.getId()))
             .createdAt(feed.getCreatedAt())
             .build();
 
@@ -549,28 +624,6 @@ public class FeedServiceImpl implements IFeedService {
         return vo;
     }
 
-    /**
-     * 增加浏览数
-     */
-    private void incrementViewCount(Long feedId) {
-        // 使用Redis计数器
-        String countKey = "feed:view:count:" + feedId;
-        Object cached = RedisUtils.getCacheObject(countKey);
-        Long count = 0L;
-        if (cached != null) {
-            // 处理Redis返回的不同数值类型
-            if (cached instanceof Long) {
-                count = (Long) cached;
-            } else if (cached instanceof Number) {
-                count = ((Number) cached).longValue();
-            }
-        }
-        count++;
-        RedisUtils.setCacheObject(countKey, count, Duration.ofDays(1));
-
-        // TODO: 定时任务同步到MySQL
-    }
-
     /**
      * 获取动态类型描述
      *
@@ -586,59 +639,6 @@ public class FeedServiceImpl implements IFeedService {
         };
     }
 
-    /**
-     * 计算热度分数(带时间衰减)
-     *
-     * 算法说明:
-     * 1. 基础分 = 点赞数 * 1 + 评论数 * 2 + 分享数 * 3 + 收藏数 * 2
-     * 2. 时间衰减 = Math.pow(0.5, hoursSinceCreated / 24)
-     * 3. 最终热度分 = 基础分 * 时间衰减
-     *
-     * @param feed 动态实体
-     * @return 热度分数
-     */
-    private double calculateHotScore(Feed feed) {
-        // 1. 计算基础分
-        double baseScore = feed.getLikeCount() * 1.0
-            + feed.getCommentCount() * 2.0
-            + feed.getShareCount() * 3.0
-            + feed.getCollectCount() * 2.0;
-
-        // 2. 计算时间衰减因子
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime createdAt = feed.getCreatedAt();
-
-        // 计算小时差
-        long hoursSinceCreated = java.time.Duration.between(createdAt, now).toHours();
-
-        // 时间衰减: 每24小时衰减50%
-        double timeFactor = Math.pow(0.5, hoursSinceCreated / 24.0);
-
-        // 3. 最终热度分 = 基础分 * 时间衰减
-        double hotScore = baseScore * timeFactor;
-
-        return hotScore;
-    }
-
-    /**
-     * 获取媒体列表 (用于FeedListVO)
-     */
-    private List<FeedListVO.MediaVO> getMediaList(Long feedId) {
-        LambdaQueryWrapper<FeedMedia> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(FeedMedia::getFeedId, feedId);
-        wrapper.orderByAsc(FeedMedia::getSortOrder);
-        List<FeedMedia> feedMediaList = feedMediaMapper.selectList(wrapper);
-
-        return feedMediaList.stream()
-            .map(fm -> FeedListVO.MediaVO.builder()
-                .mediaId(fm.getMediaId())
-                .mediaType(fm.getMediaType())
-                .url("https://via.placeholder.com/400x300") // TODO: 从MediaService获取实际URL
-                .thumbnailUrl("https://via.placeholder.com/150x100") // TODO: 从MediaService获取缩略图
-                .build())
-            .collect(Collectors.toList());
-    }
-
     /**
      * 获取媒体列表 (用于FeedDetailVO)
      */
@@ -661,29 +661,6 @@ public class FeedServiceImpl implements IFeedService {
             .collect(Collectors.toList());
     }
 
-    /**
-     * 获取话题列表 (用于FeedListVO)
-     */
-    private List<FeedListVO.TopicVO> getTopicList(Long feedId) {
-        LambdaQueryWrapper<FeedTopic> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(FeedTopic::getFeedId, feedId);
-        List<FeedTopic> feedTopicList = feedTopicMapper.selectList(wrapper);
-
-        return feedTopicList.stream()
-            .map(ft -> {
-                // 查询话题信息
-                LambdaQueryWrapper<Topic> topicWrapper = new LambdaQueryWrapper<>();
-                topicWrapper.eq(Topic::getName, ft.getTopicName());
-                Topic topic = topicMapper.selectOne(topicWrapper);
-
-                return FeedListVO.TopicVO.builder()
-                    .name(ft.getTopicName())
-                    .isHot(topic != null && topic.getIsHot() == 1)
-                    .build();
-            })
-            .collect(Collectors.toList());
-    }
-
     /**
      * 获取话题列表 (用于FeedDetailVO)
      */
@@ -694,10 +671,7 @@ public class FeedServiceImpl implements IFeedService {
 
         return feedTopicList.stream()
             .map(ft -> {
-                // 查询话题信息
-                LambdaQueryWrapper<Topic> topicWrapper = new LambdaQueryWrapper<>();
-                topicWrapper.eq(Topic::getName, ft.getTopicName());
-                Topic topic = topicMapper.selectOne(topicWrapper);
+                Topic topic = topicCatalogService.getByName(ft.getTopicName());
 
                 return FeedDetailVO.TopicVO.builder()
                     .name(ft.getTopicName())
@@ -710,34 +684,29 @@ public class FeedServiceImpl implements IFeedService {
     }
 
     /**
-     * 获取用户信息 (用于FeedListVO)
-     * 通过RPC调用UserService获取真实用户信息
+     * 构建用户信息 (用于FeedListVO)
+     * 用户信息由批量RPC预先获取，缺失时降级为默认信息
      */
-    private FeedListVO.UserInfoVO getUserInfo(Long userId, Long currentUserId) {
-        try {
-            RemoteAppUserVo userVo = remoteAppUserService.getUserBasicInfo(userId, currentUserId);
-            if (userVo != null) {
-                // 计算年龄
-                Integer age = null;
-                if (userVo.getBirthday() != null) {
-                    age = Period.between(userVo.getBirthday(), LocalDate.now()).getYears();
-                }
-
-                return FeedListVO.UserInfoVO.builder()
-                    .id(userVo.getUserId())
-                    .nickname(userVo.getNickname())
-                    .avatar(userVo.getAvatar())
-                    .gender(userVo.getGender())
-                    .age(age)
-                    .isFollowed(userVo.getIsFollowed())
-                    .isRealVerified(userVo.getIsRealVerified())
-                    .isGodVerified(userVo.getIsGodVerified())
-                    .isVip(userVo.getIsVip())
-                    .isPopular(userVo.getIsGodVerified()) // 大神认证即为人气用户
-                    .build();
+    private FeedListVO.UserInfoVO buildUserInfo(Long userId, RemoteAppUserVo userVo) {
+        if (userVo != null) {
+            // 计算年龄
+            Integer age = null;
+            if (userVo.getBirthday() != null) {
+                age = Period.between(userVo.getBirthday(), LocalDate.now()).getYears();
             }
-        } catch (Exception e) {
-            log.warn("RPC调用获取用户信息失败: userId={}, error={}", userId, e.getMessage());
+
+            return FeedListVO.UserInfoVO.builder()
+                .id(userVo.getUserId())
+                .nickname(userVo.getNickname())
+                .avatar(userVo.getAvatar())
+                .gender(userVo.getGender())
+                .age(age)
+                .isFollowed(userVo.getIsFollowed())
+                .isRealVerified(userVo.getIsRealVerified())
+                .isGodVerified(userVo.getIsGodVerified())
+                .isVip(userVo.getIsVip())
+                .isPopular(userVo.getIsGodVerified()) // 大神认证即为人气用户
+                .build();
         }
 
         // 降级: 返回默认用户信息
@@ -807,22 +776,14 @@ public class FeedServiceImpl implements IFeedService {
      * 检查用户是否点赞
      */
     private boolean checkIsLiked(Long userId, String targetType, Long targetId) {
-        LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Like::getUserId, userId)
-               .eq(Like::getTargetType, targetType)
-               .eq(Like::getTargetId, targetId);
-        return likeMapper.selectCount(wrapper) > 0;
+        return contentMembershipService.isLiked(userId, targetType, targetId);
     }
 
     /**
      * 检查用户是否收藏
      */
     private boolean checkIsCollected(Long userId, Long feedId) {
-        LambdaQueryWrapper<ContentCollection> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(ContentCollection::getUserId, userId)
-               .eq(ContentCollection::getTargetType, "feed")
-               .eq(ContentCollection::getTargetId, feedId);
-        return collectionMapper.selectCount(wrapper) > 0;
+        return contentMembershipService.isCollected(userId, "feed", feedId);
     }
 
     @Override
@@ -849,9 +810,7 @@ public class FeedServiceImpl implements IFeedService {
         Page<Feed> feedPage = feedMapper.selectPage(page, wrapper);
 
         // 5. 转换为VO
-        List<FeedListVO> voList = feedPage.getRecords().stream()
-            .map(feed -> convertToListVO(feed, currentUserId))
-            .collect(Collectors.toList());
+        List<FeedListVO> voList = convertToListVOs(feedPage.getRecords(), currentUserId);
 
         // 6. 构建返回结果
         Page<FeedListVO> resultPage = new Page<>(feedPage.getCurrent(), feedPage.getSize());
@@ -0,0 +1,420 @@
+package org.dromara.content.service.impl;
+
+import cn.hutool.core.codec.Base64;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.appuser.api.RemoteAppUserService;
+import org.dromara.appuser.api.domain.dto.FollowChangeDto;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.content.domain.bo.FeedTimelinePageBo;
+import org.dromara.content.domain.entity.Feed;
+import org.dromara.content.mapper.FeedMapper;
+import org.dromara.content.service.IFeedTimelineService;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RSet;
+import org.redisson.api.RSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 关注时间线服务实现
+ * <p>
+ * 收件箱 feed:timeline:inbox:{userId}: ZSET(score=发布时间, member=动态ID)，保留最近 INBOX_LIMIT 条；
+ * 发件箱 feed:timeline:outbox:{authorId}: 作者最近发布的动态，供大V(粉丝数超过阈值)的粉丝读取时拉取；
+ * 关注快照 feed:timeline:following:{userId}: 收件箱重建时的关注列表，同时作为收件箱是否有效的标记，
+ * 关注/取关时由 xypai-user 发布消息使其失效。
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedTimelineServiceImpl implements IFeedTimelineService {
+
+    private final FeedMapper feedMapper;
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * 远程用户服务（Dubbo RPC）
+     */
+    @DubboReference(check = false)
+    private RemoteAppUserService remoteAppUserService;
+
+    private static final String INBOX_KEY_PREFIX = "feed:timeline:inbox:";
+    private static final String OUTBOX_KEY_PREFIX = "feed:timeline:outbox:";
+    private static final String FOLLOWING_KEY_PREFIX = "feed:timeline:following:";
+    private static final String BIG_AUTHORS_KEY = "feed:timeline:big-authors";
+
+    /**
+     * 关注列表为空时写入的占位成员, 避免每次读取都重建
+     */
+    private static final String EMPTY_MEMBER = "0";
+
+    /**
+     * 收件箱/发件箱保留条数
+     */
+    private static final int INBOX_LIMIT = 500;
+    private static final int OUTBOX_LIMIT = 200;
+
+    /**
+     * 粉丝数超过该值的作者不再推送, 由粉丝读取时拉取
+     */
+    private static final long FANOUT_FANS_LIMIT = 2000;
+
+    /**
+     * 推送时每批粉丝数量
+     */
+    private static final int FANOUT_BATCH_SIZE = 1000;
+
+    /**
+     * 重建收件箱时每批关注用户数量
+     */
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final Duration INBOX_TTL = Duration.ofDays(7);
+    private static final Duration OUTBOX_TTL = Duration.ofDays(30);
+
+    @PostConstruct
+    public void init() {
+        RedisUtils.subscribe(FollowChangeDto.TOPIC, FollowChangeDto.class, msg -> {
+            if (msg.getFollowerId() != null) {
+                invalidate(msg.getFollowerId());
+            }
+        });
+    }
+
+    @Override
+    public void onPublish(Feed feed) {
+        if (feed == null || feed.getId() == null || feed.getUserId() == null) {
+            return;
+        }
+        scheduledExecutorService.execute(() -> {
+            try {
+                fanOut(feed);
+            } catch (Exception e) {
+                log.warn("动态推送时间线失败: feedId={}, error={}", feed.getId(), e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onDelete(Feed feed) {
+        if (feed == null || feed.getId() == null || feed.getUserId() == null) {
+            return;
+        }
+        redissonClient.getScoredSortedSet(OUTBOX_KEY_PREFIX + feed.getUserId(), StringCodec.INSTANCE)
+            .remove(String.valueOf(feed.getId()));
+        scheduledExecutorService.execute(() -> {
+            try {
+                retract(feed);
+            } catch (Exception e) {
+                log.warn("动态移出时间线失败: feedId={}, error={}", feed.getId(), e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        RedisUtils.deleteObject(List.of(FOLLOWING_KEY_PREFIX + userId, INBOX_KEY_PREFIX + userId));
+    }
+
+    @Override
+    public boolean isFollowing(Long userId, Long targetUserId) {
+        if (userId == null || targetUserId == null || userId.equals(targetUserId)) {
+            return false;
+        }
+        // 详情等读路径不触发收件箱重建: 快照存在时 SISMEMBER, 否则单次关系RPC
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+            .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        RSetAsync<String> following = batch.getSet(FOLLOWING_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        following.isExistsAsync();
+        following.containsAsync(String.valueOf(targetUserId));
+        List<?> responses = batch.execute().getResponses();
+        if (Boolean.TRUE.equals(responses.get(0))) {
+            return Boolean.TRUE.equals(responses.get(1));
+        }
+        try {
+            return remoteAppUserService.checkIsFollowed(userId, targetUserId);
+        } catch (Exception e) {
+            log.warn("查询关注状态失败: userId={}, targetUserId={}, error={}", userId, targetUserId, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public FeedTimelinePageBo page(Long userId, int pageNum, int pageSize) {
+        int offset = (Math.max(pageNum, 1) - 1) * pageSize;
+        List<ScoredEntry<String>> entries = loadEntries(userId, Double.POSITIVE_INFINITY, offset + pageSize + 1);
+
+        FeedTimelinePageBo page = new FeedTimelinePageBo();
+        int end = Math.min(offset + pageSize, entries.size());
+        if (offset < end) {
+            List<ScoredEntry<String>> current = entries.subList(offset, end);
+            current.forEach(entry -> page.getFeedIds().add(Long.valueOf(entry.getValue())));
+            page.setNextCursor(encodeCursor(current.get(current.size() - 1)));
+        }
+        page.setHasMore(entries.size() > end);
+        return page;
+    }
+
+    @Override
+    public FeedTimelinePageBo page(Long userId, String cursor, int pageSize) {
+        double maxScore = Double.POSITIVE_INFINITY;
+        Long lastId = null;
+        if (StringUtils.isNotBlank(cursor)) {
+            try {
+                String[] parts = Base64.decodeStr(cursor, StandardCharsets.UTF_8).split(":");
+                maxScore = Double.parseDouble(parts[0]);
+                lastId = Long.valueOf(parts[1]);
+            } catch (Exception e) {
+                log.debug("时间线游标无效, 从第一页读取: {}", cursor);
+            }
+        }
+
+        // 与游标同一时间戳的动态可能已读过, 多取几条作为余量
+        List<ScoredEntry<String>> entries = loadEntries(userId, maxScore, pageSize + 11);
+        List<ScoredEntry<String>> remaining = new ArrayList<>();
+        for (ScoredEntry<String> entry : entries) {
+            if (lastId == null || entry.getScore() < maxScore
+                || Long.parseLong(entry.getValue()) < lastId) {
+                remaining.add(entry);
+            }
+        }
+
+        FeedTimelinePageBo page = new FeedTimelinePageBo();
+        List<ScoredEntry<String>> current = remaining.subList(0, Math.min(pageSize, remaining.size()));
+        current.forEach(entry -> page.getFeedIds().add(Long.valueOf(entry.getValue())));
+        if (!current.isEmpty()) {
+            page.setNextCursor(encodeCursor(current.get(current.size() - 1)));
+        }
+        page.setHasMore(remaining.size() > current.size());
+        return page;
+    }
+
+    /**
+     * 合并收件箱与需拉取作者的发件箱, 按(发布时间, 动态ID)倒序去重
+     */
+    private List<ScoredEntry<String>> loadEntries(Long userId, double maxScore, int limit) {
+        RSet<String> following = ensureBuilt(userId);
+
+        List<ScoredEntry<String>> entries = new ArrayList<>(
+            redissonClient.<String>getScoredSortedSet(INBOX_KEY_PREFIX + userId, StringCodec.INSTANCE)
+                .entryRangeReversed(Double.NEGATIVE_INFINITY, true, maxScore, true, 0, limit));
+
+        // 关注的大V: 读取时从发件箱拉取; 两个key不在同一槽位, 取大V集合后逐个判断是否关注, 不做跨key SINTER
+        Set<String> bigAuthors = redissonClient.<String>getSet(BIG_AUTHORS_KEY, StringCodec.INSTANCE).readAll();
+        Set<String> pullAuthors = bigAuthors.isEmpty() ? Set.of() : following.containsEach(bigAuthors);
+        for (String authorId : pullAuthors) {
+            RScoredSortedSet<String> outbox = redissonClient.getScoredSortedSet(
+                OUTBOX_KEY_PREFIX + authorId, StringCodec.INSTANCE);
+            if (!outbox.isExists()) {
+                rebuildOutbox(Long.valueOf(authorId));
+            }
+            entries.addAll(outbox.entryRangeReversed(Double.NEGATIVE_INFINITY, true, maxScore, true, 0, limit));
+        }
+
+        Map<String, ScoredEntry<String>> unique = new LinkedHashMap<>();
+        entries.stream()
+            .sorted(Comparator.comparingDouble(ScoredEntry<String>::getScore).reversed()
+                .thenComparing(entry -> Long.parseLong(entry.getValue()), Comparator.reverseOrder()))
+            .forEach(entry -> unique.putIfAbsent(entry.getValue(), entry));
+        return new ArrayList<>(unique.values());
+    }
+
+    /**
+     * 收件箱失效(首次访问/关注关系变化/过期)时从数据库重建
+     */
+    private RSet<String> ensureBuilt(Long userId) {
+        RSet<String> following = redissonClient.getSet(FOLLOWING_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        if (following.isExists()) {
+            return following;
+        }
+
+        List<Long> followingIds;
+        try {
+            followingIds = remoteAppUserService.getFollowingIds(userId);
+        } catch (Exception e) {
+            // RPC失败时不写入快照, 下次读取重试
+            log.warn("RPC调用获取关注列表失败: userId={}, error={}", userId, e.getMessage());
+            return following;
+        }
+
+        List<Feed> feeds = new ArrayList<>();
+        for (int i = 0; i < followingIds.size(); i += REBUILD_BATCH_SIZE) {
+            List<Long> batchIds = followingIds.subList(i, Math.min(i + REBUILD_BATCH_SIZE, followingIds.size()));
+            LambdaQueryWrapper<Feed> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(Feed::getId, Feed::getCreatedAt, Feed::getCreatedTimestamp)
+                .in(Feed::getUserId, batchIds)
+                .eq(Feed::getStatus, 0)
+                .eq(Feed::getDeleted, 0)
+                .orderByDesc(Feed::getCreatedTimestamp)
+                .last("LIMIT " + INBOX_LIMIT);
+            feeds.addAll(feedMapper.selectList(wrapper));
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        for (Feed feed : feeds) {
+            scores.put(String.valueOf(feed.getId()), (double) createdMillis(feed));
+        }
+
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> inbox = batch.getScoredSortedSet(INBOX_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        inbox.deleteAsync();
+        if (!scores.isEmpty()) {
+            inbox.addAllAsync(scores);
+            inbox.removeRangeByRankAsync(0, -(INBOX_LIMIT + 1));
+            inbox.expireAsync(INBOX_TTL);
+        }
+        RSetAsync<String> followingAsync = batch.getSet(FOLLOWING_KEY_PREFIX + userId, StringCodec.INSTANCE);
+        followingAsync.deleteAsync();
+        if (followingIds.isEmpty()) {
+            followingAsync.addAsync(EMPTY_MEMBER);
+        } else {
+            followingAsync.addAllAsync(followingIds.stream().map(String::valueOf).toList());
+        }
+        followingAsync.expireAsync(INBOX_TTL);
+        batch.execute();
+
+        log.info("关注时间线重建完成: userId={}, 关注数={}, 动态数={}", userId, followingIds.size(), scores.size());
+        return following;
+    }
+
+    /**
+     * 写扩散: 写入作者发件箱, 粉丝数未超过阈值时推送到每个粉丝的收件箱
+     */
+    private void fanOut(Feed feed) {
+        Long authorId = feed.getUserId();
+        String member = String.valueOf(feed.getId());
+        double score = createdMillis(feed);
+
+        RBatch outboxBatch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> outbox = outboxBatch.getScoredSortedSet(
+            OUTBOX_KEY_PREFIX + authorId, StringCodec.INSTANCE);
+        outbox.addAsync(score, member);
+        outbox.removeRangeByRankAsync(0, -(OUTBOX_LIMIT + 1));
+        outbox.expireAsync(OUTBOX_TTL);
+        outboxBatch.execute();
+
+        long fansCount = remoteAppUserService.getFansCount(authorId);
+        if (fansCount > FANOUT_FANS_LIMIT) {
+            // 大V一旦标记不再取消, 避免粉丝收件箱中缺失标记期间的动态
+            redissonClient.getSet(BIG_AUTHORS_KEY, StringCodec.INSTANCE).add(String.valueOf(authorId));
+            return;
+        }
+
+        Long lastFansId = null;
+        int pushed = 0;
+        while (true) {
+            List<Long> fansIds = remoteAppUserService.getFansIds(authorId, lastFansId, FANOUT_BATCH_SIZE);
+            if (fansIds == null || fansIds.isEmpty()) {
+                break;
+            }
+            RBatch batch = redissonClient.createBatch();
+            for (Long fansId : fansIds) {
+                RScoredSortedSetAsync<String> inbox = batch.getScoredSortedSet(
+                    INBOX_KEY_PREFIX + fansId, StringCodec.INSTANCE);
+                inbox.addAsync(score, member);
+                inbox.removeRangeByRankAsync(0, -(INBOX_LIMIT + 1));
+                inbox.expireAsync(INBOX_TTL);
+            }
+            batch.execute();
+            pushed += fansIds.size();
+            if (fansIds.size() < FANOUT_BATCH_SIZE) {
+                break;
+            }
+            lastFansId = fansIds.get(fansIds.size() - 1);
+        }
+        log.debug("动态推送时间线完成: feedId={}, 粉丝数={}", feed.getId(), pushed);
+    }
+
+    /**
+     * 删除扩散: 从粉丝收件箱移除已推送的动态, 与 {@link #fanOut} 对称
+     * <p>
+     * 大V的动态未推送到粉丝收件箱, 无需处理; 作者超过阈值前推送的动态仍由读取时回表过滤
+     */
+    private void retract(Feed feed) {
+        Long authorId = feed.getUserId();
+        String member = String.valueOf(feed.getId());
+        if (remoteAppUserService.getFansCount(authorId) > FANOUT_FANS_LIMIT) {
+            return;
+        }
+
+        Long lastFansId = null;
+        int removed = 0;
+        while (true) {
+            List<Long> fansIds = remoteAppUserService.getFansIds(authorId, lastFansId, FANOUT_BATCH_SIZE);
+            if (fansIds == null || fansIds.isEmpty()) {
+                break;
+            }
+            RBatch batch = redissonClient.createBatch();
+            for (Long fansId : fansIds) {
+                batch.getScoredSortedSet(INBOX_KEY_PREFIX + fansId, StringCodec.INSTANCE).removeAsync(member);
+            }
+            batch.execute();
+            removed += fansIds.size();
+            if (fansIds.size() < FANOUT_BATCH_SIZE) {
+                break;
+            }
+            lastFansId = fansIds.get(fansIds.size() - 1);
+        }
+        log.debug("动态移出时间线完成: feedId={}, 粉丝数={}", feed.getId(), removed);
+    }
+
+    /**
+     * 发件箱过期后从数据库重建
+     */
+    private void rebuildOutbox(Long authorId) {
+        LambdaQueryWrapper<Feed> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Feed::getId, Feed::getCreatedAt, Feed::getCreatedTimestamp)
+            .eq(Feed::getUserId, authorId)
+            .eq(Feed::getStatus, 0)
+            .eq(Feed::getDeleted, 0)
+            .orderByDesc(Feed::getCreatedTimestamp)
+            .last("LIMIT " + OUTBOX_LIMIT);
+        List<Feed> feeds = feedMapper.selectList(wrapper);
+        if (feeds.isEmpty()) {
+            return;
+        }
+        Map<String, Double> scores = new HashMap<>();
+        for (Feed feed : feeds) {
+            scores.put(String.valueOf(feed.getId()), (double) createdMillis(feed));
+        }
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> outbox = batch.getScoredSortedSet(
+            OUTBOX_KEY_PREFIX + authorId, StringCodec.INSTANCE);
+        outbox.addAllAsync(scores);
+        outbox.expireAsync(OUTBOX_TTL);
+        batch.execute();
+    }
+
+    private String encodeCursor(ScoredEntry<String> entry) {
+        return Base64.encodeUrlSafe((long) entry.getScore().doubleValue() + ":" + entry.getValue(), StandardCharsets.UTF_8);
+    }
+
+    private long createdMillis(Feed feed) {
+        if (feed.getCreatedTimestamp() != null) {
+            return feed.getCreatedTimestamp();
+        }
+        if (feed.getCreatedAt() != null) {
+            return feed.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return System.currentTimeMillis();
+    }
+
+}
@@ -5,7 +5,8 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.exception.ServiceException;
-import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.mybatis.core.page.CursorPage;
+import org.dromara.common.mybatis.core.page.CursorQuery;
 import org.dromara.content.domain.dto.InteractionDTO;
 import org.dromara.content.domain.dto.MyCollectionQueryDTO;
 import org.dromara.content.domain.dto.MyLikeQueryDTO;
@@ -14,11 +15,14 @@ import org.dromara.content.domain.vo.InteractionResultVO;
 import org.dromara.content.domain.vo.MyCollectionVO;
 import org.dromara.content.domain.vo.MyLikeVO;
 import org.dromara.content.mapper.*;
+import org.dromara.content.service.IContentCounterService;
+import org.dromara.content.service.IContentMembershipService;
 import org.dromara.content.service.IInteractionService;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,6 +41,8 @@ public class InteractionServiceImpl implements IInteractionService {
     private final ShareMapper shareMapper;
     private final FeedMapper feedMapper;
     private final CommentMapper commentMapper;
+    private final IContentCounterService contentCounterService;
+    private final IContentMembershipService contentMembershipService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -46,18 +52,14 @@ public class InteractionServiceImpl implements IInteractionService {
         String action = interactionDTO.getAction();
 
         // 1. 查询是否已点赞
-        LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Like::getUserId, userId)
-               .eq(Like::getTargetType, targetType)
-               .eq(Like::getTargetId, targetId);
-        Like existingLike = likeMapper.selectOne(wrapper);
+        boolean alreadyLiked = contentMembershipService.isLiked(userId, targetType, targetId);
 
         boolean isLiked;
         int newCount;
 
         if ("like".equals(action)) {
             // 点赞
-            if (existingLike != null) {
+            if (alreadyLiked) {
                 throw new ServiceException("已经点赞过了");
             }
 
@@ -66,7 +68,14 @@ public class InteractionServiceImpl implements IInteractionService {
                 .targetType(targetType)
                 .targetId(targetId)
                 .build();
-            likeMapper.insert(like);
+            try {
+                likeMapper.insert(like);
+            } catch (DuplicateKeyException e) {
+                // 并发点赞或状态缓存落后于库: 以库为准修正缓存
+                contentMembershipService.restore(userId, IContentMembershipService.LIKE, targetType, targetId, true);
+                throw new ServiceException("已经点赞过了");
+            }
+            contentMembershipService.onChange(userId, IContentMembershipService.LIKE, targetType, targetId, true);
 
             // 更新计数
             newCount = incrementLikeCount(targetType, targetId, 1);
@@ -76,11 +85,15 @@ public class InteractionServiceImpl implements IInteractionService {
 
         } else if ("unlike".equals(action)) {
             // 取消点赞
-            if (existingLike == null) {
+            // 以删除行数为准, 防止状态缓存与库不一致时重复扣减计数
+            LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(Like::getUserId, userId)
+                   .eq(Like::getTargetType, targetType)
+                   .eq(Like::getTargetId, targetId);
+            if (!alreadyLiked || likeMapper.delete(wrapper) == 0) {
                 throw new ServiceException("还没有点赞");
             }
-
-            likeMapper.deleteById(existingLike.getId());
+            contentMembershipService.onChange(userId, IContentMembershipService.LIKE, targetType, targetId, false);
 
             // 更新计数
             newCount = incrementLikeCount(targetType, targetId, -1);
@@ -112,18 +125,14 @@ public class InteractionServiceImpl implements IInteractionService {
         }
 
         // 1. 查询是否已收藏
-        LambdaQueryWrapper<ContentCollection> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(ContentCollection::getUserId, userId)
-               .eq(ContentCollection::getTargetType, targetType)
-               .eq(ContentCollection::getTargetId, targetId);
-        ContentCollection existingCollection = collectionMapper.selectOne(wrapper);
+        boolean alreadyCollected = contentMembershipService.isCollected(userId, targetType, targetId);
 
         boolean isCollected;
         int newCount;
 
         if ("collect".equals(action)) {
             // 收藏
-            if (existingCollection != null) {
+            if (alreadyCollected) {
                 throw new ServiceException("已经收藏过了");
             }
 
@@ -132,7 +141,14 @@ public class InteractionServiceImpl implements IInteractionService {
                 .targetType(targetType)
                 .targetId(targetId)
                 .build();
-            collectionMapper.insert(collection);
+            try {
+                collectionMapper.insert(collection);
+            } catch (DuplicateKeyException e) {
+                // 并发收藏或状态缓存落后于库: 以库为准修正缓存
+                contentMembershipService.restore(userId, IContentMembershipService.COLLECT, targetType, targetId, true);
+                throw new ServiceException("已经收藏过了");
+            }
+            contentMembershipService.onChange(userId, IContentMembershipService.COLLECT, targetType, targetId, true);
 
             // 更新计数
             newCount = incrementCollectCount(targetId, 1);
@@ -142,11 +158,14 @@ public class InteractionServiceImpl implements IInteractionService {
 
         } else if ("uncollect".equals(action)) {
             // 取消收藏
-            if (existingCollection == null) {
+            LambdaQueryWrapper<ContentCollection> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(ContentCollection::getUserId, userId)
+                   .eq(ContentCollection::getTargetType, targetType)
+                   .eq(ContentCollection::getTargetId, targetId);
+            if (!alreadyCollected || collectionMapper.delete(wrapper) == 0) {
                 throw new ServiceException("还没有收藏");
             }
-
-            collectionMapper.deleteById(existingCollection.getId());
+            contentMembershipService.onChange(userId, IContentMembershipService.COLLECT, targetType, targetId, false);
 
             // 更新计数
             newCount = incrementCollectCount(targetId, -1);
@@ -183,13 +202,8 @@ public class InteractionServiceImpl implements IInteractionService {
             .build();
         shareMapper.insert(share);
 
-        // 3. 更新分享数
-        feed.setShareCount(feed.getShareCount() + 1);
-        feedMapper.updateById(feed);
-
-        // 4. 使用Redis计数器
-        String countKey = "feed:share:count:" + targetId;
-        RedisUtils.setCacheObject(countKey, feed.getShareCount(), Duration.ofDays(1));
+        // 3. 更新分享数(Redis累积增量, 定时落库)
+        contentCounterService.incrementFeed(feed, IContentCounterService.SHARE, 1);
 
         log.info("用户 {} 分享动态 {} 到 {}", userId, targetId, shareChannel);
 
@@ -201,36 +215,30 @@ public class InteractionServiceImpl implements IInteractionService {
     }
 
     /**
-     * 增加点赞数
+     * 增加点赞数(Redis累积增量, 定时落库)
      */
     private int incrementLikeCount(String targetType, Long targetId, int delta) {
         if ("feed".equals(targetType)) {
             Feed feed = feedMapper.selectById(targetId);
             if (feed != null) {
-                feed.setLikeCount(Math.max(0, feed.getLikeCount() + delta));
-                feedMapper.updateById(feed);
-                return feed.getLikeCount();
+                return contentCounterService.incrementFeed(feed, IContentCounterService.LIKE, delta);
             }
         } else if ("comment".equals(targetType)) {
             Comment comment = commentMapper.selectById(targetId);
             if (comment != null) {
-                comment.setLikeCount(Math.max(0, comment.getLikeCount() + delta));
-                commentMapper.updateById(comment);
-                return comment.getLikeCount();
+                return contentCounterService.incrementComment(comment, IContentCounterService.LIKE, delta);
             }
         }
         return 0;
     }
 
     /**
-     * 增加收藏数
+     * 增加收藏数(Redis累积增量, 定时落库)
      */
     private int incrementCollectCount(Long feedId, int delta) {
         Feed feed = feedMapper.selectById(feedId);
         if (feed != null) {
-            feed.setCollectCount(Math.max(0, feed.getCollectCount() + delta));
-            feedMapper.updateById(feed);
-            return feed.getCollectCount();
+            return contentCounterService.incrementFeed(feed, IContentCounterService.COLLECT, delta);
         }
         return 0;
     }
@@ -266,6 +274,22 @@ public class InteractionServiceImpl implements IInteractionService {
         return resultPage;
     }
 
+    @Override
+    public CursorPage<MyLikeVO> scrollMyLikeList(MyLikeQueryDTO queryDTO, Long userId) {
+        CursorQuery cursorQuery = new CursorQuery(queryDTO.getCursor(), queryDTO.getPageSize());
+        LambdaQueryWrapper<Like> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Like::getUserId, userId);
+        if (!"all".equals(queryDTO.getType())) {
+            wrapper.eq(Like::getTargetType, queryDTO.getType());
+        }
+        cursorQuery.apply(wrapper, Like::getCreatedAt, LocalDateTime.class, Like::getId);
+
+        CursorPage<Like> likePage = cursorQuery.build(likeMapper.selectList(wrapper), Like::getCreatedAt, Like::getId);
+        return likePage.convert(likePage.getRows().stream()
+            .map(this::convertToMyLikeVO)
+            .collect(Collectors.toList()));
+    }
+
     /**
      * 转换为我的点赞VO
      */
@@ -335,6 +359,20 @@ public class InteractionServiceImpl implements IInteractionService {
         return resultPage;
     }
 
+    @Override
+    public CursorPage<MyCollectionVO> scrollMyCollectionList(MyCollectionQueryDTO queryDTO, Long userId) {
+        CursorQuery cursorQuery = new CursorQuery(queryDTO.getCursor(), queryDTO.getPageSize());
+        LambdaQueryWrapper<ContentCollection> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ContentCollection::getUserId, userId);
+        cursorQuery.apply(wrapper, ContentCollection::getCreatedAt, LocalDateTime.class, ContentCollection::getId);
+
+        CursorPage<ContentCollection> collectionPage = cursorQuery.build(
+            collectionMapper.selectList(wrapper), ContentCollection::getCreatedAt, ContentCollection::getId);
+        return collectionPage.convert(collectionPage.getRows().stream()
+            .map(this::convertToMyCollectionVO)
+            .collect(Collectors.toList()));
+    }
+
     /**
      * 转换为我的收藏VO
      */
@@ -12,8 +12,8 @@ import org.dromara.content.domain.vo.TopicCategoryVO;
 import org.dromara.content.domain.vo.TopicListVO;
 import org.dromara.content.mapper.PublishConfigMapper;
 import org.dromara.content.mapper.TopicCategoryMapper;
-import org.dromara.content.mapper.TopicMapper;
 import org.dromara.content.service.IPublishService;
+import org.dromara.content.service.ITopicCatalogService;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -34,7 +34,7 @@ public class PublishServiceImpl implements IPublishService {
 
     private final PublishConfigMapper publishConfigMapper;
     private final TopicCategoryMapper topicCategoryMapper;
-    private final TopicMapper topicMapper;
+    private final ITopicCatalogService topicCatalogService;
 
     private static final String CACHE_KEY_PUBLISH_CONFIG = "publish:config";
     private static final String CACHE_KEY_TOPIC_CATEGORIES = "publish:topic:categories";
@@ -95,12 +95,9 @@ public class PublishServiceImpl implements IPublishService {
         );
 
         // 3. 查询所有热门话题
-        List<Topic> hotTopics = topicMapper.selectList(
-            new LambdaQueryWrapper<Topic>()
-                .eq(Topic::getIsHot, 1)
-                .orderByDesc(Topic::getPostCount)
-                .last("LIMIT 50")
-        );
+        List<Topic> hotTopics = topicCatalogService.listHot().stream()
+            .limit(50)
+            .toList();
 
         // 4. 构建分类VO列表
         List<TopicCategoryVO> categoryVOList = new ArrayList<>();
@@ -0,0 +1,384 @@
+package org.dromara.content.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboReference;
+import org.dromara.appuser.api.RemoteAppUserService;
+import org.dromara.appuser.api.domain.dto.UserSearchChangeDto;
+import org.dromara.appuser.api.domain.vo.RemoteUserSearchVo;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.content.domain.entity.Feed;
+import org.dromara.content.domain.entity.FeedTopic;
+import org.dromara.content.domain.entity.Topic;
+import org.dromara.content.mapper.FeedMapper;
+import org.dromara.content.mapper.FeedTopicMapper;
+import org.dromara.content.mapper.TopicMapper;
+import org.dromara.content.search.SearchDocument;
+import org.dromara.content.search.SearchEngine;
+import org.dromara.content.search.SearchHits;
+import org.dromara.content.search.SearchIndexChange;
+import org.dromara.content.search.SearchQuery;
+import org.dromara.content.service.ISearchIndexService;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 搜索索引服务实现
+ * <p>
+ * 进程内索引时每个节点各有一份: 变更通过 Redis 广播文档, 各节点直接写入, 不再回查数据库;
+ * Elasticsearch 时由发起变更的节点直接写入, 定时全量重载只在获得锁的节点执行。
+ * 全量重载按批写入并标记写入时间, 结束后按类型清理本轮未写入的文档, 重载期间查询不中断
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexServiceImpl implements ISearchIndexService {
+
+    private final SearchEngine searchEngine;
+    private final FeedMapper feedMapper;
+    private final FeedTopicMapper feedTopicMapper;
+    private final TopicMapper topicMapper;
+    private final RedissonClient redissonClient;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * 远程用户服务（Dubbo RPC）
+     */
+    @DubboReference(check = false)
+    private RemoteAppUserService remoteAppUserService;
+
+    /**
+     * 索引变更广播(仅进程内索引)
+     */
+    private static final String CHANGE_TOPIC = "content:search:index:change";
+
+    private static final String RELOAD_LOCK_KEY = "content:search:index:reload:lock";
+
+    /**
+     * 全量重载周期(分钟), 兜底后台直接改库、计数变化、节点错过通知等情况
+     */
+    private static final long RELOAD_PERIOD_MINUTES = 30;
+
+    /**
+     * 全量重载时每批动态数量
+     */
+    private static final int FEED_BATCH_SIZE = 1000;
+
+    /**
+     * 全量重载时每批用户数量(RPC)
+     */
+    private static final int USER_BATCH_SIZE = 500;
+
+    @PostConstruct
+    public void init() {
+        if (!searchEngine.shared()) {
+            RedisUtils.subscribe(CHANGE_TOPIC, SearchIndexChange.class, this::apply);
+        }
+        // 订阅回调在 Redis 连接线程上执行, RPC 放到线程池
+        RedisUtils.subscribe(UserSearchChangeDto.TOPIC, UserSearchChangeDto.class, msg -> {
+            if (msg.getUserId() != null) {
+                scheduledExecutorService.execute(() -> reloadUsers(List.of(msg.getUserId())));
+            }
+        });
+        // 启动时异步加载, 加载完成前搜索结果为空
+        scheduledExecutorService.execute(this::scheduledReload);
+        scheduledExecutorService.scheduleWithFixedDelay(this::scheduledReload,
+            RELOAD_PERIOD_MINUTES, RELOAD_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public SearchHits search(SearchQuery query) {
+        return searchEngine.search(query);
+    }
+
+    @Override
+    public void onFeedPublished(Feed feed, Collection<String> topicNames) {
+        List<SearchDocument> upserts = new ArrayList<>();
+        if (isSearchable(feed)) {
+            upserts.add(feedDocument(feed, topicNames == null ? List.of() : topicNames));
+        }
+        if (topicNames != null && !topicNames.isEmpty()) {
+            topicMapper.selectList(new LambdaQueryWrapper<Topic>().in(Topic::getName, topicNames))
+                .forEach(topic -> upserts.add(topicDocument(topic)));
+        }
+        if (!upserts.isEmpty()) {
+            publish(new SearchIndexChange(upserts, List.of()));
+        }
+    }
+
+    @Override
+    public void onFeedDeleted(Long feedId) {
+        if (feedId != null) {
+            publish(new SearchIndexChange(List.of(), List.of(SearchDocument.id(SearchDocument.TYPE_FEED, feedId))));
+        }
+    }
+
+    @Override
+    public void reloadUsers(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        try {
+            List<RemoteUserSearchVo> users = remoteAppUserService.getSearchUsers(new ArrayList<>(userIds));
+            Set<Long> found = new HashSet<>();
+            List<SearchDocument> upserts = new ArrayList<>();
+            List<String> deletes = new ArrayList<>();
+            for (RemoteUserSearchVo user : users) {
+                found.add(user.getUserId());
+                addUserDocuments(user, upserts, deletes);
+            }
+            for (Long userId : userIds) {
+                if (!found.contains(userId)) {
+                    deletes.add(SearchDocument.id(SearchDocument.TYPE_USER, userId));
+                    deletes.add(SearchDocument.id(SearchDocument.TYPE_PROVIDER, userId));
+                }
+            }
+            // 每个节点都会收到用户变更通知, 只写本节点
+            apply(new SearchIndexChange(upserts, deletes));
+        } catch (Exception e) {
+            log.warn("用户搜索文档加载失败: userIds={}, error={}", userIds, e.getMessage());
+        }
+    }
+
+    /**
+     * 广播变更(进程内索引)或直接写入(共享索引); 广播失败时至少更新本节点
+     */
+    private void publish(SearchIndexChange change) {
+        if (searchEngine.shared()) {
+            apply(change);
+            return;
+        }
+        try {
+            RedisUtils.publish(CHANGE_TOPIC, change);
+        } catch (Exception e) {
+            log.warn("搜索索引变更广播失败: {}", e.getMessage());
+            apply(change);
+        }
+    }
+
+    private void apply(SearchIndexChange change) {
+        try {
+            if (change.getDeletes() != null && !change.getDeletes().isEmpty()) {
+                searchEngine.delete(change.getDeletes());
+            }
+            if (change.getUpserts() != null && !change.getUpserts().isEmpty()) {
+                searchEngine.upsert(change.getUpserts());
+            }
+        } catch (Exception e) {
+            // 写入失败等待定时全量重载
+            log.warn("搜索索引更新失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时全量重载(共享索引时仅一个节点执行)
+     */
+    private void scheduledReload() {
+        if (!searchEngine.shared()) {
+            reloadAll();
+            return;
+        }
+        RLock lock = redissonClient.getLock(RELOAD_LOCK_KEY);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(0, RELOAD_PERIOD_MINUTES, TimeUnit.MINUTES);
+            if (locked) {
+                reloadAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 各类型独立重载, 某类加载失败时不清理该类文档
+     */
+    private void reloadAll() {
+        long start = System.currentTimeMillis();
+        try {
+            int feeds = reloadFeeds(start);
+            searchEngine.deleteStale(SearchDocument.TYPE_FEED, start);
+            int topics = reloadTopics(start);
+            searchEngine.deleteStale(SearchDocument.TYPE_TOPIC, start);
+            log.info("搜索索引动态/话题重载完成: 动态数={}, 话题数={}, cost={}ms",
+                feeds, topics, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("搜索索引动态/话题重载失败: {}", e.getMessage(), e);
+        }
+        try {
+            int users = reloadAllUsers(start);
+            searchEngine.deleteStale(SearchDocument.TYPE_USER, start);
+            searchEngine.deleteStale(SearchDocument.TYPE_PROVIDER, start);
+            log.info("搜索索引用户重载完成: 用户数={}", users);
+        } catch (Exception e) {
+            log.error("搜索索引用户重载失败: {}", e.getMessage());
+        }
+    }
+
+    private int reloadFeeds(long indexedAt) {
+        int count = 0;
+        Long lastId = null;
+        while (true) {
+            List<Feed> feeds = feedMapper.selectList(new LambdaQueryWrapper<Feed>()
+                .gt(lastId != null, Feed::getId, lastId)
+                .eq(Feed::getStatus, 0)
+                .eq(Feed::getVisibility, 0)
+                .orderByAsc(Feed::getId)
+                .last("LIMIT " + FEED_BATCH_SIZE));
+            if (feeds.isEmpty()) {
+                return count;
+            }
+            List<Long> feedIds = feeds.stream().map(Feed::getId).toList();
+            Map<Long, List<String>> topicNames = feedTopicMapper.selectList(
+                    new LambdaQueryWrapper<FeedTopic>().in(FeedTopic::getFeedId, feedIds))
+                .stream()
+                .collect(Collectors.groupingBy(FeedTopic::getFeedId,
+                    Collectors.mapping(FeedTopic::getTopicName, Collectors.toList())));
+            List<SearchDocument> documents = new ArrayList<>(feeds.size());
+            for (Feed feed : feeds) {
+                SearchDocument document = feedDocument(feed, topicNames.getOrDefault(feed.getId(), List.of()));
+                document.setIndexedAt(indexedAt);
+                documents.add(document);
+            }
+            searchEngine.upsert(documents);
+            count += documents.size();
+            if (feeds.size() < FEED_BATCH_SIZE) {
+                return count;
+            }
+            lastId = feeds.get(feeds.size() - 1).getId();
+        }
+    }
+
+    private int reloadTopics(long indexedAt) {
+        List<SearchDocument> documents = new ArrayList<>();
+        for (Topic topic : topicMapper.selectList(null)) {
+            SearchDocument document = topicDocument(topic);
+            document.setIndexedAt(indexedAt);
+            documents.add(document);
+        }
+        searchEngine.upsert(documents);
+        return documents.size();
+    }
+
+    private int reloadAllUsers(long indexedAt) {
+        int count = 0;
+        Long lastUserId = null;
+        while (true) {
+            List<RemoteUserSearchVo> users = remoteAppUserService.listSearchUsers(lastUserId, USER_BATCH_SIZE);
+            if (users == null || users.isEmpty()) {
+                return count;
+            }
+            List<SearchDocument> upserts = new ArrayList<>();
+            for (RemoteUserSearchVo user : users) {
+                addUserDocuments(user, upserts, new ArrayList<>());
+            }
+            upserts.forEach(document -> document.setIndexedAt(indexedAt));
+            searchEngine.upsert(upserts);
+            count += users.size();
+            if (users.size() < USER_BATCH_SIZE) {
+                return count;
+            }
+            lastUserId = users.get(users.size() - 1).getUserId();
+        }
+    }
+
+    private boolean isSearchable(Feed feed) {
+        return feed != null && feed.getId() != null
+            && Integer.valueOf(0).equals(feed.getStatus())
+            && (feed.getVisibility() == null || feed.getVisibility() == 0)
+            && (feed.getDeleted() == null || feed.getDeleted() == 0);
+    }
+
+    private SearchDocument feedDocument(Feed feed, Collection<String> topicNames) {
+        SearchDocument document = new SearchDocument();
+        document.setId(SearchDocument.id(SearchDocument.TYPE_FEED, feed.getId()));
+        document.setDocType(SearchDocument.TYPE_FEED);
+        document.setRefId(feed.getId());
+        document.setTitle(feed.getTitle());
+        document.setTags(String.join(" ", topicNames));
+        document.setContent(feed.getContent());
+        document.setImage(feed.getCoverImage());
+        document.setMediaType(feed.getMediaType());
+        document.setUserId(feed.getUserId());
+        document.setLikeCount(feed.getLikeCount() != null ? feed.getLikeCount() : 0);
+        document.setCommentCount(feed.getCommentCount() != null ? feed.getCommentCount() : 0);
+        document.setPopularity((long) document.getLikeCount());
+        document.setIndexedAt(System.currentTimeMillis());
+        return document;
+    }
+
+    private SearchDocument topicDocument(Topic topic) {
+        SearchDocument document = new SearchDocument();
+        document.setId(SearchDocument.id(SearchDocument.TYPE_TOPIC, topic.getId()));
+        document.setDocType(SearchDocument.TYPE_TOPIC);
+        document.setRefId(topic.getId());
+        document.setTitle(topic.getName());
+        document.setContent(topic.getDescription());
+        document.setImage(topic.getCoverImage());
+        document.setHot(topic.getIsHot() != null && topic.getIsHot() == 1);
+        document.setPostCount(topic.getPostCount() != null ? topic.getPostCount() : 0);
+        document.setParticipantCount(topic.getParticipantCount() != null ? topic.getParticipantCount() : 0);
+        document.setPopularity((long) document.getPostCount());
+        document.setIndexedAt(System.currentTimeMillis());
+        return document;
+    }
+
+    /**
+     * 用户文档, 有上架技能时另加服务者文档(否则删除服务者文档)
+     */
+    private void addUserDocuments(RemoteUserSearchVo user, List<SearchDocument> upserts, List<String> deletes) {
+        long now = System.currentTimeMillis();
+        SearchDocument document = new SearchDocument();
+        document.setId(SearchDocument.id(SearchDocument.TYPE_USER, user.getUserId()));
+        document.setDocType(SearchDocument.TYPE_USER);
+        document.setRefId(user.getUserId());
+        document.setTitle(user.getNickname());
+        document.setContent(user.getBio());
+        document.setImage(user.getAvatar());
+        document.setGender(user.getGender());
+        document.setAge(user.getAge());
+        document.setVerified(user.getIsVerified());
+        document.setOnline(user.getIsOnline());
+        document.setPopularity(user.getFansCount() != null ? user.getFansCount().longValue() : 0L);
+        document.setIndexedAt(now);
+        upserts.add(document);
+
+        String providerId = SearchDocument.id(SearchDocument.TYPE_PROVIDER, user.getUserId());
+        if (user.getSkillNames() == null || user.getSkillNames().isEmpty()) {
+            deletes.add(providerId);
+            return;
+        }
+        SearchDocument provider = new SearchDocument();
+        provider.setId(providerId);
+        provider.setDocType(SearchDocument.TYPE_PROVIDER);
+        provider.setRefId(user.getUserId());
+        provider.setTitle(user.getNickname());
+        provider.setTags(String.join(" ", user.getSkillNames()));
+        provider.setContent(user.getSkillDescription());
+        provider.setImage(user.getAvatar());
+        provider.setGender(user.getGender());
+        provider.setAge(user.getAge());
+        provider.setVerified(user.getIsVerified());
+        provider.setOnline(user.getIsOnline());
+        provider.setPrice(user.getMinPrice());
+        provider.setPriceUnit(user.getPriceUnit());
+        provider.setPopularity(user.getOrderCount() != null ? user.getOrderCount().longValue() : 0L);
+        provider.setIndexedAt(now);
+        upserts.add(provider);
+    }
+
+}
@@ -0,0 +1,386 @@
+package org.dromara.content.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.content.domain.entity.Topic;
+import org.dromara.content.mapper.TopicMapper;
+import org.dromara.content.service.ITopicCatalogService;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 话题目录服务实现
+ * <p>
+ * 全量重载时构建新目录后整体替换引用；增量刷新直接修改当前目录(并发容器)，读路径无锁
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TopicCatalogServiceImpl implements ITopicCatalogService {
+
+    private final TopicMapper topicMapper;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * 增量刷新通知, 消息体为话题名称数组
+     */
+    private static final String REFRESH_TOPIC = "content:topic:catalog:refresh";
+
+    /**
+     * 全量重载周期(分钟), 兜底后台直接改库、节点错过通知等情况
+     */
+    private static final long RELOAD_PERIOD_MINUTES = 10;
+
+    /**
+     * 前缀树每个节点预先保留的热门话题数, 联想数量不超过该值时直接读取节点结果
+     */
+    private static final int SUGGEST_TOP_K = 20;
+
+    private static final Comparator<Topic> POPULARITY_ORDER = Comparator
+        .comparing((Topic t) -> t.getPostCount() == null ? 0 : t.getPostCount(), Comparator.reverseOrder())
+        .thenComparing(t -> t.getParticipantCount() == null ? 0 : t.getParticipantCount(), Comparator.reverseOrder())
+        .thenComparing(Topic::getId);
+
+    private volatile Catalog catalog = new Catalog();
+
+    @PostConstruct
+    public void init() {
+        RedisUtils.subscribe(REFRESH_TOPIC, String[].class, names -> reload(Arrays.asList(names)));
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            // 启动时数据库不可用不阻塞服务, 等待定时重载
+            log.error("话题目录加载失败: {}", e.getMessage());
+        }
+        scheduledExecutorService.scheduleWithFixedDelay(this::scheduledReload,
+            RELOAD_PERIOD_MINUTES, RELOAD_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public Topic getById(Long topicId) {
+        return topicId == null ? null : catalog.byId.get(topicId);
+    }
+
+    @Override
+    public Topic getByName(String name) {
+        return name == null ? null : catalog.byName.get(normalize(name));
+    }
+
+    @Override
+    public Map<String, Topic> getByNames(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Catalog current = catalog;
+        Map<String, Topic> result = new HashMap<>(names.size());
+        for (String name : names) {
+            Topic topic = name == null ? null : current.byName.get(normalize(name));
+            if (topic != null) {
+                result.put(name, topic);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Topic> suggest(String prefix, int limit) {
+        if (StringUtils.isBlank(prefix) || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return catalog.trie.top(normalize(prefix), limit);
+    }
+
+    @Override
+    public List<Topic> search(String keyword) {
+        if (StringUtils.isBlank(keyword)) {
+            return Collections.emptyList();
+        }
+        String key = normalize(keyword);
+        List<Topic> prefixHits = new ArrayList<>();
+        List<Topic> containsHits = new ArrayList<>();
+        for (Topic topic : catalog.byId.values()) {
+            String name = topic.getName() == null ? "" : normalize(topic.getName());
+            if (name.startsWith(key)) {
+                prefixHits.add(topic);
+            } else if (name.contains(key)
+                || (topic.getDescription() != null && topic.getDescription().toLowerCase(Locale.ROOT).contains(key))) {
+                containsHits.add(topic);
+            }
+        }
+        prefixHits.sort(POPULARITY_ORDER);
+        containsHits.sort(POPULARITY_ORDER);
+        prefixHits.addAll(containsHits);
+        return prefixHits;
+    }
+
+    @Override
+    public List<Topic> listHot() {
+        return catalog.hotSnapshot;
+    }
+
+    @Override
+    public void refresh(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return;
+        }
+        RedisUtils.publish(REFRESH_TOPIC, names.toArray(new String[0]));
+    }
+
+    /**
+     * 按名称从数据库重新加载, 库中已不存在的话题从目录移除
+     */
+    private void reload(Collection<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        try {
+            List<Topic> topics = topicMapper.selectList(new LambdaQueryWrapper<Topic>().in(Topic::getName, names));
+            Catalog current = catalog;
+            Set<String> found = new HashSet<>();
+            for (Topic topic : topics) {
+                current.put(topic);
+                found.add(normalize(topic.getName()));
+            }
+            for (String name : names) {
+                if (!found.contains(normalize(name))) {
+                    current.remove(normalize(name));
+                }
+            }
+            current.sortHot();
+        } catch (Exception e) {
+            log.warn("话题目录增量刷新失败, 等待定时重载: names={}, error={}", names, e.getMessage());
+        }
+    }
+
+    private void reloadAll() {
+        List<Topic> topics = topicMapper.selectList(new LambdaQueryWrapper<>());
+        Catalog fresh = new Catalog();
+        topics.forEach(fresh::put);
+        fresh.trie.seal();
+        fresh.sortHot();
+        catalog = fresh;
+        log.info("话题目录加载完成: count={}", topics.size());
+    }
+
+    private void scheduledReload() {
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            log.error("话题目录定时重载失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 名称索引键: 去首尾空白并转小写, 与 uk_name 的大小写不敏感排序规则一致
+     */
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 话题目录快照
+     */
+    private static class Catalog {
+
+        final Map<Long, Topic> byId = new ConcurrentHashMap<>();
+        final Map<String, Topic> byName = new ConcurrentHashMap<>();
+        final Map<Long, Topic> hotById = new ConcurrentHashMap<>();
+        final PrefixTrie trie = new PrefixTrie();
+
+        /**
+         * 热门话题排序结果, 每次变更后整体替换
+         */
+        volatile List<Topic> hotSnapshot = Collections.emptyList();
+
+        synchronized void sortHot() {
+            hotSnapshot = hotById.values().stream().sorted(POPULARITY_ORDER).toList();
+        }
+
+        void put(Topic topic) {
+            if (topic.getId() == null || StringUtils.isBlank(topic.getName())) {
+                return;
+            }
+            String key = normalize(topic.getName());
+            Topic previous = byId.put(topic.getId(), topic);
+            if (previous != null && !normalize(previous.getName()).equals(key)) {
+                // 改名: 移除旧名称索引
+                byName.remove(normalize(previous.getName()), previous);
+                trie.remove(normalize(previous.getName()));
+            }
+            byName.put(key, topic);
+            trie.insert(key, topic);
+            if (Integer.valueOf(1).equals(topic.getIsHot())) {
+                hotById.put(topic.getId(), topic);
+            } else {
+                hotById.remove(topic.getId());
+            }
+        }
+
+        void remove(String key) {
+            Topic topic = byName.remove(key);
+            if (topic != null) {
+                byId.remove(topic.getId());
+                hotById.remove(topic.getId());
+            }
+            trie.remove(key);
+        }
+    }
+
+    /**
+     * 话题名称前缀树
+     * <p>
+     * 每个节点保存子树内按热度排序的前 {@link #SUGGEST_TOP_K} 个话题。全量重载时插入完成后自底向上统一计算;
+     * 之后的增量修改只重算该名称路径上的节点。读路径无锁, 写入串行
+     */
+    private static class PrefixTrie {
+
+        private final Node root = new Node();
+
+        /**
+         * 是否已完成首次计算, 之前的插入不维护节点结果
+         */
+        private boolean sealed;
+
+        synchronized void insert(String key, Topic topic) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                path.add(node);
+            }
+            node.topic = topic;
+            if (sealed) {
+                refresh(path);
+            }
+        }
+
+        /**
+         * 只清除完整名称, 空节点保留到下次全量重载
+         */
+        synchronized void remove(String key) {
+            List<Node> path = path(key);
+            if (path != null) {
+                path.get(path.size() - 1).topic = null;
+                if (sealed) {
+                    refresh(path);
+                }
+            }
+        }
+
+        /**
+         * 自底向上计算所有节点的热门话题
+         */
+        synchronized void seal() {
+            seal(root);
+            sealed = true;
+        }
+
+        /**
+         * 以 prefix 开头的话题, 按热度排序
+         */
+        List<Topic> top(String prefix, int limit) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            if (limit <= SUGGEST_TOP_K) {
+                List<Topic> top = node.top;
+                return top.size() <= limit ? top : top.subList(0, limit);
+            }
+            // 超出预先计算的数量时遍历整棵子树
+            List<Topic> all = new ArrayList<>();
+            collect(node, all);
+            all.sort(POPULARITY_ORDER);
+            return all.size() <= limit ? all : all.subList(0, limit);
+        }
+
+        private void seal(Node node) {
+            for (Node child : node.children.values()) {
+                seal(child);
+            }
+            node.top = rank(node);
+        }
+
+        private void refresh(List<Node> path) {
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node node = path.get(i);
+                node.top = rank(node);
+            }
+        }
+
+        /**
+         * 合并本节点话题与各子节点的热门话题
+         */
+        private List<Topic> rank(Node node) {
+            List<Topic> candidates = new ArrayList<>();
+            Topic own = node.topic;
+            if (own != null) {
+                candidates.add(own);
+            }
+            for (Node child : node.children.values()) {
+                candidates.addAll(child.top);
+            }
+            if (candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+            candidates.sort(POPULARITY_ORDER);
+            return List.copyOf(candidates.size() <= SUGGEST_TOP_K ? candidates : candidates.subList(0, SUGGEST_TOP_K));
+        }
+
+        private void collect(Node node, List<Topic> result) {
+            Topic topic = node.topic;
+            if (topic != null) {
+                result.add(topic);
+            }
+            for (Node child : node.children.values()) {
+                collect(child, result);
+            }
+        }
+
+        /**
+         * 从根节点到 key 对应节点的路径, 不存在时返回 null
+         */
+        private List<Node> path(String key) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.get(key.charAt(i));
+                if (node == null) {
+                    return null;
+                }
+                path.add(node);
+            }
+            return path;
+        }
+
+        private static class Node {
+            final Map<Character, Node> children = new ConcurrentHashMap<>();
+
+            /**
+             * 以该节点结尾的话题, 非完整名称时为 null
+             */
+            volatile Topic topic;
+
+            /**
+             * 子树内按热度排序的前 SUGGEST_TOP_K 个话题
+             */
+            volatile List<Topic> top = Collections.emptyList();
+        }
+    }
+
+}
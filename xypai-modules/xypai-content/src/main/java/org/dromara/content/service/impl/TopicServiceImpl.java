@@ -5,7 +5,6 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.common.core.exception.ServiceException;
-import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.content.domain.entity.Feed;
 import org.dromara.content.domain.entity.FeedTopic;
 import org.dromara.content.domain.entity.Topic;
@@ -13,11 +12,10 @@ import org.dromara.content.domain.vo.FeedListVO;
 import org.dromara.content.domain.vo.TopicListVO;
 import org.dromara.content.mapper.FeedMapper;
 import org.dromara.content.mapper.FeedTopicMapper;
-import org.dromara.content.mapper.TopicMapper;
+import org.dromara.content.service.ITopicCatalogService;
 import org.dromara.content.service.ITopicService;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,69 +29,37 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TopicServiceImpl implements ITopicService {
 
-    private final TopicMapper topicMapper;
+    private final ITopicCatalogService topicCatalogService;
     private final FeedTopicMapper feedTopicMapper;
     private final FeedMapper feedMapper;
 
-    private static final String CACHE_KEY_HOT_TOPICS = "topic:hot:page:";
-
     @Override
     public Page<TopicListVO> getHotTopics(Integer page, Integer pageSize) {
-        // 1. 尝试从缓存读取
-        String cacheKey = CACHE_KEY_HOT_TOPICS + page;
-        Page<TopicListVO> cachedPage = RedisUtils.getCacheObject(cacheKey);
-        if (cachedPage != null) {
-            log.debug("从缓存获取热门话题,页码:{}", page);
-            return cachedPage;
-        }
-
-        // 2. 查询数据库
-        Page<Topic> topicPage = topicMapper.selectPage(
-            new Page<>(page, pageSize),
-            new LambdaQueryWrapper<Topic>()
-                .eq(Topic::getIsHot, 1)
-                .orderByDesc(Topic::getPostCount)
-                .orderByDesc(Topic::getParticipantCount)
-        );
-
-        // 3. 转换为VO
-        Page<TopicListVO> voPage = convertToVOPage(topicPage);
-
-        // 4. 缓存结果(1小时)
-        RedisUtils.setCacheObject(cacheKey, voPage, Duration.ofHours(1));
-
-        return voPage;
+        return toVOPage(topicCatalogService.listHot(), page, pageSize);
     }
 
     @Override
     public Page<TopicListVO> searchTopics(String keyword, Integer page, Integer pageSize) {
-        // 查询数据库(使用LIKE模糊搜索)
-        Page<Topic> topicPage = topicMapper.selectPage(
-            new Page<>(page, pageSize),
-            new LambdaQueryWrapper<Topic>()
-                .like(Topic::getName, keyword)
-                .or()
-                .like(Topic::getDescription, keyword)
-                .orderByDesc(Topic::getPostCount)
-                .orderByDesc(Topic::getParticipantCount)
-        );
+        return toVOPage(topicCatalogService.search(keyword), page, pageSize);
+    }
 
-        // 转换为VO
-        return convertToVOPage(topicPage);
+    @Override
+    public List<TopicListVO> suggestTopics(String prefix, Integer limit) {
+        return topicCatalogService.suggest(prefix, limit).stream()
+            .map(this::convertToVO)
+            .toList();
     }
 
     /**
-     * 转换Topic实体分页到TopicListVO分页
+     * 内存分页并转换为TopicListVO分页
      */
-    private Page<TopicListVO> convertToVOPage(Page<Topic> topicPage) {
-        Page<TopicListVO> voPage = new Page<>(topicPage.getCurrent(), topicPage.getSize(), topicPage.getTotal());
-
-        voPage.setRecords(
-            topicPage.getRecords().stream()
-                .map(this::convertToVO)
-                .toList()
-        );
-
+    private Page<TopicListVO> toVOPage(List<Topic> topics, Integer page, Integer pageSize) {
+        Page<TopicListVO> voPage = new Page<>(page, pageSize, topics.size());
+        int from = (int) Math.min((long) (page - 1) * pageSize, topics.size());
+        int to = Math.min(from + pageSize, topics.size());
+        voPage.setRecords(topics.subList(from, to).stream()
+            .map(this::convertToVO)
+            .toList());
         return voPage;
     }
 
@@ -108,15 +74,15 @@ public class TopicServiceImpl implements ITopicService {
             .coverImage(topic.getCoverImage())
             .participantCount(topic.getParticipantCount())
             .postCount(topic.getPostCount())
-            .isOfficial(topic.getIsOfficial() == 1)
-            .isHot(topic.getIsHot() == 1)
+            .isOfficial(Integer.valueOf(1).equals(topic.getIsOfficial()))
+            .isHot(Integer.valueOf(1).equals(topic.getIsHot()))
             .build();
     }
 
     @Override
     public Page<FeedListVO> getTopicFeeds(Long topicId, Integer page, Integer pageSize, Long userId) {
         // 1. 验证话题存在并获取话题名称
-        Topic topic = topicMapper.selectById(topicId);
+        Topic topic = topicCatalogService.getById(topicId);
         if (topic == null) {
             throw new ServiceException("话题不存在");
         }
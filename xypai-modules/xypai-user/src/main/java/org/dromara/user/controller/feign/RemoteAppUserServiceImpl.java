@@ -1,10 +1,12 @@
 package org.dromara.user.controller.feign;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboService;
 import org.dromara.appuser.api.RemoteAppUserService;
 import org.dromara.appuser.api.domain.dto.FilterQueryDto;
+import org.dromara.appuser.api.domain.dto.FollowChangeDto;
 import org.dromara.appuser.api.domain.dto.WechatUnlockDto;
 import org.dromara.appuser.api.domain.vo.FilterConfigVo;
 import org.dromara.appuser.api.domain.vo.FilterUserPageResult;
@@ -13,6 +15,7 @@ import org.dromara.appuser.api.domain.vo.LimitedTimePageResult;
 import org.dromara.appuser.api.domain.vo.LimitedTimeUserVo;
 import org.dromara.appuser.api.domain.vo.OtherUserProfileVo;
 import org.dromara.appuser.api.domain.vo.RemoteAppUserVo;
+import org.dromara.appuser.api.domain.vo.RemoteUserSearchVo;
 import org.dromara.appuser.api.domain.vo.SkillServiceDetailVo;
 import org.dromara.appuser.api.domain.vo.SkillServicePageResult;
 import org.dromara.appuser.api.domain.vo.SkillServiceReviewPageResult;
@@ -26,6 +29,7 @@ import org.dromara.appuser.api.domain.dto.SkillServiceQueryDto;
 import org.dromara.appuser.api.model.AppLoginUser;
 import org.dromara.common.core.exception.ServiceException;
 import org.dromara.common.core.exception.user.UserException;
+import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.user.domain.entity.User;
 import org.dromara.user.domain.entity.UserRelation;
 import org.dromara.user.domain.entity.UserStats;
@@ -35,6 +39,8 @@ import org.dromara.user.domain.entity.SkillPromise;
 import org.dromara.user.domain.entity.SkillAvailableTime;
 import org.dromara.user.domain.entity.WechatUnlock;
 import org.dromara.user.domain.entity.WechatUnlockConfig;
+import org.dromara.user.index.ProviderIndex;
+import org.dromara.user.index.ProviderUserRow;
 import org.dromara.user.mapper.UserMapper;
 import org.dromara.user.mapper.UserRelationMapper;
 import org.dromara.user.mapper.UserStatsMapper;
@@ -44,6 +50,7 @@ import org.dromara.user.mapper.SkillPromiseMapper;
 import org.dromara.user.mapper.SkillAvailableTimeMapper;
 import org.dromara.user.mapper.WechatUnlockMapper;
 import org.dromara.user.mapper.WechatUnlockConfigMapper;
+import org.dromara.user.service.IProviderIndexService;
 import org.dromara.user.service.IUserService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -55,6 +62,7 @@ import java.time.Period;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -85,6 +93,7 @@ public class RemoteAppUserServiceImpl implements RemoteAppUserService {
     private final SkillAvailableTimeMapper skillAvailableTimeMapper;
     private final WechatUnlockMapper wechatUnlockMapper;
     private final WechatUnlockConfigMapper wechatUnlockConfigMapper;
+    private final IProviderIndexService providerIndexService;
 
     /**
      * 默认解锁价格（金币）
@@ -257,19 +266,30 @@ public class RemoteAppUserServiceImpl implements RemoteAppUserService {
         Integer pageNum,
         Integer pageSize
     ) {
-        // Query users with skills from database
-        List<LimitedTimeUserVo> users = userMapper.queryLimitedTimeUsers(
-            gender,
-            cityCode,
-            districtCode,
-            latitude,
-            longitude,
-            (pageNum - 1) * pageSize, // offset
-            pageSize
-        );
-
-        // Get total count
-        Integer total = userMapper.countLimitedTimeUsers(gender, cityCode, districtCode);
+        List<LimitedTimeUserVo> users;
+        Integer total;
+        ProviderIndex index = providerIndexService.current();
+        if (index != null) {
+            // Query users with skills from the in-memory provider index
+            ProviderIndex.Page<LimitedTimeUserVo> page = index.queryLimitedTime(
+                gender, cityCode, districtCode, latitude, longitude, (pageNum - 1) * pageSize, pageSize);
+            users = page.list();
+            total = page.total();
+        } else {
+            // Index not loaded yet, query users with skills from database
+            users = userMapper.queryLimitedTimeUsers(
+                gender,
+                cityCode,
+                districtCode,
+                latitude,
+                longitude,
+                (pageNum - 1) * pageSize, // offset
+                pageSize
+            );
+
+            // Get total count
+            total = userMapper.countLimitedTimeUsers(gender, cityCode, districtCode);
+        }
 
         // Calculate if there are more pages
         boolean hasMore = (pageNum * pageSize) < total;
@@ -359,33 +379,56 @@ public class RemoteAppUserServiceImpl implements RemoteAppUserService {
         // 计算分页偏移
         int offset = (queryDto.getPageNum() - 1) * queryDto.getPageSize();
 
-        // 查询用户列表
-        List<FilterUserVo> users = userMapper.queryFilteredUsers(
-            queryDto.getType(),
-            queryDto.getGender(),
-            queryDto.getAgeMin(),
-            queryDto.getAgeMax(),
-            queryDto.getStatus(),
-            queryDto.getSkills(),
-            priceMin,
-            priceMax,
-            queryDto.getLatitude(),
-            queryDto.getLongitude(),
-            offset,
-            queryDto.getPageSize()
-        );
-
-        // 统计总数
-        Integer total = userMapper.countFilteredUsers(
-            queryDto.getType(),
-            queryDto.getGender(),
-            queryDto.getAgeMin(),
-            queryDto.getAgeMax(),
-            queryDto.getStatus(),
-            queryDto.getSkills(),
-            priceMin,
-            priceMax
-        );
+        List<FilterUserVo> users;
+        Integer total;
+        ProviderIndex index = providerIndexService.current();
+        if (index != null) {
+            // 内存索引过滤、排序、分页
+            ProviderIndex.Page<FilterUserVo> page = index.queryFiltered(
+                queryDto.getType(),
+                queryDto.getGender(),
+                queryDto.getAgeMin(),
+                queryDto.getAgeMax(),
+                queryDto.getStatus(),
+                queryDto.getSkills(),
+                priceMin,
+                priceMax,
+                queryDto.getLatitude(),
+                queryDto.getLongitude(),
+                offset,
+                queryDto.getPageSize()
+            );
+            users = page.list();
+            total = page.total();
+        } else {
+            // 索引未就绪, 查询数据库
+            users = userMapper.queryFilteredUsers(
+                queryDto.getType(),
+                queryDto.getGender(),
+                queryDto.getAgeMin(),
+                queryDto.getAgeMax(),
+                queryDto.getStatus(),
+                queryDto.getSkills(),
+                priceMin,
+                priceMax,
+                queryDto.getLatitude(),
+                queryDto.getLongitude(),
+                offset,
+                queryDto.getPageSize()
+            );
+
+            // 统计总数
+            total = userMapper.countFilteredUsers(
+                queryDto.getType(),
+                queryDto.getGender(),
+                queryDto.getAgeMin(),
+                queryDto.getAgeMax(),
+                queryDto.getStatus(),
+                queryDto.getSkills(),
+                priceMin,
+                priceMax
+            );
+        }
 
         // 计算是否有更多
         boolean hasMore = (queryDto.getPageNum() * queryDto.getPageSize()) < total;
@@ -434,13 +477,25 @@ public class RemoteAppUserServiceImpl implements RemoteAppUserService {
             priceMax = priceRange[1];
         }
 
-        // 查询数据
-        List<Map<String, Object>> dataList = skillMapper.querySkillServiceListWithUser(
-            gameName, tabType, sortBy, gender, isOnline, server, ranks, priceMin, priceMax, offset, pageSize
-        );
+        List<Map<String, Object>> dataList;
+        Long total;
+        ProviderIndex index = providerIndexService.current();
+        if (index != null) {
+            // 内存索引按预排序顺序过滤分页
+            ProviderIndex.Page<Map<String, Object>> page = index.querySkillServices(
+                gameName, sortBy, gender, isOnline, server, ranks, priceMin, priceMax, offset, pageSize
+            );
+            dataList = page.list();
+            total = (long) page.total();
+        } else {
+            // 查询数据
+            dataList = skillMapper.querySkillServiceListWithUser(
+                gameName, tabType, sortBy, gender, isOnline, server, ranks, priceMin, priceMax, offset, pageSize
+            );
 
-        // 查询总数
-        Long total = skillMapper.countSkillServiceList(gameName, gender, isOnline, server, ranks, priceMin, priceMax);
+            // 查询总数
+            total = skillMapper.countSkillServiceList(gameName, gender, isOnline, server, ranks, priceMin, priceMax);
+        }
 
         // 转换为VO
         List<SkillServiceVo> voList = dataList.stream()
@@ -911,6 +966,9 @@ public class RemoteAppUserServiceImpl implements RemoteAppUserService {
         // 更新统计数据
         userStatsMapper.incrementFollowingCount(userId);  // 当前用户关注数+1
         userStatsMapper.incrementFansCount(targetUserId); // 目标用户粉丝数+1
+        // 提交后由 RelationServiceImpl 广播
+        SpringUtils.context().publishEvent(FollowChangeDto.builder()
+            .followerId(userId).followingId(targetUserId).followed(true).build());
 
         log.info("用户 {} 关注用户 {} 成功", userId, targetUserId);
         return true;
@@ -937,6 +995,9 @@ public class RemoteAppUserServiceImpl implements RemoteAppUserService {
         // 更新统计数据
         userStatsMapper.decrementFollowingCount(userId);  // 当前用户关注数-1
         userStatsMapper.decrementFansCount(targetUserId); // 目标用户粉丝数-1
+        // 提交后由 RelationServiceImpl 广播
+        SpringUtils.context().publishEvent(FollowChangeDto.builder()
+            .followerId(userId).followingId(targetUserId).followed(false).build());
 
         log.info("用户 {} 取消关注用户 {} 成功", userId, targetUserId);
         return true;
@@ -950,6 +1011,101 @@ public class RemoteAppUserServiceImpl implements RemoteAppUserService {
         return userRelationMapper.selectFollowing(userId);
     }
 
+    @Override
+    public long getFansCount(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        return userRelationMapper.countFansByUserId(userId);
+    }
+
+    @Override
+    public List<Long> getFansIds(Long userId, Long lastFansId, Integer limit) {
+        if (userId == null) {
+            return new ArrayList<>();
+        }
+        int size = (limit != null && limit > 0) ? Math.min(limit, 5000) : 1000;
+        return userRelationMapper.selectFansIdsAfter(userId, lastFansId, size);
+    }
+
+    // ==================== 搜索索引相关 ====================
+
+    @Override
+    public List<RemoteUserSearchVo> listSearchUsers(Long lastUserId, Integer limit) {
+        int size = (limit != null && limit > 0) ? Math.min(limit, 2000) : 500;
+        return buildUserSearchVos(userMapper.selectSearchUsers(lastUserId, null, size));
+    }
+
+    @Override
+    public List<RemoteUserSearchVo> getSearchUsers(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return buildUserSearchVos(userMapper.selectSearchUsers(null, userIds, userIds.size()));
+    }
+
+    /**
+     * 用户行 + 上架技能 -> 搜索文档, 技能一次批量查询
+     */
+    private List<RemoteUserSearchVo> buildUserSearchVos(List<ProviderUserRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> userIds = rows.stream().map(ProviderUserRow::getUserId).toList();
+        Map<Long, List<Skill>> skillMap = skillMapper.selectList(
+                new LambdaQueryWrapper<Skill>()
+                    .in(Skill::getUserId, userIds)
+                    .eq(Skill::getIsOnline, true))
+            .stream()
+            .collect(Collectors.groupingBy(Skill::getUserId));
+
+        List<RemoteUserSearchVo> result = new ArrayList<>(rows.size());
+        for (ProviderUserRow row : rows) {
+            List<Skill> skills = skillMap.getOrDefault(row.getUserId(), List.of());
+            Set<String> skillNames = new LinkedHashSet<>();
+            List<String> descriptions = new ArrayList<>();
+            Skill cheapest = null;
+            int orderCount = 0;
+            for (Skill skill : skills) {
+                addIfPresent(skillNames, skill.getSkillName());
+                addIfPresent(skillNames, skill.getGameName());
+                addIfPresent(skillNames, skill.getServiceType());
+                if (skill.getDescription() != null && !skill.getDescription().isBlank()) {
+                    descriptions.add(skill.getDescription());
+                }
+                if (skill.getPrice() != null
+                    && (cheapest == null || skill.getPrice().compareTo(cheapest.getPrice()) < 0)) {
+                    cheapest = skill;
+                }
+                orderCount += skill.getOrderCount() != null ? skill.getOrderCount() : 0;
+            }
+            result.add(RemoteUserSearchVo.builder()
+                .userId(row.getUserId())
+                .nickname(row.getNickname())
+                .avatar(row.getAvatar())
+                .gender(row.getGender())
+                .age(row.getBirthday() != null ? calculateAge(row.getBirthday()) : null)
+                .bio(row.getBio())
+                .residence(row.getResidence())
+                .isVerified(Boolean.TRUE.equals(row.getIsRealVerified()) || Boolean.TRUE.equals(row.getIsGodVerified()))
+                .isOnline(Boolean.TRUE.equals(row.getIsOnline()))
+                .fansCount(row.getFansCount() != null ? row.getFansCount() : 0)
+                .skillNames(new ArrayList<>(skillNames))
+                .skillDescription(String.join(" ", descriptions))
+                .minPrice(cheapest != null ? cheapest.getPrice() : null)
+                .priceUnit(cheapest != null ? cheapest.getPriceUnit() : null)
+                .orderCount(orderCount)
+                .build());
+        }
+        return result;
+    }
+
+    private static void addIfPresent(Set<String> values, String value) {
+        if (value != null && !value.isBlank()) {
+            values.add(value);
+        }
+    }
+
     /**
      * 构建RemoteAppUserVo
      */
@@ -0,0 +1,31 @@
+package org.dromara.user.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 服务者变更事件
+ * Provider Changed Event
+ *
+ * 用户资料或技能变更后发布，事务提交后通知各节点重新加载该用户的索引文档
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderChangedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+}
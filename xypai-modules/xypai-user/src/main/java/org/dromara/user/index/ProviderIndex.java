@@ -0,0 +1,585 @@
+package org.dromara.user.index;
+
+import org.dromara.appuser.api.domain.vo.FilterUserVo;
+import org.dromara.appuser.api.domain.vo.LimitedTimeUserVo;
+import org.dromara.user.domain.entity.Skill;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 服务者检索索引快照
+ * Provider Search Index Snapshot
+ *
+ * 不可变的列式快照，只收录有上架技能的用户及其上架技能:
+ * 用户列和技能列按下标存放(同一用户的技能连续存放)，过滤用到的列为基本类型数组，
+ * 性别/居住地/技能类型/游戏/段位/大区/服务类型建立 BitSet 倒排，
+ * 各排序方式的顺序在构建时预先计算，查询时按排序顺序一次遍历完成过滤、计数和分页。
+ * 结果字段与 UserMapper.xml / SkillMapper 中原 SQL 的取值规则保持一致
+ *
+ * @author XiangYuPai
+ */
+public final class ProviderIndex {
+
+    /**
+     * MySQL ST_Distance_Sphere 默认地球半径(米)
+     */
+    private static final double EARTH_RADIUS = 6370986;
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    /**
+     * 居住地编码 -> 用户集合 缓存上限
+     */
+    private static final int RESIDENCE_CACHE_LIMIT = 1024;
+
+    private static final String SORT_SMART = "smart";
+
+    private static final BitSet EMPTY = new BitSet();
+
+    // ==================== 用户列 ====================
+
+    private final ProviderUserRow[] users;
+    private final long[] userIds;
+    private final int[] birthdays;
+    private final long[] lastLoginAt;
+    private final BitSet userOnline;
+    private final Map<String, BitSet> usersByGender;
+    private final Map<String, BitSet> usersByResidence;
+    private final Map<String, BitSet> usersByResidenceCode = new ConcurrentHashMap<>();
+
+    /**
+     * 用户 u 的技能下标区间 [skillStart[u], skillStart[u + 1])
+     */
+    private final int[] skillStart;
+
+    /**
+     * 限时专享顺序: 在线优先, 用户ID倒序
+     */
+    private final int[] limitedOrder;
+
+    // ==================== 技能列 ====================
+
+    private final Skill[] skills;
+    private final int[] skillUsers;
+    private final double[] prices;
+    private final int[] orderCounts;
+    private final Map<String, BitSet> skillsByType;
+    private final Map<String, BitSet> skillsByGame;
+    private final Map<String, BitSet> skillsByRank;
+    private final Map<String, BitSet> skillsByServer;
+    private final Map<String, BitSet> skillsByServiceType;
+
+    /**
+     * 排序方式 -> 技能顺序
+     */
+    private final Map<String, int[]> skillOrders;
+
+    private ProviderIndex(List<ProviderUserRow> userRows, Map<Long, List<Skill>> skillsByUser) {
+        int userCount = userRows.size();
+        int skillCount = userRows.stream().mapToInt(u -> skillsByUser.get(u.getUserId()).size()).sum();
+
+        users = userRows.toArray(new ProviderUserRow[0]);
+        userIds = new long[userCount];
+        birthdays = new int[userCount];
+        lastLoginAt = new long[userCount];
+        userOnline = new BitSet(userCount);
+        usersByGender = new HashMap<>();
+        usersByResidence = new HashMap<>();
+        skillStart = new int[userCount + 1];
+
+        skills = new Skill[skillCount];
+        skillUsers = new int[skillCount];
+        prices = new double[skillCount];
+        orderCounts = new int[skillCount];
+        skillsByType = new HashMap<>();
+        skillsByGame = new HashMap<>();
+        skillsByRank = new HashMap<>();
+        skillsByServer = new HashMap<>();
+        skillsByServiceType = new HashMap<>();
+
+        ZoneId zone = ZoneId.systemDefault();
+        int s = 0;
+        for (int u = 0; u < userCount; u++) {
+            ProviderUserRow user = users[u];
+            userIds[u] = user.getUserId();
+            birthdays[u] = user.getBirthday() != null ? (int) user.getBirthday().toEpochDay() : NO_DATE;
+            lastLoginAt[u] = user.getLastLoginAt() != null ? user.getLastLoginAt().atZone(zone).toInstant().toEpochMilli() : NO_TIME;
+            if (Boolean.TRUE.equals(user.getIsOnline())) {
+                userOnline.set(u);
+            }
+            facet(usersByGender, user.getGender(), u);
+            facet(usersByResidence, user.getResidence(), u);
+
+            skillStart[u] = s;
+            for (Skill skill : skillsByUser.get(user.getUserId())) {
+                skills[s] = skill;
+                skillUsers[s] = u;
+                prices[s] = skill.getPrice() != null ? skill.getPrice().doubleValue() : Double.NaN;
+                orderCounts[s] = skill.getOrderCount() != null ? skill.getOrderCount() : 0;
+                facet(skillsByType, skill.getSkillType(), s);
+                facet(skillsByGame, skill.getGameName(), s);
+                facet(skillsByRank, skill.getGameRank(), s);
+                facet(skillsByServer, skill.getServer(), s);
+                facet(skillsByServiceType, skill.getServiceType(), s);
+                s++;
+            }
+        }
+        skillStart[userCount] = s;
+
+        limitedOrder = sort(userCount, Comparator
+            .comparing((Integer u) -> userOnline.get(u), Comparator.reverseOrder())
+            .thenComparing(u -> userIds[u], Comparator.reverseOrder()));
+        skillOrders = buildSkillOrders(skillCount);
+    }
+
+    /**
+     * 构建快照
+     *
+     * @param userRows     用户行(有上架技能的用户)
+     * @param skillsByUser 用户ID -> 上架技能
+     */
+    public static ProviderIndex build(Collection<ProviderUserRow> userRows, Map<Long, List<Skill>> skillsByUser) {
+        List<ProviderUserRow> sorted = userRows.stream()
+            .filter(u -> skillsByUser.containsKey(u.getUserId()) && !skillsByUser.get(u.getUserId()).isEmpty())
+            .sorted(Comparator.comparing(ProviderUserRow::getUserId))
+            .toList();
+        return new ProviderIndex(sorted, skillsByUser);
+    }
+
+    public int userCount() {
+        return users.length;
+    }
+
+    public int skillCount() {
+        return skills.length;
+    }
+
+    /**
+     * 限时专享用户(有上架技能的用户)
+     * 等价于 UserMapper.queryLimitedTimeUsers + countLimitedTimeUsers
+     */
+    public Page<LimitedTimeUserVo> queryLimitedTime(String gender, String cityCode, String districtCode,
+                                                    Double latitude, Double longitude, int offset, int pageSize) {
+        BitSet filter = null;
+        if (gender != null && !"all".equals(gender)) {
+            filter = and(filter, usersByGender.getOrDefault(gender, EMPTY));
+        }
+        if (cityCode != null) {
+            filter = and(filter, usersByResidenceCode(cityCode));
+        }
+        if (districtCode != null) {
+            filter = and(filter, usersByResidenceCode(districtCode));
+        }
+
+        LocalDate today = LocalDate.now();
+        List<LimitedTimeUserVo> list = new ArrayList<>(Math.max(pageSize, 0));
+        int total = 0;
+        for (int u : limitedOrder) {
+            if (filter != null && !filter.get(u)) {
+                continue;
+            }
+            if (total >= offset && list.size() < pageSize) {
+                list.add(buildLimitedTimeUser(u, today, latitude, longitude));
+            }
+            total++;
+        }
+        return new Page<>(list, total);
+    }
+
+    /**
+     * 按筛选条件查询用户(聚合字段只统计命中条件的技能)
+     * 等价于 UserMapper.queryFilteredUsers + countFilteredUsers
+     */
+    public Page<FilterUserVo> queryFiltered(String type, String gender, Integer ageMin, Integer ageMax, String status,
+                                            List<String> skillValues, Integer priceMin, Integer priceMax,
+                                            Double latitude, Double longitude, int offset, int pageSize) {
+        // 技能条件
+        BitSet skillFilter = null;
+        if ("online".equals(type) || "offline".equals(type)) {
+            skillFilter = and(skillFilter, skillsByType.getOrDefault(type, EMPTY));
+        }
+        if (skillValues != null && !skillValues.isEmpty()) {
+            BitSet union = new BitSet();
+            for (String value : skillValues) {
+                union.or(skillsByRank.getOrDefault(value, EMPTY));
+                union.or(skillsByServiceType.getOrDefault(value, EMPTY));
+            }
+            skillFilter = and(skillFilter, union);
+        }
+
+        // 用户条件
+        BitSet userFilter = null;
+        if (gender != null && !"all".equals(gender)) {
+            userFilter = and(userFilter, usersByGender.getOrDefault(gender, EMPTY));
+        }
+        if ("online".equals(status)) {
+            userFilter = and(userFilter, userOnline);
+        }
+        LocalDate today = LocalDate.now();
+        // TIMESTAMPDIFF(YEAR, birthday, today) >= ageMin  <=>  birthday <= today - ageMin 年
+        long maxBirthday = ageMin != null ? today.minusYears(ageMin).toEpochDay() : Long.MAX_VALUE;
+        long minBirthday = ageMax != null ? today.minusYears(ageMax + 1L).toEpochDay() + 1 : Long.MIN_VALUE;
+        long activeSince = "active_3d".equals(status) ? System.currentTimeMillis() - 3 * 86400_000L
+            : "active_7d".equals(status) ? System.currentTimeMillis() - 7 * 86400_000L : NO_TIME;
+
+        // 一次遍历技能: 过滤并按用户累计订单数
+        BitSet matched = new BitSet(skills.length);
+        long[] orderSums = new long[users.length];
+        byte[] userState = new byte[users.length];
+        List<Integer> hitUsers = new ArrayList<>();
+        BitSet candidates = skillFilter;
+        for (int s = candidates != null ? candidates.nextSetBit(0) : (skills.length > 0 ? 0 : -1);
+             s >= 0 && s < skills.length;
+             s = candidates != null ? candidates.nextSetBit(s + 1) : s + 1) {
+            if (priceMin != null && !(prices[s] >= priceMin)) {
+                continue;
+            }
+            if (priceMax != null && !(prices[s] <= priceMax)) {
+                continue;
+            }
+            int u = skillUsers[s];
+            if (userState[u] == 0) {
+                boolean pass = (userFilter == null || userFilter.get(u))
+                    && ((ageMin == null && ageMax == null)
+                        || (birthdays[u] != NO_DATE && birthdays[u] <= maxBirthday && birthdays[u] >= minBirthday))
+                    && (activeSince == NO_TIME || (lastLoginAt[u] != NO_TIME && lastLoginAt[u] >= activeSince));
+                userState[u] = pass ? (byte) 1 : (byte) 2;
+                if (pass) {
+                    hitUsers.add(u);
+                }
+            }
+            if (userState[u] == 1) {
+                matched.set(s);
+                orderSums[u] += orderCounts[s];
+            }
+        }
+
+        hitUsers.sort(Comparator
+            .comparing((Integer u) -> userOnline.get(u), Comparator.reverseOrder())
+            .thenComparing(u -> orderSums[u], Comparator.reverseOrder())
+            .thenComparing(u -> userIds[u], Comparator.reverseOrder()));
+        List<FilterUserVo> list = new ArrayList<>(Math.max(pageSize, 0));
+        for (int i = Math.max(offset, 0); i < hitUsers.size() && list.size() < pageSize; i++) {
+            list.add(buildFilterUser(hitUsers.get(i), matched, today, latitude, longitude));
+        }
+        return new Page<>(list, hitUsers.size());
+    }
+
+    /**
+     * 技能服务列表(按游戏)
+     * 等价于 SkillMapper.querySkillServiceListWithUser + countSkillServiceList, 行的键与原 SQL 列名一致
+     */
+    public Page<Map<String, Object>> querySkillServices(String gameName, String sortBy, String gender, Integer isOnline,
+                                                        String server, List<String> ranks, BigDecimal priceMin,
+                                                        BigDecimal priceMax, int offset, int pageSize) {
+        BitSet filter = gameName != null ? skillsByGame.get(gameName) : null;
+        if (filter == null) {
+            return new Page<>(Collections.emptyList(), 0);
+        }
+        filter = and(null, filter);
+        if (server != null && !server.isEmpty()) {
+            filter.and(skillsByServer.getOrDefault(server, EMPTY));
+        }
+        if (ranks != null && !ranks.isEmpty()) {
+            BitSet union = new BitSet();
+            for (String rank : ranks) {
+                union.or(skillsByRank.getOrDefault(rank, EMPTY));
+            }
+            filter.and(union);
+        }
+        BitSet genderUsers = gender != null && !gender.isEmpty() && !"all".equals(gender)
+            ? usersByGender.getOrDefault(gender, EMPTY) : null;
+        double min = priceMin != null ? priceMin.doubleValue() : Double.NaN;
+        double max = priceMax != null ? priceMax.doubleValue() : Double.NaN;
+
+        List<Map<String, Object>> list = new ArrayList<>(Math.max(pageSize, 0));
+        int total = 0;
+        for (int s : skillOrders.getOrDefault(sortBy, skillOrders.get(SORT_SMART))) {
+            if (!filter.get(s)) {
+                continue;
+            }
+            int u = skillUsers[s];
+            if ((genderUsers != null && !genderUsers.get(u))
+                || (isOnline != null && userOnline.get(u) != (isOnline == 1))
+                || (priceMin != null && !(prices[s] >= min))
+                || (priceMax != null && !(prices[s] <= max))) {
+                continue;
+            }
+            if (total >= offset && list.size() < pageSize) {
+                list.add(buildSkillServiceRow(s));
+            }
+            total++;
+        }
+        return new Page<>(list, total);
+    }
+
+    // ==================== 结果构建 ====================
+
+    private LimitedTimeUserVo buildLimitedTimeUser(int u, LocalDate today, Double latitude, Double longitude) {
+        ProviderUserRow user = users[u];
+        Aggregate agg = aggregate(u, null);
+        return LimitedTimeUserVo.builder()
+            .userId(user.getUserId())
+            .nickname(user.getNickname())
+            .avatar(user.getAvatar())
+            .gender(user.getGender())
+            .age(user.getBirthday() != null ? today.getYear() - user.getBirthday().getYear() : null)
+            .isOnline(user.getIsOnline())
+            .bio(user.getBio())
+            .distance(distance(user, latitude, longitude))
+            .skillId(agg.skillId)
+            .skillName(agg.skillName)
+            .price(agg.price)
+            .priceUnit(agg.priceUnit)
+            .skillLevel(agg.gameRank)
+            .rating(agg.rating())
+            .orderCount(agg.orderCount)
+            .fansCount(user.getFansCount())
+            .likesCount(user.getLikesCount())
+            .build();
+    }
+
+    private FilterUserVo buildFilterUser(int u, BitSet matched, LocalDate today, Double latitude, Double longitude) {
+        ProviderUserRow user = users[u];
+        Aggregate agg = aggregate(u, matched);
+        return FilterUserVo.builder()
+            .userId(user.getUserId())
+            .nickname(user.getNickname())
+            .avatar(user.getAvatar())
+            .gender(user.getGender())
+            .age(user.getBirthday() != null ? Period.between(user.getBirthday(), today).getYears() : null)
+            .isOnline(user.getIsOnline())
+            .bio(user.getBio())
+            .residence(user.getResidence())
+            .lastActiveAt(user.getLastLoginAt())
+            .distance(distance(user, latitude, longitude))
+            .skillId(agg.skillId)
+            .skillName(agg.skillName)
+            .skillType(agg.skillType)
+            .gameName(agg.gameName)
+            .price(agg.price)
+            .priceUnit(agg.priceUnit)
+            .skillLevel(agg.gameRank)
+            .rating(agg.rating())
+            .orderCount(agg.orderCount)
+            .fansCount(user.getFansCount())
+            .likesCount(user.getLikesCount())
+            .postsCount(user.getPostsCount())
+            .build();
+    }
+
+    private Map<String, Object> buildSkillServiceRow(int s) {
+        Skill skill = skills[s];
+        ProviderUserRow user = users[skillUsers[s]];
+        Map<String, Object> row = new HashMap<>(32);
+        row.put("skill_id", skill.getSkillId());
+        row.put("user_id", skill.getUserId());
+        row.put("skill_name", skill.getSkillName());
+        row.put("skill_type", skill.getSkillType());
+        row.put("cover_image", skill.getCoverImage());
+        row.put("description", skill.getDescription());
+        row.put("price", skill.getPrice());
+        row.put("price_unit", skill.getPriceUnit());
+        row.put("skill_is_online", skill.getIsOnline());
+        row.put("rating", skill.getRating());
+        row.put("review_count", skill.getReviewCount());
+        row.put("order_count", skill.getOrderCount());
+        row.put("game_name", skill.getGameName());
+        row.put("game_rank", skill.getGameRank());
+        row.put("peak_score", skill.getPeakScore());
+        row.put("server", skill.getServer());
+        row.put("service_hours", skill.getServiceHours());
+        row.put("created_at", skill.getCreatedAt());
+        row.put("nickname", user.getNickname());
+        row.put("avatar", user.getAvatar());
+        row.put("gender", user.getGender());
+        row.put("birthday", user.getBirthday());
+        row.put("user_is_online", user.getIsOnline());
+        row.put("is_real_verified", user.getIsRealVerified());
+        row.put("is_god_verified", user.getIsGodVerified());
+        row.put("is_vip", user.getIsVip());
+        row.put("last_login_at", user.getLastLoginAt());
+        return row;
+    }
+
+    /**
+     * 聚合用户的技能(MIN/AVG/SUM 忽略空值), matched 不为空时只统计命中的技能
+     */
+    private Aggregate aggregate(int u, BitSet matched) {
+        Aggregate agg = new Aggregate();
+        for (int s = skillStart[u]; s < skillStart[u + 1]; s++) {
+            if (matched == null || matched.get(s)) {
+                agg.add(skills[s]);
+            }
+        }
+        return agg;
+    }
+
+    /**
+     * 与 CAST(ST_Distance_Sphere(...) AS SIGNED) 一致: 未传坐标时为0, 用户无坐标时为空
+     */
+    private static Integer distance(ProviderUserRow user, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return 0;
+        }
+        if (user.getLatitude() == null || user.getLongitude() == null) {
+            return null;
+        }
+        double lat1 = Math.toRadians(latitude);
+        double lat2 = Math.toRadians(user.getLatitude().doubleValue());
+        double dLat = lat2 - lat1;
+        double dLng = Math.toRadians(user.getLongitude().doubleValue() - longitude);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return (int) Math.round(2 * EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(h))));
+    }
+
+    // ==================== 构建辅助 ====================
+
+    private Map<String, int[]> buildSkillOrders(int skillCount) {
+        Comparator<Integer> byIdDesc = Comparator.comparing((Integer s) -> skills[s].getSkillId(), Comparator.reverseOrder());
+        Comparator<Integer> byOrderCount = nullsLast((Integer s) -> skills[s].getOrderCount());
+        Comparator<Integer> byRating = nullsLast((Integer s) -> skills[s].getRating());
+
+        Map<String, int[]> orders = new HashMap<>();
+        orders.put(SORT_SMART, sort(skillCount, Comparator
+            .comparing((Integer s) -> userOnline.get(skillUsers[s]), Comparator.reverseOrder())
+            .thenComparing(byOrderCount).thenComparing(byRating).thenComparing(byIdDesc)));
+        orders.put("newest", sort(skillCount, nullsLast((Integer s) -> skills[s].getCreatedAt()).thenComparing(byIdDesc)));
+        orders.put("recent", sort(skillCount, nullsLast((Integer s) -> users[skillUsers[s]].getLastLoginAt()).thenComparing(byIdDesc)));
+        orders.put("popular", sort(skillCount, byOrderCount.thenComparing(byRating).thenComparing(byIdDesc)));
+        // MySQL 升序时空值在前
+        orders.put("price_asc", sort(skillCount, Comparator
+            .comparing((Integer s) -> skills[s].getPrice(), Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()))
+            .thenComparing(byIdDesc)));
+        orders.put("price_desc", sort(skillCount, nullsLast((Integer s) -> skills[s].getPrice()).thenComparing(byIdDesc)));
+        return orders;
+    }
+
+    /**
+     * 倒序, 空值在后(与 MySQL ORDER BY ... DESC 一致)
+     */
+    private static <T extends Comparable<? super T>> Comparator<Integer> nullsLast(Function<Integer, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.<T>reverseOrder()));
+    }
+
+    private static int[] sort(int size, Comparator<Integer> comparator) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, comparator);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    private static void facet(Map<String, BitSet> facet, String value, int index) {
+        if (value != null) {
+            facet.computeIfAbsent(value, k -> new BitSet()).set(index);
+        }
+    }
+
+    /**
+     * 求交集, current 为空时复制 other (倒排 BitSet 只读, 不能直接修改)
+     */
+    private static BitSet and(BitSet current, BitSet other) {
+        if (current == null) {
+            return (BitSet) other.clone();
+        }
+        current.and(other);
+        return current;
+    }
+
+    /**
+     * 居住地包含编码的用户(residence LIKE '%code%')
+     */
+    private BitSet usersByResidenceCode(String code) {
+        BitSet cached = usersByResidenceCode.get(code);
+        if (cached != null) {
+            return cached;
+        }
+        BitSet result = new BitSet(users.length);
+        usersByResidence.forEach((residence, bits) -> {
+            if (residence.contains(code)) {
+                result.or(bits);
+            }
+        });
+        if (usersByResidenceCode.size() < RESIDENCE_CACHE_LIMIT) {
+            usersByResidenceCode.put(code, result);
+        }
+        return result;
+    }
+
+    /**
+     * 分页结果
+     *
+     * @param list  当前页数据
+     * @param total 命中总数
+     */
+    public record Page<T>(List<T> list, int total) {
+    }
+
+    /**
+     * 技能聚合值, 各字段独立取最小值(与 SQL 的 MIN 一致)
+     */
+    private static class Aggregate {
+
+        Long skillId;
+        String skillName;
+        String skillType;
+        String gameName;
+        BigDecimal price;
+        String priceUnit;
+        String gameRank;
+        Integer orderCount;
+        BigDecimal ratingSum;
+        int ratingCount;
+        int ratingScale;
+
+        void add(Skill skill) {
+            skillId = min(skillId, skill.getSkillId());
+            skillName = min(skillName, skill.getSkillName());
+            skillType = min(skillType, skill.getSkillType());
+            gameName = min(gameName, skill.getGameName());
+            price = min(price, skill.getPrice());
+            priceUnit = min(priceUnit, skill.getPriceUnit());
+            gameRank = min(gameRank, skill.getGameRank());
+            if (skill.getOrderCount() != null) {
+                orderCount = (orderCount == null ? 0 : orderCount) + skill.getOrderCount();
+            }
+            if (skill.getRating() != null) {
+                ratingSum = ratingSum == null ? skill.getRating() : ratingSum.add(skill.getRating());
+                ratingScale = Math.max(ratingScale, skill.getRating().scale());
+                ratingCount++;
+            }
+        }
+
+        /**
+         * AVG(decimal) 的结果比原精度多 4 位小数
+         */
+        BigDecimal rating() {
+            return ratingCount == 0 ? null
+                : ratingSum.divide(BigDecimal.valueOf(ratingCount), ratingScale + 4, RoundingMode.HALF_UP);
+        }
+
+        private static <T extends Comparable<? super T>> T min(T current, T value) {
+            if (value == null) {
+                return current;
+            }
+            return current == null || value.compareTo(current) < 0 ? value : current;
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.dromara.user.index;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 服务者索引用户行
+ * Provider Index User Row
+ *
+ * users + user_stats 中检索和列表展示用到的列
+ *
+ * @author XiangYuPai
+ */
+@Data
+public class ProviderUserRow {
+
+    private Long userId;
+
+    private String nickname;
+
+    private String avatar;
+
+    private String gender;
+
+    private LocalDate birthday;
+
+    private Boolean isOnline;
+
+    private String bio;
+
+    private String residence;
+
+    private LocalDateTime lastLoginAt;
+
+    private BigDecimal latitude;
+
+    private BigDecimal longitude;
+
+    private Boolean isRealVerified;
+
+    private Boolean isGodVerified;
+
+    private Boolean isVip;
+
+    private Integer fansCount;
+
+    private Integer likesCount;
+
+    private Integer postsCount;
+
+}
@@ -0,0 +1,41 @@
+package org.dromara.user.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 技能位置变更事件
+ * Skill Geo Changed Event
+ *
+ * 技能新增、修改、上下线或删除后发布，事务提交后写入位置索引，回滚的修改不会进入索引
+ *
+ * @author XiangYuPai
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillGeoChangedEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 技能ID
+     */
+    private Long skillId;
+
+    /**
+     * 经度(为空表示从索引移除)
+     */
+    private Double longitude;
+
+    /**
+     * 纬度(为空表示从索引移除)
+     */
+    private Double latitude;
+
+}
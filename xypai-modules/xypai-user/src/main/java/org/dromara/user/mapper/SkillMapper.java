@@ -38,6 +38,9 @@ public interface SkillMapper extends BaseMapper<Skill> {
         FROM skills
         WHERE skill_type = 'offline'
           AND is_online = 1
+          AND latitude BETWEEN #{latitude} - #{radiusMeters} / 111320 AND #{latitude} + #{radiusMeters} / 111320
+          AND longitude BETWEEN #{longitude} - #{radiusMeters} / (111320 * COS(RADIANS(#{latitude})))
+                            AND #{longitude} + #{radiusMeters} / (111320 * COS(RADIANS(#{latitude})))
           AND ST_Distance_Sphere(
             POINT(longitude, latitude),
             POINT(#{longitude}, #{latitude})
@@ -8,8 +8,10 @@ import org.apache.ibatis.annotations.Update;
 import org.dromara.appuser.api.domain.vo.FilterUserVo;
 import org.dromara.appuser.api.domain.vo.LimitedTimeUserVo;
 import org.dromara.user.domain.entity.User;
+import org.dromara.user.index.ProviderUserRow;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -49,7 +51,10 @@ public interface UserMapper extends BaseMapper<User> {
             ST_GeomFromText(CONCAT('POINT(', #{longitude}, ' ', #{latitude}, ')'), 4326)
           ) / 1000 AS distance_km
         FROM users
-        WHERE ST_Distance_Sphere(
+        WHERE latitude BETWEEN #{latitude} - #{radiusMeters} / 111320 AND #{latitude} + #{radiusMeters} / 111320
+          AND longitude BETWEEN #{longitude} - #{radiusMeters} / (111320 * COS(RADIANS(#{latitude})))
+                            AND #{longitude} + #{radiusMeters} / (111320 * COS(RADIANS(#{latitude})))
+          AND ST_Distance_Sphere(
             location,
             ST_GeomFromText(CONCAT('POINT(', #{longitude}, ' ', #{latitude}, ')'), 4326)
           ) <= #{radiusMeters}
@@ -233,4 +238,68 @@ public interface UserMapper extends BaseMapper<User> {
      * @return 技能选项列表
      */
     List<Map<String, Object>> selectSkillOptions(@Param("type") String type);
+
+    // ==================== 服务者索引 ====================
+
+    /**
+     * 查询有上架技能的用户及统计信息 (服务者索引加载)
+     *
+     * @param userIds 用户ID列表, 为空时查询全部
+     * @return 用户行列表
+     */
+    @Select("""
+        <script>
+        SELECT
+            u.user_id, u.nickname, u.avatar, u.gender, u.birthday, u.is_online, u.bio, u.residence,
+            u.last_login_at, u.latitude, u.longitude, u.is_real_verified, u.is_god_verified, u.is_vip,
+            us.fans_count, us.likes_count, us.posts_count
+        FROM users u
+        LEFT JOIN user_stats us ON u.user_id = us.user_id AND us.deleted = 0
+        WHERE u.deleted = 0
+            AND EXISTS (SELECT 1 FROM skills s WHERE s.user_id = u.user_id AND s.is_online = 1 AND s.deleted = 0)
+            <if test="userIds != null">
+                AND u.user_id IN
+                <foreach collection="userIds" item="id" open="(" separator="," close=")">
+                    #{id}
+                </foreach>
+            </if>
+        </script>
+        """)
+    List<ProviderUserRow> selectProviderUsers(@Param("userIds") Collection<Long> userIds);
+
+    // ==================== 搜索索引 ====================
+
+    /**
+     * 查询用户及统计信息 (搜索索引加载), 按用户ID升序
+     *
+     * @param lastUserId 游标, 只返回大于该ID的用户, 为空时从头开始
+     * @param userIds    用户ID列表, 为空时不限制
+     * @param limit      最大条数
+     * @return 用户行列表
+     */
+    @Select("""
+        <script>
+        SELECT
+            u.user_id, u.nickname, u.avatar, u.gender, u.birthday, u.is_online, u.bio, u.residence,
+            u.last_login_at, u.latitude, u.longitude, u.is_real_verified, u.is_god_verified, u.is_vip,
+            us.fans_count, us.likes_count, us.posts_count
+        FROM users u
+        LEFT JOIN user_stats us ON u.user_id = us.user_id AND us.deleted = 0
+        WHERE u.deleted = 0
+            <if test="lastUserId != null">
+                AND u.user_id &gt; #{lastUserId}
+            </if>
+            <if test="userIds != null">
+                AND u.user_id IN
+                <foreach collection="userIds" item="id" open="(" separator="," close=")">
+                    #{id}
+                </foreach>
+            </if>
+        ORDER BY u.user_id
+        LIMIT #{limit}
+        </script>
+        """)
+    List<ProviderUserRow> selectSearchUsers(@Param("lastUserId") Long lastUserId,
+                                            @Param("userIds") Collection<Long> userIds,
+                                            @Param("limit") int limit);
 }
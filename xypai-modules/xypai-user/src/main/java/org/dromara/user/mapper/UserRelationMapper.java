@@ -121,4 +121,30 @@ public interface UserRelationMapper extends BaseMapper<UserRelation> {
      */
     @Select("SELECT COUNT(*) FROM user_relations WHERE follower_id = #{userId} AND deleted = 0")
     long countFollowingByUserId(@Param("userId") Long userId);
+
+    /**
+     * 统计用户粉丝数量
+     *
+     * @param userId 用户ID
+     * @return 粉丝数量
+     */
+    @Select("SELECT COUNT(*) FROM user_relations WHERE following_id = #{userId} AND deleted = 0")
+    long countFansByUserId(@Param("userId") Long userId);
+
+    /**
+     * 按粉丝ID游标分批查询粉丝ID
+     *
+     * @param userId     用户ID
+     * @param lastFansId 上一批最后一个粉丝ID(可为null)
+     * @param limit      每批数量
+     * @return 粉丝ID列表(按ID升序)
+     */
+    @Select("<script>"
+        + "SELECT follower_id FROM user_relations WHERE following_id = #{userId} AND deleted = 0"
+        + "<if test='lastFansId != null'> AND follower_id &gt; #{lastFansId}</if>"
+        + " ORDER BY follower_id LIMIT #{limit}"
+        + "</script>")
+    List<Long> selectFansIdsAfter(@Param("userId") Long userId,
+                                  @Param("lastFansId") Long lastFansId,
+                                  @Param("limit") int limit);
 }
@@ -0,0 +1,29 @@
+package org.dromara.user.service;
+
+import org.dromara.user.index.ProviderIndex;
+
+/**
+ * 服务者检索索引服务接口
+ * Provider Search Index Service Interface
+ *
+ * 限时专享、筛选用户、技能服务列表直接在内存快照上过滤排序，
+ * 快照未就绪时调用方回退到数据库查询
+ *
+ * @author XiangYuPai
+ */
+public interface IProviderIndexService {
+
+    /**
+     * 当前索引快照
+     *
+     * @return 快照, 尚未完成首次加载时返回 null
+     */
+    ProviderIndex current();
+
+    /**
+     * 用户资料或技能变更后刷新该用户的索引文档(事务提交后生效)
+     *
+     * @param userId 用户ID
+     */
+    void refresh(Long userId);
+}
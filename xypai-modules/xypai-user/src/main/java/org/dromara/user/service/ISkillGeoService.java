@@ -0,0 +1,61 @@
+package org.dromara.user.service;
+
+import org.dromara.common.redis.utils.GeoIndexUtils.GeoPage;
+import org.dromara.user.domain.entity.Skill;
+
+import java.math.BigDecimal;
+
+/**
+ * 技能地理位置索引服务接口
+ * Skill Geo Index Service Interface
+ *
+ * 仅收录已上架且带经纬度的线下技能，附近技能检索直接按距离分页读取
+ *
+ * @author XiangYuPai
+ */
+public interface ISkillGeoService {
+
+    /**
+     * 按技能当前状态同步索引(上架的线下技能加入，其余移除)，事务提交后生效
+     *
+     * @param skill 技能
+     */
+    void sync(Skill skill);
+
+    /**
+     * 从索引移除技能，事务提交后生效
+     *
+     * @param skillId 技能ID
+     */
+    void remove(Long skillId);
+
+    /**
+     * 按页码检索附近技能(由近到远)
+     *
+     * @param latitude     纬度
+     * @param longitude    经度
+     * @param radiusMeters 半径(米)
+     * @param pageNum      页码
+     * @param pageSize     每页数量
+     * @return 技能ID及距离(米)
+     */
+    GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusMeters, int pageNum, int pageSize);
+
+    /**
+     * 按游标检索附近技能(由近到远)
+     *
+     * @param latitude     纬度
+     * @param longitude    经度
+     * @param radiusMeters 半径(米)
+     * @param cursor       上一页返回的游标, 首页传null
+     * @param pageSize     每页数量
+     * @return 技能ID及距离(米)
+     */
+    GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusMeters, String cursor, int pageSize);
+
+    /**
+     * 从数据库全量重建索引
+     */
+    void rebuild();
+
+}
@@ -0,0 +1,217 @@
+package org.dromara.user.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.appuser.api.domain.dto.UserSearchChangeDto;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.user.domain.entity.Skill;
+import org.dromara.user.index.ProviderChangedEvent;
+import org.dromara.user.index.ProviderIndex;
+import org.dromara.user.index.ProviderUserRow;
+import org.dromara.user.mapper.SkillMapper;
+import org.dromara.user.mapper.UserMapper;
+import org.dromara.user.service.IProviderIndexService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 服务者检索索引服务实现
+ * Provider Search Index Service Implementation
+ *
+ * 每个用户一份文档(用户行 + 上架技能)。变更通过 Redis 主题通知各节点按用户重新加载文档，
+ * 文档变化后合并为每秒至多一次快照重建；定时全量重载兜底后台直接改库、统计数变化、节点错过通知等情况
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProviderIndexServiceImpl implements IProviderIndexService {
+
+    private final UserMapper userMapper;
+    private final SkillMapper skillMapper;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * 增量刷新通知, 消息体为用户ID数组
+     */
+    private static final String REFRESH_TOPIC = "user:provider:index:refresh";
+
+    /**
+     * 快照重建检查周期(毫秒)
+     */
+    private static final long REBUILD_DELAY_MILLIS = 1000;
+
+    /**
+     * 全量重载周期(分钟)
+     */
+    private static final long RELOAD_PERIOD_MINUTES = 5;
+
+    /**
+     * 用户ID -> 文档(只保存有上架技能的用户)
+     */
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private volatile ProviderIndex index;
+
+    @PostConstruct
+    public void init() {
+        RedisUtils.subscribe(REFRESH_TOPIC, Long[].class, ids -> reload(Arrays.asList(ids)));
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            // 启动时数据库不可用不阻塞服务, 查询回退到数据库, 等待定时重载
+            log.error("服务者索引加载失败: {}", e.getMessage());
+        }
+        scheduledExecutorService.scheduleWithFixedDelay(this::scheduledRebuild,
+            REBUILD_DELAY_MILLIS, REBUILD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        scheduledExecutorService.scheduleWithFixedDelay(this::scheduledReload,
+            RELOAD_PERIOD_MINUTES, RELOAD_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public ProviderIndex current() {
+        return index;
+    }
+
+    @Override
+    public void refresh(Long userId) {
+        if (userId != null) {
+            SpringUtils.context().publishEvent(new ProviderChangedEvent(userId));
+        }
+    }
+
+    /**
+     * 事务提交后通知所有节点(含本节点)重新加载, 回滚的修改不会进入索引
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProviderChanged(ProviderChangedEvent event) {
+        try {
+            RedisUtils.publish(REFRESH_TOPIC, new Long[]{event.getUserId()});
+        } catch (Exception e) {
+            // 通知失败时等待定时全量重载
+            log.warn("服务者索引刷新通知失败: userId={}, error={}", event.getUserId(), e.getMessage());
+        }
+        try {
+            // 用户资料和技能同时也是内容服务搜索索引的文档来源
+            RedisUtils.publish(UserSearchChangeDto.TOPIC, new UserSearchChangeDto(event.getUserId()));
+        } catch (Exception e) {
+            // 通知失败时等待搜索索引定时对账
+            log.warn("用户搜索文档变更通知失败: userId={}, error={}", event.getUserId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 按用户重新加载文档, 用户已没有上架技能时移除
+     */
+    private synchronized void reload(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, ProviderUserRow> rows = userMapper.selectProviderUsers(userIds).stream()
+                .collect(Collectors.toMap(ProviderUserRow::getUserId, row -> row, (a, b) -> a));
+            Map<Long, List<Skill>> skills = rows.isEmpty() ? Collections.emptyMap() : onlineSkills(rows.keySet());
+            for (Long userId : userIds) {
+                ProviderUserRow row = rows.get(userId);
+                List<Skill> userSkills = skills.get(userId);
+                if (row == null || userSkills == null) {
+                    documents.remove(userId);
+                } else {
+                    documents.put(userId, new Document(row, userSkills));
+                }
+            }
+            dirty.set(true);
+        } catch (Exception e) {
+            log.warn("服务者索引增量加载失败: userIds={}, error={}", userIds, e.getMessage());
+        }
+    }
+
+    /**
+     * 全量重载文档并立即重建快照
+     */
+    private synchronized void reloadAll() {
+        Map<Long, List<Skill>> skills = onlineSkills(null);
+        Map<Long, Document> loaded = new HashMap<>(skills.size() * 2);
+        for (ProviderUserRow row : userMapper.selectProviderUsers(null)) {
+            List<Skill> userSkills = skills.get(row.getUserId());
+            if (userSkills != null) {
+                loaded.put(row.getUserId(), new Document(row, userSkills));
+            }
+        }
+        documents.keySet().retainAll(loaded.keySet());
+        documents.putAll(loaded);
+        dirty.set(false);
+        rebuild();
+    }
+
+    private void scheduledRebuild() {
+        if (!dirty.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            dirty.set(true);
+            log.error("服务者索引重建失败: {}", e.getMessage());
+        }
+    }
+
+    private void scheduledReload() {
+        try {
+            reloadAll();
+        } catch (Exception e) {
+            log.error("服务者索引定时重载失败: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        List<ProviderUserRow> rows = new ArrayList<>(documents.size());
+        Map<Long, List<Skill>> skills = new HashMap<>(documents.size() * 2);
+        documents.forEach((userId, document) -> {
+            rows.add(document.user());
+            skills.put(userId, document.skills());
+        });
+        ProviderIndex built = ProviderIndex.build(rows, skills);
+        index = built;
+        log.debug("服务者索引重建完成: users={}, skills={}, cost={}ms",
+            built.userCount(), built.skillCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 上架技能, 按用户分组
+     *
+     * @param userIds 用户ID, 为空时查询全部
+     */
+    private Map<Long, List<Skill>> onlineSkills(Collection<Long> userIds) {
+        LambdaQueryWrapper<Skill> wrapper = new LambdaQueryWrapper<Skill>()
+            .eq(Skill::getIsOnline, true)
+            .in(userIds != null, Skill::getUserId, userIds);
+        return skillMapper.selectList(wrapper).stream()
+            .collect(Collectors.groupingBy(Skill::getUserId));
+    }
+
+    /**
+     * 索引文档
+     *
+     * @param user   用户行
+     * @param skills 上架技能
+     */
+    private record Document(ProviderUserRow user, List<Skill> skills) {
+    }
+
+}
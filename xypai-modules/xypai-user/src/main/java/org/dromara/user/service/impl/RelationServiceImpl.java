@@ -4,9 +4,13 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.appuser.api.domain.dto.FollowChangeDto;
 import org.dromara.common.core.domain.R;
+import org.dromara.common.core.utils.SpringUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.redis.utils.RedisUtils;
 import org.dromara.user.domain.entity.UserRelation;
 import org.dromara.user.domain.entity.UserBlacklist;
 import org.dromara.user.domain.entity.UserReport;
@@ -22,6 +26,8 @@ import org.dromara.user.mapper.UserStatsMapper;
 import org.dromara.user.service.IRelationService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -35,6 +41,7 @@ import java.util.List;
  * @author XiangYuPai
  * @since 2025-11-14
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RelationServiceImpl extends ServiceImpl<UserRelationMapper, UserRelation> implements IRelationService {
@@ -74,6 +81,8 @@ public class RelationServiceImpl extends ServiceImpl<UserRelationMapper, UserRel
         // Update stats
         userStatsMapper.incrementFollowingCount(followerId);
         userStatsMapper.incrementFansCount(followingId);
+        SpringUtils.context().publishEvent(FollowChangeDto.builder()
+            .followerId(followerId).followingId(followingId).followed(true).build());
 
         return R.ok();
     }
@@ -92,10 +101,25 @@ public class RelationServiceImpl extends ServiceImpl<UserRelationMapper, UserRel
         // Update stats
         userStatsMapper.decrementFollowingCount(followerId);
         userStatsMapper.decrementFansCount(followingId);
+        SpringUtils.context().publishEvent(FollowChangeDto.builder()
+            .followerId(followerId).followingId(followingId).followed(false).build());
 
         return R.ok();
     }
 
+    /**
+     * 事务提交后广播关注变更, 回滚的关注/取关不会通知到订阅方
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangeDto change) {
+        try {
+            RedisUtils.publish(FollowChangeDto.TOPIC, change);
+        } catch (Exception e) {
+            log.warn("关注变更通知失败: followerId={}, followingId={}, error={}",
+                change.getFollowerId(), change.getFollowingId(), e.getMessage());
+        }
+    }
+
     @Override
     public TableDataInfo<UserRelationVo> getFansList(Long userId, String keyword, PageQuery pageQuery) {
         // Get fans IDs
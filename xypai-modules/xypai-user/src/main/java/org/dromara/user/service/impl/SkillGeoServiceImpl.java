@@ -0,0 +1,163 @@
+package org.dromara.user.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.redis.utils.GeoIndexUtils;
+import org.dromara.common.redis.utils.GeoIndexUtils.GeoPage;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.user.domain.entity.Skill;
+import org.dromara.user.index.SkillGeoChangedEvent;
+import org.dromara.user.mapper.SkillMapper;
+import org.dromara.user.service.ISkillGeoService;
+import org.redisson.api.GeoEntry;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 技能地理位置索引服务实现
+ * Skill Geo Index Service Implementation
+ *
+ * @author XiangYuPai
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillGeoServiceImpl implements ISkillGeoService {
+
+    private final SkillMapper skillMapper;
+    private final RedissonClient redissonClient;
+
+    private static final String GEO_KEY = "skill:geo:offline";
+    private static final String READY_KEY = "skill:geo-index:ready";
+    private static final String REBUILD_LOCK_KEY = "skill:geo-index:rebuild:lock";
+
+    /**
+     * 就绪标记有效期: 过期后下次检索从数据库校正一次, 兜底实时写入失败的数据
+     */
+    private static final Duration READY_TTL = Duration.ofHours(6);
+
+    /**
+     * 重建时每批写入数量
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void sync(Skill skill) {
+        if (skill == null || skill.getSkillId() == null) {
+            return;
+        }
+        if (isIndexable(skill)) {
+            SpringUtils.context().publishEvent(new SkillGeoChangedEvent(skill.getSkillId(),
+                skill.getLongitude().doubleValue(), skill.getLatitude().doubleValue()));
+        } else {
+            remove(skill.getSkillId());
+        }
+    }
+
+    @Override
+    public void remove(Long skillId) {
+        if (skillId != null) {
+            SpringUtils.context().publishEvent(new SkillGeoChangedEvent(skillId, null, null));
+        }
+    }
+
+    /**
+     * 事务提交后写入位置索引
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillGeoChanged(SkillGeoChangedEvent event) {
+        try {
+            if (event.getLongitude() != null && event.getLatitude() != null) {
+                GeoIndexUtils.add(GEO_KEY, event.getSkillId(), event.getLongitude(), event.getLatitude());
+            } else {
+                GeoIndexUtils.remove(GEO_KEY, event.getSkillId());
+            }
+        } catch (Exception e) {
+            // 写入失败时等待下次重建
+            log.warn("技能位置索引写入失败: skillId={}, error={}", event.getSkillId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusMeters, int pageNum, int pageSize) {
+        ensureBuilt();
+        return GeoIndexUtils.search(GEO_KEY, longitude.doubleValue(), latitude.doubleValue(),
+            radiusMeters, pageNum, pageSize);
+    }
+
+    @Override
+    public GeoPage searchNearby(BigDecimal latitude, BigDecimal longitude, int radiusMeters, String cursor, int pageSize) {
+        ensureBuilt();
+        return GeoIndexUtils.search(GEO_KEY, longitude.doubleValue(), latitude.doubleValue(),
+            radiusMeters, cursor, pageSize);
+    }
+
+    @Override
+    public void rebuild() {
+        // 先开启增量日志再读库: 读库到替换之间的实时写入在替换后重放, 不会被旧快照覆盖
+        String rebuildKey = GeoIndexUtils.beginRebuild(GEO_KEY);
+        LambdaQueryWrapper<Skill> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Skill::getSkillId, Skill::getSkillType, Skill::getIsOnline,
+                Skill::getLatitude, Skill::getLongitude)
+            .eq(Skill::getSkillType, "offline")
+            .eq(Skill::getIsOnline, true)
+            .isNotNull(Skill::getLatitude)
+            .isNotNull(Skill::getLongitude);
+        List<GeoEntry> entries = skillMapper.selectList(wrapper).stream()
+            .filter(this::isIndexable)
+            .map(skill -> new GeoEntry(skill.getLongitude().doubleValue(),
+                skill.getLatitude().doubleValue(), String.valueOf(skill.getSkillId())))
+            .collect(Collectors.toList());
+
+        // 先写入临时key再替换, 重建期间检索仍读旧索引
+        for (int i = 0; i < entries.size(); i += BATCH_SIZE) {
+            GeoIndexUtils.addAll(rebuildKey, entries.subList(i, Math.min(i + BATCH_SIZE, entries.size())));
+        }
+        long replayed = GeoIndexUtils.finishRebuild(GEO_KEY);
+        RedisUtils.setCacheObject(READY_KEY, System.currentTimeMillis(), READY_TTL);
+        log.info("技能位置索引重建完成: 技能数={}, 重放增量={}", entries.size(), replayed);
+    }
+
+    /**
+     * 索引尚未建立时(首次启动/Redis清空)同步重建一次; 就绪标记过期时由抢到锁的请求校正, 其余请求直接读旧索引
+     */
+    private void ensureBuilt() {
+        if (RedisUtils.isExistsObject(READY_KEY)) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(REBUILD_LOCK_KEY);
+        long waitSeconds = GeoIndexUtils.exists(GEO_KEY) ? 0 : 5;
+        try {
+            if (lock.tryLock(waitSeconds, 60, TimeUnit.SECONDS)) {
+                try {
+                    if (!RedisUtils.isExistsObject(READY_KEY)) {
+                        rebuild();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isIndexable(Skill skill) {
+        return "offline".equals(skill.getSkillType())
+            && Boolean.TRUE.equals(skill.getIsOnline())
+            && skill.getLatitude() != null
+            && skill.getLongitude() != null;
+    }
+
+}
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.dromara.common.core.domain.R;
 import org.dromara.common.mybatis.core.page.PageQuery;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.redis.utils.GeoIndexUtils.GeoPage;
 import org.dromara.user.domain.entity.*;
 import org.dromara.user.domain.dto.SkillCreateDto;
 import org.dromara.user.domain.dto.SkillUpdateDto;
@@ -15,9 +16,12 @@ import org.dromara.user.domain.dto.OfflineSkillCreateDto;
 import org.dromara.user.domain.dto.AvailableTimeDto;
 import org.dromara.user.domain.dto.SkilledUsersQueryDto;
 import org.dromara.user.domain.vo.*;
+import org.dromara.user.index.ProviderIndex;
 import org.dromara.user.mapper.*;
 import org.dromara.user.service.ISkillService;
 import org.dromara.user.service.ISkillConfigService;
+import org.dromara.user.service.ISkillGeoService;
+import org.dromara.user.service.IProviderIndexService;
 import org.dromara.appuser.api.domain.vo.LimitedTimeUserVo;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -46,6 +51,8 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
     private final SkillAvailableTimeMapper skillAvailableTimeMapper;
     private final UserMapper userMapper;
     private final ISkillConfigService skillConfigService;
+    private final ISkillGeoService skillGeoService;
+    private final IProviderIndexService providerIndexService;
 
     // 促销标签列表
     private static final String[] PROMOTION_TAGS = {
@@ -105,6 +112,7 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
             }
         }
 
+        providerIndexService.refresh(userId);
         return R.ok(skill.getSkillId());
     }
 
@@ -168,6 +176,7 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
             }
         }
 
+        providerIndexService.refresh(userId);
         return R.ok(skill.getSkillId());
     }
 
@@ -205,6 +214,7 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
             .build();
 
         skillMapper.insert(skill);
+        skillGeoService.sync(skill);
 
         // Create skill images
         if (dto.getImages() != null && !dto.getImages().isEmpty()) {
@@ -245,6 +255,7 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
             }
         }
 
+        providerIndexService.refresh(userId);
         return R.ok(skill.getSkillId());
     }
 
@@ -265,8 +276,13 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
         if (dto.getCoverImage() != null) skill.setCoverImage(dto.getCoverImage());
         if (dto.getDescription() != null) skill.setDescription(dto.getDescription());
         if (dto.getPrice() != null) skill.setPrice(dto.getPrice());
+        if (dto.getServiceLocation() != null) skill.setServiceLocation(dto.getServiceLocation());
+        if (dto.getLatitude() != null) skill.setLatitude(dto.getLatitude());
+        if (dto.getLongitude() != null) skill.setLongitude(dto.getLongitude());
 
         skillMapper.updateById(skill);
+        skillGeoService.sync(skill);
+        providerIndexService.refresh(userId);
 
         return R.ok();
     }
@@ -284,6 +300,8 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
         }
 
         skillMapper.deleteById(skillId);
+        skillGeoService.remove(skillId);
+        providerIndexService.refresh(userId);
 
         return R.ok();
     }
@@ -302,6 +320,8 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
 
         skill.setIsOnline(isOnline);
         skillMapper.updateById(skill);
+        skillGeoService.sync(skill);
+        providerIndexService.refresh(userId);
 
         return R.ok();
     }
@@ -382,13 +402,26 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
 
     @Override
     public TableDataInfo<SkillVo> searchNearbySkills(BigDecimal latitude, BigDecimal longitude, Integer radiusMeters, PageQuery pageQuery) {
-        List<Skill> skills = skillMapper.findNearbySkills(latitude, longitude, radiusMeters, 100);
-
-        List<SkillVo> voList = skills.stream()
-            .map(this::buildSkillVo)
-            .collect(Collectors.toList());
+        int pageNum = pageQuery.getPageNum() != null ? pageQuery.getPageNum() : PageQuery.DEFAULT_PAGE_NUM;
+        int pageSize = pageQuery.getPageSize() != null && pageQuery.getPageSize() < PageQuery.DEFAULT_PAGE_SIZE
+            ? pageQuery.getPageSize() : 100;
+        GeoPage geoPage = skillGeoService.searchNearby(latitude, longitude, radiusMeters, pageNum, pageSize);
+
+        List<SkillVo> voList = new ArrayList<>();
+        if (!geoPage.getIds().isEmpty()) {
+            Map<Long, Skill> skillMap = skillMapper.selectByIds(geoPage.getIds()).stream()
+                .collect(Collectors.toMap(Skill::getSkillId, skill -> skill));
+            // 保持由近到远的顺序
+            for (Long skillId : geoPage.getIds()) {
+                Skill skill = skillMap.get(skillId);
+                if (skill != null) {
+                    voList.add(buildSkillVo(skill));
+                }
+            }
+        }
 
-        return TableDataInfo.build(voList);
+        long read = (long) (pageNum - 1) * pageSize + voList.size();
+        return new TableDataInfo<>(voList, geoPage.isHasMore() ? read + 1 : read);
     }
 
     private SkillVo buildSkillVo(Skill skill) {
@@ -412,23 +445,40 @@ public class SkillServiceImpl extends ServiceImpl<SkillMapper, Skill> implements
 
     @Override
     public SkilledUsersResultVo getSkilledUsers(SkilledUsersQueryDto queryDto) {
-        // 1. 从数据库查询有技能的用户列表
-        List<LimitedTimeUserVo> users = userMapper.queryLimitedTimeUsers(
-            queryDto.getGender(),
-            queryDto.getCityCode(),
-            queryDto.getDistrictCode(),
-            queryDto.getLatitude(),
-            queryDto.getLongitude(),
-            (queryDto.getPageNum() - 1) * queryDto.getPageSize(),
-            queryDto.getPageSize()
-        );
-
-        // 2. 获取总数
-        Integer total = userMapper.countLimitedTimeUsers(
-            queryDto.getGender(),
-            queryDto.getCityCode(),
-            queryDto.getDistrictCode()
-        );
+        // 1. 查询有技能的用户列表及总数(索引未就绪时查询数据库)
+        List<LimitedTimeUserVo> users;
+        Integer total;
+        ProviderIndex index = providerIndexService.current();
+        if (index != null) {
+            ProviderIndex.Page<LimitedTimeUserVo> page = index.queryLimitedTime(
+                queryDto.getGender(),
+                queryDto.getCityCode(),
+                queryDto.getDistrictCode(),
+                queryDto.getLatitude(),
+                queryDto.getLongitude(),
+                (queryDto.getPageNum() - 1) * queryDto.getPageSize(),
+                queryDto.getPageSize()
+            );
+            users = page.list();
+            total = page.total();
+        } else {
+            users = userMapper.queryLimitedTimeUsers(
+                queryDto.getGender(),
+                queryDto.getCityCode(),
+                queryDto.getDistrictCode(),
+                queryDto.getLatitude(),
+                queryDto.getLongitude(),
+                (queryDto.getPageNum() - 1) * queryDto.getPageSize(),
+                queryDto.getPageSize()
+            );
+
+            // 2. 获取总数
+            total = userMapper.countLimitedTimeUsers(
+                queryDto.getGender(),
+                queryDto.getCityCode(),
+                queryDto.getDistrictCode()
+            );
+        }
 
         // 3. 转换为 SkilledUserVo
         List<SkilledUserVo> skilledUsers = users.stream()
@@ -18,6 +18,7 @@ import org.dromara.user.service.IUserService;
 import org.dromara.user.service.IRelationService;
 import org.dromara.user.service.ISkillService;
 import org.dromara.user.service.IUserOccupationService;
+import org.dromara.user.service.IProviderIndexService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -47,6 +48,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
     private final IRelationService relationService;
     private final ISkillService skillService;
     private final IUserOccupationService userOccupationService;
+    private final IProviderIndexService providerIndexService;
 
     private static final String CACHE_KEY_PREFIX = "user:profile:";
     private static final Duration CACHE_DURATION = Duration.ofMinutes(30);
@@ -359,6 +361,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
 
     private void invalidateCache(Long userId) {
         RedisUtils.deleteObject(CACHE_KEY_PREFIX + userId);
+        providerIndexService.refresh(userId);
     }
 
     @Override
@@ -0,0 +1,214 @@
+package org.dromara.user.index;
+
+import org.dromara.appuser.api.domain.vo.FilterUserVo;
+import org.dromara.appuser.api.domain.vo.LimitedTimeUserVo;
+import org.dromara.user.domain.entity.Skill;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 服务者索引快照单元测试: 过滤、计数和排序
+ *
+ * @author XiangYuPai
+ */
+@DisplayName("服务者索引快照单元测试")
+public class ProviderIndexTest {
+
+    private static final String GAME = "王者荣耀";
+
+    private ProviderIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        ProviderUserRow alice = user(1L, "female", true, "广东省深圳市南山区 440305", today.minusYears(25), now.minusDays(1));
+        alice.setLatitude(new BigDecimal("22.54"));
+        alice.setLongitude(new BigDecimal("113.93"));
+        ProviderUserRow bob = user(2L, "male", false, "广东省广州市 440100", today.minusYears(30), now.minusDays(10));
+        ProviderUserRow carol = user(3L, "female", false, "深圳 440305", null, null);
+        ProviderUserRow idle = user(4L, "male", true, "广东省广州市 440100", null, null);
+
+        index = ProviderIndex.build(List.of(idle, carol, bob, alice), Map.of(
+            1L, List.of(
+                skill(10L, 1L, "online", GAME, "王者", "QQ区", null, "20", 5, "4.5", now.minusDays(3)),
+                skill(11L, 1L, "offline", null, null, null, "台球", "100", 3, "5.0", now.minusDays(2))),
+            2L, List.of(
+                skill(20L, 2L, "online", GAME, "钻石", "微信区", null, "10", 50, "4.0", now.minusDays(1))),
+            3L, List.of(
+                skill(30L, 3L, "online", GAME, "王者", "QQ区", null, null, null, null, now))));
+    }
+
+    @DisplayName("只收录有上架技能的用户")
+    @Test
+    public void testBuildSkipsUsersWithoutSkills() {
+        Assertions.assertEquals(3, index.userCount());
+        Assertions.assertEquals(4, index.skillCount());
+    }
+
+    @DisplayName("限时专享: 在线优先, 用户ID倒序, 总数与分页无关")
+    @Test
+    public void testLimitedTimeOrderAndCount() {
+        ProviderIndex.Page<LimitedTimeUserVo> page = index.queryLimitedTime(null, null, null, null, null, 0, 10);
+        Assertions.assertEquals(List.of(1L, 3L, 2L), page.list().stream().map(LimitedTimeUserVo::getUserId).toList());
+        Assertions.assertEquals(3, page.total());
+
+        ProviderIndex.Page<LimitedTimeUserVo> second = index.queryLimitedTime(null, null, null, null, null, 1, 1);
+        Assertions.assertEquals(List.of(3L), second.list().stream().map(LimitedTimeUserVo::getUserId).toList());
+        Assertions.assertEquals(3, second.total());
+    }
+
+    @DisplayName("限时专享: 性别与居住地编码过滤")
+    @Test
+    public void testLimitedTimeFilters() {
+        ProviderIndex.Page<LimitedTimeUserVo> female = index.queryLimitedTime("female", null, null, null, null, 0, 10);
+        Assertions.assertEquals(List.of(1L, 3L), female.list().stream().map(LimitedTimeUserVo::getUserId).toList());
+
+        ProviderIndex.Page<LimitedTimeUserVo> city = index.queryLimitedTime("all", "440100", null, null, null, 0, 10);
+        Assertions.assertEquals(List.of(2L), city.list().stream().map(LimitedTimeUserVo::getUserId).toList());
+        Assertions.assertEquals(1, city.total());
+
+        ProviderIndex.Page<LimitedTimeUserVo> none = index.queryLimitedTime("male", "440305", null, null, null, 0, 10);
+        Assertions.assertTrue(none.list().isEmpty());
+        Assertions.assertEquals(0, none.total());
+    }
+
+    @DisplayName("限时专享: 未传坐标距离为0, 用户无坐标时为空")
+    @Test
+    public void testLimitedTimeDistance() {
+        Assertions.assertEquals(0, index.queryLimitedTime(null, null, null, null, null, 0, 1).list().get(0).getDistance());
+
+        List<LimitedTimeUserVo> located = index.queryLimitedTime(null, null, null, 22.54, 113.93, 0, 10).list();
+        Assertions.assertEquals(0, located.get(0).getDistance());
+        Assertions.assertNull(located.get(1).getDistance());
+    }
+
+    @DisplayName("筛选: 在线优先, 再按命中技能的订单数倒序")
+    @Test
+    public void testFilteredOrder() {
+        ProviderIndex.Page<FilterUserVo> page = index.queryFiltered("online", null, null, null, null,
+            null, null, null, null, null, 0, 10);
+        Assertions.assertEquals(List.of(1L, 2L, 3L), page.list().stream().map(FilterUserVo::getUserId).toList());
+        Assertions.assertEquals(3, page.total());
+    }
+
+    @DisplayName("筛选: 聚合字段只统计命中条件的技能")
+    @Test
+    public void testFilteredAggregatesMatchedSkillsOnly() {
+        FilterUserVo online = index.queryFiltered("online", null, null, null, null,
+            null, null, null, null, null, 0, 1).list().get(0);
+        Assertions.assertEquals(5, online.getOrderCount());
+        Assertions.assertEquals("online", online.getSkillType());
+
+        FilterUserVo all = index.queryFiltered(null, null, null, null, null,
+            null, null, null, null, null, 0, 1).list().get(0);
+        Assertions.assertEquals(8, all.getOrderCount());
+        Assertions.assertEquals(0, new BigDecimal("20").compareTo(all.getPrice()));
+
+        FilterUserVo billiards = index.queryFiltered(null, null, null, null, null,
+            List.of("台球"), null, null, null, null, 0, 10).list().get(0);
+        Assertions.assertEquals(11L, billiards.getSkillId());
+        Assertions.assertEquals("offline", billiards.getSkillType());
+    }
+
+    @DisplayName("筛选: 价格区间排除无价格技能, 年龄区间排除无生日用户")
+    @Test
+    public void testFilteredRanges() {
+        ProviderIndex.Page<FilterUserVo> price = index.queryFiltered(null, null, null, null, null,
+            null, 15, null, null, null, 0, 10);
+        Assertions.assertEquals(List.of(1L), price.list().stream().map(FilterUserVo::getUserId).toList());
+        Assertions.assertEquals(1, price.total());
+
+        ProviderIndex.Page<FilterUserVo> young = index.queryFiltered(null, null, null, 26, null,
+            null, null, null, null, null, 0, 10);
+        Assertions.assertEquals(List.of(1L), young.list().stream().map(FilterUserVo::getUserId).toList());
+
+        ProviderIndex.Page<FilterUserVo> male = index.queryFiltered(null, "male", 28, null, "active_7d",
+            null, null, null, null, null, 0, 10);
+        Assertions.assertTrue(male.list().isEmpty());
+        Assertions.assertEquals(0, male.total());
+    }
+
+    @DisplayName("技能服务列表: 各排序方式与空值位置")
+    @Test
+    public void testSkillServiceSorts() {
+        Assertions.assertEquals(List.of(10L, 20L, 30L), skillIds("smart"));
+        Assertions.assertEquals(List.of(20L, 10L, 30L), skillIds("popular"));
+        Assertions.assertEquals(List.of(30L, 20L, 10L), skillIds("price_asc"));
+        Assertions.assertEquals(List.of(10L, 20L, 30L), skillIds("price_desc"));
+        Assertions.assertEquals(List.of(30L, 20L, 10L), skillIds("newest"));
+        // 未知排序方式按智能排序
+        Assertions.assertEquals(skillIds("smart"), skillIds("unknown"));
+    }
+
+    @DisplayName("技能服务列表: 段位、在线和大区过滤及计数")
+    @Test
+    public void testSkillServiceFilters() {
+        ProviderIndex.Page<Map<String, Object>> ranks = index.querySkillServices(GAME, "smart", null, null,
+            null, List.of("王者"), null, null, 0, 10);
+        Assertions.assertEquals(2, ranks.total());
+        Assertions.assertEquals(10L, ranks.list().get(0).get("skill_id"));
+
+        ProviderIndex.Page<Map<String, Object>> online = index.querySkillServices(GAME, "smart", null, 1,
+            "QQ区", null, null, null, 0, 10);
+        Assertions.assertEquals(1, online.total());
+        Assertions.assertEquals(1L, online.list().get(0).get("user_id"));
+
+        ProviderIndex.Page<Map<String, Object>> paged = index.querySkillServices(GAME, "popular", null, null,
+            null, null, null, null, 2, 10);
+        Assertions.assertEquals(3, paged.total());
+        Assertions.assertEquals(1, paged.list().size());
+
+        ProviderIndex.Page<Map<String, Object>> unknown = index.querySkillServices("未知游戏", "smart", null, null,
+            null, null, null, null, 0, 10);
+        Assertions.assertEquals(0, unknown.total());
+        Assertions.assertTrue(unknown.list().isEmpty());
+    }
+
+    private List<Long> skillIds(String sortBy) {
+        return index.querySkillServices(GAME, sortBy, null, null, null, null, null, null, 0, 10).list().stream()
+            .map(row -> (Long) row.get("skill_id"))
+            .toList();
+    }
+
+    private static ProviderUserRow user(Long userId, String gender, boolean online, String residence,
+                                        LocalDate birthday, LocalDateTime lastLoginAt) {
+        ProviderUserRow row = new ProviderUserRow();
+        row.setUserId(userId);
+        row.setNickname("user" + userId);
+        row.setGender(gender);
+        row.setIsOnline(online);
+        row.setResidence(residence);
+        row.setBirthday(birthday);
+        row.setLastLoginAt(lastLoginAt);
+        return row;
+    }
+
+    private static Skill skill(Long skillId, Long userId, String type, String gameName, String gameRank, String server,
+                               String serviceType, String price, Integer orderCount, String rating,
+                               LocalDateTime createdAt) {
+        return Skill.builder()
+            .skillId(skillId)
+            .userId(userId)
+            .skillName("skill" + skillId)
+            .skillType(type)
+            .gameName(gameName)
+            .gameRank(gameRank)
+            .server(server)
+            .serviceType(serviceType)
+            .price(price != null ? new BigDecimal(price) : null)
+            .orderCount(orderCount)
+            .rating(rating != null ? new BigDecimal(rating) : null)
+            .isOnline(true)
+            .createdAt(createdAt)
+            .build();
+    }
+}